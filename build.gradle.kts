@@ -69,6 +69,29 @@ blahaj {
 	}
 }
 
+dependencies {
+	"testImplementation"("org.junit.jupiter:junit-jupiter:5.10.2")
+	"testRuntimeOnly"("org.junit.platform:junit-platform-launcher")
+
+	// Benchmarks live in the test source set, see the jmh task
+	"testImplementation"("org.openjdk.jmh:jmh-core:1.37")
+	"testAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+tasks.withType<Test>().configureEach {
+	useJUnitPlatform()
+}
+
+tasks.register<JavaExec>("jmh") {
+	group = "verification"
+	description = "Runs the JMH benchmarks in the test source set."
+	dependsOn("testClasses")
+	classpath = the<SourceSetContainer>()["test"].runtimeClasspath
+	mainClass.set("org.openjdk.jmh.Main")
+	// Report allocation per operation (gc.alloc.rate.norm) next to the timings; --args replaces this
+	args("-prof", "gc")
+}
+
 repositories {
 	maven("https://maven.ryanliptak.com/" ) // Appleskin
 	maven("https://maven.ladysnake.org/releases")
@@ -3,9 +3,13 @@ package dev.muon.dynamic_resource_bars;
 import dev.muon.dynamic_resource_bars.compat.AppleSkinFabricEventHandler;
 import dev.muon.dynamic_resource_bars.config.gui.ModConfigScreen;
 import dev.muon.dynamic_resource_bars.config.ModConfigManager;
+import dev.muon.dynamic_resource_bars.render.BarRenderManager;
+import dev.muon.dynamic_resource_bars.render.NameplateBarRenderer;
+import dev.muon.dynamic_resource_bars.util.TargetTracker;
 import dev.muon.dynamic_resource_bars.util.TickHandler;
+import dev.muon.dynamic_resource_bars.util.ModKeyMappings;
 import dev.muon.dynamic_resource_bars.compat.ManaProviderManager;
-import dev.muon.dynamic_resource_bars.util.PlatformUtil;
+import dev.muon.dynamic_resource_bars.compat.CompatState;
 import dev.muon.dynamic_resource_bars.compat.AppleSkinEventHandler;
 import net.minecraft.resources.ResourceLocation;
 import org.apache.logging.log4j.LogManager;
@@ -21,6 +25,11 @@ import org.apache.logging.log4j.Logger;
     import com.terraformersmc.modmenu.api.ConfigScreenFactory;
     import com.terraformersmc.modmenu.api.ModMenuApi;
     import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+    import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+    import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
+    import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+    import net.fabricmc.fabric.api.event.player.AttackEntityCallback;
+    import net.minecraft.world.InteractionResult;
 #endif
 
 #if FORGE
@@ -28,8 +37,11 @@ import org.apache.logging.log4j.Logger;
     import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
     import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
     import net.minecraftforge.client.ConfigScreenHandler;
+    import net.minecraftforge.client.event.RegisterKeyMappingsEvent;
+    import net.minecraftforge.client.event.RenderLevelStageEvent;
     import net.minecraftforge.common.MinecraftForge;
     import net.minecraftforge.event.TickEvent;
+    import net.minecraftforge.event.entity.player.AttackEntityEvent;
     import net.minecraftforge.eventbus.api.SubscribeEvent;
 #endif
 
@@ -39,8 +51,12 @@ import org.apache.logging.log4j.Logger;
     import net.neoforged.bus.api.IEventBus;
     import net.neoforged.fml.ModContainer;
     import net.neoforged.neoforge.client.gui.IConfigScreenFactory;
+    import net.neoforged.neoforge.client.event.RegisterKeyMappingsEvent;
     import net.neoforged.neoforge.client.event.ClientTickEvent;
+    import net.neoforged.neoforge.client.event.RenderGuiEvent;
+    import net.neoforged.neoforge.client.event.RenderLevelStageEvent;
     import net.neoforged.neoforge.common.NeoForge;
+    import net.neoforged.neoforge.event.entity.player.AttackEntityEvent;
     import net.neoforged.bus.api.SubscribeEvent;
 #endif
 
@@ -71,10 +87,12 @@ public class DynamicResourceBars #if FABRIC implements ClientModInitializer, Mod
     public DynamicResourceBars(#if NEO IEventBus modEventBus, ModContainer modContainer #elif FORGE FMLJavaModLoadingContext fmlContext #endif) {
         #if FORGE
             fmlContext.getModEventBus().addListener(this::clientSetup);
+            fmlContext.getModEventBus().addListener(this::registerKeyMappings);
             fmlContext.registerExtensionPoint(ConfigScreenHandler.ConfigScreenFactory.class,
                 () -> new ConfigScreenHandler.ConfigScreenFactory((mc, screen) -> new ModConfigScreen(screen)));
         #elif NEO
             modEventBus.addListener(this::clientSetup);
+            modEventBus.addListener(this::registerKeyMappings);
              modContainer.registerExtensionPoint(IConfigScreenFactory.class, 
                 (mc, screen) -> new ModConfigScreen(screen));
         #endif
@@ -90,16 +108,24 @@ public class DynamicResourceBars #if FABRIC implements ClientModInitializer, Mod
 
     #if FABRIC @Override #endif
     public void onInitializeClient() {
+        CompatState.init();
         ModConfigManager.initializeConfig();
         ManaProviderManager.initialize();
         
         #if FABRIC
         ClientTickEvents.END_CLIENT_TICK.register(client -> TickHandler.onClientTick());
-        if (PlatformUtil.isModLoaded("appleskin")) {
+        AttackEntityCallback.EVENT.register((player, level, hand, entity, hitResult) -> {
+            TargetTracker.onAttack(player, entity);
+            return InteractionResult.PASS;
+        });
+        HudRenderCallback.EVENT.register(BarRenderManager::renderOverlayBars);
+        WorldRenderEvents.AFTER_ENTITIES.register(context -> NameplateBarRenderer.render(context.matrixStack(), context.camera(), context.frustum()));
+        KeyBindingHelper.registerKeyBinding(ModKeyMappings.CYCLE_LAYOUT_PROFILE);
+        if (CompatState.APPLESKIN) {
             AppleSkinFabricEventHandler.init();
         }
         #elif FORGELIKE
-        if (PlatformUtil.isModLoaded("appleskin")) {
+        if (CompatState.APPLESKIN) {
             AppleSkinEventHandler.register();
             LOGGER.info("AppleSkin detected, registering event handlers.");
         }
@@ -119,6 +145,10 @@ public class DynamicResourceBars #if FABRIC implements ClientModInitializer, Mod
         #endif
     }
 
+    public void registerKeyMappings(RegisterKeyMappingsEvent event) {
+        event.register(ModKeyMappings.CYCLE_LAYOUT_PROFILE);
+    }
+
     @SubscribeEvent
     #if FORGE
     public void onClientTick(TickEvent.ClientTickEvent event) {
@@ -129,5 +159,25 @@ public class DynamicResourceBars #if FABRIC implements ClientModInitializer, Mod
             TickHandler.onClientTick();
     #if FORGE } #endif
     }
+
+    @SubscribeEvent
+    public void onAttackEntity(AttackEntityEvent event) {
+        TargetTracker.onAttack(event.getEntity(), event.getTarget());
+    }
+
+    #if NEO
+    // Forge 1.20.1 registers the overlay bars as a GUI overlay instead (see ModEvents)
+    @SubscribeEvent
+    public void onRenderGui(RenderGuiEvent.Post event) {
+        BarRenderManager.renderOverlayBars(event.getGuiGraphics(), event.getPartialTick());
+    }
+    #endif
+
+    @SubscribeEvent
+    public void onRenderLevelStage(RenderLevelStageEvent event) {
+        if (event.getStage() == RenderLevelStageEvent.Stage.AFTER_ENTITIES) {
+            NameplateBarRenderer.render(event.getPoseStack(), event.getCamera(), event.getFrustum());
+        }
+    }
     #endif
 }
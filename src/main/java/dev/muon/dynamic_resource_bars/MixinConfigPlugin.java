@@ -1,6 +1,8 @@
 package dev.muon.dynamic_resource_bars;
 
 import dev.muon.dynamic_resource_bars.util.PlatformUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.objectweb.asm.tree.ClassNode;
 import org.spongepowered.asm.mixin.extensibility.IMixinConfigPlugin;
 import org.spongepowered.asm.mixin.extensibility.IMixinInfo;
@@ -9,6 +11,9 @@ import java.util.List;
 import java.util.Set;
 
 public class MixinConfigPlugin implements IMixinConfigPlugin {
+    // Runs before the mod class is loaded, so it keeps its own logger rather than touching DynamicResourceBars
+    private static final Logger LOGGER = LogManager.getLogger("Dynamic RPG Resource Bars Mixins");
+
     @Override
     public void onLoad(String mixinPackage) {
     }
@@ -26,10 +31,13 @@ public class MixinConfigPlugin implements IMixinConfigPlugin {
             for (int i = 0; i < parts.length; i++) {
                 if (parts[i].equals("compat") && i + 1 < parts.length) {
                     String modId = parts[i + 1];
-                    return PlatformUtil.isModLoaded(modId);
+                    boolean apply = PlatformUtil.isModLoaded(modId);
+                    LOGGER.info("Compat mixin {} for '{}': {}", mixinClassName, modId, apply ? "applied" : "skipped, mod not loaded");
+                    return apply;
                 }
             }
             // This means there was a failure in parsing the mod id
+            LOGGER.warn("Compat mixin {} skipped, could not determine its mod id", mixinClassName);
             return false;
         }
         return true;
@@ -1,8 +1,8 @@
 package dev.muon.dynamic_resource_bars.compat;
 
+import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
-import dev.muon.dynamic_resource_bars.util.PlatformUtil;
 
 #if FABRIC && UPTO_20_1
 import squeek.appleskin.api.food.FoodValues;
@@ -25,14 +25,66 @@ import net.neoforged.neoforge.common.NeoForge;
 #endif
 
 public class AppleSkinCompat {
-    private static final boolean APPLESKIN_LOADED = PlatformUtil.isModLoaded("appleskin");
+    // Memoized held food query. AppleSkin posts an event per query, so both bars share one result
+    // until the tick, the held stacks or the player's food state change.
+    private static int cachedPlayerId = -1;
+    private static int cachedTick = -1;
+    private static ItemStack cachedMainHand = ItemStack.EMPTY;
+    private static int cachedMainHandCount;
+    private static ItemStack cachedOffHand = ItemStack.EMPTY;
+    private static int cachedOffHandCount;
+    private static int cachedFoodLevel;
+    private static float cachedSaturation;
+    private static HeldFood cachedHeldFood = HeldFood.EMPTY;
 
     public static boolean isLoaded() {
-        return APPLESKIN_LOADED;
+        return CompatState.APPLESKIN;
+    }
+
+    /**
+     * The food the player is holding (main hand first, then off hand) with its AppleSkin food values
+     * and estimated health restoration. Queried at most once per tick while nothing relevant changes.
+     */
+    public static HeldFood getHeldFood(Player player) {
+        if (!CompatState.APPLESKIN) {
+            return HeldFood.EMPTY;
+        }
+
+        ItemStack mainHand = player.getItemInHand(InteractionHand.MAIN_HAND);
+        ItemStack offHand = player.getItemInHand(InteractionHand.OFF_HAND);
+        int foodLevel = player.getFoodData().getFoodLevel();
+        float saturation = player.getFoodData().getSaturationLevel();
+
+        if (player.getId() == cachedPlayerId && player.tickCount == cachedTick
+                && mainHand == cachedMainHand && mainHand.getCount() == cachedMainHandCount
+                && offHand == cachedOffHand && offHand.getCount() == cachedOffHandCount
+                && foodLevel == cachedFoodLevel && saturation == cachedSaturation) {
+            return cachedHeldFood;
+        }
+
+        ItemStack food = ItemStack.EMPTY;
+        if (canConsume(mainHand, player)) {
+            food = mainHand;
+        } else if (canConsume(offHand, player)) {
+            food = offHand;
+        }
+
+        cachedPlayerId = player.getId();
+        cachedTick = player.tickCount;
+        cachedMainHand = mainHand;
+        cachedMainHandCount = mainHand.getCount();
+        cachedOffHand = offHand;
+        cachedOffHandCount = offHand.getCount();
+        cachedFoodLevel = foodLevel;
+        cachedSaturation = saturation;
+        cachedHeldFood = food.isEmpty()
+                ? HeldFood.EMPTY
+                : new HeldFood(food, getFoodValues(food, player), getEstimatedHealthRestoration(food, player));
+        return cachedHeldFood;
     }
 
     public static FoodData getFoodValues(ItemStack stack, Player player) {
-        if (!APPLESKIN_LOADED || stack.isEmpty() || !canConsume(stack, player)) {
+        if (!CompatState.APPLESKIN || stack.isEmpty() || !canConsume(stack, player)) {
             return FoodData.EMPTY;
         }
 
@@ -71,7 +123,7 @@ public class AppleSkinCompat {
     }
 
     public static boolean canConsume(ItemStack stack, Player player) {
-        if (!APPLESKIN_LOADED || stack.isEmpty()) {
+        if (!CompatState.APPLESKIN || stack.isEmpty()) {
             return false;
         }
 
@@ -91,7 +143,7 @@ public class AppleSkinCompat {
     }
     
     public static float getEstimatedHealthRestoration(ItemStack stack, Player player) {
-        if (!APPLESKIN_LOADED || !canConsume(stack, player)) {
+        if (!CompatState.APPLESKIN || !canConsume(stack, player)) {
             return 0f;
         }
         
@@ -114,6 +166,24 @@ public class AppleSkinCompat {
         #endif
     }
     
+    public static class HeldFood {
+        public static final HeldFood EMPTY = new HeldFood(ItemStack.EMPTY, FoodData.EMPTY, 0f);
+
+        public final ItemStack stack;
+        public final FoodData food;
+        public final float healthRestoration;
+
+        public HeldFood(ItemStack stack, FoodData food, float healthRestoration) {
+            this.stack = stack;
+            this.food = food;
+            this.healthRestoration = healthRestoration;
+        }
+
+        public boolean isEmpty() {
+            return stack.isEmpty();
+        }
+    }
+
     public static class FoodData {
         public static final FoodData EMPTY = new FoodData(0, 0f);
         
@@ -7,7 +7,6 @@ import com.hollingsworth.arsnouveau.setup.registry.CapabilityRegistry;
 import com.hollingsworth.arsnouveau.client.gui.GuiManaHUD;
 #endif
 import dev.muon.dynamic_resource_bars.util.ManaProvider;
-import dev.muon.dynamic_resource_bars.util.PlatformUtil;
 import net.minecraft.client.Minecraft;
 import net.minecraft.world.entity.player.Player;
 #if FORGE
@@ -24,7 +23,7 @@ public class ArsNouveauManaProvider implements ManaProvider {
         }
 
         // Totally redundant but prevents unreachable statement compile errors
-        if (PlatformUtil.isModLoaded( "ars_nouveau")) {
+        if (CompatState.ARS_NOUVEAU) {
         #if NEO
         IManaCap manaCap = CapabilityRegistry.getMana(player);
         if (manaCap != null) {
@@ -45,7 +44,7 @@ public class ArsNouveauManaProvider implements ManaProvider {
             return 0;
         }
         // Totally redundant but prevents unreachable statement compile errors
-        if (PlatformUtil.isModLoaded( "ars_nouveau")) {
+        if (CompatState.ARS_NOUVEAU) {
         #if NEO
         IManaCap manaCap = CapabilityRegistry.getMana(player);
         if (manaCap != null) {
@@ -62,7 +61,7 @@ public class ArsNouveauManaProvider implements ManaProvider {
     @Override
     public float getReservedMana() {
         // Totally redundant but prevents unreachable statement compile errors
-        if (PlatformUtil.isModLoaded( "ars_nouveau")) {
+        if (CompatState.ARS_NOUVEAU) {
         #if FORGELIKE
         return ClientInfo.reservedOverlayMana;
         #endif
@@ -0,0 +1,34 @@
+package dev.muon.dynamic_resource_bars.compat;
+
+import dev.muon.dynamic_resource_bars.DynamicResourceBars;
+import dev.muon.dynamic_resource_bars.util.PlatformUtil;
+
+/**
+ * Which supported mods are present, resolved once when the class is first touched (forced from client init).
+ * <p>
+ * Render-time code reads these constants rather than asking the loader; on Forge/NeoForge
+ * {@link PlatformUtil#isModLoaded} can fall back to scanning the whole loading mod list.
+ * Compat mixins are decided earlier by {@code MixinConfigPlugin}, which logs its own choices.
+ */
+public final class CompatState {
+    public static final boolean APPLESKIN = PlatformUtil.isModLoaded("appleskin");
+    public static final boolean FARMERS_DELIGHT = PlatformUtil.isModLoaded("farmersdelight");
+    public static final boolean BEWITCHMENT = PlatformUtil.isModLoaded("bewitchment");
+    public static final boolean IRONS_SPELLBOOKS = PlatformUtil.isModLoaded("irons_spellbooks");
+    public static final boolean ARS_NOUVEAU = PlatformUtil.isModLoaded("ars_nouveau");
+    public static final boolean RPG_MANA = PlatformUtil.isModLoaded("rpgmana");
+    public static final boolean MANA_ATTRIBUTES = PlatformUtil.isModLoaded("manaattributes");
+
+    public static final boolean ANY_MANA_MOD = IRONS_SPELLBOOKS || ARS_NOUVEAU || RPG_MANA || MANA_ATTRIBUTES;
+
+    private CompatState() {
+    }
+
+    /**
+     * Forces resolution and logs the result. Call once during client init, before anything renders.
+     */
+    public static void init() {
+        DynamicResourceBars.LOGGER.info("Compat: appleskin={}, farmersdelight={}, bewitchment={}, irons_spellbooks={}, ars_nouveau={}, rpgmana={}, manaattributes={}",
+                APPLESKIN, FARMERS_DELIGHT, BEWITCHMENT, IRONS_SPELLBOOKS, ARS_NOUVEAU, RPG_MANA, MANA_ATTRIBUTES);
+    }
+}
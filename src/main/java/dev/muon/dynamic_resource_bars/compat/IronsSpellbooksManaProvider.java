@@ -1,7 +1,6 @@
 package dev.muon.dynamic_resource_bars.compat;
 
 import dev.muon.dynamic_resource_bars.util.ManaProvider;
-import dev.muon.dynamic_resource_bars.util.PlatformUtil;
 import net.minecraft.client.Minecraft;
 import net.minecraft.world.entity.player.Player;
 #if FORGELIKE
@@ -20,7 +19,7 @@ public class IronsSpellbooksManaProvider implements ManaProvider {
     @Override
     public double getCurrentMana() {
         // Totally redundant but prevents unreachable statement compile errors
-        if (PlatformUtil.isModLoaded( "irons_spellbooks")) {
+        if (CompatState.IRONS_SPELLBOOKS) {
         #if FORGELIKE
         return ClientMagicData.getPlayerMana();
         #endif
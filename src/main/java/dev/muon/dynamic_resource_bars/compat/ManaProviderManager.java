@@ -41,19 +41,19 @@ public class ManaProviderManager {
         ManaProviderRegistry.registerProvider(() -> EMPTY_PROVIDER);
         
         // Register providers for mods that are loaded
-        if (PlatformUtil.isModLoaded("irons_spellbooks")) {
+        if (CompatState.IRONS_SPELLBOOKS) {
             if (ironsProvider == null) ironsProvider = new IronsSpellbooksManaProvider();
             ManaProviderRegistry.registerProvider(() -> ironsProvider);
         }
-        if (PlatformUtil.isModLoaded("ars_nouveau")) {
+        if (CompatState.ARS_NOUVEAU) {
             if (arsProvider == null) arsProvider = new ArsNouveauManaProvider();
             ManaProviderRegistry.registerProvider(() -> arsProvider);
         }
-        if (PlatformUtil.isModLoaded("rpgmana")) {
+        if (CompatState.RPG_MANA) {
             if (rpgManaProvider == null) rpgManaProvider = new RPGManaManaProvider();
             ManaProviderRegistry.registerProvider(() -> rpgManaProvider);
         }
-        if (PlatformUtil.isModLoaded("manaattributes")) {
+        if (CompatState.MANA_ATTRIBUTES) {
             if (manaAttributesProvider == null) manaAttributesProvider = new ManaAttributesManaProvider();
             ManaProviderRegistry.registerProvider(() -> manaAttributesProvider);
         }
@@ -87,13 +87,13 @@ public class ManaProviderManager {
     public static boolean isModLoaded(ManaBarBehavior behavior) {
         switch (behavior) {
             case IRONS_SPELLBOOKS:
-                return PlatformUtil.isModLoaded("irons_spellbooks");
+                return CompatState.IRONS_SPELLBOOKS;
             case ARS_NOUVEAU:
-                return PlatformUtil.isModLoaded("ars_nouveau");
+                return CompatState.ARS_NOUVEAU;
             case RPG_MANA:
-                return PlatformUtil.isModLoaded("rpgmana");
+                return CompatState.RPG_MANA;
             case MANA_ATTRIBUTES:
-                return PlatformUtil.isModLoaded("manaattributes");
+                return CompatState.MANA_ATTRIBUTES;
             case OFF:
                 return true;
             default:
@@ -102,24 +102,21 @@ public class ManaProviderManager {
     }
     
     public static boolean hasAnyManaMods() {
-        return PlatformUtil.isModLoaded("irons_spellbooks") ||
-               PlatformUtil.isModLoaded("ars_nouveau") ||
-               PlatformUtil.isModLoaded("rpgmana") ||
-               PlatformUtil.isModLoaded("manaattributes");
+        return CompatState.ANY_MANA_MOD;
     }
     
     public static void initialize() {
         // Initialize providers if mods are loaded
-        if (PlatformUtil.isModLoaded("irons_spellbooks")) {
+        if (CompatState.IRONS_SPELLBOOKS) {
             ironsProvider = new IronsSpellbooksManaProvider();
         }
-        if (PlatformUtil.isModLoaded("ars_nouveau")) {
+        if (CompatState.ARS_NOUVEAU) {
             arsProvider = new ArsNouveauManaProvider();
         }
-        if (PlatformUtil.isModLoaded("rpgmana")) {
+        if (CompatState.RPG_MANA) {
             rpgManaProvider = new RPGManaManaProvider();
         }
-        if (PlatformUtil.isModLoaded("manaattributes")) {
+        if (CompatState.MANA_ATTRIBUTES) {
             manaAttributesProvider = new ManaAttributesManaProvider();
         }
         
@@ -1,7 +1,5 @@
 package dev.muon.dynamic_resource_bars.config;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import dev.muon.dynamic_resource_bars.DynamicResourceBars; // For logging
 import dev.muon.dynamic_resource_bars.util.AnchorPoint;
 import dev.muon.dynamic_resource_bars.util.HorizontalAlignment;
@@ -11,20 +9,14 @@ import dev.muon.dynamic_resource_bars.util.FillDirection;
 import dev.muon.dynamic_resource_bars.util.ManaBarBehavior;
 
 import java.io.Reader;
-import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ClientConfig {
 
     private static Path CONFIG_FILE_PATH;
-    private static final Gson GSON = new GsonBuilder()
-            .setPrettyPrinting()
-            .serializeNulls() // Optional: good for ensuring all fields are present in JSON
-            .enableComplexMapKeySerialization() // Good practice
-            // .registerTypeAdapter(Path.class, new PathTypeAdapter()) // Example if complex types need adapters
-            .create();
 
     // General
     public static final float DEFAULT_TEXT_SCALING_FACTOR = 0.5f;
@@ -44,6 +36,16 @@ public class ClientConfig {
     public static final int DEFAULT_GLOBAL_BAR_WIDTH_MODIFIER = 100; // 100 = 100% (no change)
     public int globalBarWidthModifier = DEFAULT_GLOBAL_BAR_WIDTH_MODIFIER; // 0-100, percentage of original width
 
+    // Ids of the bars (see BarRenderer), back to front. Bars not listed are placed by their default order
+    public static final List<String> DEFAULT_BAR_RENDER_ORDER = List.of("mana", "stamina", "health", "armor", "air");
+    public List<String> barRenderOrder = new ArrayList<>(DEFAULT_BAR_RENDER_ORDER);
+
+    // HUD editor snapping. Editor-only, so not part of ConfigSnapshot
+    public static final boolean DEFAULT_HUD_EDITOR_SNAP_TO_GUIDES = true;
+    public static final int DEFAULT_HUD_EDITOR_GRID_SIZE = 0; // 0 = no grid
+    public boolean hudEditorSnapToGuides = DEFAULT_HUD_EDITOR_SNAP_TO_GUIDES;
+    public int hudEditorGridSize = DEFAULT_HUD_EDITOR_GRID_SIZE;
+
     // Health Defaults & Fields
     public static final boolean DEFAULT_ENABLE_HEALTH_BAR = true;
     public static final AnchorPoint DEFAULT_HEALTH_BAR_ANCHOR = AnchorPoint.BOTTOM_LEFT;
@@ -372,14 +374,66 @@ public class ClientConfig {
     public int airBarFrameHeight;
     public FillDirection airFillDirection;
 
-    private static transient ClientConfig instance; // Marked transient so GSON doesn't try to save it
-
-    // Private constructor to enforce singleton via getInstance and initialize defaults
-    private ClientConfig() {
+    // Party Defaults & Fields
+    public static final boolean DEFAULT_ENABLE_PARTY_BARS = false;
+    public static final AnchorPoint DEFAULT_PARTY_BAR_ANCHOR = AnchorPoint.TOP_LEFT;
+    public static final int DEFAULT_PARTY_BAR_WIDTH = 80;
+    public static final int DEFAULT_PARTY_TOTAL_X_OFFSET = 4;
+    public static final int DEFAULT_PARTY_TOTAL_Y_OFFSET = 4;
+    public static final int DEFAULT_PARTY_MAX_MEMBERS = 10;
+    public static final boolean DEFAULT_SHOW_PARTY_NAMES = true;
+
+    public boolean enablePartyBars;
+    public AnchorPoint partyBarAnchor;
+    public int partyBarWidth;
+    public int partyTotalXOffset;
+    public int partyTotalYOffset;
+    public int partyMaxMembers;
+    public boolean showPartyNames;
+
+    // Target Defaults & Fields
+    public static final boolean DEFAULT_ENABLE_TARGET_BAR = false;
+    public static final AnchorPoint DEFAULT_TARGET_BAR_ANCHOR = AnchorPoint.TOP_CENTER;
+    public static final int DEFAULT_TARGET_BAR_WIDTH_MODIFIER = 100;
+    public static final int DEFAULT_TARGET_TOTAL_X_OFFSET = 0;
+    public static final int DEFAULT_TARGET_TOTAL_Y_OFFSET = 20;
+    public static final boolean DEFAULT_SHOW_TARGET_NAME = true;
+
+    public boolean enableTargetBar;
+    public AnchorPoint targetBarAnchor;
+    public int targetBarWidthModifier;
+    public int targetTotalXOffset;
+    public int targetTotalYOffset;
+    public boolean showTargetName;
+
+    // Nameplate Defaults & Fields
+    public static final boolean DEFAULT_ENABLE_NAMEPLATE_BARS = false;
+    public static final int DEFAULT_NAMEPLATE_MAX_DISTANCE = 24;
+    public static final int DEFAULT_NAMEPLATE_DETAIL_DISTANCE = 10;
+    public static final int DEFAULT_NAMEPLATE_MAX_BARS = 32;
+    public static final boolean DEFAULT_NAMEPLATE_ONLY_WHEN_DAMAGED = true;
+
+    public boolean enableNameplateBars;
+    public int nameplateMaxDistance;
+    public int nameplateDetailDistance;
+    public int nameplateMaxBars;
+    public boolean nameplateOnlyWhenDamaged;
+
+    private static transient ClientConfig instance;
+    // File this instance saves to; null for the main config file. Set for layout profiles (see LayoutProfiles)
+    private transient Path filePath;
+    // Bumped whenever the config is loaded or saved, so caches derived from it (e.g. bar layouts) know to recompute
+    private static transient int epoch = 0;
+
+    // Package-private so only getInstance (and the codec) create instances; initializes defaults
+    ClientConfig() {
         this.textScalingFactor = DEFAULT_TEXT_SCALING_FACTOR;
         this.globalTextColor = DEFAULT_TEXT_COLOR;
         this.globalTextOpacity = DEFAULT_TEXT_OPACITY;
         this.globalTextSize = DEFAULT_TEXT_SIZE;
+        this.barRenderOrder = new ArrayList<>(DEFAULT_BAR_RENDER_ORDER);
+        this.hudEditorSnapToGuides = DEFAULT_HUD_EDITOR_SNAP_TO_GUIDES;
+        this.hudEditorGridSize = DEFAULT_HUD_EDITOR_GRID_SIZE;
 
         this.enableHealthBar = DEFAULT_ENABLE_HEALTH_BAR;
         this.healthBarAnchor = AnchorPoint.BOTTOM_LEFT;
@@ -543,6 +597,27 @@ public class ClientConfig {
         this.airBarAnimationCycles = DEFAULT_AIR_BAR_ANIMATION_CYCLES;
         this.airBarFrameHeight = DEFAULT_AIR_BAR_FRAME_HEIGHT;
         this.airFillDirection = DEFAULT_AIR_FILL_DIRECTION;
+
+        this.enablePartyBars = DEFAULT_ENABLE_PARTY_BARS;
+        this.partyBarAnchor = DEFAULT_PARTY_BAR_ANCHOR;
+        this.partyBarWidth = DEFAULT_PARTY_BAR_WIDTH;
+        this.partyTotalXOffset = DEFAULT_PARTY_TOTAL_X_OFFSET;
+        this.partyTotalYOffset = DEFAULT_PARTY_TOTAL_Y_OFFSET;
+        this.partyMaxMembers = DEFAULT_PARTY_MAX_MEMBERS;
+        this.showPartyNames = DEFAULT_SHOW_PARTY_NAMES;
+
+        this.enableTargetBar = DEFAULT_ENABLE_TARGET_BAR;
+        this.targetBarAnchor = DEFAULT_TARGET_BAR_ANCHOR;
+        this.targetBarWidthModifier = DEFAULT_TARGET_BAR_WIDTH_MODIFIER;
+        this.targetTotalXOffset = DEFAULT_TARGET_TOTAL_X_OFFSET;
+        this.targetTotalYOffset = DEFAULT_TARGET_TOTAL_Y_OFFSET;
+        this.showTargetName = DEFAULT_SHOW_TARGET_NAME;
+
+        this.enableNameplateBars = DEFAULT_ENABLE_NAMEPLATE_BARS;
+        this.nameplateMaxDistance = DEFAULT_NAMEPLATE_MAX_DISTANCE;
+        this.nameplateDetailDistance = DEFAULT_NAMEPLATE_DETAIL_DISTANCE;
+        this.nameplateMaxBars = DEFAULT_NAMEPLATE_MAX_BARS;
+        this.nameplateOnlyWhenDamaged = DEFAULT_NAMEPLATE_ONLY_WHEN_DAMAGED;
     }
 
     public static void setConfigPath(Path path) {
@@ -559,21 +634,61 @@ public class ClientConfig {
                 throw new IllegalStateException("ClientConfig.CONFIG_FILE_PATH must be set before getInstance() is called.");
             }
             instance = load();
+            markChanged();
         }
         return instance;
     }
 
+    public static int getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Reserves an epoch for a snapshot that is built now but published later (an inactive layout profile).
+     */
+    static int nextEpoch() {
+        return ++epoch;
+    }
+
+    /**
+     * Makes {@code config} the instance returned by {@link #getInstance()}. The caller publishes its snapshot.
+     */
+    static void activate(ClientConfig config) {
+        instance = config;
+    }
+
+    void setFilePath(Path filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Commits the current field values: bumps the epoch and publishes a new {@link ConfigSnapshot}, invalidating
+     * anything cached from the previous one. Called automatically on load and save; call it directly after
+     * changing fields that won't be saved right away.
+     */
+    public static void markChanged() {
+        epoch++;
+        if (instance != null) {
+            ConfigSnapshot.publish(instance, epoch);
+        }
+    }
+
     private static ClientConfig load() {
         ClientConfig loadedConfig = null;
         boolean newConfigCreated = false;
+        // Set when the codec had to default or clamp a value, so the corrected file is written back
+        boolean modifiedByDefaults = false;
 
         if (Files.exists(CONFIG_FILE_PATH)) {
             try (Reader reader = Files.newBufferedReader(CONFIG_FILE_PATH)) {
-                loadedConfig = GSON.fromJson(reader, ClientConfig.class);
-                if (loadedConfig == null) { // GSON might return null for empty or malformed JSON
+                ClientConfigCodec.Result result = ClientConfigCodec.read(reader);
+                if (result == null) { // Empty file
                     DynamicResourceBars.LOGGER.warn("Config file {} was empty or malformed. Creating new default config.", CONFIG_FILE_PATH);
                     loadedConfig = new ClientConfig(); // Create a new instance with defaults
                     newConfigCreated = true;
+                } else {
+                    loadedConfig = result.config;
+                    modifiedByDefaults = result.modified;
                 }
             } catch (Exception e) {
                 DynamicResourceBars.LOGGER.error("Failed to load client config from {}. A new default config will be created. Error: ", CONFIG_FILE_PATH, e);
@@ -586,12 +701,6 @@ public class ClientConfig {
             newConfigCreated = true;
         }
 
-        // Ensure all fields are present, applying defaults for any missing ones
-        // This is a simple way to handle upgrades where new config options are added
-        // A more sophisticated approach might involve version numbers and explicit migration
-        boolean modifiedByDefaults = ensureDefaults(loadedConfig);
-
-
         if (newConfigCreated || modifiedByDefaults) {
             DynamicResourceBars.LOGGER.info("Saving new or updated default config to {}.", CONFIG_FILE_PATH);
             loadedConfig.save(); // Save if it's new or if defaults were applied
@@ -600,106 +709,209 @@ public class ClientConfig {
         return loadedConfig;
     }
 
-    // Helper to ensure all fields have values, applying defaults if necessary
-    // This makes the config resilient to being manually edited with missing fields
-    private static boolean ensureDefaults(ClientConfig cfg) {
-        boolean modified = false;
-        // For each field, check if it's null (GSON might leave it null if not in JSON)
-        // or if it's a value that indicates it needs a default (e.g. enums being null)
-        // This is verbose but clear. A more reflection-based approach is possible but complex.
-
-        // General - textScalingFactor is double, defaults are handled by constructor/GSON field init.
-
-        // Global bar width modifier validation
-        if (cfg.globalBarWidthModifier < 0 || cfg.globalBarWidthModifier > 100) { 
-            cfg.globalBarWidthModifier = DEFAULT_GLOBAL_BAR_WIDTH_MODIFIER; 
-            modified = true; 
-        }
-
-        // Health
-        if (cfg.healthBarAnchor == null) { cfg.healthBarAnchor = AnchorPoint.BOTTOM_LEFT; modified = true; }
-        if (cfg.showHealthText == null) { cfg.showHealthText = DEFAULT_SHOW_HEALTH_TEXT; modified = true; }
-        if (cfg.healthTextAlign == null) { cfg.healthTextAlign = DEFAULT_HEALTH_TEXT_ALIGN; modified = true; }
-        if (cfg.healthFillDirection == null) { cfg.healthFillDirection = DEFAULT_HEALTH_FILL_DIRECTION; modified = true; }
-
-        // Ensure health overlay dimensions are within valid ranges (height only, width is now dynamic)
-        if (cfg.healthOverlayHeight > 256) { cfg.healthOverlayHeight = 256; modified = true; }
-        if (cfg.healthOverlayHeight < 1) { cfg.healthOverlayHeight = DEFAULT_HEALTH_OVERLAY_HEIGHT; modified = true; }
-
-        // Ensure health background dimensions are within valid ranges (height only, width is now dynamic)
-        if (cfg.healthBackgroundHeight < 1) { cfg.healthBackgroundHeight = DEFAULT_HEALTH_BACKGROUND_HEIGHT; modified = true; }
-
-        // Ensure health bar dimensions are within valid ranges (height only, width is now dynamic)
-        if (cfg.healthBarHeight < 1) { cfg.healthBarHeight = DEFAULT_HEALTH_BAR_HEIGHT; modified = true; }
-
-
-        // Stamina
-        if (cfg.staminaBarAnchor == null) { cfg.staminaBarAnchor = DEFAULT_STAMINA_BAR_ANCHOR; modified = true; }
-        if (cfg.showStaminaText == null) { cfg.showStaminaText = DEFAULT_SHOW_STAMINA_TEXT; modified = true; }
-        if (cfg.staminaTextAlign == null) { cfg.staminaTextAlign = DEFAULT_STAMINA_TEXT_ALIGN; modified = true; }
-        if (cfg.staminaFillDirection == null) { cfg.staminaFillDirection = DEFAULT_STAMINA_FILL_DIRECTION; modified = true; }
-
-        // Ensure stamina overlay dimensions are within valid ranges
-        if (cfg.staminaOverlayWidth > 256) { cfg.staminaOverlayWidth = 256; modified = true; }
-        if (cfg.staminaOverlayHeight > 256) { cfg.staminaOverlayHeight = 256; modified = true; }
-        if (cfg.staminaOverlayWidth < 1) { cfg.staminaOverlayWidth = DEFAULT_STAMINA_OVERLAY_WIDTH; modified = true; }
-        if (cfg.staminaOverlayHeight < 1) { cfg.staminaOverlayHeight = DEFAULT_STAMINA_OVERLAY_HEIGHT; modified = true; }
-
-        // Mana
-        if (cfg.manaBarAnchor == null) { cfg.manaBarAnchor = DEFAULT_MANA_BAR_ANCHOR; modified = true; }
-        if (cfg.showManaText == null) { cfg.showManaText = DEFAULT_SHOW_MANA_TEXT; modified = true; }
-        if (cfg.manaTextAlign == null) { cfg.manaTextAlign = DEFAULT_MANA_TEXT_ALIGN; modified = true; }
-        if (cfg.manaFillDirection == null) { cfg.manaFillDirection = DEFAULT_MANA_FILL_DIRECTION; modified = true; }
-        if (cfg.manaBarBehavior == null) { cfg.manaBarBehavior = DEFAULT_MANA_BAR_BEHAVIOR; modified = true; }
-
-        // Ensure mana overlay dimensions are within valid ranges
-        if (cfg.manaOverlayWidth > 256) { cfg.manaOverlayWidth = 256; modified = true; }
-        if (cfg.manaOverlayHeight > 256) { cfg.manaOverlayHeight = 256; modified = true; }
-        if (cfg.manaOverlayWidth < 1) { cfg.manaOverlayWidth = DEFAULT_MANA_OVERLAY_WIDTH; modified = true; }
-        if (cfg.manaOverlayHeight < 1) { cfg.manaOverlayHeight = DEFAULT_MANA_OVERLAY_HEIGHT; modified = true; }
-        
-        // Ensure mana bar width modifier is within valid range
-        if (cfg.manaBarWidthModifier < 0 || cfg.manaBarWidthModifier > 100) { cfg.manaBarWidthModifier = DEFAULT_MANA_BAR_WIDTH_MODIFIER; modified = true; }
-
-        // Ensure stamina bar width modifier is within valid range
-        if (cfg.staminaBarWidthModifier < 0 || cfg.staminaBarWidthModifier > 100) { cfg.staminaBarWidthModifier = DEFAULT_STAMINA_BAR_WIDTH_MODIFIER; modified = true; }
-
-        // Armor
-        if (cfg.armorBarBehavior == null) { cfg.armorBarBehavior = DEFAULT_ARMOR_BAR_BEHAVIOR; modified = true; }
-        if (cfg.armorBarAnchor == null) { cfg.armorBarAnchor = DEFAULT_ARMOR_BAR_ANCHOR; modified = true; }
-        if (cfg.showArmorText == null) { cfg.showArmorText = DEFAULT_SHOW_ARMOR_TEXT; modified = true; }
-        if (cfg.armorTextAlign == null) { cfg.armorTextAlign = DEFAULT_ARMOR_TEXT_ALIGN; modified = true; }
-
-        // Air
-        if (cfg.airBarBehavior == null) { cfg.airBarBehavior = DEFAULT_AIR_BAR_BEHAVIOR; modified = true; }
-        if (cfg.airBarAnchor == null) { cfg.airBarAnchor = DEFAULT_AIR_BAR_ANCHOR; modified = true; }
-        if (cfg.showAirText == null) { cfg.showAirText = DEFAULT_SHOW_AIR_TEXT; modified = true; }
-        if (cfg.airTextAlign == null) { cfg.airTextAlign = DEFAULT_AIR_TEXT_ALIGN; modified = true; }
-        if (cfg.airFillDirection == null) { cfg.airFillDirection = DEFAULT_AIR_FILL_DIRECTION; modified = true; }
-
-        // Primitive types like int, boolean, double will have their Java defaults (0, false, 0.0)
-        // if not present in JSON and not initialized by GSON to the POJO's initialized values.
-        // GSON usually respects field initializers if the field is missing in JSON.
-        // The constructor already sets all defaults, so `new ClientConfig()` handles this for primitives.
-        // This `ensureDefaults` method is primarily for making sure enum (Object) fields are not null
-        // if the JSON was incomplete or manually edited to remove them.
-
-        return modified;
-    }
-
-
     public void save() {
-        if (CONFIG_FILE_PATH == null) {
+        if (this == instance) {
+            markChanged();
+        }
+        Path path = filePath != null ? filePath : CONFIG_FILE_PATH;
+        if (path == null) {
             DynamicResourceBars.LOGGER.error("ClientConfig.CONFIG_FILE_PATH is null, cannot save config.");
             return;
         }
         try {
-            Files.createDirectories(CONFIG_FILE_PATH.getParent());
-            try (Writer writer = Files.newBufferedWriter(CONFIG_FILE_PATH, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-                GSON.toJson(this, writer);
-            }
+            // Serialized here for a consistent view of the fields; the disk write happens on ConfigWriter's thread
+            ConfigWriter.submit(path, ClientConfigCodec.write(this));
         } catch (Exception e) {
-            DynamicResourceBars.LOGGER.error("Failed to save client config to {}:", CONFIG_FILE_PATH, e);
+            DynamicResourceBars.LOGGER.error("Failed to save client config to {}:", path, e);
         }
     }
+
+    /**
+     * Replaces this instance's values with {@code other}'s. The instance itself is kept, since screens hold on to it.
+     */
+    void copyFrom(ClientConfig other) {
+        this.textScalingFactor = other.textScalingFactor;
+        this.globalTextColor = other.globalTextColor;
+        this.globalTextOpacity = other.globalTextOpacity;
+        this.globalTextSize = other.globalTextSize;
+        this.globalBarWidthModifier = other.globalBarWidthModifier;
+        this.barRenderOrder = new ArrayList<>(other.barRenderOrder);
+        this.hudEditorSnapToGuides = other.hudEditorSnapToGuides;
+        this.hudEditorGridSize = other.hudEditorGridSize;
+        this.enableHealthBar = other.enableHealthBar;
+        this.healthBarAnchor = other.healthBarAnchor;
+        this.fadeHealthWhenFull = other.fadeHealthWhenFull;
+        this.showHealthText = other.showHealthText;
+        this.healthTextAlign = other.healthTextAlign;
+        this.enableHealthForeground = other.enableHealthForeground;
+        this.enableHealthBackground = other.enableHealthBackground;
+        this.healthFillDirection = other.healthFillDirection;
+        this.healthBackgroundHeight = other.healthBackgroundHeight;
+        this.healthBarHeight = other.healthBarHeight;
+        this.healthBarAnimationCycles = other.healthBarAnimationCycles;
+        this.healthBarFrameHeight = other.healthBarFrameHeight;
+        this.healthOverlayHeight = other.healthOverlayHeight;
+        this.healthBarXOffset = other.healthBarXOffset;
+        this.healthBarYOffset = other.healthBarYOffset;
+        this.healthTotalXOffset = other.healthTotalXOffset;
+        this.healthTotalYOffset = other.healthTotalYOffset;
+        this.healthOverlayXOffset = other.healthOverlayXOffset;
+        this.healthOverlayYOffset = other.healthOverlayYOffset;
+        this.healthBackgroundXOffset = other.healthBackgroundXOffset;
+        this.healthBackgroundYOffset = other.healthBackgroundYOffset;
+        this.healthTextXOffset = other.healthTextXOffset;
+        this.healthTextYOffset = other.healthTextYOffset;
+        this.healthTextColor = other.healthTextColor;
+        this.healthTextOpacity = other.healthTextOpacity;
+        this.healthTextSize = other.healthTextSize;
+        this.healthAbsorptionTextXOffset = other.healthAbsorptionTextXOffset;
+        this.healthAbsorptionTextYOffset = other.healthAbsorptionTextYOffset;
+        this.healthBackgroundPadding = other.healthBackgroundPadding;
+        this.healthForegroundPadding = other.healthForegroundPadding;
+        this.enableHealthTrailingIcon = other.enableHealthTrailingIcon;
+        this.healthTrailingIconSize = other.healthTrailingIconSize;
+        this.healthTrailingIconXOffset = other.healthTrailingIconXOffset;
+        this.healthTrailingIconYOffset = other.healthTrailingIconYOffset;
+        this.healthBarWidthModifier = other.healthBarWidthModifier;
+        this.enableHealthRestorationOverlay = other.enableHealthRestorationOverlay;
+        this.enableStaminaBar = other.enableStaminaBar;
+        this.staminaBarAnchor = other.staminaBarAnchor;
+        this.fadeStaminaWhenFull = other.fadeStaminaWhenFull;
+        this.showStaminaText = other.showStaminaText;
+        this.staminaTextAlign = other.staminaTextAlign;
+        this.enableStaminaForeground = other.enableStaminaForeground;
+        this.enableStaminaBackground = other.enableStaminaBackground;
+        this.staminaFillDirection = other.staminaFillDirection;
+        this.staminaBackgroundWidth = other.staminaBackgroundWidth;
+        this.staminaBackgroundHeight = other.staminaBackgroundHeight;
+        this.staminaBarWidth = other.staminaBarWidth;
+        this.staminaBarHeight = other.staminaBarHeight;
+        this.staminaBarAnimationCycles = other.staminaBarAnimationCycles;
+        this.staminaBarFrameHeight = other.staminaBarFrameHeight;
+        this.staminaOverlayWidth = other.staminaOverlayWidth;
+        this.staminaOverlayHeight = other.staminaOverlayHeight;
+        this.staminaOverlayXOffset = other.staminaOverlayXOffset;
+        this.staminaOverlayYOffset = other.staminaOverlayYOffset;
+        this.staminaBarXOffset = other.staminaBarXOffset;
+        this.staminaBarYOffset = other.staminaBarYOffset;
+        this.staminaTotalXOffset = other.staminaTotalXOffset;
+        this.staminaTotalYOffset = other.staminaTotalYOffset;
+        this.staminaBackgroundXOffset = other.staminaBackgroundXOffset;
+        this.staminaBackgroundYOffset = other.staminaBackgroundYOffset;
+        this.staminaTextXOffset = other.staminaTextXOffset;
+        this.staminaTextYOffset = other.staminaTextYOffset;
+        this.staminaTextColor = other.staminaTextColor;
+        this.staminaTextOpacity = other.staminaTextOpacity;
+        this.staminaTextSize = other.staminaTextSize;
+        this.staminaBarWidthModifier = other.staminaBarWidthModifier;
+        this.enableStaminaTrailingIcon = other.enableStaminaTrailingIcon;
+        this.staminaTrailingIconSize = other.staminaTrailingIconSize;
+        this.staminaTrailingIconXOffset = other.staminaTrailingIconXOffset;
+        this.staminaTrailingIconYOffset = other.staminaTrailingIconYOffset;
+        this.manaBarBehavior = other.manaBarBehavior;
+        this.manaBarAnchor = other.manaBarAnchor;
+        this.enableManaBackground = other.enableManaBackground;
+        this.enableManaForeground = other.enableManaForeground;
+        this.fadeManaWhenFull = other.fadeManaWhenFull;
+        this.showManaText = other.showManaText;
+        this.manaTextAlign = other.manaTextAlign;
+        this.manaFillDirection = other.manaFillDirection;
+        this.manaBackgroundWidth = other.manaBackgroundWidth;
+        this.manaBackgroundHeight = other.manaBackgroundHeight;
+        this.manaBarWidth = other.manaBarWidth;
+        this.manaBarHeight = other.manaBarHeight;
+        this.manaBarAnimationCycles = other.manaBarAnimationCycles;
+        this.manaBarFrameHeight = other.manaBarFrameHeight;
+        this.manaOverlayWidth = other.manaOverlayWidth;
+        this.manaOverlayHeight = other.manaOverlayHeight;
+        this.manaBarXOffset = other.manaBarXOffset;
+        this.manaBarYOffset = other.manaBarYOffset;
+        this.manaTotalXOffset = other.manaTotalXOffset;
+        this.manaTotalYOffset = other.manaTotalYOffset;
+        this.manaOverlayXOffset = other.manaOverlayXOffset;
+        this.manaOverlayYOffset = other.manaOverlayYOffset;
+        this.manaBackgroundXOffset = other.manaBackgroundXOffset;
+        this.manaBackgroundYOffset = other.manaBackgroundYOffset;
+        this.manaTextXOffset = other.manaTextXOffset;
+        this.manaTextYOffset = other.manaTextYOffset;
+        this.manaTextColor = other.manaTextColor;
+        this.manaTextOpacity = other.manaTextOpacity;
+        this.manaTextSize = other.manaTextSize;
+        this.manaBarWidthModifier = other.manaBarWidthModifier;
+        this.enableManaTrailingIcon = other.enableManaTrailingIcon;
+        this.manaTrailingIconSize = other.manaTrailingIconSize;
+        this.manaTrailingIconXOffset = other.manaTrailingIconXOffset;
+        this.manaTrailingIconYOffset = other.manaTrailingIconYOffset;
+        this.armorBarBehavior = other.armorBarBehavior;
+        this.armorBarAnchor = other.armorBarAnchor;
+        this.maxExpectedArmor = other.maxExpectedArmor;
+        this.maxExpectedProt = other.maxExpectedProt;
+        this.armorBackgroundWidth = other.armorBackgroundWidth;
+        this.armorBackgroundHeight = other.armorBackgroundHeight;
+        this.armorBarWidth = other.armorBarWidth;
+        this.armorBarHeight = other.armorBarHeight;
+        this.armorBarXOffset = other.armorBarXOffset;
+        this.armorBarYOffset = other.armorBarYOffset;
+        this.armorTotalXOffset = other.armorTotalXOffset;
+        this.armorTotalYOffset = other.armorTotalYOffset;
+        this.enableArmorIcon = other.enableArmorIcon;
+        this.armorIconSize = other.armorIconSize;
+        this.protOverlayAnimationCycles = other.protOverlayAnimationCycles;
+        this.protOverlayFrameHeight = other.protOverlayFrameHeight;
+        this.armorIconXOffset = other.armorIconXOffset;
+        this.armorIconYOffset = other.armorIconYOffset;
+        this.armorTextXOffset = other.armorTextXOffset;
+        this.armorTextYOffset = other.armorTextYOffset;
+        this.armorTextColor = other.armorTextColor;
+        this.armorTextOpacity = other.armorTextOpacity;
+        this.armorTextSize = other.armorTextSize;
+        this.showArmorText = other.showArmorText;
+        this.armorTextAlign = other.armorTextAlign;
+        this.armorBackgroundXOffset = other.armorBackgroundXOffset;
+        this.armorBackgroundYOffset = other.armorBackgroundYOffset;
+        this.airBarBehavior = other.airBarBehavior;
+        this.airBarAnchor = other.airBarAnchor;
+        this.airBackgroundWidth = other.airBackgroundWidth;
+        this.airBackgroundHeight = other.airBackgroundHeight;
+        this.airBarWidth = other.airBarWidth;
+        this.airBarHeight = other.airBarHeight;
+        this.airBarXOffset = other.airBarXOffset;
+        this.airBarYOffset = other.airBarYOffset;
+        this.airTotalXOffset = other.airTotalXOffset;
+        this.airTotalYOffset = other.airTotalYOffset;
+        this.enableAirIcon = other.enableAirIcon;
+        this.airIconSize = other.airIconSize;
+        this.airIconXOffset = other.airIconXOffset;
+        this.airIconYOffset = other.airIconYOffset;
+        this.airTextXOffset = other.airTextXOffset;
+        this.airTextYOffset = other.airTextYOffset;
+        this.airTextColor = other.airTextColor;
+        this.airTextOpacity = other.airTextOpacity;
+        this.airTextSize = other.airTextSize;
+        this.showAirText = other.showAirText;
+        this.airTextAlign = other.airTextAlign;
+        this.airBackgroundXOffset = other.airBackgroundXOffset;
+        this.airBackgroundYOffset = other.airBackgroundYOffset;
+        this.airBarAnimationCycles = other.airBarAnimationCycles;
+        this.airBarFrameHeight = other.airBarFrameHeight;
+        this.airFillDirection = other.airFillDirection;
+        this.enablePartyBars = other.enablePartyBars;
+        this.partyBarAnchor = other.partyBarAnchor;
+        this.partyBarWidth = other.partyBarWidth;
+        this.partyTotalXOffset = other.partyTotalXOffset;
+        this.partyTotalYOffset = other.partyTotalYOffset;
+        this.partyMaxMembers = other.partyMaxMembers;
+        this.showPartyNames = other.showPartyNames;
+        this.enableTargetBar = other.enableTargetBar;
+        this.targetBarAnchor = other.targetBarAnchor;
+        this.targetBarWidthModifier = other.targetBarWidthModifier;
+        this.targetTotalXOffset = other.targetTotalXOffset;
+        this.targetTotalYOffset = other.targetTotalYOffset;
+        this.showTargetName = other.showTargetName;
+        this.enableNameplateBars = other.enableNameplateBars;
+        this.nameplateMaxDistance = other.nameplateMaxDistance;
+        this.nameplateDetailDistance = other.nameplateDetailDistance;
+        this.nameplateMaxBars = other.nameplateMaxBars;
+        this.nameplateOnlyWhenDamaged = other.nameplateOnlyWhenDamaged;
+    }
 }
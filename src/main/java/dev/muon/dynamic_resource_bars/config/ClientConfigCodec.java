@@ -0,0 +1,635 @@
+package dev.muon.dynamic_resource_bars.config;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import dev.muon.dynamic_resource_bars.DynamicResourceBars;
+import dev.muon.dynamic_resource_bars.util.AnchorPoint;
+import dev.muon.dynamic_resource_bars.util.BarRenderBehavior;
+import dev.muon.dynamic_resource_bars.util.FillDirection;
+import dev.muon.dynamic_resource_bars.util.HorizontalAlignment;
+import dev.muon.dynamic_resource_bars.util.ManaBarBehavior;
+import dev.muon.dynamic_resource_bars.util.TextBehavior;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written streaming codec for {@link ClientConfig}, replacing GSON's reflective adapter.
+ * <p>
+ * Reading starts from a default config and overwrites only the fields present in the file, applying the
+ * range checks that used to live in a separate {@code ensureDefaults} pass as each value is read. A field with
+ * a wrong type, an unknown enum constant or an out-of-range value keeps (or is clamped towards) its default and
+ * flags the result as modified so the corrected file gets written back. Unknown keys are skipped.
+ * <p>
+ * Field names and formatting match what GSON produced, so existing files load unchanged. Keys from older
+ * schema versions are upgraded on the fly by {@link ConfigMigrations}. The version key is written first; in files
+ * where it isn't (hand-edited, or unversioned files that have none), the values before it are held back until the
+ * version is known.
+ * When adding a config field, add it to both {@link #readField} and {@link #write}.
+ */
+final class ClientConfigCodec {
+    private boolean modified;
+    // Files without a version key predate versioning
+    private int version = 0;
+
+    private ClientConfigCodec() {
+    }
+
+    static final class Result {
+        final ClientConfig config;
+        final boolean modified;
+
+        private Result(ClientConfig config, boolean modified) {
+            this.config = config;
+            this.modified = modified;
+        }
+    }
+
+    /**
+     * Parses a config. Returns {@code null} if the input is empty.
+     */
+    static Result read(Reader reader) throws IOException {
+        JsonReader in = new JsonReader(reader);
+        in.setLenient(true); // Matches Gson.fromJson, which tolerates hand-edited files
+        try {
+            if (in.peek() == JsonToken.END_DOCUMENT) {
+                return null;
+            }
+        } catch (EOFException e) {
+            return null; // Nothing but whitespace
+        }
+        ClientConfigCodec codec = new ClientConfigCodec();
+        ClientConfig cfg = new ClientConfig();
+        codec.readFields(in, cfg);
+        return new Result(cfg, codec.modified);
+    }
+
+    static String write(ClientConfig cfg) throws IOException {
+        StringWriter buffer = new StringWriter(16 * 1024);
+        JsonWriter out = new JsonWriter(buffer);
+        out.setIndent("  ");
+        out.setSerializeNulls(true);
+        out.beginObject();
+        out.name(ConfigMigrations.VERSION_KEY).value(ConfigMigrations.CURRENT_VERSION);
+        write(out, cfg);
+        out.endObject();
+        out.flush();
+        return buffer.toString();
+    }
+
+    private void readFields(JsonReader in, ClientConfig cfg) throws IOException {
+        in.beginObject();
+        boolean versionKnown = false;
+        Map<String, JsonElement> beforeVersion = null; // Values that came before the version key, in file order
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (!versionKnown && name.equals(ConfigMigrations.VERSION_KEY) && in.peek() == JsonToken.NUMBER) {
+                version = in.nextInt();
+                versionKnown = true;
+                if (version > ConfigMigrations.CURRENT_VERSION) {
+                    DynamicResourceBars.LOGGER.warn("Config file is from a newer version of the mod (schema {}, expected {}); unknown options will be dropped.",
+                            version, ConfigMigrations.CURRENT_VERSION);
+                }
+                continue;
+            }
+            if (!versionKnown) {
+                // Can't tell yet which schema this key is from
+                if (beforeVersion == null) {
+                    beforeVersion = new LinkedHashMap<>();
+                }
+                beforeVersion.put(name, JsonParser.parseReader(in));
+                continue;
+            }
+            readValue(in, cfg, name);
+        }
+        in.endObject();
+        if (beforeVersion != null) {
+            // Now at the version from the file, or 0 if it had none
+            for (Map.Entry<String, JsonElement> entry : beforeVersion.entrySet()) {
+                JsonReader value = new JsonReader(new StringReader(entry.getValue().toString()));
+                value.setLenient(true);
+                readValue(value, cfg, entry.getKey());
+            }
+            modified = true; // Write the version key back in front
+        }
+        if (version < ConfigMigrations.CURRENT_VERSION) {
+            modified = true; // Write back in the current schema
+        }
+    }
+
+    /**
+     * Reads the value of the option {@code name} (as named in a file at {@link #version}) into {@code cfg}.
+     */
+    private void readValue(JsonReader in, ClientConfig cfg, String name) throws IOException {
+        if (version < ConfigMigrations.CURRENT_VERSION) {
+            String migrated = ConfigMigrations.migrateKey(name, version);
+            if (migrated == null) {
+                in.skipValue(); // Option was removed
+                modified = true;
+                return;
+            }
+            name = migrated;
+        }
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            modified = true; // Keep the default
+            return;
+        }
+        try {
+            if (!readField(in, cfg, name)) {
+                in.skipValue(); // Removed or unknown option
+            }
+        } catch (IllegalStateException | NumberFormatException e) {
+            // Wrong value type for this field; keep the default and move on
+            in.skipValue();
+            modified = true;
+        }
+    }
+
+    // Split in parts: HotSpot does not JIT-compile methods over 8000 bytes of bytecode, and one switch over every
+    // option is past that
+    private boolean readField(JsonReader in, ClientConfig cfg, String name) throws IOException {
+        return readGeneralOrHealthField(in, cfg, name)
+                || readStaminaOrManaField(in, cfg, name)
+                || readOtherField(in, cfg, name);
+    }
+
+    private boolean readGeneralOrHealthField(JsonReader in, ClientConfig cfg, String name) throws IOException {
+        switch (name) {
+            case "textScalingFactor" -> cfg.textScalingFactor = in.nextDouble();
+            case "globalTextColor" -> cfg.globalTextColor = in.nextInt();
+            case "globalTextOpacity" -> cfg.globalTextOpacity = in.nextInt();
+            case "globalTextSize" -> cfg.globalTextSize = (float) in.nextDouble();
+            case "globalBarWidthModifier" -> cfg.globalBarWidthModifier = inRangeOrDefault(in.nextInt(), cfg.globalBarWidthModifier, 0, 100);
+            case "barRenderOrder" -> cfg.barRenderOrder = readStringList(in);
+            case "hudEditorSnapToGuides" -> cfg.hudEditorSnapToGuides = in.nextBoolean();
+            case "hudEditorGridSize" -> cfg.hudEditorGridSize = inRangeOrDefault(in.nextInt(), cfg.hudEditorGridSize, 0, 64);
+            case "enableHealthBar" -> cfg.enableHealthBar = in.nextBoolean();
+            case "healthBarAnchor" -> cfg.healthBarAnchor = readEnum(in, AnchorPoint.class, cfg.healthBarAnchor);
+            case "fadeHealthWhenFull" -> cfg.fadeHealthWhenFull = in.nextBoolean();
+            case "showHealthText" -> cfg.showHealthText = readEnum(in, TextBehavior.class, cfg.showHealthText);
+            case "healthTextAlign" -> cfg.healthTextAlign = readEnum(in, HorizontalAlignment.class, cfg.healthTextAlign);
+            case "enableHealthForeground" -> cfg.enableHealthForeground = in.nextBoolean();
+            case "enableHealthBackground" -> cfg.enableHealthBackground = in.nextBoolean();
+            case "healthFillDirection" -> cfg.healthFillDirection = readEnum(in, FillDirection.class, cfg.healthFillDirection);
+            case "healthBackgroundHeight" -> cfg.healthBackgroundHeight = positiveOrDefault(in.nextInt(), cfg.healthBackgroundHeight);
+            case "healthBarHeight" -> cfg.healthBarHeight = positiveOrDefault(in.nextInt(), cfg.healthBarHeight);
+            case "healthBarAnimationCycles" -> cfg.healthBarAnimationCycles = in.nextInt();
+            case "healthBarFrameHeight" -> cfg.healthBarFrameHeight = in.nextInt();
+            case "healthOverlayHeight" -> cfg.healthOverlayHeight = cappedOrDefault(in.nextInt(), cfg.healthOverlayHeight, 256);
+            case "healthBarXOffset" -> cfg.healthBarXOffset = in.nextInt();
+            case "healthBarYOffset" -> cfg.healthBarYOffset = in.nextInt();
+            case "healthTotalXOffset" -> cfg.healthTotalXOffset = in.nextInt();
+            case "healthTotalYOffset" -> cfg.healthTotalYOffset = in.nextInt();
+            case "healthOverlayXOffset" -> cfg.healthOverlayXOffset = in.nextInt();
+            case "healthOverlayYOffset" -> cfg.healthOverlayYOffset = in.nextInt();
+            case "healthBackgroundXOffset" -> cfg.healthBackgroundXOffset = in.nextInt();
+            case "healthBackgroundYOffset" -> cfg.healthBackgroundYOffset = in.nextInt();
+            case "healthTextXOffset" -> cfg.healthTextXOffset = in.nextInt();
+            case "healthTextYOffset" -> cfg.healthTextYOffset = in.nextInt();
+            case "healthTextColor" -> cfg.healthTextColor = in.nextInt();
+            case "healthTextOpacity" -> cfg.healthTextOpacity = in.nextInt();
+            case "healthTextSize" -> cfg.healthTextSize = (float) in.nextDouble();
+            case "healthAbsorptionTextXOffset" -> cfg.healthAbsorptionTextXOffset = in.nextInt();
+            case "healthAbsorptionTextYOffset" -> cfg.healthAbsorptionTextYOffset = in.nextInt();
+            case "healthBackgroundPadding" -> cfg.healthBackgroundPadding = in.nextInt();
+            case "healthForegroundPadding" -> cfg.healthForegroundPadding = in.nextInt();
+            case "enableHealthTrailingIcon" -> cfg.enableHealthTrailingIcon = in.nextBoolean();
+            case "healthTrailingIconSize" -> cfg.healthTrailingIconSize = in.nextInt();
+            case "healthTrailingIconXOffset" -> cfg.healthTrailingIconXOffset = in.nextInt();
+            case "healthTrailingIconYOffset" -> cfg.healthTrailingIconYOffset = in.nextInt();
+            case "healthBarWidthModifier" -> cfg.healthBarWidthModifier = in.nextInt();
+            case "enableHealthRestorationOverlay" -> cfg.enableHealthRestorationOverlay = in.nextBoolean();
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean readStaminaOrManaField(JsonReader in, ClientConfig cfg, String name) throws IOException {
+        switch (name) {
+            case "enableStaminaBar" -> cfg.enableStaminaBar = in.nextBoolean();
+            case "staminaBarAnchor" -> cfg.staminaBarAnchor = readEnum(in, AnchorPoint.class, cfg.staminaBarAnchor);
+            case "fadeStaminaWhenFull" -> cfg.fadeStaminaWhenFull = in.nextBoolean();
+            case "showStaminaText" -> cfg.showStaminaText = readEnum(in, TextBehavior.class, cfg.showStaminaText);
+            case "staminaTextAlign" -> cfg.staminaTextAlign = readEnum(in, HorizontalAlignment.class, cfg.staminaTextAlign);
+            case "enableStaminaForeground" -> cfg.enableStaminaForeground = in.nextBoolean();
+            case "enableStaminaBackground" -> cfg.enableStaminaBackground = in.nextBoolean();
+            case "staminaFillDirection" -> cfg.staminaFillDirection = readEnum(in, FillDirection.class, cfg.staminaFillDirection);
+            case "staminaBackgroundWidth" -> cfg.staminaBackgroundWidth = in.nextInt();
+            case "staminaBackgroundHeight" -> cfg.staminaBackgroundHeight = in.nextInt();
+            case "staminaBarWidth" -> cfg.staminaBarWidth = in.nextInt();
+            case "staminaBarHeight" -> cfg.staminaBarHeight = in.nextInt();
+            case "staminaBarAnimationCycles" -> cfg.staminaBarAnimationCycles = in.nextInt();
+            case "staminaBarFrameHeight" -> cfg.staminaBarFrameHeight = in.nextInt();
+            case "staminaOverlayWidth" -> cfg.staminaOverlayWidth = cappedOrDefault(in.nextInt(), cfg.staminaOverlayWidth, 256);
+            case "staminaOverlayHeight" -> cfg.staminaOverlayHeight = cappedOrDefault(in.nextInt(), cfg.staminaOverlayHeight, 256);
+            case "staminaOverlayXOffset" -> cfg.staminaOverlayXOffset = in.nextInt();
+            case "staminaOverlayYOffset" -> cfg.staminaOverlayYOffset = in.nextInt();
+            case "staminaBarXOffset" -> cfg.staminaBarXOffset = in.nextInt();
+            case "staminaBarYOffset" -> cfg.staminaBarYOffset = in.nextInt();
+            case "staminaTotalXOffset" -> cfg.staminaTotalXOffset = in.nextInt();
+            case "staminaTotalYOffset" -> cfg.staminaTotalYOffset = in.nextInt();
+            case "staminaBackgroundXOffset" -> cfg.staminaBackgroundXOffset = in.nextInt();
+            case "staminaBackgroundYOffset" -> cfg.staminaBackgroundYOffset = in.nextInt();
+            case "staminaTextXOffset" -> cfg.staminaTextXOffset = in.nextInt();
+            case "staminaTextYOffset" -> cfg.staminaTextYOffset = in.nextInt();
+            case "staminaTextColor" -> cfg.staminaTextColor = in.nextInt();
+            case "staminaTextOpacity" -> cfg.staminaTextOpacity = in.nextInt();
+            case "staminaTextSize" -> cfg.staminaTextSize = (float) in.nextDouble();
+            case "staminaBarWidthModifier" -> cfg.staminaBarWidthModifier = inRangeOrDefault(in.nextInt(), cfg.staminaBarWidthModifier, 0, 100);
+            case "enableStaminaTrailingIcon" -> cfg.enableStaminaTrailingIcon = in.nextBoolean();
+            case "staminaTrailingIconSize" -> cfg.staminaTrailingIconSize = in.nextInt();
+            case "staminaTrailingIconXOffset" -> cfg.staminaTrailingIconXOffset = in.nextInt();
+            case "staminaTrailingIconYOffset" -> cfg.staminaTrailingIconYOffset = in.nextInt();
+            case "manaBarBehavior" -> cfg.manaBarBehavior = readEnum(in, ManaBarBehavior.class, cfg.manaBarBehavior);
+            case "manaBarAnchor" -> cfg.manaBarAnchor = readEnum(in, AnchorPoint.class, cfg.manaBarAnchor);
+            case "enableManaBackground" -> cfg.enableManaBackground = in.nextBoolean();
+            case "enableManaForeground" -> cfg.enableManaForeground = in.nextBoolean();
+            case "fadeManaWhenFull" -> cfg.fadeManaWhenFull = in.nextBoolean();
+            case "showManaText" -> cfg.showManaText = readEnum(in, TextBehavior.class, cfg.showManaText);
+            case "manaTextAlign" -> cfg.manaTextAlign = readEnum(in, HorizontalAlignment.class, cfg.manaTextAlign);
+            case "manaFillDirection" -> cfg.manaFillDirection = readEnum(in, FillDirection.class, cfg.manaFillDirection);
+            case "manaBackgroundWidth" -> cfg.manaBackgroundWidth = in.nextInt();
+            case "manaBackgroundHeight" -> cfg.manaBackgroundHeight = in.nextInt();
+            case "manaBarWidth" -> cfg.manaBarWidth = in.nextInt();
+            case "manaBarHeight" -> cfg.manaBarHeight = in.nextInt();
+            case "manaBarAnimationCycles" -> cfg.manaBarAnimationCycles = in.nextInt();
+            case "manaBarFrameHeight" -> cfg.manaBarFrameHeight = in.nextInt();
+            case "manaOverlayWidth" -> cfg.manaOverlayWidth = cappedOrDefault(in.nextInt(), cfg.manaOverlayWidth, 256);
+            case "manaOverlayHeight" -> cfg.manaOverlayHeight = cappedOrDefault(in.nextInt(), cfg.manaOverlayHeight, 256);
+            case "manaBarXOffset" -> cfg.manaBarXOffset = in.nextInt();
+            case "manaBarYOffset" -> cfg.manaBarYOffset = in.nextInt();
+            case "manaTotalXOffset" -> cfg.manaTotalXOffset = in.nextInt();
+            case "manaTotalYOffset" -> cfg.manaTotalYOffset = in.nextInt();
+            case "manaOverlayXOffset" -> cfg.manaOverlayXOffset = in.nextInt();
+            case "manaOverlayYOffset" -> cfg.manaOverlayYOffset = in.nextInt();
+            case "manaBackgroundXOffset" -> cfg.manaBackgroundXOffset = in.nextInt();
+            case "manaBackgroundYOffset" -> cfg.manaBackgroundYOffset = in.nextInt();
+            case "manaTextXOffset" -> cfg.manaTextXOffset = in.nextInt();
+            case "manaTextYOffset" -> cfg.manaTextYOffset = in.nextInt();
+            case "manaTextColor" -> cfg.manaTextColor = in.nextInt();
+            case "manaTextOpacity" -> cfg.manaTextOpacity = in.nextInt();
+            case "manaTextSize" -> cfg.manaTextSize = (float) in.nextDouble();
+            case "manaBarWidthModifier" -> cfg.manaBarWidthModifier = inRangeOrDefault(in.nextInt(), cfg.manaBarWidthModifier, 0, 100);
+            case "enableManaTrailingIcon" -> cfg.enableManaTrailingIcon = in.nextBoolean();
+            case "manaTrailingIconSize" -> cfg.manaTrailingIconSize = in.nextInt();
+            case "manaTrailingIconXOffset" -> cfg.manaTrailingIconXOffset = in.nextInt();
+            case "manaTrailingIconYOffset" -> cfg.manaTrailingIconYOffset = in.nextInt();
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean readOtherField(JsonReader in, ClientConfig cfg, String name) throws IOException {
+        switch (name) {
+            case "armorBarBehavior" -> cfg.armorBarBehavior = readEnum(in, BarRenderBehavior.class, cfg.armorBarBehavior);
+            case "armorBarAnchor" -> cfg.armorBarAnchor = readEnum(in, AnchorPoint.class, cfg.armorBarAnchor);
+            case "maxExpectedArmor" -> cfg.maxExpectedArmor = in.nextInt();
+            case "maxExpectedProt" -> cfg.maxExpectedProt = in.nextInt();
+            case "armorBackgroundWidth" -> cfg.armorBackgroundWidth = in.nextInt();
+            case "armorBackgroundHeight" -> cfg.armorBackgroundHeight = in.nextInt();
+            case "armorBarWidth" -> cfg.armorBarWidth = in.nextInt();
+            case "armorBarHeight" -> cfg.armorBarHeight = in.nextInt();
+            case "armorBarXOffset" -> cfg.armorBarXOffset = in.nextInt();
+            case "armorBarYOffset" -> cfg.armorBarYOffset = in.nextInt();
+            case "armorTotalXOffset" -> cfg.armorTotalXOffset = in.nextInt();
+            case "armorTotalYOffset" -> cfg.armorTotalYOffset = in.nextInt();
+            case "enableArmorIcon" -> cfg.enableArmorIcon = in.nextBoolean();
+            case "armorIconSize" -> cfg.armorIconSize = in.nextInt();
+            case "protOverlayAnimationCycles" -> cfg.protOverlayAnimationCycles = in.nextInt();
+            case "protOverlayFrameHeight" -> cfg.protOverlayFrameHeight = in.nextInt();
+            case "armorIconXOffset" -> cfg.armorIconXOffset = in.nextInt();
+            case "armorIconYOffset" -> cfg.armorIconYOffset = in.nextInt();
+            case "armorTextXOffset" -> cfg.armorTextXOffset = in.nextInt();
+            case "armorTextYOffset" -> cfg.armorTextYOffset = in.nextInt();
+            case "armorTextColor" -> cfg.armorTextColor = in.nextInt();
+            case "armorTextOpacity" -> cfg.armorTextOpacity = in.nextInt();
+            case "armorTextSize" -> cfg.armorTextSize = (float) in.nextDouble();
+            case "showArmorText" -> cfg.showArmorText = readEnum(in, TextBehavior.class, cfg.showArmorText);
+            case "armorTextAlign" -> cfg.armorTextAlign = readEnum(in, HorizontalAlignment.class, cfg.armorTextAlign);
+            case "armorBackgroundXOffset" -> cfg.armorBackgroundXOffset = in.nextInt();
+            case "armorBackgroundYOffset" -> cfg.armorBackgroundYOffset = in.nextInt();
+            case "airBarBehavior" -> cfg.airBarBehavior = readEnum(in, BarRenderBehavior.class, cfg.airBarBehavior);
+            case "airBarAnchor" -> cfg.airBarAnchor = readEnum(in, AnchorPoint.class, cfg.airBarAnchor);
+            case "airBackgroundWidth" -> cfg.airBackgroundWidth = in.nextInt();
+            case "airBackgroundHeight" -> cfg.airBackgroundHeight = in.nextInt();
+            case "airBarWidth" -> cfg.airBarWidth = in.nextInt();
+            case "airBarHeight" -> cfg.airBarHeight = in.nextInt();
+            case "airBarXOffset" -> cfg.airBarXOffset = in.nextInt();
+            case "airBarYOffset" -> cfg.airBarYOffset = in.nextInt();
+            case "airTotalXOffset" -> cfg.airTotalXOffset = in.nextInt();
+            case "airTotalYOffset" -> cfg.airTotalYOffset = in.nextInt();
+            case "enableAirIcon" -> cfg.enableAirIcon = in.nextBoolean();
+            case "airIconSize" -> cfg.airIconSize = in.nextInt();
+            case "airIconXOffset" -> cfg.airIconXOffset = in.nextInt();
+            case "airIconYOffset" -> cfg.airIconYOffset = in.nextInt();
+            case "airTextXOffset" -> cfg.airTextXOffset = in.nextInt();
+            case "airTextYOffset" -> cfg.airTextYOffset = in.nextInt();
+            case "airTextColor" -> cfg.airTextColor = in.nextInt();
+            case "airTextOpacity" -> cfg.airTextOpacity = in.nextInt();
+            case "airTextSize" -> cfg.airTextSize = (float) in.nextDouble();
+            case "showAirText" -> cfg.showAirText = readEnum(in, TextBehavior.class, cfg.showAirText);
+            case "airTextAlign" -> cfg.airTextAlign = readEnum(in, HorizontalAlignment.class, cfg.airTextAlign);
+            case "airBackgroundXOffset" -> cfg.airBackgroundXOffset = in.nextInt();
+            case "airBackgroundYOffset" -> cfg.airBackgroundYOffset = in.nextInt();
+            case "airBarAnimationCycles" -> cfg.airBarAnimationCycles = in.nextInt();
+            case "airBarFrameHeight" -> cfg.airBarFrameHeight = in.nextInt();
+            case "airFillDirection" -> cfg.airFillDirection = readEnum(in, FillDirection.class, cfg.airFillDirection);
+            case "enablePartyBars" -> cfg.enablePartyBars = in.nextBoolean();
+            case "partyBarAnchor" -> cfg.partyBarAnchor = readEnum(in, AnchorPoint.class, cfg.partyBarAnchor);
+            case "partyBarWidth" -> cfg.partyBarWidth = positiveOrDefault(in.nextInt(), cfg.partyBarWidth);
+            case "partyTotalXOffset" -> cfg.partyTotalXOffset = in.nextInt();
+            case "partyTotalYOffset" -> cfg.partyTotalYOffset = in.nextInt();
+            case "partyMaxMembers" -> cfg.partyMaxMembers = cappedOrDefault(in.nextInt(), cfg.partyMaxMembers, 64);
+            case "showPartyNames" -> cfg.showPartyNames = in.nextBoolean();
+            case "enableTargetBar" -> cfg.enableTargetBar = in.nextBoolean();
+            case "targetBarAnchor" -> cfg.targetBarAnchor = readEnum(in, AnchorPoint.class, cfg.targetBarAnchor);
+            case "targetBarWidthModifier" -> cfg.targetBarWidthModifier = inRangeOrDefault(in.nextInt(), cfg.targetBarWidthModifier, 10, 200);
+            case "targetTotalXOffset" -> cfg.targetTotalXOffset = in.nextInt();
+            case "targetTotalYOffset" -> cfg.targetTotalYOffset = in.nextInt();
+            case "showTargetName" -> cfg.showTargetName = in.nextBoolean();
+            case "enableNameplateBars" -> cfg.enableNameplateBars = in.nextBoolean();
+            case "nameplateMaxDistance" -> cfg.nameplateMaxDistance = inRangeOrDefault(in.nextInt(), cfg.nameplateMaxDistance, 1, 128);
+            case "nameplateDetailDistance" -> cfg.nameplateDetailDistance = inRangeOrDefault(in.nextInt(), cfg.nameplateDetailDistance, 0, 128);
+            case "nameplateMaxBars" -> cfg.nameplateMaxBars = cappedOrDefault(in.nextInt(), cfg.nameplateMaxBars, 256);
+            case "nameplateOnlyWhenDamaged" -> cfg.nameplateOnlyWhenDamaged = in.nextBoolean();
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void write(JsonWriter out, ClientConfig cfg) throws IOException {
+        out.name("textScalingFactor").value(cfg.textScalingFactor);
+        out.name("globalTextColor").value(cfg.globalTextColor);
+        out.name("globalTextOpacity").value(cfg.globalTextOpacity);
+        out.name("globalTextSize").value(Float.valueOf(cfg.globalTextSize));
+        out.name("globalBarWidthModifier").value(cfg.globalBarWidthModifier);
+        writeStringList(out, "barRenderOrder", cfg.barRenderOrder);
+        out.name("hudEditorSnapToGuides").value(cfg.hudEditorSnapToGuides);
+        out.name("hudEditorGridSize").value(cfg.hudEditorGridSize);
+        out.name("enableHealthBar").value(cfg.enableHealthBar);
+        writeEnum(out, "healthBarAnchor", cfg.healthBarAnchor);
+        out.name("fadeHealthWhenFull").value(cfg.fadeHealthWhenFull);
+        writeEnum(out, "showHealthText", cfg.showHealthText);
+        writeEnum(out, "healthTextAlign", cfg.healthTextAlign);
+        out.name("enableHealthForeground").value(cfg.enableHealthForeground);
+        out.name("enableHealthBackground").value(cfg.enableHealthBackground);
+        writeEnum(out, "healthFillDirection", cfg.healthFillDirection);
+        out.name("healthBackgroundHeight").value(cfg.healthBackgroundHeight);
+        out.name("healthBarHeight").value(cfg.healthBarHeight);
+        out.name("healthBarAnimationCycles").value(cfg.healthBarAnimationCycles);
+        out.name("healthBarFrameHeight").value(cfg.healthBarFrameHeight);
+        out.name("healthOverlayHeight").value(cfg.healthOverlayHeight);
+        out.name("healthBarXOffset").value(cfg.healthBarXOffset);
+        out.name("healthBarYOffset").value(cfg.healthBarYOffset);
+        out.name("healthTotalXOffset").value(cfg.healthTotalXOffset);
+        out.name("healthTotalYOffset").value(cfg.healthTotalYOffset);
+        out.name("healthOverlayXOffset").value(cfg.healthOverlayXOffset);
+        out.name("healthOverlayYOffset").value(cfg.healthOverlayYOffset);
+        out.name("healthBackgroundXOffset").value(cfg.healthBackgroundXOffset);
+        out.name("healthBackgroundYOffset").value(cfg.healthBackgroundYOffset);
+        out.name("healthTextXOffset").value(cfg.healthTextXOffset);
+        out.name("healthTextYOffset").value(cfg.healthTextYOffset);
+        out.name("healthTextColor").value(cfg.healthTextColor);
+        out.name("healthTextOpacity").value(cfg.healthTextOpacity);
+        out.name("healthTextSize").value(Float.valueOf(cfg.healthTextSize));
+        out.name("healthAbsorptionTextXOffset").value(cfg.healthAbsorptionTextXOffset);
+        out.name("healthAbsorptionTextYOffset").value(cfg.healthAbsorptionTextYOffset);
+        out.name("healthBackgroundPadding").value(cfg.healthBackgroundPadding);
+        out.name("healthForegroundPadding").value(cfg.healthForegroundPadding);
+        out.name("enableHealthTrailingIcon").value(cfg.enableHealthTrailingIcon);
+        out.name("healthTrailingIconSize").value(cfg.healthTrailingIconSize);
+        out.name("healthTrailingIconXOffset").value(cfg.healthTrailingIconXOffset);
+        out.name("healthTrailingIconYOffset").value(cfg.healthTrailingIconYOffset);
+        out.name("healthBarWidthModifier").value(cfg.healthBarWidthModifier);
+        out.name("enableHealthRestorationOverlay").value(cfg.enableHealthRestorationOverlay);
+        out.name("enableStaminaBar").value(cfg.enableStaminaBar);
+        writeEnum(out, "staminaBarAnchor", cfg.staminaBarAnchor);
+        out.name("fadeStaminaWhenFull").value(cfg.fadeStaminaWhenFull);
+        writeEnum(out, "showStaminaText", cfg.showStaminaText);
+        writeEnum(out, "staminaTextAlign", cfg.staminaTextAlign);
+        out.name("enableStaminaForeground").value(cfg.enableStaminaForeground);
+        out.name("enableStaminaBackground").value(cfg.enableStaminaBackground);
+        writeEnum(out, "staminaFillDirection", cfg.staminaFillDirection);
+        out.name("staminaBackgroundWidth").value(cfg.staminaBackgroundWidth);
+        out.name("staminaBackgroundHeight").value(cfg.staminaBackgroundHeight);
+        out.name("staminaBarWidth").value(cfg.staminaBarWidth);
+        out.name("staminaBarHeight").value(cfg.staminaBarHeight);
+        out.name("staminaBarAnimationCycles").value(cfg.staminaBarAnimationCycles);
+        out.name("staminaBarFrameHeight").value(cfg.staminaBarFrameHeight);
+        out.name("staminaOverlayWidth").value(cfg.staminaOverlayWidth);
+        out.name("staminaOverlayHeight").value(cfg.staminaOverlayHeight);
+        out.name("staminaOverlayXOffset").value(cfg.staminaOverlayXOffset);
+        out.name("staminaOverlayYOffset").value(cfg.staminaOverlayYOffset);
+        out.name("staminaBarXOffset").value(cfg.staminaBarXOffset);
+        out.name("staminaBarYOffset").value(cfg.staminaBarYOffset);
+        out.name("staminaTotalXOffset").value(cfg.staminaTotalXOffset);
+        out.name("staminaTotalYOffset").value(cfg.staminaTotalYOffset);
+        out.name("staminaBackgroundXOffset").value(cfg.staminaBackgroundXOffset);
+        out.name("staminaBackgroundYOffset").value(cfg.staminaBackgroundYOffset);
+        out.name("staminaTextXOffset").value(cfg.staminaTextXOffset);
+        out.name("staminaTextYOffset").value(cfg.staminaTextYOffset);
+        out.name("staminaTextColor").value(cfg.staminaTextColor);
+        out.name("staminaTextOpacity").value(cfg.staminaTextOpacity);
+        out.name("staminaTextSize").value(Float.valueOf(cfg.staminaTextSize));
+        out.name("staminaBarWidthModifier").value(cfg.staminaBarWidthModifier);
+        out.name("enableStaminaTrailingIcon").value(cfg.enableStaminaTrailingIcon);
+        out.name("staminaTrailingIconSize").value(cfg.staminaTrailingIconSize);
+        out.name("staminaTrailingIconXOffset").value(cfg.staminaTrailingIconXOffset);
+        out.name("staminaTrailingIconYOffset").value(cfg.staminaTrailingIconYOffset);
+        writeEnum(out, "manaBarBehavior", cfg.manaBarBehavior);
+        writeEnum(out, "manaBarAnchor", cfg.manaBarAnchor);
+        out.name("enableManaBackground").value(cfg.enableManaBackground);
+        out.name("enableManaForeground").value(cfg.enableManaForeground);
+        out.name("fadeManaWhenFull").value(cfg.fadeManaWhenFull);
+        writeEnum(out, "showManaText", cfg.showManaText);
+        writeEnum(out, "manaTextAlign", cfg.manaTextAlign);
+        writeEnum(out, "manaFillDirection", cfg.manaFillDirection);
+        out.name("manaBackgroundWidth").value(cfg.manaBackgroundWidth);
+        out.name("manaBackgroundHeight").value(cfg.manaBackgroundHeight);
+        out.name("manaBarWidth").value(cfg.manaBarWidth);
+        out.name("manaBarHeight").value(cfg.manaBarHeight);
+        out.name("manaBarAnimationCycles").value(cfg.manaBarAnimationCycles);
+        out.name("manaBarFrameHeight").value(cfg.manaBarFrameHeight);
+        out.name("manaOverlayWidth").value(cfg.manaOverlayWidth);
+        out.name("manaOverlayHeight").value(cfg.manaOverlayHeight);
+        out.name("manaBarXOffset").value(cfg.manaBarXOffset);
+        out.name("manaBarYOffset").value(cfg.manaBarYOffset);
+        out.name("manaTotalXOffset").value(cfg.manaTotalXOffset);
+        out.name("manaTotalYOffset").value(cfg.manaTotalYOffset);
+        out.name("manaOverlayXOffset").value(cfg.manaOverlayXOffset);
+        out.name("manaOverlayYOffset").value(cfg.manaOverlayYOffset);
+        out.name("manaBackgroundXOffset").value(cfg.manaBackgroundXOffset);
+        out.name("manaBackgroundYOffset").value(cfg.manaBackgroundYOffset);
+        out.name("manaTextXOffset").value(cfg.manaTextXOffset);
+        out.name("manaTextYOffset").value(cfg.manaTextYOffset);
+        out.name("manaTextColor").value(cfg.manaTextColor);
+        out.name("manaTextOpacity").value(cfg.manaTextOpacity);
+        out.name("manaTextSize").value(Float.valueOf(cfg.manaTextSize));
+        out.name("manaBarWidthModifier").value(cfg.manaBarWidthModifier);
+        out.name("enableManaTrailingIcon").value(cfg.enableManaTrailingIcon);
+        out.name("manaTrailingIconSize").value(cfg.manaTrailingIconSize);
+        out.name("manaTrailingIconXOffset").value(cfg.manaTrailingIconXOffset);
+        out.name("manaTrailingIconYOffset").value(cfg.manaTrailingIconYOffset);
+        writeEnum(out, "armorBarBehavior", cfg.armorBarBehavior);
+        writeEnum(out, "armorBarAnchor", cfg.armorBarAnchor);
+        out.name("maxExpectedArmor").value(cfg.maxExpectedArmor);
+        out.name("maxExpectedProt").value(cfg.maxExpectedProt);
+        out.name("armorBackgroundWidth").value(cfg.armorBackgroundWidth);
+        out.name("armorBackgroundHeight").value(cfg.armorBackgroundHeight);
+        out.name("armorBarWidth").value(cfg.armorBarWidth);
+        out.name("armorBarHeight").value(cfg.armorBarHeight);
+        out.name("armorBarXOffset").value(cfg.armorBarXOffset);
+        out.name("armorBarYOffset").value(cfg.armorBarYOffset);
+        out.name("armorTotalXOffset").value(cfg.armorTotalXOffset);
+        out.name("armorTotalYOffset").value(cfg.armorTotalYOffset);
+        out.name("enableArmorIcon").value(cfg.enableArmorIcon);
+        out.name("armorIconSize").value(cfg.armorIconSize);
+        out.name("protOverlayAnimationCycles").value(cfg.protOverlayAnimationCycles);
+        out.name("protOverlayFrameHeight").value(cfg.protOverlayFrameHeight);
+        out.name("armorIconXOffset").value(cfg.armorIconXOffset);
+        out.name("armorIconYOffset").value(cfg.armorIconYOffset);
+        out.name("armorTextXOffset").value(cfg.armorTextXOffset);
+        out.name("armorTextYOffset").value(cfg.armorTextYOffset);
+        out.name("armorTextColor").value(cfg.armorTextColor);
+        out.name("armorTextOpacity").value(cfg.armorTextOpacity);
+        out.name("armorTextSize").value(Float.valueOf(cfg.armorTextSize));
+        writeEnum(out, "showArmorText", cfg.showArmorText);
+        writeEnum(out, "armorTextAlign", cfg.armorTextAlign);
+        out.name("armorBackgroundXOffset").value(cfg.armorBackgroundXOffset);
+        out.name("armorBackgroundYOffset").value(cfg.armorBackgroundYOffset);
+        writeEnum(out, "airBarBehavior", cfg.airBarBehavior);
+        writeEnum(out, "airBarAnchor", cfg.airBarAnchor);
+        out.name("airBackgroundWidth").value(cfg.airBackgroundWidth);
+        out.name("airBackgroundHeight").value(cfg.airBackgroundHeight);
+        out.name("airBarWidth").value(cfg.airBarWidth);
+        out.name("airBarHeight").value(cfg.airBarHeight);
+        out.name("airBarXOffset").value(cfg.airBarXOffset);
+        out.name("airBarYOffset").value(cfg.airBarYOffset);
+        out.name("airTotalXOffset").value(cfg.airTotalXOffset);
+        out.name("airTotalYOffset").value(cfg.airTotalYOffset);
+        out.name("enableAirIcon").value(cfg.enableAirIcon);
+        out.name("airIconSize").value(cfg.airIconSize);
+        out.name("airIconXOffset").value(cfg.airIconXOffset);
+        out.name("airIconYOffset").value(cfg.airIconYOffset);
+        out.name("airTextXOffset").value(cfg.airTextXOffset);
+        out.name("airTextYOffset").value(cfg.airTextYOffset);
+        out.name("airTextColor").value(cfg.airTextColor);
+        out.name("airTextOpacity").value(cfg.airTextOpacity);
+        out.name("airTextSize").value(Float.valueOf(cfg.airTextSize));
+        writeEnum(out, "showAirText", cfg.showAirText);
+        writeEnum(out, "airTextAlign", cfg.airTextAlign);
+        out.name("airBackgroundXOffset").value(cfg.airBackgroundXOffset);
+        out.name("airBackgroundYOffset").value(cfg.airBackgroundYOffset);
+        out.name("airBarAnimationCycles").value(cfg.airBarAnimationCycles);
+        out.name("airBarFrameHeight").value(cfg.airBarFrameHeight);
+        writeEnum(out, "airFillDirection", cfg.airFillDirection);
+        out.name("enablePartyBars").value(cfg.enablePartyBars);
+        writeEnum(out, "partyBarAnchor", cfg.partyBarAnchor);
+        out.name("partyBarWidth").value(cfg.partyBarWidth);
+        out.name("partyTotalXOffset").value(cfg.partyTotalXOffset);
+        out.name("partyTotalYOffset").value(cfg.partyTotalYOffset);
+        out.name("partyMaxMembers").value(cfg.partyMaxMembers);
+        out.name("showPartyNames").value(cfg.showPartyNames);
+        out.name("enableTargetBar").value(cfg.enableTargetBar);
+        writeEnum(out, "targetBarAnchor", cfg.targetBarAnchor);
+        out.name("targetBarWidthModifier").value(cfg.targetBarWidthModifier);
+        out.name("targetTotalXOffset").value(cfg.targetTotalXOffset);
+        out.name("targetTotalYOffset").value(cfg.targetTotalYOffset);
+        out.name("showTargetName").value(cfg.showTargetName);
+        out.name("enableNameplateBars").value(cfg.enableNameplateBars);
+        out.name("nameplateMaxDistance").value(cfg.nameplateMaxDistance);
+        out.name("nameplateDetailDistance").value(cfg.nameplateDetailDistance);
+        out.name("nameplateMaxBars").value(cfg.nameplateMaxBars);
+        out.name("nameplateOnlyWhenDamaged").value(cfg.nameplateOnlyWhenDamaged);
+    }
+
+    private <E extends Enum<E>> E readEnum(JsonReader in, Class<E> type, E fallback) throws IOException {
+        String name = in.nextString();
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            modified = true;
+            return fallback;
+        }
+    }
+
+    private List<String> readStringList(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            throw new IllegalStateException("Expected an array");
+        }
+        List<String> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.STRING) {
+                values.add(in.nextString());
+            } else {
+                in.skipValue();
+                modified = true;
+            }
+        }
+        in.endArray();
+        return values;
+    }
+
+    private static void writeStringList(JsonWriter out, String name, List<String> values) throws IOException {
+        out.name(name).beginArray();
+        for (String value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    private static void writeEnum(JsonWriter out, String name, Enum<?> value) throws IOException {
+        out.name(name);
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(value.name());
+        }
+    }
+
+    private int inRangeOrDefault(int value, int fallback, int min, int max) {
+        if (value < min || value > max) {
+            modified = true;
+            return fallback;
+        }
+        return value;
+    }
+
+    private int cappedOrDefault(int value, int fallback, int max) {
+        if (value < 1) {
+            modified = true;
+            return fallback;
+        }
+        if (value > max) {
+            modified = true;
+            return max;
+        }
+        return value;
+    }
+
+    private int positiveOrDefault(int value, int fallback) {
+        if (value < 1) {
+            modified = true;
+            return fallback;
+        }
+        return value;
+    }
+}
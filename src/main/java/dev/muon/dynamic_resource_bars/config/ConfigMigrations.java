@@ -0,0 +1,64 @@
+package dev.muon.dynamic_resource_bars.config;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Schema versions of the client config file and how to upgrade old ones.
+ * <p>
+ * The file stores its version under {@link #VERSION_KEY}, written first so {@link ClientConfigCodec} knows it
+ * before any other key. Files without it are version 0. While reading, every key of an old file is passed through
+ * the chain of steps from its version up to {@link #CURRENT_VERSION}, so upgrading stays a single streaming pass
+ * and options that were only renamed or moved keep their values instead of falling back to defaults.
+ * <p>
+ * When changing the layout of the file: bump {@link #CURRENT_VERSION} and append a step to {@link #STEPS}.
+ */
+final class ConfigMigrations {
+    static final String VERSION_KEY = "configVersion";
+    static final int CURRENT_VERSION = 1;
+
+    /**
+     * STEPS[v] upgrades a file from version v to v + 1.
+     */
+    private static final Step[] STEPS = {
+            // 0 -> 1: unversioned files. The health bar width options were replaced by widths derived from max health.
+            new Step(Map.of(), Set.of("healthBackgroundWidth", "healthBarWidth", "healthOverlayWidth")),
+    };
+
+    static {
+        if (STEPS.length != CURRENT_VERSION) {
+            throw new IllegalStateException("Config migration steps do not match CURRENT_VERSION " + CURRENT_VERSION);
+        }
+    }
+
+    private ConfigMigrations() {
+    }
+
+    /**
+     * Maps a key from a file at {@code fromVersion} to its name in the current schema.
+     * @return The current key name, or null if the option no longer exists
+     */
+    static String migrateKey(String key, int fromVersion) {
+        for (int version = Math.max(0, fromVersion); version < CURRENT_VERSION && key != null; version++) {
+            key = STEPS[version].apply(key);
+        }
+        return key;
+    }
+
+    private static final class Step {
+        private final Map<String, String> renamed;
+        private final Set<String> removed;
+
+        private Step(Map<String, String> renamed, Set<String> removed) {
+            this.renamed = renamed;
+            this.removed = removed;
+        }
+
+        private String apply(String key) {
+            if (removed.contains(key)) {
+                return null;
+            }
+            return renamed.getOrDefault(key, key);
+        }
+    }
+}
@@ -0,0 +1,1033 @@
+package dev.muon.dynamic_resource_bars.config;
+
+import dev.muon.dynamic_resource_bars.util.AnchorPoint;
+import dev.muon.dynamic_resource_bars.util.BarRenderBehavior;
+import dev.muon.dynamic_resource_bars.util.DraggableElement;
+import dev.muon.dynamic_resource_bars.util.FillDirection;
+import dev.muon.dynamic_resource_bars.util.HorizontalAlignment;
+import dev.muon.dynamic_resource_bars.util.ManaBarBehavior;
+import dev.muon.dynamic_resource_bars.util.TextBehavior;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable copy of {@link ClientConfig}, split per bar, stamped with the epoch it was published at.
+ * <p>
+ * {@link ClientConfig} stays the mutable object that editors and the codec work on. Whenever a change is committed
+ * (load, save, editor apply/reset/drag release) a new snapshot is built and published through a single volatile
+ * reference, so the render thread always sees one consistent set of values and caches can key on {@link #epoch}
+ * instead of re-reading fields.
+ * <p>
+ * Sections that did not change since the previous snapshot are carried over as the same object with their old
+ * {@link Section#epoch}, so per-bar caches keyed on {@link #layoutEpoch} survive edits to other bars.
+ */
+public final class ConfigSnapshot {
+    private static volatile ConfigSnapshot current;
+
+    public final int epoch;
+    public final GlobalSettings global;
+    public final HealthSettings health;
+    public final StaminaSettings stamina;
+    public final ManaSettings mana;
+    public final ArmorSettings armor;
+    public final AirSettings air;
+    public final PartySettings party;
+    public final TargetSettings target;
+    public final NameplateSettings nameplate;
+
+    private ConfigSnapshot(ClientConfig c, int epoch, ConfigSnapshot previous) {
+        this.epoch = epoch;
+        GlobalSettings global = new GlobalSettings(c, epoch);
+        HealthSettings health = new HealthSettings(c, epoch);
+        StaminaSettings stamina = new StaminaSettings(c, epoch);
+        ManaSettings mana = new ManaSettings(c, epoch);
+        ArmorSettings armor = new ArmorSettings(c, epoch);
+        AirSettings air = new AirSettings(c, epoch);
+        PartySettings party = new PartySettings(c, epoch);
+        TargetSettings target = new TargetSettings(c, epoch);
+        NameplateSettings nameplate = new NameplateSettings(c, epoch);
+        if (previous != null) {
+            if (global.sameAs(previous.global)) global = previous.global;
+            if (health.sameAs(previous.health)) health = previous.health;
+            if (stamina.sameAs(previous.stamina)) stamina = previous.stamina;
+            if (mana.sameAs(previous.mana)) mana = previous.mana;
+            if (armor.sameAs(previous.armor)) armor = previous.armor;
+            if (air.sameAs(previous.air)) air = previous.air;
+            if (party.sameAs(previous.party)) party = previous.party;
+            if (target.sameAs(previous.target)) target = previous.target;
+            if (nameplate.sameAs(previous.nameplate)) nameplate = previous.nameplate;
+        }
+        this.global = global;
+        this.health = health;
+        this.stamina = stamina;
+        this.mana = mana;
+        this.armor = armor;
+        this.air = air;
+        this.party = party;
+        this.target = target;
+        this.nameplate = nameplate;
+    }
+
+    /**
+     * The last published snapshot. Loads the config first if that hasn't happened yet.
+     */
+    public static ConfigSnapshot current() {
+        ConfigSnapshot snapshot = current;
+        if (snapshot == null) {
+            ClientConfig.getInstance(); // Publishes on first load
+            snapshot = current;
+        }
+        return snapshot;
+    }
+
+    static ConfigSnapshot publish(ClientConfig config, int epoch) {
+        ConfigSnapshot snapshot = new ConfigSnapshot(config, epoch, current);
+        current = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Builds a snapshot without publishing it, sharing sections that are unchanged from {@code previous}
+     * (which may be null). Used to prebuild the snapshots of inactive layout profiles.
+     */
+    static ConfigSnapshot build(ClientConfig config, int epoch, ConfigSnapshot previous) {
+        return new ConfigSnapshot(config, epoch, previous);
+    }
+
+    /**
+     * Publishes an already built snapshot as is, e.g. when switching to a preloaded layout profile.
+     */
+    static void install(ConfigSnapshot snapshot) {
+        current = snapshot;
+    }
+
+    /**
+     * Builds an unpublished snapshot of the live values. Used while the HUD editor is mutating the config,
+     * where the published snapshot is intentionally behind until the edit is committed.
+     */
+    public static ConfigSnapshot live() {
+        return new ConfigSnapshot(ClientConfig.getInstance(), -1, null);
+    }
+
+    /**
+     * Writes these values back into {@code config}, e.g. to restore an earlier state in the HUD editor.
+     * The caller commits the change.
+     */
+    void applyTo(ClientConfig config) {
+        global.applyTo(config);
+        health.applyTo(config);
+        stamina.applyTo(config);
+        mana.applyTo(config);
+        armor.applyTo(config);
+        air.applyTo(config);
+        party.applyTo(config);
+        target.applyTo(config);
+        nameplate.applyTo(config);
+    }
+
+    /**
+     * Whether every section is the same object as in {@code other}, i.e. nothing changed between the two.
+     */
+    boolean sharesAllSections(ConfigSnapshot other) {
+        return global == other.global && health == other.health && stamina == other.stamina
+                && mana == other.mana && armor == other.armor && air == other.air && party == other.party
+                && target == other.target && nameplate == other.nameplate;
+    }
+
+    public Section section(DraggableElement bar) {
+        return switch (bar) {
+            case HEALTH_BAR -> health;
+            case MANA_BAR -> mana;
+            case STAMINA_BAR -> stamina;
+            case ARMOR_BAR -> armor;
+            case AIR_BAR -> air;
+        };
+    }
+
+    /**
+     * Changes whenever anything that can affect {@code bar}'s layout changes: its own section or the global one.
+     */
+    public int layoutEpoch(DraggableElement bar) {
+        return Math.max(global.epoch, section(bar).epoch);
+    }
+
+    /**
+     * Common base of the per-bar sections; {@link #epoch} is the snapshot epoch at which this section last changed.
+     */
+    public abstract static class Section {
+        public final int epoch;
+
+        Section(int epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    /**
+     * Settings shared by every bar.
+     */
+    public static final class GlobalSettings extends Section {
+        public final double textScalingFactor;
+        public final int globalTextColor;
+        public final int globalTextOpacity;
+        public final float globalTextSize;
+        public final int globalBarWidthModifier;
+        public final List<String> barRenderOrder;
+
+        private GlobalSettings(ClientConfig c, int epoch) {
+            super(epoch);
+            this.textScalingFactor = c.textScalingFactor;
+            this.globalTextColor = c.globalTextColor;
+            this.globalTextOpacity = c.globalTextOpacity;
+            this.globalTextSize = c.globalTextSize;
+            this.globalBarWidthModifier = c.globalBarWidthModifier;
+            this.barRenderOrder = List.copyOf(c.barRenderOrder);
+        }
+
+        private void applyTo(ClientConfig c) {
+            c.textScalingFactor = textScalingFactor;
+            c.globalTextColor = globalTextColor;
+            c.globalTextOpacity = globalTextOpacity;
+            c.globalTextSize = globalTextSize;
+            c.globalBarWidthModifier = globalBarWidthModifier;
+            c.barRenderOrder = new ArrayList<>(barRenderOrder);
+        }
+
+        private boolean sameAs(GlobalSettings o) {
+            return textScalingFactor == o.textScalingFactor &&
+                    globalTextColor == o.globalTextColor &&
+                    globalTextOpacity == o.globalTextOpacity &&
+                    globalTextSize == o.globalTextSize &&
+                    globalBarWidthModifier == o.globalBarWidthModifier &&
+                    barRenderOrder.equals(o.barRenderOrder);
+        }
+    }
+
+    /**
+     * Health bar settings.
+     */
+    public static final class HealthSettings extends Section {
+        public final boolean enableBar;
+        public final AnchorPoint barAnchor;
+        public final boolean fadeWhenFull;
+        public final TextBehavior showText;
+        public final HorizontalAlignment textAlign;
+        public final boolean enableForeground;
+        public final boolean enableBackground;
+        public final FillDirection fillDirection;
+        public final int backgroundHeight;
+        public final int barHeight;
+        public final int barAnimationCycles;
+        public final int barFrameHeight;
+        public final int overlayHeight;
+        public final int barXOffset;
+        public final int barYOffset;
+        public final int totalXOffset;
+        public final int totalYOffset;
+        public final int overlayXOffset;
+        public final int overlayYOffset;
+        public final int backgroundXOffset;
+        public final int backgroundYOffset;
+        public final int textXOffset;
+        public final int textYOffset;
+        public final int textColor;
+        public final int textOpacity;
+        public final float textSize;
+        public final int absorptionTextXOffset;
+        public final int absorptionTextYOffset;
+        public final int backgroundPadding;
+        public final int foregroundPadding;
+        public final boolean enableTrailingIcon;
+        public final int trailingIconSize;
+        public final int trailingIconXOffset;
+        public final int trailingIconYOffset;
+        public final int barWidthModifier;
+        public final boolean enableRestorationOverlay;
+
+        private HealthSettings(ClientConfig c, int epoch) {
+            super(epoch);
+            this.enableBar = c.enableHealthBar;
+            this.barAnchor = c.healthBarAnchor;
+            this.fadeWhenFull = c.fadeHealthWhenFull;
+            this.showText = c.showHealthText;
+            this.textAlign = c.healthTextAlign;
+            this.enableForeground = c.enableHealthForeground;
+            this.enableBackground = c.enableHealthBackground;
+            this.fillDirection = c.healthFillDirection;
+            this.backgroundHeight = c.healthBackgroundHeight;
+            this.barHeight = c.healthBarHeight;
+            this.barAnimationCycles = c.healthBarAnimationCycles;
+            this.barFrameHeight = c.healthBarFrameHeight;
+            this.overlayHeight = c.healthOverlayHeight;
+            this.barXOffset = c.healthBarXOffset;
+            this.barYOffset = c.healthBarYOffset;
+            this.totalXOffset = c.healthTotalXOffset;
+            this.totalYOffset = c.healthTotalYOffset;
+            this.overlayXOffset = c.healthOverlayXOffset;
+            this.overlayYOffset = c.healthOverlayYOffset;
+            this.backgroundXOffset = c.healthBackgroundXOffset;
+            this.backgroundYOffset = c.healthBackgroundYOffset;
+            this.textXOffset = c.healthTextXOffset;
+            this.textYOffset = c.healthTextYOffset;
+            this.textColor = c.healthTextColor;
+            this.textOpacity = c.healthTextOpacity;
+            this.textSize = c.healthTextSize;
+            this.absorptionTextXOffset = c.healthAbsorptionTextXOffset;
+            this.absorptionTextYOffset = c.healthAbsorptionTextYOffset;
+            this.backgroundPadding = c.healthBackgroundPadding;
+            this.foregroundPadding = c.healthForegroundPadding;
+            this.enableTrailingIcon = c.enableHealthTrailingIcon;
+            this.trailingIconSize = c.healthTrailingIconSize;
+            this.trailingIconXOffset = c.healthTrailingIconXOffset;
+            this.trailingIconYOffset = c.healthTrailingIconYOffset;
+            this.barWidthModifier = c.healthBarWidthModifier;
+            this.enableRestorationOverlay = c.enableHealthRestorationOverlay;
+        }
+
+        private void applyTo(ClientConfig c) {
+            c.enableHealthBar = enableBar;
+            c.healthBarAnchor = barAnchor;
+            c.fadeHealthWhenFull = fadeWhenFull;
+            c.showHealthText = showText;
+            c.healthTextAlign = textAlign;
+            c.enableHealthForeground = enableForeground;
+            c.enableHealthBackground = enableBackground;
+            c.healthFillDirection = fillDirection;
+            c.healthBackgroundHeight = backgroundHeight;
+            c.healthBarHeight = barHeight;
+            c.healthBarAnimationCycles = barAnimationCycles;
+            c.healthBarFrameHeight = barFrameHeight;
+            c.healthOverlayHeight = overlayHeight;
+            c.healthBarXOffset = barXOffset;
+            c.healthBarYOffset = barYOffset;
+            c.healthTotalXOffset = totalXOffset;
+            c.healthTotalYOffset = totalYOffset;
+            c.healthOverlayXOffset = overlayXOffset;
+            c.healthOverlayYOffset = overlayYOffset;
+            c.healthBackgroundXOffset = backgroundXOffset;
+            c.healthBackgroundYOffset = backgroundYOffset;
+            c.healthTextXOffset = textXOffset;
+            c.healthTextYOffset = textYOffset;
+            c.healthTextColor = textColor;
+            c.healthTextOpacity = textOpacity;
+            c.healthTextSize = textSize;
+            c.healthAbsorptionTextXOffset = absorptionTextXOffset;
+            c.healthAbsorptionTextYOffset = absorptionTextYOffset;
+            c.healthBackgroundPadding = backgroundPadding;
+            c.healthForegroundPadding = foregroundPadding;
+            c.enableHealthTrailingIcon = enableTrailingIcon;
+            c.healthTrailingIconSize = trailingIconSize;
+            c.healthTrailingIconXOffset = trailingIconXOffset;
+            c.healthTrailingIconYOffset = trailingIconYOffset;
+            c.healthBarWidthModifier = barWidthModifier;
+            c.enableHealthRestorationOverlay = enableRestorationOverlay;
+        }
+
+        private boolean sameAs(HealthSettings o) {
+            return enableBar == o.enableBar &&
+                    barAnchor == o.barAnchor &&
+                    fadeWhenFull == o.fadeWhenFull &&
+                    showText == o.showText &&
+                    textAlign == o.textAlign &&
+                    enableForeground == o.enableForeground &&
+                    enableBackground == o.enableBackground &&
+                    fillDirection == o.fillDirection &&
+                    backgroundHeight == o.backgroundHeight &&
+                    barHeight == o.barHeight &&
+                    barAnimationCycles == o.barAnimationCycles &&
+                    barFrameHeight == o.barFrameHeight &&
+                    overlayHeight == o.overlayHeight &&
+                    barXOffset == o.barXOffset &&
+                    barYOffset == o.barYOffset &&
+                    totalXOffset == o.totalXOffset &&
+                    totalYOffset == o.totalYOffset &&
+                    overlayXOffset == o.overlayXOffset &&
+                    overlayYOffset == o.overlayYOffset &&
+                    backgroundXOffset == o.backgroundXOffset &&
+                    backgroundYOffset == o.backgroundYOffset &&
+                    textXOffset == o.textXOffset &&
+                    textYOffset == o.textYOffset &&
+                    textColor == o.textColor &&
+                    textOpacity == o.textOpacity &&
+                    textSize == o.textSize &&
+                    absorptionTextXOffset == o.absorptionTextXOffset &&
+                    absorptionTextYOffset == o.absorptionTextYOffset &&
+                    backgroundPadding == o.backgroundPadding &&
+                    foregroundPadding == o.foregroundPadding &&
+                    enableTrailingIcon == o.enableTrailingIcon &&
+                    trailingIconSize == o.trailingIconSize &&
+                    trailingIconXOffset == o.trailingIconXOffset &&
+                    trailingIconYOffset == o.trailingIconYOffset &&
+                    barWidthModifier == o.barWidthModifier &&
+                    enableRestorationOverlay == o.enableRestorationOverlay;
+        }
+    }
+
+    /**
+     * Stamina (hunger/mount/blood) bar settings.
+     */
+    public static final class StaminaSettings extends Section {
+        public final boolean enableBar;
+        public final AnchorPoint barAnchor;
+        public final boolean fadeWhenFull;
+        public final TextBehavior showText;
+        public final HorizontalAlignment textAlign;
+        public final boolean enableForeground;
+        public final boolean enableBackground;
+        public final FillDirection fillDirection;
+        public final int backgroundWidth;
+        public final int backgroundHeight;
+        public final int barWidth;
+        public final int barHeight;
+        public final int barAnimationCycles;
+        public final int barFrameHeight;
+        public final int overlayWidth;
+        public final int overlayHeight;
+        public final int overlayXOffset;
+        public final int overlayYOffset;
+        public final int barXOffset;
+        public final int barYOffset;
+        public final int totalXOffset;
+        public final int totalYOffset;
+        public final int backgroundXOffset;
+        public final int backgroundYOffset;
+        public final int textXOffset;
+        public final int textYOffset;
+        public final int textColor;
+        public final int textOpacity;
+        public final float textSize;
+        public final int barWidthModifier;
+        public final boolean enableTrailingIcon;
+        public final int trailingIconSize;
+        public final int trailingIconXOffset;
+        public final int trailingIconYOffset;
+
+        private StaminaSettings(ClientConfig c, int epoch) {
+            super(epoch);
+            this.enableBar = c.enableStaminaBar;
+            this.barAnchor = c.staminaBarAnchor;
+            this.fadeWhenFull = c.fadeStaminaWhenFull;
+            this.showText = c.showStaminaText;
+            this.textAlign = c.staminaTextAlign;
+            this.enableForeground = c.enableStaminaForeground;
+            this.enableBackground = c.enableStaminaBackground;
+            this.fillDirection = c.staminaFillDirection;
+            this.backgroundWidth = c.staminaBackgroundWidth;
+            this.backgroundHeight = c.staminaBackgroundHeight;
+            this.barWidth = c.staminaBarWidth;
+            this.barHeight = c.staminaBarHeight;
+            this.barAnimationCycles = c.staminaBarAnimationCycles;
+            this.barFrameHeight = c.staminaBarFrameHeight;
+            this.overlayWidth = c.staminaOverlayWidth;
+            this.overlayHeight = c.staminaOverlayHeight;
+            this.overlayXOffset = c.staminaOverlayXOffset;
+            this.overlayYOffset = c.staminaOverlayYOffset;
+            this.barXOffset = c.staminaBarXOffset;
+            this.barYOffset = c.staminaBarYOffset;
+            this.totalXOffset = c.staminaTotalXOffset;
+            this.totalYOffset = c.staminaTotalYOffset;
+            this.backgroundXOffset = c.staminaBackgroundXOffset;
+            this.backgroundYOffset = c.staminaBackgroundYOffset;
+            this.textXOffset = c.staminaTextXOffset;
+            this.textYOffset = c.staminaTextYOffset;
+            this.textColor = c.staminaTextColor;
+            this.textOpacity = c.staminaTextOpacity;
+            this.textSize = c.staminaTextSize;
+            this.barWidthModifier = c.staminaBarWidthModifier;
+            this.enableTrailingIcon = c.enableStaminaTrailingIcon;
+            this.trailingIconSize = c.staminaTrailingIconSize;
+            this.trailingIconXOffset = c.staminaTrailingIconXOffset;
+            this.trailingIconYOffset = c.staminaTrailingIconYOffset;
+        }
+
+        private void applyTo(ClientConfig c) {
+            c.enableStaminaBar = enableBar;
+            c.staminaBarAnchor = barAnchor;
+            c.fadeStaminaWhenFull = fadeWhenFull;
+            c.showStaminaText = showText;
+            c.staminaTextAlign = textAlign;
+            c.enableStaminaForeground = enableForeground;
+            c.enableStaminaBackground = enableBackground;
+            c.staminaFillDirection = fillDirection;
+            c.staminaBackgroundWidth = backgroundWidth;
+            c.staminaBackgroundHeight = backgroundHeight;
+            c.staminaBarWidth = barWidth;
+            c.staminaBarHeight = barHeight;
+            c.staminaBarAnimationCycles = barAnimationCycles;
+            c.staminaBarFrameHeight = barFrameHeight;
+            c.staminaOverlayWidth = overlayWidth;
+            c.staminaOverlayHeight = overlayHeight;
+            c.staminaOverlayXOffset = overlayXOffset;
+            c.staminaOverlayYOffset = overlayYOffset;
+            c.staminaBarXOffset = barXOffset;
+            c.staminaBarYOffset = barYOffset;
+            c.staminaTotalXOffset = totalXOffset;
+            c.staminaTotalYOffset = totalYOffset;
+            c.staminaBackgroundXOffset = backgroundXOffset;
+            c.staminaBackgroundYOffset = backgroundYOffset;
+            c.staminaTextXOffset = textXOffset;
+            c.staminaTextYOffset = textYOffset;
+            c.staminaTextColor = textColor;
+            c.staminaTextOpacity = textOpacity;
+            c.staminaTextSize = textSize;
+            c.staminaBarWidthModifier = barWidthModifier;
+            c.enableStaminaTrailingIcon = enableTrailingIcon;
+            c.staminaTrailingIconSize = trailingIconSize;
+            c.staminaTrailingIconXOffset = trailingIconXOffset;
+            c.staminaTrailingIconYOffset = trailingIconYOffset;
+        }
+
+        private boolean sameAs(StaminaSettings o) {
+            return enableBar == o.enableBar &&
+                    barAnchor == o.barAnchor &&
+                    fadeWhenFull == o.fadeWhenFull &&
+                    showText == o.showText &&
+                    textAlign == o.textAlign &&
+                    enableForeground == o.enableForeground &&
+                    enableBackground == o.enableBackground &&
+                    fillDirection == o.fillDirection &&
+                    backgroundWidth == o.backgroundWidth &&
+                    backgroundHeight == o.backgroundHeight &&
+                    barWidth == o.barWidth &&
+                    barHeight == o.barHeight &&
+                    barAnimationCycles == o.barAnimationCycles &&
+                    barFrameHeight == o.barFrameHeight &&
+                    overlayWidth == o.overlayWidth &&
+                    overlayHeight == o.overlayHeight &&
+                    overlayXOffset == o.overlayXOffset &&
+                    overlayYOffset == o.overlayYOffset &&
+                    barXOffset == o.barXOffset &&
+                    barYOffset == o.barYOffset &&
+                    totalXOffset == o.totalXOffset &&
+                    totalYOffset == o.totalYOffset &&
+                    backgroundXOffset == o.backgroundXOffset &&
+                    backgroundYOffset == o.backgroundYOffset &&
+                    textXOffset == o.textXOffset &&
+                    textYOffset == o.textYOffset &&
+                    textColor == o.textColor &&
+                    textOpacity == o.textOpacity &&
+                    textSize == o.textSize &&
+                    barWidthModifier == o.barWidthModifier &&
+                    enableTrailingIcon == o.enableTrailingIcon &&
+                    trailingIconSize == o.trailingIconSize &&
+                    trailingIconXOffset == o.trailingIconXOffset &&
+                    trailingIconYOffset == o.trailingIconYOffset;
+        }
+    }
+
+    /**
+     * Mana bar settings.
+     */
+    public static final class ManaSettings extends Section {
+        public final ManaBarBehavior barBehavior;
+        public final AnchorPoint barAnchor;
+        public final boolean enableBackground;
+        public final boolean enableForeground;
+        public final boolean fadeWhenFull;
+        public final TextBehavior showText;
+        public final HorizontalAlignment textAlign;
+        public final FillDirection fillDirection;
+        public final int backgroundWidth;
+        public final int backgroundHeight;
+        public final int barWidth;
+        public final int barHeight;
+        public final int barAnimationCycles;
+        public final int barFrameHeight;
+        public final int overlayWidth;
+        public final int overlayHeight;
+        public final int barXOffset;
+        public final int barYOffset;
+        public final int totalXOffset;
+        public final int totalYOffset;
+        public final int overlayXOffset;
+        public final int overlayYOffset;
+        public final int backgroundXOffset;
+        public final int backgroundYOffset;
+        public final int textXOffset;
+        public final int textYOffset;
+        public final int textColor;
+        public final int textOpacity;
+        public final float textSize;
+        public final int barWidthModifier;
+        public final boolean enableTrailingIcon;
+        public final int trailingIconSize;
+        public final int trailingIconXOffset;
+        public final int trailingIconYOffset;
+
+        private ManaSettings(ClientConfig c, int epoch) {
+            super(epoch);
+            this.barBehavior = c.manaBarBehavior;
+            this.barAnchor = c.manaBarAnchor;
+            this.enableBackground = c.enableManaBackground;
+            this.enableForeground = c.enableManaForeground;
+            this.fadeWhenFull = c.fadeManaWhenFull;
+            this.showText = c.showManaText;
+            this.textAlign = c.manaTextAlign;
+            this.fillDirection = c.manaFillDirection;
+            this.backgroundWidth = c.manaBackgroundWidth;
+            this.backgroundHeight = c.manaBackgroundHeight;
+            this.barWidth = c.manaBarWidth;
+            this.barHeight = c.manaBarHeight;
+            this.barAnimationCycles = c.manaBarAnimationCycles;
+            this.barFrameHeight = c.manaBarFrameHeight;
+            this.overlayWidth = c.manaOverlayWidth;
+            this.overlayHeight = c.manaOverlayHeight;
+            this.barXOffset = c.manaBarXOffset;
+            this.barYOffset = c.manaBarYOffset;
+            this.totalXOffset = c.manaTotalXOffset;
+            this.totalYOffset = c.manaTotalYOffset;
+            this.overlayXOffset = c.manaOverlayXOffset;
+            this.overlayYOffset = c.manaOverlayYOffset;
+            this.backgroundXOffset = c.manaBackgroundXOffset;
+            this.backgroundYOffset = c.manaBackgroundYOffset;
+            this.textXOffset = c.manaTextXOffset;
+            this.textYOffset = c.manaTextYOffset;
+            this.textColor = c.manaTextColor;
+            this.textOpacity = c.manaTextOpacity;
+            this.textSize = c.manaTextSize;
+            this.barWidthModifier = c.manaBarWidthModifier;
+            this.enableTrailingIcon = c.enableManaTrailingIcon;
+            this.trailingIconSize = c.manaTrailingIconSize;
+            this.trailingIconXOffset = c.manaTrailingIconXOffset;
+            this.trailingIconYOffset = c.manaTrailingIconYOffset;
+        }
+
+        private void applyTo(ClientConfig c) {
+            c.manaBarBehavior = barBehavior;
+            c.manaBarAnchor = barAnchor;
+            c.enableManaBackground = enableBackground;
+            c.enableManaForeground = enableForeground;
+            c.fadeManaWhenFull = fadeWhenFull;
+            c.showManaText = showText;
+            c.manaTextAlign = textAlign;
+            c.manaFillDirection = fillDirection;
+            c.manaBackgroundWidth = backgroundWidth;
+            c.manaBackgroundHeight = backgroundHeight;
+            c.manaBarWidth = barWidth;
+            c.manaBarHeight = barHeight;
+            c.manaBarAnimationCycles = barAnimationCycles;
+            c.manaBarFrameHeight = barFrameHeight;
+            c.manaOverlayWidth = overlayWidth;
+            c.manaOverlayHeight = overlayHeight;
+            c.manaBarXOffset = barXOffset;
+            c.manaBarYOffset = barYOffset;
+            c.manaTotalXOffset = totalXOffset;
+            c.manaTotalYOffset = totalYOffset;
+            c.manaOverlayXOffset = overlayXOffset;
+            c.manaOverlayYOffset = overlayYOffset;
+            c.manaBackgroundXOffset = backgroundXOffset;
+            c.manaBackgroundYOffset = backgroundYOffset;
+            c.manaTextXOffset = textXOffset;
+            c.manaTextYOffset = textYOffset;
+            c.manaTextColor = textColor;
+            c.manaTextOpacity = textOpacity;
+            c.manaTextSize = textSize;
+            c.manaBarWidthModifier = barWidthModifier;
+            c.enableManaTrailingIcon = enableTrailingIcon;
+            c.manaTrailingIconSize = trailingIconSize;
+            c.manaTrailingIconXOffset = trailingIconXOffset;
+            c.manaTrailingIconYOffset = trailingIconYOffset;
+        }
+
+        private boolean sameAs(ManaSettings o) {
+            return barBehavior == o.barBehavior &&
+                    barAnchor == o.barAnchor &&
+                    enableBackground == o.enableBackground &&
+                    enableForeground == o.enableForeground &&
+                    fadeWhenFull == o.fadeWhenFull &&
+                    showText == o.showText &&
+                    textAlign == o.textAlign &&
+                    fillDirection == o.fillDirection &&
+                    backgroundWidth == o.backgroundWidth &&
+                    backgroundHeight == o.backgroundHeight &&
+                    barWidth == o.barWidth &&
+                    barHeight == o.barHeight &&
+                    barAnimationCycles == o.barAnimationCycles &&
+                    barFrameHeight == o.barFrameHeight &&
+                    overlayWidth == o.overlayWidth &&
+                    overlayHeight == o.overlayHeight &&
+                    barXOffset == o.barXOffset &&
+                    barYOffset == o.barYOffset &&
+                    totalXOffset == o.totalXOffset &&
+                    totalYOffset == o.totalYOffset &&
+                    overlayXOffset == o.overlayXOffset &&
+                    overlayYOffset == o.overlayYOffset &&
+                    backgroundXOffset == o.backgroundXOffset &&
+                    backgroundYOffset == o.backgroundYOffset &&
+                    textXOffset == o.textXOffset &&
+                    textYOffset == o.textYOffset &&
+                    textColor == o.textColor &&
+                    textOpacity == o.textOpacity &&
+                    textSize == o.textSize &&
+                    barWidthModifier == o.barWidthModifier &&
+                    enableTrailingIcon == o.enableTrailingIcon &&
+                    trailingIconSize == o.trailingIconSize &&
+                    trailingIconXOffset == o.trailingIconXOffset &&
+                    trailingIconYOffset == o.trailingIconYOffset;
+        }
+    }
+
+    /**
+     * Armor bar settings.
+     */
+    public static final class ArmorSettings extends Section {
+        public final BarRenderBehavior barBehavior;
+        public final AnchorPoint barAnchor;
+        public final int maxExpectedArmor;
+        public final int maxExpectedProt;
+        public final int backgroundWidth;
+        public final int backgroundHeight;
+        public final int barWidth;
+        public final int barHeight;
+        public final int barXOffset;
+        public final int barYOffset;
+        public final int totalXOffset;
+        public final int totalYOffset;
+        public final boolean enableIcon;
+        public final int iconSize;
+        public final int protOverlayAnimationCycles;
+        public final int protOverlayFrameHeight;
+        public final int iconXOffset;
+        public final int iconYOffset;
+        public final int textXOffset;
+        public final int textYOffset;
+        public final int textColor;
+        public final int textOpacity;
+        public final float textSize;
+        public final TextBehavior showText;
+        public final HorizontalAlignment textAlign;
+        public final int backgroundXOffset;
+        public final int backgroundYOffset;
+
+        private ArmorSettings(ClientConfig c, int epoch) {
+            super(epoch);
+            this.barBehavior = c.armorBarBehavior;
+            this.barAnchor = c.armorBarAnchor;
+            this.maxExpectedArmor = c.maxExpectedArmor;
+            this.maxExpectedProt = c.maxExpectedProt;
+            this.backgroundWidth = c.armorBackgroundWidth;
+            this.backgroundHeight = c.armorBackgroundHeight;
+            this.barWidth = c.armorBarWidth;
+            this.barHeight = c.armorBarHeight;
+            this.barXOffset = c.armorBarXOffset;
+            this.barYOffset = c.armorBarYOffset;
+            this.totalXOffset = c.armorTotalXOffset;
+            this.totalYOffset = c.armorTotalYOffset;
+            this.enableIcon = c.enableArmorIcon;
+            this.iconSize = c.armorIconSize;
+            this.protOverlayAnimationCycles = c.protOverlayAnimationCycles;
+            this.protOverlayFrameHeight = c.protOverlayFrameHeight;
+            this.iconXOffset = c.armorIconXOffset;
+            this.iconYOffset = c.armorIconYOffset;
+            this.textXOffset = c.armorTextXOffset;
+            this.textYOffset = c.armorTextYOffset;
+            this.textColor = c.armorTextColor;
+            this.textOpacity = c.armorTextOpacity;
+            this.textSize = c.armorTextSize;
+            this.showText = c.showArmorText;
+            this.textAlign = c.armorTextAlign;
+            this.backgroundXOffset = c.armorBackgroundXOffset;
+            this.backgroundYOffset = c.armorBackgroundYOffset;
+        }
+
+        private void applyTo(ClientConfig c) {
+            c.armorBarBehavior = barBehavior;
+            c.armorBarAnchor = barAnchor;
+            c.maxExpectedArmor = maxExpectedArmor;
+            c.maxExpectedProt = maxExpectedProt;
+            c.armorBackgroundWidth = backgroundWidth;
+            c.armorBackgroundHeight = backgroundHeight;
+            c.armorBarWidth = barWidth;
+            c.armorBarHeight = barHeight;
+            c.armorBarXOffset = barXOffset;
+            c.armorBarYOffset = barYOffset;
+            c.armorTotalXOffset = totalXOffset;
+            c.armorTotalYOffset = totalYOffset;
+            c.enableArmorIcon = enableIcon;
+            c.armorIconSize = iconSize;
+            c.protOverlayAnimationCycles = protOverlayAnimationCycles;
+            c.protOverlayFrameHeight = protOverlayFrameHeight;
+            c.armorIconXOffset = iconXOffset;
+            c.armorIconYOffset = iconYOffset;
+            c.armorTextXOffset = textXOffset;
+            c.armorTextYOffset = textYOffset;
+            c.armorTextColor = textColor;
+            c.armorTextOpacity = textOpacity;
+            c.armorTextSize = textSize;
+            c.showArmorText = showText;
+            c.armorTextAlign = textAlign;
+            c.armorBackgroundXOffset = backgroundXOffset;
+            c.armorBackgroundYOffset = backgroundYOffset;
+        }
+
+        private boolean sameAs(ArmorSettings o) {
+            return barBehavior == o.barBehavior &&
+                    barAnchor == o.barAnchor &&
+                    maxExpectedArmor == o.maxExpectedArmor &&
+                    maxExpectedProt == o.maxExpectedProt &&
+                    backgroundWidth == o.backgroundWidth &&
+                    backgroundHeight == o.backgroundHeight &&
+                    barWidth == o.barWidth &&
+                    barHeight == o.barHeight &&
+                    barXOffset == o.barXOffset &&
+                    barYOffset == o.barYOffset &&
+                    totalXOffset == o.totalXOffset &&
+                    totalYOffset == o.totalYOffset &&
+                    enableIcon == o.enableIcon &&
+                    iconSize == o.iconSize &&
+                    protOverlayAnimationCycles == o.protOverlayAnimationCycles &&
+                    protOverlayFrameHeight == o.protOverlayFrameHeight &&
+                    iconXOffset == o.iconXOffset &&
+                    iconYOffset == o.iconYOffset &&
+                    textXOffset == o.textXOffset &&
+                    textYOffset == o.textYOffset &&
+                    textColor == o.textColor &&
+                    textOpacity == o.textOpacity &&
+                    textSize == o.textSize &&
+                    showText == o.showText &&
+                    textAlign == o.textAlign &&
+                    backgroundXOffset == o.backgroundXOffset &&
+                    backgroundYOffset == o.backgroundYOffset;
+        }
+    }
+
+    /**
+     * Air bar settings.
+     */
+    public static final class AirSettings extends Section {
+        public final BarRenderBehavior barBehavior;
+        public final AnchorPoint barAnchor;
+        public final int backgroundWidth;
+        public final int backgroundHeight;
+        public final int barWidth;
+        public final int barHeight;
+        public final int barXOffset;
+        public final int barYOffset;
+        public final int totalXOffset;
+        public final int totalYOffset;
+        public final boolean enableIcon;
+        public final int iconSize;
+        public final int iconXOffset;
+        public final int iconYOffset;
+        public final int textXOffset;
+        public final int textYOffset;
+        public final int textColor;
+        public final int textOpacity;
+        public final float textSize;
+        public final TextBehavior showText;
+        public final HorizontalAlignment textAlign;
+        public final int backgroundXOffset;
+        public final int backgroundYOffset;
+        public final int barAnimationCycles;
+        public final int barFrameHeight;
+        public final FillDirection fillDirection;
+
+        private AirSettings(ClientConfig c, int epoch) {
+            super(epoch);
+            this.barBehavior = c.airBarBehavior;
+            this.barAnchor = c.airBarAnchor;
+            this.backgroundWidth = c.airBackgroundWidth;
+            this.backgroundHeight = c.airBackgroundHeight;
+            this.barWidth = c.airBarWidth;
+            this.barHeight = c.airBarHeight;
+            this.barXOffset = c.airBarXOffset;
+            this.barYOffset = c.airBarYOffset;
+            this.totalXOffset = c.airTotalXOffset;
+            this.totalYOffset = c.airTotalYOffset;
+            this.enableIcon = c.enableAirIcon;
+            this.iconSize = c.airIconSize;
+            this.iconXOffset = c.airIconXOffset;
+            this.iconYOffset = c.airIconYOffset;
+            this.textXOffset = c.airTextXOffset;
+            this.textYOffset = c.airTextYOffset;
+            this.textColor = c.airTextColor;
+            this.textOpacity = c.airTextOpacity;
+            this.textSize = c.airTextSize;
+            this.showText = c.showAirText;
+            this.textAlign = c.airTextAlign;
+            this.backgroundXOffset = c.airBackgroundXOffset;
+            this.backgroundYOffset = c.airBackgroundYOffset;
+            this.barAnimationCycles = c.airBarAnimationCycles;
+            this.barFrameHeight = c.airBarFrameHeight;
+            this.fillDirection = c.airFillDirection;
+        }
+
+        private void applyTo(ClientConfig c) {
+            c.airBarBehavior = barBehavior;
+            c.airBarAnchor = barAnchor;
+            c.airBackgroundWidth = backgroundWidth;
+            c.airBackgroundHeight = backgroundHeight;
+            c.airBarWidth = barWidth;
+            c.airBarHeight = barHeight;
+            c.airBarXOffset = barXOffset;
+            c.airBarYOffset = barYOffset;
+            c.airTotalXOffset = totalXOffset;
+            c.airTotalYOffset = totalYOffset;
+            c.enableAirIcon = enableIcon;
+            c.airIconSize = iconSize;
+            c.airIconXOffset = iconXOffset;
+            c.airIconYOffset = iconYOffset;
+            c.airTextXOffset = textXOffset;
+            c.airTextYOffset = textYOffset;
+            c.airTextColor = textColor;
+            c.airTextOpacity = textOpacity;
+            c.airTextSize = textSize;
+            c.showAirText = showText;
+            c.airTextAlign = textAlign;
+            c.airBackgroundXOffset = backgroundXOffset;
+            c.airBackgroundYOffset = backgroundYOffset;
+            c.airBarAnimationCycles = barAnimationCycles;
+            c.airBarFrameHeight = barFrameHeight;
+            c.airFillDirection = fillDirection;
+        }
+
+        private boolean sameAs(AirSettings o) {
+            return barBehavior == o.barBehavior &&
+                    barAnchor == o.barAnchor &&
+                    backgroundWidth == o.backgroundWidth &&
+                    backgroundHeight == o.backgroundHeight &&
+                    barWidth == o.barWidth &&
+                    barHeight == o.barHeight &&
+                    barXOffset == o.barXOffset &&
+                    barYOffset == o.barYOffset &&
+                    totalXOffset == o.totalXOffset &&
+                    totalYOffset == o.totalYOffset &&
+                    enableIcon == o.enableIcon &&
+                    iconSize == o.iconSize &&
+                    iconXOffset == o.iconXOffset &&
+                    iconYOffset == o.iconYOffset &&
+                    textXOffset == o.textXOffset &&
+                    textYOffset == o.textYOffset &&
+                    textColor == o.textColor &&
+                    textOpacity == o.textOpacity &&
+                    textSize == o.textSize &&
+                    showText == o.showText &&
+                    textAlign == o.textAlign &&
+                    backgroundXOffset == o.backgroundXOffset &&
+                    backgroundYOffset == o.backgroundYOffset &&
+                    barAnimationCycles == o.barAnimationCycles &&
+                    barFrameHeight == o.barFrameHeight &&
+                    fillDirection == o.fillDirection;
+        }
+    }
+
+    /**
+     * Party (teammate) health bar settings.
+     */
+    public static final class PartySettings extends Section {
+        public final boolean enableBars;
+        public final AnchorPoint barAnchor;
+        public final int barWidth;
+        public final int totalXOffset;
+        public final int totalYOffset;
+        public final int maxMembers;
+        public final boolean showNames;
+
+        private PartySettings(ClientConfig c, int epoch) {
+            super(epoch);
+            this.enableBars = c.enablePartyBars;
+            this.barAnchor = c.partyBarAnchor;
+            this.barWidth = c.partyBarWidth;
+            this.totalXOffset = c.partyTotalXOffset;
+            this.totalYOffset = c.partyTotalYOffset;
+            this.maxMembers = c.partyMaxMembers;
+            this.showNames = c.showPartyNames;
+        }
+
+        private void applyTo(ClientConfig c) {
+            c.enablePartyBars = enableBars;
+            c.partyBarAnchor = barAnchor;
+            c.partyBarWidth = barWidth;
+            c.partyTotalXOffset = totalXOffset;
+            c.partyTotalYOffset = totalYOffset;
+            c.partyMaxMembers = maxMembers;
+            c.showPartyNames = showNames;
+        }
+
+        private boolean sameAs(PartySettings o) {
+            return enableBars == o.enableBars &&
+                    barAnchor == o.barAnchor &&
+                    barWidth == o.barWidth &&
+                    totalXOffset == o.totalXOffset &&
+                    totalYOffset == o.totalYOffset &&
+                    maxMembers == o.maxMembers &&
+                    showNames == o.showNames;
+        }
+    }
+
+    /**
+     * Target (crosshair entity) health bar settings.
+     */
+    public static final class TargetSettings extends Section {
+        public final boolean enableBar;
+        public final AnchorPoint barAnchor;
+        public final int barWidthModifier;
+        public final int totalXOffset;
+        public final int totalYOffset;
+        public final boolean showName;
+
+        private TargetSettings(ClientConfig c, int epoch) {
+            super(epoch);
+            this.enableBar = c.enableTargetBar;
+            this.barAnchor = c.targetBarAnchor;
+            this.barWidthModifier = c.targetBarWidthModifier;
+            this.totalXOffset = c.targetTotalXOffset;
+            this.totalYOffset = c.targetTotalYOffset;
+            this.showName = c.showTargetName;
+        }
+
+        private void applyTo(ClientConfig c) {
+            c.enableTargetBar = enableBar;
+            c.targetBarAnchor = barAnchor;
+            c.targetBarWidthModifier = barWidthModifier;
+            c.targetTotalXOffset = totalXOffset;
+            c.targetTotalYOffset = totalYOffset;
+            c.showTargetName = showName;
+        }
+
+        private boolean sameAs(TargetSettings o) {
+            return enableBar == o.enableBar &&
+                    barAnchor == o.barAnchor &&
+                    barWidthModifier == o.barWidthModifier &&
+                    totalXOffset == o.totalXOffset &&
+                    totalYOffset == o.totalYOffset &&
+                    showName == o.showName;
+        }
+    }
+
+    /**
+     * World-space health bars above nearby entities.
+     */
+    public static final class NameplateSettings extends Section {
+        public final boolean enableBars;
+        public final int maxDistance;
+        public final int detailDistance;
+        public final int maxBars;
+        public final boolean onlyWhenDamaged;
+
+        private NameplateSettings(ClientConfig c, int epoch) {
+            super(epoch);
+            this.enableBars = c.enableNameplateBars;
+            this.maxDistance = c.nameplateMaxDistance;
+            this.detailDistance = c.nameplateDetailDistance;
+            this.maxBars = c.nameplateMaxBars;
+            this.onlyWhenDamaged = c.nameplateOnlyWhenDamaged;
+        }
+
+        private void applyTo(ClientConfig c) {
+            c.enableNameplateBars = enableBars;
+            c.nameplateMaxDistance = maxDistance;
+            c.nameplateDetailDistance = detailDistance;
+            c.nameplateMaxBars = maxBars;
+            c.nameplateOnlyWhenDamaged = onlyWhenDamaged;
+        }
+
+        private boolean sameAs(NameplateSettings o) {
+            return enableBars == o.enableBars &&
+                    maxDistance == o.maxDistance &&
+                    detailDistance == o.detailDistance &&
+                    maxBars == o.maxBars &&
+                    onlyWhenDamaged == o.onlyWhenDamaged;
+        }
+    }
+}
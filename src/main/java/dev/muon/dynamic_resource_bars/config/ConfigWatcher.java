@@ -0,0 +1,136 @@
+package dev.muon.dynamic_resource_bars.config;
+
+import dev.muon.dynamic_resource_bars.DynamicResourceBars;
+import dev.muon.dynamic_resource_bars.util.DraggableElement;
+import dev.muon.dynamic_resource_bars.util.EditModeManager;
+import net.minecraft.client.Minecraft;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads the config when the JSON file is edited outside the game.
+ * <p>
+ * A daemon thread watches the config directory. Once the file has been quiet for {@link #DEBOUNCE_MS}
+ * (editors often save in several steps) it is read and parsed on that thread; files we wrote ourselves are
+ * ignored. The parsed values are then applied on the client thread, which publishes a new {@link ConfigSnapshot}.
+ * Only the bars whose settings actually changed get a new layout epoch, so the other bars keep their cached layouts.
+ * Changes made while the HUD editor is open are dropped (with a warning), since the editor owns the config until it
+ * closes and saves.
+ */
+final class ConfigWatcher {
+    private static final long DEBOUNCE_MS = 300;
+
+    private static Thread thread;
+
+    private ConfigWatcher() {
+    }
+
+    static void start(Path configFile) {
+        if (thread != null) {
+            return;
+        }
+        WatchService watchService;
+        try {
+            watchService = configFile.getFileSystem().newWatchService();
+            configFile.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            DynamicResourceBars.LOGGER.warn("Could not watch {} for changes, config hot reload is disabled.", configFile, e);
+            return;
+        }
+        thread = new Thread(() -> run(watchService, configFile), DynamicResourceBars.ID + "-config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void run(WatchService watchService, Path configFile) {
+        Path fileName = configFile.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean touched = drain(key, fileName);
+                if (!touched) {
+                    continue;
+                }
+                // Debounce: keep absorbing events until the file stops changing
+                while ((key = watchService.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(key, fileName);
+                }
+                reload(configFile);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    private static boolean drain(WatchKey key, Path fileName) {
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (fileName.equals(event.context())) {
+                touched = true;
+            }
+        }
+        key.reset();
+        return touched;
+    }
+
+    private static void reload(Path configFile) {
+        String json;
+        try {
+            json = Files.readString(configFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            DynamicResourceBars.LOGGER.warn("Could not read changed config file {}: {}", configFile, e.getMessage());
+            return;
+        }
+        if (json.equals(ConfigWriter.lastWrittenJson(configFile))) {
+            return; // Our own save
+        }
+
+        ClientConfigCodec.Result result;
+        try {
+            result = ClientConfigCodec.read(new StringReader(json));
+        } catch (Exception e) {
+            // Most likely caught mid-edit; the next save will trigger another attempt
+            DynamicResourceBars.LOGGER.warn("Ignoring changed config file {}, it could not be parsed: {}", configFile, e.getMessage());
+            return;
+        }
+        if (result == null) {
+            return;
+        }
+
+        Minecraft.getInstance().execute(() -> apply(configFile, result.config));
+    }
+
+    private static void apply(Path configFile, ClientConfig reloaded) {
+        if (EditModeManager.isEditModeEnabled()) {
+            // Copying it in would clobber unsaved edits and land in the editor's undo history, and the editor saves over the file on close anyway
+            DynamicResourceBars.LOGGER.warn("Ignoring changes to {} made while the HUD editor is open; close the editor and save the file again to apply them.",
+                    configFile.getFileName());
+            return;
+        }
+        ConfigSnapshot before = LayoutProfiles.defaultSnapshot();
+        ConfigSnapshot after = LayoutProfiles.reloadDefault(reloaded);
+
+        List<DraggableElement> changed = new ArrayList<>();
+        for (DraggableElement bar : DraggableElement.values()) {
+            if (after.section(bar) != before.section(bar)) {
+                changed.add(bar);
+            }
+        }
+        boolean globalChanged = after.global != before.global;
+        DynamicResourceBars.LOGGER.info("Reloaded client config from disk (changed: {}{}){}",
+                changed.isEmpty() ? "no bars" : changed, globalChanged ? ", global settings" : "",
+                LayoutProfiles.activeIndex() == 0 ? "" : ", applies when switching back to the default layout profile");
+    }
+}
@@ -0,0 +1,157 @@
+package dev.muon.dynamic_resource_bars.config;
+
+import dev.muon.dynamic_resource_bars.DynamicResourceBars;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the config file on a background daemon thread.
+ * <p>
+ * {@link ClientConfig#save()} serializes on the calling thread (so the JSON is a consistent view of the fields)
+ * and hands the text over here. Saves arriving within {@link #COALESCE_DELAY_MS} of each other collapse into a
+ * single write of the newest text per file (layout profiles live in their own files). Each write goes to a temp file that is then moved over the real one, so a
+ * crash mid-write never leaves a truncated config. Anything still pending is flushed from a shutdown hook.
+ */
+final class ConfigWriter {
+    private static final long COALESCE_DELAY_MS = 250;
+
+    private static final Object lock = new Object();
+    private static final Object writeLock = new Object();
+
+    // Guarded by lock
+    private static final Map<Path, Pending> pending = new LinkedHashMap<>();
+    private static long nextSequence;
+    private static long lastSubmitNanos;
+    private static Thread thread;
+
+    // Guarded by writeLock
+    private static final Map<Path, Long> writtenSequences = new HashMap<>();
+    // What is on disk as far as we know; lets the file watcher tell our own writes from external edits
+    private static final Map<Path, String> writtenJson = new ConcurrentHashMap<>();
+
+    private ConfigWriter() {
+    }
+
+    static void submit(Path path, String json) {
+        synchronized (lock) {
+            Pending previous = pending.get(path);
+            pending.put(path, new Pending(path, json, ++nextSequence, previous == null ? 1 : previous.saves + 1));
+            lastSubmitNanos = System.nanoTime();
+            if (thread == null) {
+                start();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Writes any pending save on the calling thread, after waiting for a write the background thread has already
+     * started. Used on shutdown, where the daemon thread may be killed as soon as this returns; safe to call at any time.
+     */
+    static void flush() {
+        synchronized (writeLock) {
+            for (Pending save : takePending()) {
+                write(save);
+            }
+        }
+    }
+
+    static String lastWrittenJson(Path path) {
+        return writtenJson.get(path);
+    }
+
+    // Callers hold writeLock, so whatever is taken here has been written before anyone else acquires it
+    private static List<Pending> takePending() {
+        synchronized (lock) {
+            List<Pending> saves = new ArrayList<>(pending.values());
+            pending.clear();
+            return saves;
+        }
+    }
+
+    private static void start() {
+        thread = new Thread(ConfigWriter::run, DynamicResourceBars.ID + "-config-writer");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(ConfigWriter::flush, DynamicResourceBars.ID + "-config-flush"));
+    }
+
+    private static void run() {
+        while (true) {
+            try {
+                synchronized (lock) {
+                    while (pending.isEmpty()) {
+                        lock.wait();
+                    }
+                    // Keep waiting while saves keep arriving, so a burst becomes one write per file
+                    long remaining;
+                    while (!pending.isEmpty()
+                            && (remaining = COALESCE_DELAY_MS - (System.nanoTime() - lastSubmitNanos) / 1_000_000L) > 0) {
+                        lock.wait(remaining);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Saves are only taken while holding writeLock, so flush() never sees an empty queue with a write still to come
+            synchronized (writeLock) {
+                for (Pending save : takePending()) { // Empty if flushed in the meantime
+                    write(save);
+                }
+            }
+        }
+    }
+
+    private static void write(Pending save) {
+        Path path = save.path;
+        synchronized (writeLock) {
+            Long writtenSequence = writtenSequences.get(path);
+            if (writtenSequence != null && save.sequence <= writtenSequence) {
+                return; // A newer save already reached the disk
+            }
+            long start = System.nanoTime();
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try {
+                Files.createDirectories(path.getParent());
+                Files.writeString(temp, save.json, StandardCharsets.UTF_8);
+                try {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+                writtenSequences.put(path, save.sequence);
+                writtenJson.put(path, save.json);
+                DynamicResourceBars.LOGGER.debug("Wrote {} in {} us off the render thread ({} save(s) coalesced)",
+                        path.getFileName(), (System.nanoTime() - start) / 1_000L, save.saves);
+            } catch (IOException e) {
+                DynamicResourceBars.LOGGER.error("Failed to save client config to {}:", path, e);
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final Path path;
+        private final String json;
+        private final long sequence;
+        private final int saves;
+
+        private Pending(Path path, String json, long sequence, int saves) {
+            this.path = path;
+            this.json = json;
+            this.sequence = sequence;
+            this.saves = saves;
+        }
+    }
+}
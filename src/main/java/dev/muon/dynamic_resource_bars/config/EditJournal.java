@@ -0,0 +1,87 @@
+package dev.muon.dynamic_resource_bars.config;
+
+/**
+ * Undo/redo history for the HUD editor.
+ * <p>
+ * Each entry is a {@link ConfigSnapshot} of the config after one committed edit. Snapshots are built from the
+ * previous entry, so sections an edit did not touch are shared rather than copied: moving one bar only adds that
+ * bar's section. Commits happen at the end of an edit (mouse release, button press), never per drag event, and
+ * commits that changed nothing are dropped. The history is a fixed-size ring, so memory stays bounded however long
+ * the editor is open; the oldest entries fall off once it is full. Undo and redo are constant time apart from
+ * writing the restored values back.
+ */
+public final class EditJournal {
+    private static final int CAPACITY = 100;
+
+    private final ConfigSnapshot[] states = new ConfigSnapshot[CAPACITY];
+    private int head; // Slot of the state the config currently matches
+    private int undoable; // Committed states before head that can still be restored
+    private int redoable; // Undone states after head
+
+    public EditJournal() {
+        states[0] = ConfigSnapshot.build(ClientConfig.getInstance(), -1, ConfigSnapshot.current());
+    }
+
+    /**
+     * Records the current config values as a new entry if they differ from the last one. Discards the redo history.
+     * @return Whether an entry was added
+     */
+    public boolean commit() {
+        ConfigSnapshot previous = states[head];
+        ConfigSnapshot next = ConfigSnapshot.build(ClientConfig.getInstance(), -1, previous);
+        if (next.sharesAllSections(previous)) {
+            return false;
+        }
+        // Drop references to the undone states so they can be collected
+        for (int i = 1; i <= redoable; i++) {
+            states[(head + i) % CAPACITY] = null;
+        }
+        redoable = 0;
+        head = (head + 1) % CAPACITY;
+        states[head] = next;
+        undoable = Math.min(undoable + 1, CAPACITY - 1);
+        return true;
+    }
+
+    /**
+     * @return Whether anything was undone
+     */
+    public boolean undo() {
+        commit(); // Edits that had no commit point of their own (e.g. typing in a box) become their own entry
+        if (undoable == 0) {
+            return false;
+        }
+        head = (head - 1 + CAPACITY) % CAPACITY;
+        undoable--;
+        redoable++;
+        restore(states[head]);
+        return true;
+    }
+
+    /**
+     * @return Whether anything was redone
+     */
+    public boolean redo() {
+        if (redoable == 0 || commit()) {
+            return false; // A new edit since the last undo ends the redo history
+        }
+        head = (head + 1) % CAPACITY;
+        redoable--;
+        undoable++;
+        restore(states[head]);
+        return true;
+    }
+
+    public boolean canUndo() {
+        return undoable > 0;
+    }
+
+    public boolean canRedo() {
+        return redoable > 0;
+    }
+
+    private static void restore(ConfigSnapshot state) {
+        state.applyTo(ClientConfig.getInstance());
+        ClientConfig.markChanged();
+    }
+}
@@ -0,0 +1,190 @@
+package dev.muon.dynamic_resource_bars.config;
+
+import dev.muon.dynamic_resource_bars.DynamicResourceBars;
+import dev.muon.dynamic_resource_bars.util.EditModeManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Named HUD layouts the player can flip between at runtime (e.g. a combat and a building layout).
+ * <p>
+ * The main config file is the {@value #DEFAULT_PROFILE} profile. Every other profile is a config file with the same
+ * format in the {@code <config>/dynamic_resource_bars-profiles} directory, named after the file. All of them are read,
+ * validated and turned into a {@link ConfigSnapshot} once at startup, so switching only swaps two references:
+ * the {@link ClientConfig} instance and the published snapshot. Editing with the HUD editor changes the active
+ * profile and saves to its own file.
+ */
+public final class LayoutProfiles {
+    public static final String DEFAULT_PROFILE = "default";
+    private static final String FILE_EXTENSION = ".json";
+
+    private static Profile[] profiles = new Profile[0];
+    private static final Map<String, Integer> indexByName = new HashMap<>();
+    private static int active;
+
+    private LayoutProfiles() {
+    }
+
+    /**
+     * Loads every profile in {@code directory}. Call after the main config has been loaded.
+     */
+    static void load(Path directory) {
+        List<Profile> loaded = new ArrayList<>();
+        Profile defaultProfile = new Profile(DEFAULT_PROFILE, ClientConfig.getInstance());
+        loaded.add(defaultProfile);
+        ConfigSnapshot defaultSnapshot = ConfigSnapshot.current();
+
+        List<Path> files = List.of();
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> stream = Files.list(directory)) {
+                files = stream.filter(path -> path.getFileName().toString().endsWith(FILE_EXTENSION))
+                        .sorted()
+                        .toList();
+            }
+        } catch (IOException e) {
+            DynamicResourceBars.LOGGER.warn("Could not list layout profiles in {}: {}", directory, e.getMessage());
+        }
+
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            String name = fileName.substring(0, fileName.length() - FILE_EXTENSION.length()).toLowerCase(Locale.ROOT);
+            if (name.isEmpty() || loaded.stream().anyMatch(profile -> profile.name.equals(name))) {
+                DynamicResourceBars.LOGGER.warn("Skipping layout profile {}, the name {} is already taken.", file, name);
+                continue;
+            }
+            ClientConfigCodec.Result result;
+            try (Reader reader = Files.newBufferedReader(file)) {
+                result = ClientConfigCodec.read(reader);
+            } catch (Exception e) {
+                DynamicResourceBars.LOGGER.error("Skipping layout profile {}, it could not be read:", file, e);
+                continue;
+            }
+            if (result == null) {
+                DynamicResourceBars.LOGGER.warn("Skipping layout profile {}, the file is empty.", file);
+                continue;
+            }
+
+            Profile profile = new Profile(name, result.config);
+            profile.config.setFilePath(file);
+            if (result.modified) {
+                DynamicResourceBars.LOGGER.info("Layout profile {} had missing or invalid values, saving the corrected file.", name);
+                profile.config.save();
+            }
+            // Sections equal to the default profile's are shared, so their cached layouts carry over on a switch
+            profile.snapshot = ConfigSnapshot.build(profile.config, ClientConfig.nextEpoch(), defaultSnapshot);
+            loaded.add(profile);
+        }
+
+        profiles = loaded.toArray(new Profile[0]);
+        indexByName.clear();
+        for (int i = 0; i < profiles.length; i++) {
+            indexByName.put(profiles[i].name, i);
+        }
+        active = 0;
+        DynamicResourceBars.LOGGER.info("Loaded {} HUD layout profile(s): {}", profiles.length, names());
+    }
+
+    public static int count() {
+        return profiles.length;
+    }
+
+    /**
+     * Index of the active profile; 0 is {@value #DEFAULT_PROFILE}. Stable until the game restarts.
+     */
+    public static int activeIndex() {
+        return active;
+    }
+
+    public static String activeName() {
+        return profiles.length == 0 ? DEFAULT_PROFILE : profiles[active].name;
+    }
+
+    public static List<String> names() {
+        List<String> names = new ArrayList<>(profiles.length);
+        for (Profile profile : profiles) {
+            names.add(profile.name);
+        }
+        return names;
+    }
+
+    /**
+     * Switches to the next profile, wrapping around.
+     * @return Whether the active profile changed
+     */
+    public static boolean cycle() {
+        return profiles.length > 1 && switchTo((active + 1) % profiles.length);
+    }
+
+    /**
+     * @return Whether the active profile changed
+     */
+    public static boolean switchTo(String name) {
+        Integer index = indexByName.get(name.toLowerCase(Locale.ROOT));
+        return index != null && switchTo(index);
+    }
+
+    private static boolean switchTo(int index) {
+        if (index == active || index < 0 || index >= profiles.length) {
+            return false;
+        }
+        if (EditModeManager.isEditModeEnabled()) {
+            return false; // The editor works on the active instance and would save it into the wrong file
+        }
+        Profile from = profiles[active];
+        Profile to = profiles[index];
+        from.snapshot = ConfigSnapshot.current();
+        active = index;
+        ClientConfig.activate(to.config);
+        ConfigSnapshot.install(to.snapshot);
+        return true;
+    }
+
+    /**
+     * The snapshot of the {@value #DEFAULT_PROFILE} profile, whether or not it is active.
+     */
+    static ConfigSnapshot defaultSnapshot() {
+        if (profiles.length == 0 || active == 0) {
+            return ConfigSnapshot.current();
+        }
+        return profiles[0].snapshot;
+    }
+
+    /**
+     * Replaces the {@value #DEFAULT_PROFILE} profile's values with ones read back from the main config file
+     * (see {@link ConfigWatcher}). They are published right away if that profile is active.
+     * @return The profile's new snapshot
+     */
+    static ConfigSnapshot reloadDefault(ClientConfig reloaded) {
+        if (profiles.length == 0 || active == 0) {
+            ClientConfig.getInstance().copyFrom(reloaded);
+            ClientConfig.markChanged();
+            return ConfigSnapshot.current();
+        }
+        Profile profile = profiles[0];
+        profile.config.copyFrom(reloaded);
+        profile.snapshot = ConfigSnapshot.build(profile.config, ClientConfig.nextEpoch(), profile.snapshot);
+        return profile.snapshot;
+    }
+
+    private static final class Profile {
+        private final String name;
+        private final ClientConfig config;
+        // Only kept up to date while the profile is inactive; the active one's is ConfigSnapshot.current()
+        private ConfigSnapshot snapshot;
+
+        private Profile(String name, ClientConfig config) {
+            this.name = name;
+            this.config = config;
+        }
+    }
+}
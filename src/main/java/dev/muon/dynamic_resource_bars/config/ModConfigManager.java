@@ -50,7 +50,7 @@ public class ModConfigManager {
         }
 
         if (configPath == null) {
-            DynamicResourceBars.LOGGER.error("Could not determine config path for GSON client config. This is a critical error.");
+            DynamicResourceBars.LOGGER.error("Could not determine config path for client config. This is a critical error.");
             // In this state, ClientConfig.getInstance() will also log an error and use a non-persistent default.
             // We could throw an exception here, but allowing the game to load with a default (non-saving) config might be preferable.
             ClientConfig.getInstance(); // Ensure it tries to init and logs its own path error
@@ -59,6 +59,8 @@ public class ModConfigManager {
 
         ClientConfig.setConfigPath(configPath);
         ClientConfig.getInstance(); // This triggers the first load or default creation & save
-        DynamicResourceBars.LOGGER.info("Client config initialized with GSON at: {}", configPath);
+        DynamicResourceBars.LOGGER.info("Client config initialized at: {}", configPath);
+        LayoutProfiles.load(configPath.resolveSibling(DynamicResourceBars.ID + "-profiles"));
+        ConfigWatcher.start(configPath);
     }
 } 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package dev.muon.dynamic_resource_bars.config.gui;
 
+import dev.muon.dynamic_resource_bars.config.ClientConfig;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.Button;
 import net.minecraft.client.gui.screens.Screen;
@@ -35,6 +36,7 @@ public class ConfirmResetScreen extends Screen {
                 Component.translatable("gui.yes"),
                 (button) -> {
                     this.confirmAction.run();
+                    ClientConfig.markChanged(); // Publish the reset values
                     this.onClose();
                 })
                 .bounds(startX, buttonY, buttonWidth, buttonHeight)
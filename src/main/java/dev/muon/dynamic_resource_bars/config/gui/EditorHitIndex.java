@@ -0,0 +1,268 @@
+package dev.muon.dynamic_resource_bars.config.gui;
+
+import dev.muon.dynamic_resource_bars.config.ClientConfig;
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
+import dev.muon.dynamic_resource_bars.config.ModConfigManager;
+import dev.muon.dynamic_resource_bars.render.AirBarRenderer;
+import dev.muon.dynamic_resource_bars.render.ArmorBarRenderer;
+import dev.muon.dynamic_resource_bars.render.HealthBarRenderer;
+import dev.muon.dynamic_resource_bars.render.ManaBarRenderer;
+import dev.muon.dynamic_resource_bars.render.StaminaBarRenderer;
+import dev.muon.dynamic_resource_bars.util.DraggableElement;
+import dev.muon.dynamic_resource_bars.util.ScreenRect;
+import dev.muon.dynamic_resource_bars.util.SubElementType;
+import net.minecraft.world.entity.player.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Everything the HUD editor can click on (bars, the focused bar's sub-elements and their resize handles),
+ * laid out once and bucketed into a uniform grid.
+ * <p>
+ * Solving a rect means running the bar's layout, so clicks and hover highlights look the rects up here instead of
+ * asking the renderers again for every candidate. The screen invalidates the index at the start of each frame
+ * (bar sizes follow the player's live values) and after anything that moves elements; it is rebuilt on the next
+ * lookup. Entries are stored in priority order (handles, then sub-elements from topmost down, then bars), so the
+ * first hit in a cell is the one that should win.
+ */
+final class EditorHitIndex {
+    static final int HANDLE_SIZE = 3;
+    private static final int CELL_SIZE = 16;
+
+    enum Kind {
+        HANDLE,
+        SUB_ELEMENT,
+        BAR
+    }
+
+    static final class Entry {
+        final Kind kind;
+        final DraggableElement element;
+        final SubElementType subElement; // Null for bars
+        final boolean widthHandle; // Handles only: right (width) or bottom (height) handle
+        final ScreenRect rect;
+        final ScreenRect owner; // Handles only: the rect being resized
+
+        private Entry(Kind kind, DraggableElement element, SubElementType subElement, boolean widthHandle, ScreenRect rect, ScreenRect owner) {
+            this.kind = kind;
+            this.element = element;
+            this.subElement = subElement;
+            this.widthHandle = widthHandle;
+            this.rect = rect;
+            this.owner = owner;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private boolean valid;
+    // The live values the rects were solved from; the published snapshot lags behind while editing
+    private ConfigSnapshot settings;
+    private int columns;
+    private int rows;
+    // Compressed grid: entries of cell c are cellEntries[cellStart[c] .. cellStart[c + 1]), in priority order
+    private int[] cellStart = new int[1];
+    private int[] cellEntries = new int[0];
+
+    void invalidate() {
+        valid = false;
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    void rebuild(Player player, DraggableElement focused, float editorMaxMana, int screenWidth, int screenHeight) {
+        entries.clear();
+        settings = ConfigSnapshot.live();
+        if (focused != null) {
+            addHandles(player, focused, editorMaxMana);
+            addSubElements(player, focused, editorMaxMana);
+        }
+        addBar(DraggableElement.HEALTH_BAR, HealthBarRenderer.getScreenRect(settings, player, 0));
+        addBar(DraggableElement.STAMINA_BAR, StaminaBarRenderer.getScreenRect(settings, player));
+        addBar(DraggableElement.MANA_BAR, ManaBarRenderer.getScreenRect(settings, player, editorMaxMana));
+        addBar(DraggableElement.ARMOR_BAR, ArmorBarRenderer.getScreenRect(settings, player));
+        addBar(DraggableElement.AIR_BAR, AirBarRenderer.getScreenRect(settings, player));
+        buildGrid(screenWidth, screenHeight);
+        valid = true;
+    }
+
+    /**
+     * @return The highest priority entry of {@code kind} under the point, or null
+     */
+    Entry find(int x, int y, Kind kind) {
+        if (x < 0 || y < 0) {
+            return null;
+        }
+        int column = x / CELL_SIZE;
+        int row = y / CELL_SIZE;
+        if (column >= columns || row >= rows) {
+            return null;
+        }
+        int cell = row * columns + column;
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            Entry entry = entries.get(cellEntries[i]);
+            if (entry.kind == kind && entry.rect.contains(x, y)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The rect indexed for a bar ({@code subElement} null) or one of the focused bar's sub-elements, or null
+     */
+    ScreenRect rectOf(DraggableElement element, SubElementType subElement) {
+        Kind kind = subElement == null ? Kind.BAR : Kind.SUB_ELEMENT;
+        for (Entry entry : entries) {
+            if (entry.kind == kind && entry.element == element && entry.subElement == subElement) {
+                return entry.rect;
+            }
+        }
+        return null;
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    private void addHandles(Player player, DraggableElement focused, float editorMaxMana) {
+        ClientConfig config = ModConfigManager.getClient();
+        boolean canResizeWidth = focused != DraggableElement.HEALTH_BAR; // Health bar has dynamic width
+        boolean background = true;
+        boolean foreground = false;
+        switch (focused) {
+            case HEALTH_BAR -> {
+                background = config.enableHealthBackground;
+                foreground = config.enableHealthForeground;
+            }
+            case MANA_BAR -> {
+                background = config.enableManaBackground;
+                foreground = config.enableManaForeground;
+            }
+            case STAMINA_BAR -> {
+                background = config.enableStaminaBackground;
+                foreground = config.enableStaminaForeground;
+            }
+            default -> { // Armor and air bars only resize their background and bar
+            }
+        }
+        if (background) {
+            addHandlesFor(focused, SubElementType.BACKGROUND, subElementRect(player, focused, SubElementType.BACKGROUND, editorMaxMana), canResizeWidth);
+        }
+        addHandlesFor(focused, SubElementType.BAR_MAIN, subElementRect(player, focused, SubElementType.BAR_MAIN, editorMaxMana), canResizeWidth);
+        if (foreground) {
+            addHandlesFor(focused, SubElementType.FOREGROUND_DETAIL, subElementRect(player, focused, SubElementType.FOREGROUND_DETAIL, editorMaxMana), canResizeWidth);
+        }
+    }
+
+    private void addHandlesFor(DraggableElement element, SubElementType subElement, ScreenRect rect, boolean canResizeWidth) {
+        if (rect == null || rect.width() <= 0 || rect.height() <= 0) {
+            return;
+        }
+        int centerX = rect.x() + rect.width() / 2;
+        int centerY = rect.y() + rect.height() / 2;
+        if (canResizeWidth) {
+            ScreenRect rightHandle = new ScreenRect(rect.x() + rect.width() - HANDLE_SIZE / 2, centerY - HANDLE_SIZE / 2, HANDLE_SIZE, HANDLE_SIZE);
+            entries.add(new Entry(Kind.HANDLE, element, subElement, true, rightHandle, rect));
+        }
+        ScreenRect bottomHandle = new ScreenRect(centerX - HANDLE_SIZE / 2, rect.y() + rect.height() - HANDLE_SIZE / 2, HANDLE_SIZE, HANDLE_SIZE);
+        entries.add(new Entry(Kind.HANDLE, element, subElement, false, bottomHandle, rect));
+    }
+
+    private void addSubElements(Player player, DraggableElement focused, float editorMaxMana) {
+        ClientConfig config = ModConfigManager.getClient();
+        // Topmost first, so overlapping elements resolve to the one drawn on top
+        if (focused == DraggableElement.HEALTH_BAR) {
+            addSubElement(player, focused, SubElementType.ABSORPTION_TEXT, editorMaxMana);
+        }
+        if ((focused == DraggableElement.ARMOR_BAR && config.enableArmorIcon) || (focused == DraggableElement.AIR_BAR && config.enableAirIcon)) {
+            addSubElement(player, focused, SubElementType.ICON, editorMaxMana);
+        }
+        addSubElement(player, focused, SubElementType.TEXT, editorMaxMana);
+        boolean foreground = switch (focused) {
+            case HEALTH_BAR -> config.enableHealthForeground;
+            case MANA_BAR -> config.enableManaForeground;
+            case STAMINA_BAR -> config.enableStaminaForeground;
+            default -> false;
+        };
+        if (foreground) {
+            addSubElement(player, focused, SubElementType.FOREGROUND_DETAIL, editorMaxMana);
+        }
+        addSubElement(player, focused, SubElementType.BAR_MAIN, editorMaxMana);
+        boolean background = switch (focused) {
+            case HEALTH_BAR -> config.enableHealthBackground;
+            case MANA_BAR -> config.enableManaBackground;
+            case STAMINA_BAR -> config.enableStaminaBackground;
+            default -> true;
+        };
+        if (background) {
+            addSubElement(player, focused, SubElementType.BACKGROUND, editorMaxMana);
+        }
+    }
+
+    private void addSubElement(Player player, DraggableElement element, SubElementType subElement, float editorMaxMana) {
+        ScreenRect rect = subElementRect(player, element, subElement, editorMaxMana);
+        if (rect != null && rect.width() > 0 && rect.height() > 0) {
+            entries.add(new Entry(Kind.SUB_ELEMENT, element, subElement, false, rect, null));
+        }
+    }
+
+    private void addBar(DraggableElement element, ScreenRect rect) {
+        if (rect != null && rect.width() > 0 && rect.height() > 0) {
+            entries.add(new Entry(Kind.BAR, element, null, false, rect, null));
+        }
+    }
+
+    private ScreenRect subElementRect(Player player, DraggableElement element, SubElementType subElement, float editorMaxMana) {
+        return switch (element) {
+            case HEALTH_BAR -> HealthBarRenderer.getSubElementRect(settings, subElement, player, 0);
+            case MANA_BAR -> ManaBarRenderer.getSubElementRect(settings, subElement, player, editorMaxMana);
+            case STAMINA_BAR -> StaminaBarRenderer.getSubElementRect(settings, subElement, player);
+            case ARMOR_BAR -> ArmorBarRenderer.getSubElementRect(settings, subElement, player);
+            case AIR_BAR -> AirBarRenderer.getSubElementRect(settings, subElement, player);
+        };
+    }
+
+    private void buildGrid(int screenWidth, int screenHeight) {
+        columns = Math.max(1, (screenWidth + CELL_SIZE - 1) / CELL_SIZE);
+        rows = Math.max(1, (screenHeight + CELL_SIZE - 1) / CELL_SIZE);
+        int cells = columns * rows;
+        if (cellStart.length != cells + 1) {
+            cellStart = new int[cells + 1];
+        } else {
+            Arrays.fill(cellStart, 0);
+        }
+
+        // Two passes: count entries per cell, then place them; entries are visited in priority order both times
+        for (Entry entry : entries) {
+            forEachCell(entry.rect, cell -> cellStart[cell + 1]++);
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        if (cellEntries.length < cellStart[cells]) {
+            cellEntries = new int[cellStart[cells]];
+        }
+        int[] fill = new int[cells];
+        for (int i = 0; i < entries.size(); i++) {
+            int index = i;
+            forEachCell(entries.get(i).rect, cell -> cellEntries[cellStart[cell] + fill[cell]++] = index);
+        }
+    }
+
+    private void forEachCell(ScreenRect rect, IntConsumer action) {
+        int minColumn = Math.max(0, rect.x() / CELL_SIZE);
+        int minRow = Math.max(0, rect.y() / CELL_SIZE);
+        int maxColumn = Math.min(columns - 1, (rect.x() + rect.width() - 1) / CELL_SIZE);
+        int maxRow = Math.min(rows - 1, (rect.y() + rect.height() - 1) / CELL_SIZE);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                action.accept(row * columns + column);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package dev.muon.dynamic_resource_bars.config.gui;
+
+import net.minecraft.client.gui.components.AbstractWidget;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * How each HUD editor widget's label and active state follow the config.
+ * <p>
+ * Widgets are bound once, when the editor builds them. A value change then reruns the states of just the widgets it
+ * affects, so toggling an option keeps every widget instance and never recreates the grid. Only a {@link #clear}
+ * (the editor recreating its widgets) drops bindings, and those are counted so it can be checked that value
+ * changes don't cause any.
+ */
+final class EditorWidgetStates {
+    private final Map<AbstractWidget, Runnable> states = new IdentityHashMap<>();
+    private int rebuilds;
+
+    /**
+     * Registers how {@code widget} reflects the config and applies it once.
+     */
+    <W extends AbstractWidget> W bind(W widget, Consumer<W> state) {
+        Runnable refresh = () -> state.accept(widget);
+        refresh.run();
+        states.put(widget, refresh);
+        return widget;
+    }
+
+    /**
+     * Reapplies the states of the given widgets; nulls and unbound widgets are skipped.
+     */
+    void refresh(AbstractWidget... widgets) {
+        for (AbstractWidget widget : widgets) {
+            Runnable refresh = widget != null ? states.get(widget) : null;
+            if (refresh != null) {
+                refresh.run();
+            }
+        }
+    }
+
+    /**
+     * Reapplies every state, after values changed all at once (undo/redo).
+     */
+    void refreshAll() {
+        states.values().forEach(Runnable::run);
+    }
+
+    /**
+     * Drops every binding, for when the editor recreates its widgets.
+     */
+    void clear() {
+        states.clear();
+        rebuilds++;
+    }
+
+    boolean isBound(AbstractWidget widget) {
+        return states.containsKey(widget);
+    }
+
+    int size() {
+        return states.size();
+    }
+
+    /**
+     * @return How many times the bindings were cleared, i.e. how often the editor recreated its widgets.
+     */
+    int rebuilds() {
+        return rebuilds;
+    }
+}
@@ -2,13 +2,10 @@ package dev.muon.dynamic_resource_bars.config.gui;
 
 import dev.muon.dynamic_resource_bars.config.ModConfigManager;
 import dev.muon.dynamic_resource_bars.config.ClientConfig;
-import dev.muon.dynamic_resource_bars.render.ArmorBarRenderer;
-import dev.muon.dynamic_resource_bars.render.AirBarRenderer;
-import dev.muon.dynamic_resource_bars.render.HealthBarRenderer; // Added import
-import dev.muon.dynamic_resource_bars.render.ManaBarRenderer;
-import dev.muon.dynamic_resource_bars.render.StaminaBarRenderer;
+import dev.muon.dynamic_resource_bars.config.EditJournal;
 import dev.muon.dynamic_resource_bars.util.*;
 import dev.muon.dynamic_resource_bars.compat.ManaProviderManager;
+import dev.muon.dynamic_resource_bars.compat.CompatState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.*;
@@ -18,13 +15,15 @@ import net.minecraft.world.entity.player.Player;
 import org.lwjgl.glfw.GLFW;
 import net.minecraft.client.gui.Font;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 public class HudEditorScreen extends Screen {
 
     private static final int HELP_TEXT_TOP_Y = 15;
     private static final int LINE_SPACING = 2;
-    private static final int HANDLE_SIZE = 3; // Adjusted handle size
     private static final int HANDLE_HOVER_COLOR = 0xAAFFFF00; // Color when hovering over handle (semi-transparent yellow)
 
     private enum ResizeMode {
@@ -47,16 +46,15 @@ public class HudEditorScreen extends Screen {
     private double lastClickY = 0;
     private static final int DOUBLE_CLICK_TIME_MS = 300;
 
-    // Undo state variables (kept for completeness as they were in your original code)
-    private DraggableElement lastDraggedElementForUndo = null;
-    private int lastDragInitialXOffset;
-    private int lastDragInitialYOffset;
-    private boolean canUndoLastDrag = false;
-    private DraggableElement lastFocusedElementForSubUndo = null;
-    private SubElementType lastDraggedSubElementForUndo = null;
-    private int lastSubDragInitialXOffset;
-    private int lastSubDragInitialYOffset;
-    private boolean canUndoLastSubDrag = false;
+    // Undo/redo history; kept across init() so it survives the confirm and resize screens
+    private final EditJournal journal = new EditJournal();
+    // Rects of everything clickable; rebuilt at most once per frame
+    private final EditorHitIndex hitIndex = new EditorHitIndex();
+    // How each widget's label/active state follows the config, so a value change only updates the widgets it affects
+    private final EditorWidgetStates widgetStates = new EditorWidgetStates();
+    // Guides the current drag snaps to
+    private final SnapGuides snapGuides = new SnapGuides();
+    private static final int[] GRID_SIZES = {0, 4, 8, 16};
 
     // Buttons for Focus Mode
     private Button toggleBackgroundButton;
@@ -120,19 +118,22 @@ public class HudEditorScreen extends Screen {
             EditModeManager.toggleEditMode();
         }
         rebuildEditorWidgets();
-        this.canUndoLastDrag = false;
-        this.lastDraggedElementForUndo = null;
-        this.canUndoLastSubDrag = false;
-        this.lastFocusedElementForSubUndo = null;
-        this.lastDraggedSubElementForUndo = null;
     }
 
+    /**
+     * Recreates the widget grid. Only needed when the set of widgets changes (init, focus changes);
+     * value changes go through {@link #refreshWidgets} instead.
+     */
     private void rebuildEditorWidgets() {
+        // Focus changes and resets end up here, which makes it a commit point as well
+        journal.commit();
+        hitIndex.invalidate();
         DraggableElement focused = EditModeManager.getFocusedElement();
         ClientConfig config = ModConfigManager.getClient();
         int fontHeight = Minecraft.getInstance().font.lineHeight;
 
         clearWidgets();
+        widgetStates.clear();
         // Reset all button references to null to prevent stale references
         toggleBackgroundButton = null; toggleForegroundButton = null; toggleFadeFullButton = null; toggleTrailingIconButton = null; toggleHealthRestorationOverlayButton = null;
         cycleTextBehaviorButton = null; cycleTextAlignButton = null; cycleAnchorButton = null;
@@ -159,21 +160,23 @@ public class HudEditorScreen extends Screen {
             currentY = gridTopY;
             currentX = threeColStartX;
 
-            toggleHealthBarButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.health_toggle_format",
-                            config.enableHealthBar ? Component.translatable("gui.dynamic_resource_bars.behavior.custom_simple") : Component.translatable("gui.dynamic_resource_bars.behavior.vanilla_simple")),
-                    (b) -> { config.enableHealthBar = !config.enableHealthBar; rebuildEditorWidgets(); }).bounds(currentX, currentY, threeColButtonWidth, gridButtonHeight).build();
+            toggleHealthBarButton = bindState(Button.builder(Component.empty(),
+                    (b) -> { config.enableHealthBar = !config.enableHealthBar; refreshWidgets(b, openHealthSettingsButton); }).bounds(currentX, currentY, threeColButtonWidth, gridButtonHeight).build(),
+                    b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.health_toggle_format",
+                            config.enableHealthBar ? Component.translatable("gui.dynamic_resource_bars.behavior.custom_simple") : Component.translatable("gui.dynamic_resource_bars.behavior.vanilla_simple"))));
             addRenderableWidget(toggleHealthBarButton);
             currentX += threeColButtonWidth + colSpacing;
 
             boolean hasManaProvider = ManaProviderManager.hasAnyManaMods();
-            cycleManaBarBehaviorButton = Button.builder(getManaBarBehaviorComponent(config.manaBarBehavior),
+            cycleManaBarBehaviorButton = bindState(Button.builder(Component.empty(),
                     (b) -> {
                         if(b.active) {
                             config.manaBarBehavior = getNextAvailableManaBarBehavior(config.manaBarBehavior);
                             ManaProviderManager.updateActiveProvider();
-                            rebuildEditorWidgets();
+                            refreshWidgets(b, openManaSettingsButton);
                         }
-                    }).bounds(currentX, currentY, threeColButtonWidth, gridButtonHeight).build();
+                    }).bounds(currentX, currentY, threeColButtonWidth, gridButtonHeight).build(),
+                    b -> b.setMessage(getManaBarBehaviorComponent(config.manaBarBehavior)));
             cycleManaBarBehaviorButton.active = hasManaProvider;
             if (!hasManaProvider) {
                 cycleManaBarBehaviorButton.setTooltip(Tooltip.create(Component.translatable("gui.dynamic_resource_bars.hud_editor.tooltip.no_mana_provider")));
@@ -181,32 +184,33 @@ public class HudEditorScreen extends Screen {
             addRenderableWidget(cycleManaBarBehaviorButton);
             currentX += threeColButtonWidth + colSpacing;
 
-            toggleStaminaBarButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.stamina_toggle_format",
-                            config.enableStaminaBar ? Component.translatable("gui.dynamic_resource_bars.behavior.custom_simple") : Component.translatable("gui.dynamic_resource_bars.behavior.vanilla_simple")),
-                    (b) -> { config.enableStaminaBar = !config.enableStaminaBar; rebuildEditorWidgets(); }).bounds(currentX, currentY, threeColButtonWidth, gridButtonHeight).build();
+            toggleStaminaBarButton = bindState(Button.builder(Component.empty(),
+                    (b) -> { config.enableStaminaBar = !config.enableStaminaBar; refreshWidgets(b, openStaminaSettingsButton); }).bounds(currentX, currentY, threeColButtonWidth, gridButtonHeight).build(),
+                    b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.stamina_toggle_format",
+                            config.enableStaminaBar ? Component.translatable("gui.dynamic_resource_bars.behavior.custom_simple") : Component.translatable("gui.dynamic_resource_bars.behavior.vanilla_simple"))));
             addRenderableWidget(toggleStaminaBarButton);
 
             // Row 2: H, M, S Settings
             currentY += gridButtonHeight + rowSpacing;
             currentX = threeColStartX;
 
-            openHealthSettingsButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.health_settings"), (b) -> { EditModeManager.setFocusedElement(DraggableElement.HEALTH_BAR); rebuildEditorWidgets(); }).bounds(currentX, currentY, threeColButtonWidth, gridButtonHeight).build();
-            openHealthSettingsButton.active = config.enableHealthBar;
+            openHealthSettingsButton = bindState(Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.health_settings"), (b) -> { EditModeManager.setFocusedElement(DraggableElement.HEALTH_BAR); rebuildEditorWidgets(); }).bounds(currentX, currentY, threeColButtonWidth, gridButtonHeight).build(),
+                    b -> b.active = config.enableHealthBar);
             addRenderableWidget(openHealthSettingsButton);
             currentX += threeColButtonWidth + colSpacing;
 
-            openManaSettingsButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.mana_settings"), (b) -> {
+            openManaSettingsButton = bindState(Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.mana_settings"), (b) -> {
                 if(b.active) { EditModeManager.setFocusedElement(DraggableElement.MANA_BAR); rebuildEditorWidgets(); }
-            }).bounds(currentX, currentY, threeColButtonWidth, gridButtonHeight).build();
-            openManaSettingsButton.active = config.manaBarBehavior != ManaBarBehavior.OFF && hasManaProvider;
+            }).bounds(currentX, currentY, threeColButtonWidth, gridButtonHeight).build(),
+                    b -> b.active = config.manaBarBehavior != ManaBarBehavior.OFF && hasManaProvider);
             if (!hasManaProvider) {
                 openManaSettingsButton.setTooltip(Tooltip.create(Component.translatable("gui.dynamic_resource_bars.hud_editor.tooltip.no_mana_provider")));
             }
             addRenderableWidget(openManaSettingsButton);
             currentX += threeColButtonWidth + colSpacing;
 
-            openStaminaSettingsButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.stamina_settings"), (b) -> { EditModeManager.setFocusedElement(DraggableElement.STAMINA_BAR); rebuildEditorWidgets(); }).bounds(currentX, currentY, threeColButtonWidth, gridButtonHeight).build();
-            openStaminaSettingsButton.active = config.enableStaminaBar;
+            openStaminaSettingsButton = bindState(Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.stamina_settings"), (b) -> { EditModeManager.setFocusedElement(DraggableElement.STAMINA_BAR); rebuildEditorWidgets(); }).bounds(currentX, currentY, threeColButtonWidth, gridButtonHeight).build(),
+                    b -> b.active = config.enableStaminaBar);
             addRenderableWidget(openStaminaSettingsButton);
 
             // --- Section 2: Armor, Air (2 columns) ---
@@ -216,35 +220,55 @@ public class HudEditorScreen extends Screen {
             int twoColStartX = (this.width - twoColContentWidth) / 2;
             currentX = twoColStartX;
 
-            cycleArmorBehaviorButton = Button.builder(getBarBehaviorComponent(config.armorBarBehavior, "armor"), (b) -> {
+            cycleArmorBehaviorButton = bindState(Button.builder(Component.empty(), (b) -> {
                 config.armorBarBehavior = getNextBarBehavior(config.armorBarBehavior);
-                rebuildEditorWidgets();
-            }).bounds(currentX, currentY, twoColButtonWidth, gridButtonHeight).build();
+                refreshWidgets(b, openArmorSettingsButton);
+            }).bounds(currentX, currentY, twoColButtonWidth, gridButtonHeight).build(),
+                    b -> b.setMessage(getBarBehaviorComponent(config.armorBarBehavior, "armor")));
             addRenderableWidget(cycleArmorBehaviorButton);
             currentX += twoColButtonWidth + colSpacing;
 
-            cycleAirBehaviorButton = Button.builder(getBarBehaviorComponent(config.airBarBehavior, "air"), (b) -> {
+            cycleAirBehaviorButton = bindState(Button.builder(Component.empty(), (b) -> {
                 config.airBarBehavior = getNextBarBehavior(config.airBarBehavior);
-                rebuildEditorWidgets();
-            }).bounds(currentX, currentY, twoColButtonWidth, gridButtonHeight).build();
+                refreshWidgets(b, openAirSettingsButton);
+            }).bounds(currentX, currentY, twoColButtonWidth, gridButtonHeight).build(),
+                    b -> b.setMessage(getBarBehaviorComponent(config.airBarBehavior, "air")));
             addRenderableWidget(cycleAirBehaviorButton);
 
             currentY += gridButtonHeight + rowSpacing;
             currentX = twoColStartX;
 
-            openArmorSettingsButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.armor_settings"), (b) -> {
+            openArmorSettingsButton = bindState(Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.armor_settings"), (b) -> {
                 if (b.active) { EditModeManager.setFocusedElement(DraggableElement.ARMOR_BAR); rebuildEditorWidgets(); }
-            }).bounds(currentX, currentY, twoColButtonWidth, gridButtonHeight).build();
-            openArmorSettingsButton.active = config.armorBarBehavior == BarRenderBehavior.CUSTOM;
+            }).bounds(currentX, currentY, twoColButtonWidth, gridButtonHeight).build(),
+                    b -> b.active = config.armorBarBehavior == BarRenderBehavior.CUSTOM);
             addRenderableWidget(openArmorSettingsButton);
             currentX += twoColButtonWidth + colSpacing;
 
-            openAirSettingsButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.air_settings"), (b) -> {
+            openAirSettingsButton = bindState(Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.air_settings"), (b) -> {
                 if (b.active) { EditModeManager.setFocusedElement(DraggableElement.AIR_BAR); rebuildEditorWidgets(); }
-            }).bounds(currentX, currentY, twoColButtonWidth, gridButtonHeight).build();
-            openAirSettingsButton.active = config.airBarBehavior == BarRenderBehavior.CUSTOM;
+            }).bounds(currentX, currentY, twoColButtonWidth, gridButtonHeight).build(),
+                    b -> b.active = config.airBarBehavior == BarRenderBehavior.CUSTOM);
             addRenderableWidget(openAirSettingsButton);
 
+            // --- Section 3: Snapping (2 columns) ---
+            currentY += gridButtonHeight + rowSpacing + 5;
+            currentX = twoColStartX;
+
+            addRenderableWidget(bindState(Button.builder(Component.empty(), (b) -> {
+                config.hudEditorSnapToGuides = !config.hudEditorSnapToGuides;
+                refreshWidgets(b);
+            }).bounds(currentX, currentY, twoColButtonWidth, gridButtonHeight).build(),
+                    b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.snap_to_guides_format", onOff(config.hudEditorSnapToGuides)))));
+            currentX += twoColButtonWidth + colSpacing;
+
+            addRenderableWidget(bindState(Button.builder(Component.empty(), (b) -> {
+                config.hudEditorGridSize = getNextGridSize(config.hudEditorGridSize);
+                refreshWidgets(b);
+            }).bounds(currentX, currentY, twoColButtonWidth, gridButtonHeight).build(),
+                    b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.grid_format",
+                            config.hudEditorGridSize > 0 ? Component.translatable("gui.dynamic_resource_bars.hud_editor.grid_size_format", config.hudEditorGridSize) : Component.translatable("options.off")))));
+
             // Reset All Button - Positioned below all sections
             currentY += gridButtonHeight + rowSpacing + 10; // Extra spacing before reset all
             int resetAllButtonWidth = 150;
@@ -286,19 +310,18 @@ public class HudEditorScreen extends Screen {
                     bgGetter = () -> config.enableHealthBackground;
                     fgGetter = () -> config.enableHealthForeground;
                     fadeGetter = () -> config.fadeHealthWhenFull;
-                    bgToggler = () -> { config.enableHealthBackground = !config.enableHealthBackground; rebuildEditorWidgets(); };
-                    fgToggler = () -> { config.enableHealthForeground = !config.enableHealthForeground; rebuildEditorWidgets(); };
-                    fadeToggler = () -> { config.fadeHealthWhenFull = !config.fadeHealthWhenFull; rebuildEditorWidgets(); };
-                    textCycler = () -> { config.showHealthText = getNextTextBehavior(config.showHealthText); rebuildEditorWidgets(); };
-                    textAlignCycler = () -> { config.healthTextAlign = getNextHorizontalAlignment(config.healthTextAlign); rebuildEditorWidgets(); };
+                    bgToggler = () -> { config.enableHealthBackground = !config.enableHealthBackground; };
+                    fgToggler = () -> { config.enableHealthForeground = !config.enableHealthForeground; };
+                    fadeToggler = () -> { config.fadeHealthWhenFull = !config.fadeHealthWhenFull; };
+                    textCycler = () -> { config.showHealthText = getNextTextBehavior(config.showHealthText); };
+                    textAlignCycler = () -> { config.healthTextAlign = getNextHorizontalAlignment(config.healthTextAlign); };
                     anchorCycler = () -> {
                         AnchorPoint nextAnchor = getNextAnchorPoint(config.healthBarAnchor); config.healthBarAnchor = nextAnchor;
                         // For health bar, width is dynamic, so no fixed X offset calculation here on anchor change.
                         config.healthTotalXOffset = 0; // Reset to 0, renderer handles dynamic positioning relative to anchor
                         config.healthTotalYOffset = 0;
-                        rebuildEditorWidgets();
                     };
-                    fillDirectionCycler = () -> { config.healthFillDirection = getNextFillDirection(config.healthFillDirection); rebuildEditorWidgets(); };
+                    fillDirectionCycler = () -> { config.healthFillDirection = getNextFillDirection(config.healthFillDirection); };
                     fgSupported = true; textSupported = true; anchorSupported = true; fadeSupported = true; bgSupported = true;
                     fillDirectionSupported = true;
                     resizeSupported = true; // Health bar height is configurable (handled by ResizeElementScreen)
@@ -307,18 +330,18 @@ public class HudEditorScreen extends Screen {
                     bgGetter = () -> config.enableManaBackground;
                     fgGetter = () -> config.enableManaForeground;
                     fadeGetter = () -> config.fadeManaWhenFull;
-                    bgToggler = () -> { config.enableManaBackground = !config.enableManaBackground; rebuildEditorWidgets(); };
-                    fgToggler = () -> { config.enableManaForeground = !config.enableManaForeground; rebuildEditorWidgets(); };
-                    fadeToggler = () -> { config.fadeManaWhenFull = !config.fadeManaWhenFull; rebuildEditorWidgets(); };
-                    textCycler = () -> { config.showManaText = getNextTextBehavior(config.showManaText); rebuildEditorWidgets(); };
-                    textAlignCycler = () -> { config.manaTextAlign = getNextHorizontalAlignment(config.manaTextAlign); rebuildEditorWidgets(); };
+                    bgToggler = () -> { config.enableManaBackground = !config.enableManaBackground; };
+                    fgToggler = () -> { config.enableManaForeground = !config.enableManaForeground; };
+                    fadeToggler = () -> { config.fadeManaWhenFull = !config.fadeManaWhenFull; };
+                    textCycler = () -> { config.showManaText = getNextTextBehavior(config.showManaText); };
+                    textAlignCycler = () -> { config.manaTextAlign = getNextHorizontalAlignment(config.manaTextAlign); };
                     anchorCycler = () -> {
                         AnchorPoint nextAnchor = getNextAnchorPoint(config.manaBarAnchor); config.manaBarAnchor = nextAnchor;
                         int bgWidth = config.manaBackgroundWidth; int newDefaultXOffset = 0;
                         if (nextAnchor == AnchorPoint.TOP_RIGHT || nextAnchor == AnchorPoint.CENTER_RIGHT || nextAnchor == AnchorPoint.BOTTOM_RIGHT) { newDefaultXOffset = -bgWidth; }
-                        config.manaTotalXOffset = newDefaultXOffset; config.manaTotalYOffset = 0; rebuildEditorWidgets();
+                        config.manaTotalXOffset = newDefaultXOffset; config.manaTotalYOffset = 0;
                     };
-                    fillDirectionCycler = () -> { config.manaFillDirection = getNextFillDirection(config.manaFillDirection); rebuildEditorWidgets(); };
+                    fillDirectionCycler = () -> { config.manaFillDirection = getNextFillDirection(config.manaFillDirection); };
                     fgSupported = true; textSupported = true; anchorSupported = true; fadeSupported = true; bgSupported = true;
                     fillDirectionSupported = true;
                     resizeSupported = true; // Mana bar can be fully resized
@@ -327,18 +350,18 @@ public class HudEditorScreen extends Screen {
                     bgGetter = () -> config.enableStaminaBackground;
                     fgGetter = () -> config.enableStaminaForeground;
                     fadeGetter = () -> config.fadeStaminaWhenFull;
-                    bgToggler = () -> { config.enableStaminaBackground = !config.enableStaminaBackground; rebuildEditorWidgets(); };
-                    fgToggler = () -> { config.enableStaminaForeground = !config.enableStaminaForeground; rebuildEditorWidgets(); };
-                    fadeToggler = () -> { config.fadeStaminaWhenFull = !config.fadeStaminaWhenFull; rebuildEditorWidgets(); };
-                    textCycler = () -> { config.showStaminaText = getNextTextBehavior(config.showStaminaText); rebuildEditorWidgets(); };
-                    textAlignCycler = () -> { config.staminaTextAlign = getNextHorizontalAlignment(config.staminaTextAlign); rebuildEditorWidgets(); };
+                    bgToggler = () -> { config.enableStaminaBackground = !config.enableStaminaBackground; };
+                    fgToggler = () -> { config.enableStaminaForeground = !config.enableStaminaForeground; };
+                    fadeToggler = () -> { config.fadeStaminaWhenFull = !config.fadeStaminaWhenFull; };
+                    textCycler = () -> { config.showStaminaText = getNextTextBehavior(config.showStaminaText); };
+                    textAlignCycler = () -> { config.staminaTextAlign = getNextHorizontalAlignment(config.staminaTextAlign); };
                     anchorCycler = () -> {
                         AnchorPoint nextAnchor = getNextAnchorPoint(config.staminaBarAnchor); config.staminaBarAnchor = nextAnchor;
                         int bgWidth = config.staminaBackgroundWidth; int newDefaultXOffset = 0;
                         if (nextAnchor == AnchorPoint.TOP_RIGHT || nextAnchor == AnchorPoint.CENTER_RIGHT || nextAnchor == AnchorPoint.BOTTOM_RIGHT) { newDefaultXOffset = -bgWidth; }
-                        config.staminaTotalXOffset = newDefaultXOffset; config.staminaTotalYOffset = 0; rebuildEditorWidgets();
+                        config.staminaTotalXOffset = newDefaultXOffset; config.staminaTotalYOffset = 0;
                     };
-                    fillDirectionCycler = () -> { config.staminaFillDirection = getNextFillDirection(config.staminaFillDirection); rebuildEditorWidgets(); };
+                    fillDirectionCycler = () -> { config.staminaFillDirection = getNextFillDirection(config.staminaFillDirection); };
                     fgSupported = true; textSupported = true; anchorSupported = true; fadeSupported = true; bgSupported = true;
                     fillDirectionSupported = true;
                     resizeSupported = true; // Stamina bar can be fully resized
@@ -348,8 +371,8 @@ public class HudEditorScreen extends Screen {
                     fgGetter = () -> false; // Armor does not have a foreground like health/mana/stamina
                     fadeGetter = () -> false; // Armor does not fade
                     bgToggler = () -> {}; fgToggler = () -> {}; fadeToggler = () -> {};
-                    textCycler = () -> { config.showArmorText = getNextTextBehavior(config.showArmorText); rebuildEditorWidgets(); };
-                    textAlignCycler = () -> { config.armorTextAlign = getNextHorizontalAlignment(config.armorTextAlign); rebuildEditorWidgets(); };
+                    textCycler = () -> { config.showArmorText = getNextTextBehavior(config.showArmorText); };
+                    textAlignCycler = () -> { config.armorTextAlign = getNextHorizontalAlignment(config.armorTextAlign); };
                     fillDirectionCycler = () -> {}; // Not supported for armor
                     anchorCycler = () -> {
                         AnchorPoint nextAnchor = getNextAnchorPoint(config.armorBarAnchor); config.armorBarAnchor = nextAnchor;
@@ -357,7 +380,6 @@ public class HudEditorScreen extends Screen {
                         int newDefaultXOffset = 0;
                         if (nextAnchor == AnchorPoint.TOP_RIGHT || nextAnchor == AnchorPoint.CENTER_RIGHT || nextAnchor == AnchorPoint.BOTTOM_RIGHT) { newDefaultXOffset = -bgWidth; }
                         config.armorTotalXOffset = newDefaultXOffset; config.armorTotalYOffset = 0;
-                        rebuildEditorWidgets();
                     };
                     anchorSupported = true; bgSupported = true; textSupported = true; // Armor has background & text
                     fillDirectionSupported = false; // Armor bar does not have fill direction option
@@ -368,14 +390,14 @@ public class HudEditorScreen extends Screen {
                     fgGetter = () -> false; // Air does not have a foreground
                     fadeGetter = () -> false; // Air does not fade
                     bgToggler = () -> {}; fgToggler = () -> {}; fadeToggler = () -> {};
-                    textCycler = () -> { config.showAirText = getNextTextBehavior(config.showAirText); rebuildEditorWidgets(); };
-                    textAlignCycler = () -> { config.airTextAlign = getNextHorizontalAlignment(config.airTextAlign); rebuildEditorWidgets(); };
-                    fillDirectionCycler = () -> { config.airFillDirection = getNextFillDirection(config.airFillDirection); rebuildEditorWidgets(); };
+                    textCycler = () -> { config.showAirText = getNextTextBehavior(config.showAirText); };
+                    textAlignCycler = () -> { config.airTextAlign = getNextHorizontalAlignment(config.airTextAlign); };
+                    fillDirectionCycler = () -> { config.airFillDirection = getNextFillDirection(config.airFillDirection); };
                     anchorCycler = () -> {
                         AnchorPoint nextAnchor = getNextAnchorPoint(config.airBarAnchor); config.airBarAnchor = nextAnchor;
                         int bgWidth = config.airBackgroundWidth; int newDefaultXOffset = 0;
                         if (nextAnchor == AnchorPoint.TOP_RIGHT || nextAnchor == AnchorPoint.CENTER_RIGHT || nextAnchor == AnchorPoint.BOTTOM_RIGHT) { newDefaultXOffset = -bgWidth; }
-                        config.airTotalXOffset = newDefaultXOffset; config.airTotalYOffset = 0; rebuildEditorWidgets();
+                        config.airTotalXOffset = newDefaultXOffset; config.airTotalYOffset = 0;
                     };
                     anchorSupported = true; bgSupported = true; textSupported = true; // Air has background & text
                     fillDirectionSupported = true; // Air bar has fill direction
@@ -393,25 +415,25 @@ public class HudEditorScreen extends Screen {
 
             // Row 1: Background, Foreground, Fade
             if (bgSupported) {
-                toggleBackgroundButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_background_format",
-                                bgGetter.get() ? Component.translatable("options.on") : Component.translatable("options.off")),
-                        (b) -> { bgToggler.run(); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build();
+                toggleBackgroundButton = bindState(Button.builder(Component.empty(),
+                        (b) -> { bgToggler.run(); refreshWidgets(b); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build(),
+                        b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_background_format", onOff(bgGetter.get()))));
                 addRenderableWidget(toggleBackgroundButton);
                 currentX += focusButtonWidth + focusColSpacing; buttonsInCurrentRow++;
             }
             if (fgSupported) {
                 if (buttonsInCurrentRow >= maxButtonsPerRow) { currentX = focusGridStartX; currentY += focusButtonHeight + focusRowSpacing; buttonsInCurrentRow = 0; }
-                toggleForegroundButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_foreground_format",
-                                fgGetter.get() ? Component.translatable("options.on") : Component.translatable("options.off")),
-                        (b) -> { fgToggler.run(); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build();
+                toggleForegroundButton = bindState(Button.builder(Component.empty(),
+                        (b) -> { fgToggler.run(); refreshWidgets(b); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build(),
+                        b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_foreground_format", onOff(fgGetter.get()))));
                 addRenderableWidget(toggleForegroundButton);
                 currentX += focusButtonWidth + focusColSpacing; buttonsInCurrentRow++;
             }
             if (fadeSupported) {
                 if (buttonsInCurrentRow >= maxButtonsPerRow) { currentX = focusGridStartX; currentY += focusButtonHeight + focusRowSpacing; buttonsInCurrentRow = 0; }
-                toggleFadeFullButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_fade_full_format",
-                                fadeGetter.get() ? Component.translatable("options.on") : Component.translatable("options.off")),
-                        (b) -> { fadeToggler.run(); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build();
+                toggleFadeFullButton = bindState(Button.builder(Component.empty(),
+                        (b) -> { fadeToggler.run(); refreshWidgets(b); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build(),
+                        b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_fade_full_format", onOff(fadeGetter.get()))));
                 addRenderableWidget(toggleFadeFullButton);
                 currentX += focusButtonWidth + focusColSpacing; buttonsInCurrentRow++;
             }
@@ -419,23 +441,23 @@ public class HudEditorScreen extends Screen {
             // End Icon toggle (only for health bar)
             if (focused == DraggableElement.HEALTH_BAR) {
                 if (buttonsInCurrentRow >= maxButtonsPerRow) { currentX = focusGridStartX; currentY += focusButtonHeight + focusRowSpacing; buttonsInCurrentRow = 0; }
-                toggleTrailingIconButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_trailing_icon_format",
-                                config.enableHealthTrailingIcon ? Component.translatable("options.on") : Component.translatable("options.off")),
+                toggleTrailingIconButton = bindState(Button.builder(Component.empty(),
                         (b) -> {
-                                                          config.enableHealthTrailingIcon = !config.enableHealthTrailingIcon;
-                            rebuildEditorWidgets();
-                        }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build();
+                            config.enableHealthTrailingIcon = !config.enableHealthTrailingIcon;
+                            refreshWidgets(b);
+                        }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build(),
+                        b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_trailing_icon_format", onOff(config.enableHealthTrailingIcon))));
                 addRenderableWidget(toggleTrailingIconButton);
                 currentX += focusButtonWidth + focusColSpacing; buttonsInCurrentRow++;
 
                 // Health Restoration Overlay toggle (only for health bar)
                 if (buttonsInCurrentRow >= maxButtonsPerRow) { currentX = focusGridStartX; currentY += focusButtonHeight + focusRowSpacing; buttonsInCurrentRow = 0; }
-                toggleHealthRestorationOverlayButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_health_restoration_overlay_format",
-                                config.enableHealthRestorationOverlay ? Component.translatable("options.on") : Component.translatable("options.off")),
+                toggleHealthRestorationOverlayButton = bindState(Button.builder(Component.empty(),
                         (b) -> {
                             config.enableHealthRestorationOverlay = !config.enableHealthRestorationOverlay;
-                            rebuildEditorWidgets();
-                        }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build();
+                            refreshWidgets(b);
+                        }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build(),
+                        b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_health_restoration_overlay_format", onOff(config.enableHealthRestorationOverlay))));
                 addRenderableWidget(toggleHealthRestorationOverlayButton);
                 currentX += focusButtonWidth + focusColSpacing; buttonsInCurrentRow++;
             }
@@ -443,12 +465,12 @@ public class HudEditorScreen extends Screen {
             // Stamina Bar Trailing Icon toggle
             if (focused == DraggableElement.STAMINA_BAR) {
                 if (buttonsInCurrentRow >= maxButtonsPerRow) { currentX = focusGridStartX; currentY += focusButtonHeight + focusRowSpacing; buttonsInCurrentRow = 0; }
-                Button toggleStaminaTrailingIconButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_trailing_icon_format",
-                                config.enableStaminaTrailingIcon ? Component.translatable("options.on") : Component.translatable("options.off")),
+                Button toggleStaminaTrailingIconButton = bindState(Button.builder(Component.empty(),
                         (b) -> {
                             config.enableStaminaTrailingIcon = !config.enableStaminaTrailingIcon;
-                            rebuildEditorWidgets();
-                        }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build();
+                            refreshWidgets(b);
+                        }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build(),
+                        b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_trailing_icon_format", onOff(config.enableStaminaTrailingIcon))));
                 addRenderableWidget(toggleStaminaTrailingIconButton);
                 currentX += focusButtonWidth + focusColSpacing; buttonsInCurrentRow++;
             }
@@ -456,12 +478,12 @@ public class HudEditorScreen extends Screen {
             // Mana Bar Trailing Icon toggle
             if (focused == DraggableElement.MANA_BAR) {
                 if (buttonsInCurrentRow >= maxButtonsPerRow) { currentX = focusGridStartX; currentY += focusButtonHeight + focusRowSpacing; buttonsInCurrentRow = 0; }
-                Button toggleManaTrailingIconButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_trailing_icon_format",
-                                config.enableManaTrailingIcon ? Component.translatable("options.on") : Component.translatable("options.off")),
+                Button toggleManaTrailingIconButton = bindState(Button.builder(Component.empty(),
                         (b) -> {
                             config.enableManaTrailingIcon = !config.enableManaTrailingIcon;
-                            rebuildEditorWidgets();
-                        }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build();
+                            refreshWidgets(b);
+                        }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build(),
+                        b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.toggle_trailing_icon_format", onOff(config.enableManaTrailingIcon))));
                 addRenderableWidget(toggleManaTrailingIconButton);
                 currentX += focusButtonWidth + focusColSpacing; buttonsInCurrentRow++;
             }
@@ -474,45 +496,33 @@ public class HudEditorScreen extends Screen {
 
             // Row 2: Text Behavior, Text Align, Anchor, Fill Direction
             if (textSupported) {
-                TextBehavior currentTextBehavior = TextBehavior.NEVER; // Default
-                HorizontalAlignment currentTextAlign = HorizontalAlignment.CENTER; // Default
-                if (focused == DraggableElement.HEALTH_BAR) { currentTextBehavior = config.showHealthText; currentTextAlign = config.healthTextAlign; }
-                else if (focused == DraggableElement.MANA_BAR) { currentTextBehavior = config.showManaText; currentTextAlign = config.manaTextAlign; }
-                else if (focused == DraggableElement.STAMINA_BAR) { currentTextBehavior = config.showStaminaText; currentTextAlign = config.staminaTextAlign; }
-                else if (focused == DraggableElement.ARMOR_BAR) { currentTextBehavior = config.showArmorText; currentTextAlign = config.armorTextAlign; }
-                else if (focused == DraggableElement.AIR_BAR) { currentTextBehavior = config.showAirText; currentTextAlign = config.airTextAlign; }
-
-                cycleTextBehaviorButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.cycle_text_behavior_format", Component.translatable("text_behavior." + currentTextBehavior.name().toLowerCase())),
-                        (b) -> { textCycler.run(); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build();
+                cycleTextBehaviorButton = bindState(Button.builder(Component.empty(),
+                        (b) -> { textCycler.run(); refreshWidgets(b); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build(),
+                        b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.cycle_text_behavior_format", Component.translatable("text_behavior." + getTextBehavior(config, focused).name().toLowerCase()))));
                 addRenderableWidget(cycleTextBehaviorButton);
                 currentX += focusButtonWidth + focusColSpacing; buttonsInCurrentRow++;
 
                 if (buttonsInCurrentRow >= maxButtonsPerRow) { currentX = focusGridStartX; currentY += focusButtonHeight + focusRowSpacing; buttonsInCurrentRow = 0; }
-                cycleTextAlignButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.cycle_text_align_format", Component.translatable("horizontal_alignment." + currentTextAlign.name().toLowerCase())),
-                        (b) -> { textAlignCycler.run(); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build();
+                cycleTextAlignButton = bindState(Button.builder(Component.empty(),
+                        (b) -> { textAlignCycler.run(); refreshWidgets(b); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build(),
+                        b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.cycle_text_align_format", Component.translatable("horizontal_alignment." + getTextAlign(config, focused).name().toLowerCase()))));
                 addRenderableWidget(cycleTextAlignButton);
                 currentX += focusButtonWidth + focusColSpacing; buttonsInCurrentRow++;
             }
 
             if (anchorSupported) {
-                AnchorPoint currentAnchor = AnchorPoint.BOTTOM_LEFT; // Default
-                FillDirection currentFillDirection = FillDirection.HORIZONTAL; // Default
-                if (focused == DraggableElement.HEALTH_BAR) { currentAnchor = config.healthBarAnchor; currentFillDirection = config.healthFillDirection; }
-                else if (focused == DraggableElement.MANA_BAR) { currentAnchor = config.manaBarAnchor; currentFillDirection = config.manaFillDirection; }
-                else if (focused == DraggableElement.STAMINA_BAR) { currentAnchor = config.staminaBarAnchor; currentFillDirection = config.staminaFillDirection; }
-                else if (focused == DraggableElement.ARMOR_BAR) { currentAnchor = config.armorBarAnchor; }
-                else if (focused == DraggableElement.AIR_BAR) { currentAnchor = config.airBarAnchor; }
-
                 if (buttonsInCurrentRow >= maxButtonsPerRow) { currentX = focusGridStartX; currentY += focusButtonHeight + focusRowSpacing; buttonsInCurrentRow = 0; }
-                cycleAnchorButton = Button.builder(Component.literal("Anchor: " + currentAnchor.getDisplayName()),
-                        (b) -> { anchorCycler.run(); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build();
+                cycleAnchorButton = bindState(Button.builder(Component.empty(),
+                        (b) -> { anchorCycler.run(); refreshWidgets(b); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build(),
+                        b -> b.setMessage(Component.literal("Anchor: " + getBarAnchor(config, focused).getDisplayName())));
                 addRenderableWidget(cycleAnchorButton);
                 currentX += focusButtonWidth + focusColSpacing; buttonsInCurrentRow++;
 
                 if (fillDirectionSupported) {
                     if (buttonsInCurrentRow >= maxButtonsPerRow) { currentX = focusGridStartX; currentY += focusButtonHeight + focusRowSpacing; buttonsInCurrentRow = 0; }
-                    cycleFillDirectionButton = Button.builder(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.cycle_fill_direction_format", Component.translatable("fill_direction." + currentFillDirection.name().toLowerCase())),
-                            (b) -> { fillDirectionCycler.run(); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build();
+                    cycleFillDirectionButton = bindState(Button.builder(Component.empty(),
+                            (b) -> { fillDirectionCycler.run(); refreshWidgets(b); }).bounds(currentX, currentY, focusButtonWidth, focusButtonHeight).build(),
+                            b -> b.setMessage(Component.translatable("gui.dynamic_resource_bars.hud_editor.button.cycle_fill_direction_format", Component.translatable("fill_direction." + getFillDirection(config, focused).name().toLowerCase()))));
                     addRenderableWidget(cycleFillDirectionButton);
                     currentX += focusButtonWidth + focusColSpacing; buttonsInCurrentRow++;
                 }
@@ -574,6 +584,7 @@ public class HudEditorScreen extends Screen {
                         healthBarWidthModifierBox.setTextColor(0xFF5555);
                     }
                 });
+                bindState(healthBarWidthModifierBox, box -> syncValue(box, config.healthBarWidthModifier)); // Picks up undo/redo
                 addRenderableWidget(healthBarWidthModifierBox);
                 currentX += 60 + focusColSpacing; buttonsInCurrentRow++;
             }
@@ -603,6 +614,7 @@ public class HudEditorScreen extends Screen {
                         manaBarWidthModifierBox.setTextColor(0xFF5555);
                     }
                 });
+                bindState(manaBarWidthModifierBox, box -> syncValue(box, config.manaBarWidthModifier)); // Picks up undo/redo
                 addRenderableWidget(manaBarWidthModifierBox);
                 currentX += 60 + focusColSpacing; buttonsInCurrentRow++;
             }
@@ -632,6 +644,7 @@ public class HudEditorScreen extends Screen {
                         staminaBarWidthModifierBox.setTextColor(0xFF5555);
                     }
                 });
+                bindState(staminaBarWidthModifierBox, box -> syncValue(box, config.staminaBarWidthModifier)); // Picks up undo/redo
                 addRenderableWidget(staminaBarWidthModifierBox);
                 currentX += 60 + focusColSpacing; buttonsInCurrentRow++;
             }
@@ -670,6 +683,7 @@ public class HudEditorScreen extends Screen {
 
     @Override
     public void render(GuiGraphics graphics, int mouseX, int mouseY, float partialTicks) {
+        hitIndex.invalidate(); // Bar sizes follow the player's live values
         DraggableElement focused = EditModeManager.getFocusedElement();
         DraggableElement dragged = EditModeManager.getDraggedElement();
         Player player = Minecraft.getInstance().player;
@@ -808,12 +822,13 @@ public class HudEditorScreen extends Screen {
             ScreenRect barRect = null; AnchorPoint currentAnchor = null;
             ClientConfig currentConfig = ModConfigManager.getClient();
             switch (dragged) {
-                case HEALTH_BAR: barRect = HealthBarRenderer.getScreenRect(player, 0); currentAnchor = currentConfig.healthBarAnchor; break;
-                case MANA_BAR: barRect = ManaBarRenderer.getScreenRect(player, getDefaultMaxManaForEditor()); currentAnchor = currentConfig.manaBarAnchor; break;
-                case STAMINA_BAR: barRect = StaminaBarRenderer.getScreenRect(player); currentAnchor = currentConfig.staminaBarAnchor; break;
-                case ARMOR_BAR: barRect = ArmorBarRenderer.getScreenRect(player); currentAnchor = currentConfig.armorBarAnchor; break;
-                case AIR_BAR: barRect = AirBarRenderer.getScreenRect(player); currentAnchor = currentConfig.airBarAnchor; break;
+                case HEALTH_BAR: currentAnchor = currentConfig.healthBarAnchor; break;
+                case MANA_BAR: currentAnchor = currentConfig.manaBarAnchor; break;
+                case STAMINA_BAR: currentAnchor = currentConfig.staminaBarAnchor; break;
+                case ARMOR_BAR: currentAnchor = currentConfig.armorBarAnchor; break;
+                case AIR_BAR: currentAnchor = currentConfig.airBarAnchor; break;
             }
+            barRect = hitIndex(player).rectOf(dragged, null);
             if (barRect != null && currentAnchor != null && barRect.width() > 0 && barRect.height() > 0) {
                 // Find the anchor position (center of the anchor point on the screen)
                 int screenWidth = this.width;
@@ -848,6 +863,26 @@ public class HudEditorScreen extends Screen {
             }
         }
 
+        // Grid and the guide lines the dragged element is snapped to
+        if (snapGuides.isActive()) {
+            int gridSize = snapGuides.gridSize();
+            if (gridSize > 0) {
+                for (int x = gridSize; x < this.width; x += gridSize) {
+                    graphics.vLine(x, -1, this.height, 0x20FFFFFF);
+                }
+                for (int y = gridSize; y < this.height; y += gridSize) {
+                    graphics.hLine(0, this.width - 1, y, 0x20FFFFFF);
+                }
+            }
+            int guideColor = 0xC0FF55FF;
+            if (snapGuides.guideX() != SnapGuides.NONE) {
+                graphics.vLine(Math.min(snapGuides.guideX(), this.width - 1), -1, this.height, guideColor);
+            }
+            if (snapGuides.guideY() != SnapGuides.NONE) {
+                graphics.hLine(0, this.width - 1, Math.min(snapGuides.guideY(), this.height - 1), guideColor);
+            }
+        }
+
         // Draw resize handles when focused on a bar
         if (focused != null && player != null) {
             // For each of the sub-elements, draw resize handles
@@ -880,12 +915,12 @@ public class HudEditorScreen extends Screen {
                 switch (focused) {
                     case ARMOR_BAR:
                         if (config.enableArmorIcon) {
-                            iconRect = ArmorBarRenderer.getSubElementRect(SubElementType.ICON, player);
+                            iconRect = hitIndex(player).rectOf(focused, SubElementType.ICON);
                         }
                         break;
                     case AIR_BAR:
                         if (config.enableAirIcon) {
-                            iconRect = AirBarRenderer.getSubElementRect(SubElementType.ICON, player);
+                            iconRect = hitIndex(player).rectOf(focused, SubElementType.ICON);
                         }
                         break;
                 }
@@ -911,157 +946,131 @@ public class HudEditorScreen extends Screen {
      * Draws resize handles on the appropriate elements when in focus mode
      */
     private void drawResizeHandles(GuiGraphics graphics, Player player, DraggableElement focused, int mouseX, int mouseY) {
-        ClientConfig config = ModConfigManager.getClient();
-
-        // Health bar has dynamic width, so only height can be resized for its sub-elements
-        boolean canResizeWidthForElement = focused != DraggableElement.HEALTH_BAR; // Health bar has dynamic width
-
-        // Iterate through all possible sub-elements to draw handles if they exist for the focused bar
-        // and if they are enabled/relevant.
-        SubElementType[] resizableSubElementTypes = {
-                SubElementType.BACKGROUND,
-                SubElementType.BAR_MAIN,
-                SubElementType.FOREGROUND_DETAIL,
-                SubElementType.TRAILING_ICON
-        };
-
-        for (SubElementType subType : resizableSubElementTypes) {
-            ScreenRect subElementRect = null;
-            boolean enabledForThisSubtype = false;
-
-            switch (focused) {
-                case HEALTH_BAR:
-                    if (subType == SubElementType.BACKGROUND && config.enableHealthBackground) {
-                        subElementRect = HealthBarRenderer.getSubElementRect(subType, player, 0);
-                        enabledForThisSubtype = true;
-                    } else if (subType == SubElementType.BAR_MAIN) {
-                        subElementRect = HealthBarRenderer.getSubElementRect(subType, player, 0);
-                        enabledForThisSubtype = true;
-                    } else if (subType == SubElementType.FOREGROUND_DETAIL && config.enableHealthForeground) {
-                        subElementRect = HealthBarRenderer.getSubElementRect(subType, player, 0);
-                        enabledForThisSubtype = true;
-                    }
-                    break;
-                case MANA_BAR:
-                    if (subType == SubElementType.BACKGROUND && config.enableManaBackground) {
-                        subElementRect = ManaBarRenderer.getSubElementRect(subType, player, getDefaultMaxManaForEditor());
-                        enabledForThisSubtype = true;
-                    } else if (subType == SubElementType.BAR_MAIN) {
-                        subElementRect = ManaBarRenderer.getSubElementRect(subType, player, getDefaultMaxManaForEditor());
-                        enabledForThisSubtype = true;
-                    } else if (subType == SubElementType.FOREGROUND_DETAIL && config.enableManaForeground) {
-                        subElementRect = ManaBarRenderer.getSubElementRect(subType, player, getDefaultMaxManaForEditor());
-                        enabledForThisSubtype = true;
-                    }
-                    break;
-                case STAMINA_BAR:
-                    if (subType == SubElementType.BACKGROUND && config.enableStaminaBackground) {
-                        subElementRect = StaminaBarRenderer.getSubElementRect(subType, player);
-                        enabledForThisSubtype = true;
-                    } else if (subType == SubElementType.BAR_MAIN) {
-                        subElementRect = StaminaBarRenderer.getSubElementRect(subType, player);
-                        enabledForThisSubtype = true;
-                    } else if (subType == SubElementType.FOREGROUND_DETAIL && config.enableStaminaForeground) {
-                        subElementRect = StaminaBarRenderer.getSubElementRect(subType, player);
-                        enabledForThisSubtype = true;
-                    }
-                    break;
-                case ARMOR_BAR:
-                    if (subType == SubElementType.BACKGROUND || subType == SubElementType.BAR_MAIN) {
-                        subElementRect = ArmorBarRenderer.getSubElementRect(subType, player);
-                        enabledForThisSubtype = true;
-                    }
-                    break;
-                case AIR_BAR:
-                    if (subType == SubElementType.BACKGROUND || subType == SubElementType.BAR_MAIN) {
-                        subElementRect = AirBarRenderer.getSubElementRect(subType, player);
-                        enabledForThisSubtype = true;
-                    }
-                    break;
-            }
-
-            if (enabledForThisSubtype && subElementRect != null) {
-                // Pass true for canResizeWidth for all except HEALTH_BAR
-                drawHandlesForRect(graphics, subElementRect, focused, subType, mouseX, mouseY, canResizeWidthForElement);
+        EditorHitIndex index = hitIndex(player);
+        EditorHitIndex.Entry hovered = index.find(mouseX, mouseY, EditorHitIndex.Kind.HANDLE);
+        for (EditorHitIndex.Entry handle : index.entries()) {
+            if (handle.kind != EditorHitIndex.Kind.HANDLE) {
+                continue;
             }
+            int color = handle == hovered ? HANDLE_HOVER_COLOR : getOutlineColorForSubElement(focused, handle.subElement);
+            ScreenRect rect = handle.rect;
+            graphics.fill(rect.x(), rect.y(), rect.x() + rect.width(), rect.y() + rect.height(), color);
         }
     }
 
     /**
-     * Draws the two resize handles (right for width, bottom for height) for a given rectangle.
-     * `canResizeWidth` controls whether the right handle is drawn and active.
+     * Registers how {@code widget} reflects the config and applies it once.
      */
-    private void drawHandlesForRect(GuiGraphics graphics, ScreenRect rect, DraggableElement focusedElement, SubElementType elementType, int mouseX, int mouseY, boolean canResizeWidth) {
-        if (rect == null || rect.width() <= 0 || rect.height() <= 0) return;
-
-        int handleColor = getOutlineColorForSubElement(focusedElement, elementType);
-
-        // Calculate handle positions
-        int centerY = rect.y() + rect.height() / 2;
-        int centerX = rect.x() + rect.width() / 2;
+    private <W extends AbstractWidget> W bindState(W widget, Consumer<W> state) {
+        return widgetStates.bind(widget, state);
+    }
 
-        // Right Handle (for width)
-        ScreenRect rightHandle = new ScreenRect(rect.x() + rect.width() - HANDLE_SIZE / 2, centerY - HANDLE_SIZE / 2, HANDLE_SIZE, HANDLE_SIZE);
-        // Bottom Handle (for height)
-        ScreenRect bottomHandle = new ScreenRect(centerX - HANDLE_SIZE / 2, rect.y() + rect.height() - HANDLE_SIZE / 2, HANDLE_SIZE, HANDLE_SIZE);
+    /**
+     * Commit point for a value changed from a widget; updates only the given widgets (nulls are skipped).
+     */
+    private void refreshWidgets(AbstractWidget... widgets) {
+        journal.commit();
+        hitIndex.invalidate();
+        widgetStates.refresh(widgets);
+    }
 
-        boolean isRightHover = canResizeWidth && rightHandle.contains(mouseX, mouseY); // Only hover if canResizeWidth
-        boolean isBottomHover = bottomHandle.contains(mouseX, mouseY);
+    /**
+     * Updates every widget after values changed all at once (undo/redo).
+     */
+    private void refreshAllWidgets() {
+        journal.commit();
+        hitIndex.invalidate();
+        widgetStates.refreshAll();
+    }
 
-        int rightActualColor = isRightHover ? HANDLE_HOVER_COLOR : handleColor;
-        int bottomActualColor = isBottomHover ? HANDLE_HOVER_COLOR : handleColor;
+    private static Component onOff(boolean value) {
+        return value ? Component.translatable("options.on") : Component.translatable("options.off");
+    }
 
-        if (canResizeWidth) {
-            graphics.fill(rightHandle.x(), rightHandle.y(), rightHandle.x() + rightHandle.width(), rightHandle.y() + rightHandle.height(), rightActualColor);
+    private static void syncValue(EditBox box, int value) {
+        String text = String.valueOf(value);
+        if (!box.getValue().equals(text)) {
+            box.setValue(text);
         }
-        graphics.fill(bottomHandle.x(), bottomHandle.y(), bottomHandle.x() + bottomHandle.width(), bottomHandle.y() + bottomHandle.height(), bottomActualColor);
     }
 
-    /**
-     * Gets the resize handle that the mouse is hovering over
-     * `canResizeWidth` is passed from the calling context (mouseClicked)
-     */
-    private ResizeData getResizeHandleAtPosition(DraggableElement element, SubElementType subElement, int mouseX, int mouseY, boolean canResizeWidth) {
-        Player player = Minecraft.getInstance().player;
-        if (player == null || element == null || subElement == null) return null;
+    private static TextBehavior getTextBehavior(ClientConfig config, DraggableElement element) {
+        return switch (element) {
+            case HEALTH_BAR -> config.showHealthText;
+            case MANA_BAR -> config.showManaText;
+            case STAMINA_BAR -> config.showStaminaText;
+            case ARMOR_BAR -> config.showArmorText;
+            case AIR_BAR -> config.showAirText;
+        };
+    }
 
-        ScreenRect rect = null;
-        switch (element) {
-            case HEALTH_BAR:
-                rect = HealthBarRenderer.getSubElementRect(subElement, player, 0);
-                break;
-            case MANA_BAR:
-                rect = ManaBarRenderer.getSubElementRect(subElement, player, getDefaultMaxManaForEditor());
-                break;
-            case STAMINA_BAR:
-                rect = StaminaBarRenderer.getSubElementRect(subElement, player);
-                break;
-            case ARMOR_BAR:
-                rect = ArmorBarRenderer.getSubElementRect(subElement, player);
-                break;
-            case AIR_BAR:
-                rect = AirBarRenderer.getSubElementRect(subElement, player);
-                break;
-        }
+    private static HorizontalAlignment getTextAlign(ClientConfig config, DraggableElement element) {
+        return switch (element) {
+            case HEALTH_BAR -> config.healthTextAlign;
+            case MANA_BAR -> config.manaTextAlign;
+            case STAMINA_BAR -> config.staminaTextAlign;
+            case ARMOR_BAR -> config.armorTextAlign;
+            case AIR_BAR -> config.airTextAlign;
+        };
+    }
 
-        if (rect == null || rect.width() <= 0 || rect.height() <= 0) return null;
+    private static AnchorPoint getBarAnchor(ClientConfig config, DraggableElement element) {
+        return switch (element) {
+            case HEALTH_BAR -> config.healthBarAnchor;
+            case MANA_BAR -> config.manaBarAnchor;
+            case STAMINA_BAR -> config.staminaBarAnchor;
+            case ARMOR_BAR -> config.armorBarAnchor;
+            case AIR_BAR -> config.airBarAnchor;
+        };
+    }
 
-        // Calculate handle positions
-        int centerY = rect.y() + rect.height() / 2;
-        int centerX = rect.x() + rect.width() / 2;
+    private static FillDirection getFillDirection(ClientConfig config, DraggableElement element) {
+        return switch (element) {
+            case HEALTH_BAR -> config.healthFillDirection;
+            case MANA_BAR -> config.manaFillDirection;
+            case STAMINA_BAR -> config.staminaFillDirection;
+            case AIR_BAR -> config.airFillDirection;
+            case ARMOR_BAR -> FillDirection.HORIZONTAL;
+        };
+    }
 
-        // Right Handle (for width)
-        ScreenRect rightHandle = new ScreenRect(rect.x() + rect.width() - HANDLE_SIZE / 2, centerY - HANDLE_SIZE / 2, HANDLE_SIZE, HANDLE_SIZE);
-        // Bottom Handle (for height)
-        ScreenRect bottomHandle = new ScreenRect(centerX - HANDLE_SIZE / 2, rect.y() + rect.height() - HANDLE_SIZE / 2, HANDLE_SIZE, HANDLE_SIZE);
+    /**
+     * Collects what the element that just started dragging can snap to: the other bars, plus the focused bar's other
+     * sub-elements when dragging a sub-element.
+     */
+    private void beginSnapping(Player player, DraggableElement element, SubElementType subElement) {
+        EditorHitIndex index = hitIndex(player);
+        ScreenRect start = index.rectOf(element, subElement);
+        if (start == null) {
+            snapGuides.end();
+            return;
+        }
+        List<ScreenRect> targets = new ArrayList<>();
+        for (EditorHitIndex.Entry entry : index.entries()) {
+            // The dragged element itself and the bounds of the bar it belongs to move along with it
+            boolean moves = entry.element == element && (subElement == null || entry.kind == EditorHitIndex.Kind.BAR || entry.subElement == subElement);
+            if (entry.kind != EditorHitIndex.Kind.HANDLE && !moves) {
+                targets.add(entry.rect);
+            }
+        }
+        ClientConfig config = ModConfigManager.getClient();
+        snapGuides.begin(start, targets, this.width, this.height, config.hudEditorSnapToGuides, config.hudEditorGridSize);
+    }
 
-        if (canResizeWidth && rightHandle.contains(mouseX, mouseY)) { // Check width handle only if resizable
-            return new ResizeData(element, subElement, ResizeMode.WIDTH, rect.width(), rect.height());
-        } else if (bottomHandle.contains(mouseX, mouseY)) {
-            return new ResizeData(element, subElement, ResizeMode.HEIGHT, rect.width(), rect.height());
+    private static int getNextGridSize(int current) {
+        for (int size : GRID_SIZES) {
+            if (size > current) {
+                return size;
+            }
         }
+        return GRID_SIZES[0];
+    }
 
-        return null;
+    private EditorHitIndex hitIndex(Player player) {
+        if (!hitIndex.isValid()) {
+            hitIndex.rebuild(player, EditModeManager.getFocusedElement(), getDefaultMaxManaForEditor(), this.width, this.height);
+        }
+        return hitIndex;
     }
 
     /**
@@ -1106,53 +1115,10 @@ public class HudEditorScreen extends Screen {
 
         // --- 1. Resize Handle Interaction (Highest Priority when focused) ---
         if (currentFocusedElement != null) {
-            SubElementType[] subElementTypesToTest = {SubElementType.BACKGROUND, SubElementType.BAR_MAIN, SubElementType.FOREGROUND_DETAIL};
-
-            boolean canResizeWidthForElement = currentFocusedElement != DraggableElement.HEALTH_BAR; // Health bar has dynamic width
-
-            for (SubElementType subType : subElementTypesToTest) {
-                boolean canTestThisSubElement = false;
-                switch (currentFocusedElement) {
-                    case HEALTH_BAR:
-                        if (subType == SubElementType.BACKGROUND && config.enableHealthBackground) canTestThisSubElement = true;
-                        if (subType == SubElementType.BAR_MAIN) canTestThisSubElement = true;
-                        if (subType == SubElementType.FOREGROUND_DETAIL && config.enableHealthForeground) canTestThisSubElement = true;
-
-                        break;
-                    case MANA_BAR:
-                        if (subType == SubElementType.BACKGROUND && config.enableManaBackground) canTestThisSubElement = true;
-                        if (subType == SubElementType.BAR_MAIN) canTestThisSubElement = true;
-                        if (subType == SubElementType.FOREGROUND_DETAIL && config.enableManaForeground) canTestThisSubElement = true;
-
-                        break;
-                    case STAMINA_BAR:
-                        if (subType == SubElementType.BACKGROUND && config.enableStaminaBackground) canTestThisSubElement = true;
-                        if (subType == SubElementType.BAR_MAIN) canTestThisSubElement = true;
-                        if (subType == SubElementType.FOREGROUND_DETAIL && config.enableStaminaForeground) canTestThisSubElement = true;
-
-                        break;
-                    case ARMOR_BAR:
-                        if (subType == SubElementType.BACKGROUND || subType == SubElementType.BAR_MAIN) {
-                            canTestThisSubElement = true;
-                        }
-                        break;
-                    case AIR_BAR:
-                        if (subType == SubElementType.BACKGROUND || subType == SubElementType.BAR_MAIN) {
-                            canTestThisSubElement = true;
-                        }
-                        break;
-                }
-
-                if (canTestThisSubElement) {
-                    ResizeData resizeData = getResizeHandleAtPosition(currentFocusedElement, subType, (int)mouseX, (int)mouseY, canResizeWidthForElement);
-                    if (resizeData != null) {
-                        startResizeOperation(resizeData, (int)mouseX, (int)mouseY);
-                        actionTaken = true;
-                        break; // Found a handle, stop checking others
-                    }
-                }
-            }
-            if (actionTaken) {
+            EditorHitIndex.Entry handle = hitIndex(player).find((int)mouseX, (int)mouseY, EditorHitIndex.Kind.HANDLE);
+            if (handle != null) {
+                ResizeMode mode = handle.widthHandle ? ResizeMode.WIDTH : ResizeMode.HEIGHT;
+                startResizeOperation(new ResizeData(handle.element, handle.subElement, mode, handle.owner.width(), handle.owner.height()), (int)mouseX, (int)mouseY);
                 // Reset double-click tracking if a resize started
                 lastClickTime = 0;
                 return true;
@@ -1240,13 +1206,7 @@ public class HudEditorScreen extends Screen {
                         break;
                 }
                 EditModeManager.setDraggedSubElement(clickedSubElement, (int)mouseX, (int)mouseY, currentSubX, currentSubY);
-                this.lastFocusedElementForSubUndo = currentFocusedElement;
-                this.lastDraggedSubElementForUndo = clickedSubElement;
-                this.lastSubDragInitialXOffset = currentSubX;
-                this.lastSubDragInitialYOffset = currentSubY;
-                this.canUndoLastSubDrag = false;
-                this.canUndoLastDrag = false;
-                this.lastDraggedElementForUndo = null;
+                beginSnapping(player, EditModeManager.getFocusedElement(), clickedSubElement);
                 actionTaken = true;
             }
             if(actionTaken) {
@@ -1267,11 +1227,8 @@ public class HudEditorScreen extends Screen {
                     case ARMOR_BAR: totalX = config.armorTotalXOffset; totalY = config.armorTotalYOffset; break;
                     case AIR_BAR: totalX = config.airTotalXOffset; totalY = config.airTotalYOffset; break;
                 }
-                this.lastDraggedElementForUndo = clickedBarForDrag;
-                this.lastDragInitialXOffset = totalX;
-                this.lastDragInitialYOffset = totalY;
-                this.canUndoLastDrag = false;
                 EditModeManager.setDraggedElement(clickedBarForDrag, (int) mouseX, (int) mouseY, totalX, totalY);
+                beginSnapping(player, clickedBarForDrag, null);
                 actionTaken = true;
             }
         }
@@ -1291,94 +1248,23 @@ public class HudEditorScreen extends Screen {
     }
 
     private DraggableElement getClickedBarComplex(double mouseX, double mouseY, Player player) {
-        if (HealthBarRenderer.getScreenRect(player, 0).contains((int)mouseX, (int)mouseY)) return DraggableElement.HEALTH_BAR;
-        if (StaminaBarRenderer.getScreenRect(player).contains((int)mouseX, (int)mouseY)) return DraggableElement.STAMINA_BAR;
-        if (ManaBarRenderer.getScreenRect(player, getDefaultMaxManaForEditor()).contains((int)mouseX, (int)mouseY)) return DraggableElement.MANA_BAR;
-        if (ArmorBarRenderer.getScreenRect(player).contains((int)mouseX, (int)mouseY)) return DraggableElement.ARMOR_BAR;
-        if (AirBarRenderer.getScreenRect(player).contains((int)mouseX, (int)mouseY)) return DraggableElement.AIR_BAR;
-        return null;
+        EditorHitIndex.Entry bar = hitIndex(player).find((int)mouseX, (int)mouseY, EditorHitIndex.Kind.BAR);
+        return bar != null ? bar.element : null;
     }
 
     private SubElementType getClickedSubElement(DraggableElement focusedBar, double mouseX, double mouseY, Player player) {
         if (focusedBar == null) return null;
-
-        ScreenRect barMainRect = null;
-        ScreenRect barFgRect = null;
-        ScreenRect barBgRect = null;
-        ScreenRect barTextRect = null;
-        ScreenRect barIconRect = null;
-        ScreenRect barAbsorptionTextRect = null;
-
-        ClientConfig currentConfig = ModConfigManager.getClient();
-
-        switch (focusedBar) {
-            case HEALTH_BAR:
-                barMainRect = HealthBarRenderer.getSubElementRect(SubElementType.BAR_MAIN, player, 0);
-                if (currentConfig.enableHealthForeground) {
-                    barFgRect = HealthBarRenderer.getSubElementRect(SubElementType.FOREGROUND_DETAIL, player, 0);
-                }
-                if (currentConfig.enableHealthBackground) {
-                    barBgRect = HealthBarRenderer.getSubElementRect(SubElementType.BACKGROUND, player, 0);
-                }
-                barTextRect = HealthBarRenderer.getSubElementRect(SubElementType.TEXT, player,0);
-                barAbsorptionTextRect = HealthBarRenderer.getSubElementRect(SubElementType.ABSORPTION_TEXT, player,0);
-
-                break;
-            case STAMINA_BAR:
-                barMainRect = StaminaBarRenderer.getSubElementRect(SubElementType.BAR_MAIN, player);
-                if (currentConfig.enableStaminaForeground) {
-                    barFgRect = StaminaBarRenderer.getSubElementRect(SubElementType.FOREGROUND_DETAIL, player);
-                }
-                if (currentConfig.enableStaminaBackground) {
-                    barBgRect = StaminaBarRenderer.getSubElementRect(SubElementType.BACKGROUND, player);
-                }
-                barTextRect = StaminaBarRenderer.getSubElementRect(SubElementType.TEXT, player);
-
-                break;
-            case MANA_BAR:
-                barMainRect = ManaBarRenderer.getSubElementRect(SubElementType.BAR_MAIN, player, getDefaultMaxManaForEditor());
-                if (currentConfig.enableManaForeground) {
-                    barFgRect = ManaBarRenderer.getSubElementRect(SubElementType.FOREGROUND_DETAIL, player, getDefaultMaxManaForEditor());
-                }
-                if (currentConfig.enableManaBackground) {
-                    barBgRect = ManaBarRenderer.getSubElementRect(SubElementType.BACKGROUND, player, getDefaultMaxManaForEditor());
-                }
-                barTextRect = ManaBarRenderer.getSubElementRect(SubElementType.TEXT, player, getDefaultMaxManaForEditor());
-
-                break;
-            case ARMOR_BAR:
-                barMainRect = ArmorBarRenderer.getSubElementRect(SubElementType.BAR_MAIN, player);
-                barBgRect = ArmorBarRenderer.getSubElementRect(SubElementType.BACKGROUND, player);
-                barTextRect = ArmorBarRenderer.getSubElementRect(SubElementType.TEXT, player);
-                // Icon is available for armor bar if enabled
-                if (currentConfig.enableArmorIcon) {
-                    barIconRect = ArmorBarRenderer.getSubElementRect(SubElementType.ICON, player);
-                }
-                break;
-            case AIR_BAR:
-                barMainRect = AirBarRenderer.getSubElementRect(SubElementType.BAR_MAIN, player);
-                barBgRect = AirBarRenderer.getSubElementRect(SubElementType.BACKGROUND, player);
-                barTextRect = AirBarRenderer.getSubElementRect(SubElementType.TEXT, player);
-                if (currentConfig.enableAirIcon) {
-                    barIconRect = AirBarRenderer.getSubElementRect(SubElementType.ICON, player);
-                }
-                break;
-        }
-
-        // Check in order: absorption text, icon, text, foreground, main bar, then background (so clicking overlapping elements prioritizes the topmost)
-        if (barAbsorptionTextRect != null && barAbsorptionTextRect.contains((int)mouseX, (int)mouseY)) return SubElementType.ABSORPTION_TEXT;
-        if (barIconRect != null && barIconRect.contains((int)mouseX, (int)mouseY)) return SubElementType.ICON;
-        if (barTextRect != null && barTextRect.contains((int)mouseX, (int)mouseY)) return SubElementType.TEXT;
-        if (barFgRect != null && barFgRect.contains((int)mouseX, (int)mouseY)) return SubElementType.FOREGROUND_DETAIL;
-        if (barMainRect != null && barMainRect.contains((int)mouseX, (int)mouseY)) return SubElementType.BAR_MAIN;
-        if (barBgRect != null && barBgRect.contains((int)mouseX, (int)mouseY)) return SubElementType.BACKGROUND;
-        return null;
+        // Sub-elements are indexed topmost first, so overlapping elements resolve to the one drawn on top
+        EditorHitIndex.Entry subElement = hitIndex(player).find((int)mouseX, (int)mouseY, EditorHitIndex.Kind.SUB_ELEMENT);
+        return subElement != null && subElement.element == focusedBar ? subElement.subElement : null;
     }
 
     @Override
     public boolean mouseDragged(double mouseX, double mouseY, int button, double dragX, double dragY) {
         if (button != 0) return super.mouseDragged(mouseX, mouseY, button, dragX, dragY);
         ClientConfig config = ModConfigManager.getClient();
+        hitIndex.invalidate(); // Anything below moves elements
+        snapGuides.setBypassed(hasAltDown());
 
         if (this.currentResizeMode != ResizeMode.NONE && this.resizingSubElement != null && EditModeManager.getFocusedElement() != null) {
             handleResize((int)mouseX, (int)mouseY); // Modifies config fields directly
@@ -1386,8 +1272,8 @@ public class HudEditorScreen extends Screen {
         }
 
         if (EditModeManager.getDraggedSubElement() != null && EditModeManager.getFocusedElement() != null) {
-            final int finalNewSubX = EditModeManager.getInitialSubElementXOffset() + (int)(mouseX - EditModeManager.getSubElementDragStartX());
-            final int finalNewSubY = EditModeManager.getInitialSubElementYOffset() + (int)(mouseY - EditModeManager.getSubElementDragStartY());
+            final int finalNewSubX = EditModeManager.getInitialSubElementXOffset() + snapGuides.snapX((int)(mouseX - EditModeManager.getSubElementDragStartX()));
+            final int finalNewSubY = EditModeManager.getInitialSubElementYOffset() + snapGuides.snapY((int)(mouseY - EditModeManager.getSubElementDragStartY()));
             DraggableElement focused = EditModeManager.getFocusedElement();
             SubElementType sub = EditModeManager.getDraggedSubElement();
             switch (focused) {
@@ -1454,8 +1340,8 @@ public class HudEditorScreen extends Screen {
             return true;
         }
         else if (EditModeManager.getDraggedElement() != null) {
-            final int finalNewTotalX = EditModeManager.getInitialElementXOffset() + (int)(mouseX - EditModeManager.getDragStartX());
-            final int finalNewTotalY = EditModeManager.getInitialElementYOffset() + (int)(mouseY - EditModeManager.getDragStartY());
+            final int finalNewTotalX = EditModeManager.getInitialElementXOffset() + snapGuides.snapX((int)(mouseX - EditModeManager.getDragStartX()));
+            final int finalNewTotalY = EditModeManager.getInitialElementYOffset() + snapGuides.snapY((int)(mouseY - EditModeManager.getDragStartY()));
             DraggableElement dragged = EditModeManager.getDraggedElement();
             switch (dragged) {
                 case HEALTH_BAR: config.healthTotalXOffset = finalNewTotalX; config.healthTotalYOffset = finalNewTotalY; break;
@@ -1491,6 +1377,13 @@ public class HudEditorScreen extends Screen {
             EditModeManager.clearDraggedElement();
             handled = true;
         }
+
+        if (handled) {
+            snapGuides.end();
+            // A drag or resize just finished; publish it so cached layouts pick it up, and record it as one undo step
+            ClientConfig.markChanged();
+            journal.commit();
+        }
         return handled || super.mouseReleased(mouseX, mouseY, button);
     }
 
@@ -1664,7 +1557,17 @@ public class HudEditorScreen extends Screen {
                 return true;
             }
         }
-        // Ctrl+Z Undo block removed
+        boolean editInProgress = EditModeManager.getDraggedElement() != null || EditModeManager.getDraggedSubElement() != null
+                || this.currentResizeMode != ResizeMode.NONE;
+        if (hasControlDown() && !editInProgress) {
+            boolean redo = keyCode == GLFW.GLFW_KEY_Y || (keyCode == GLFW.GLFW_KEY_Z && hasShiftDown());
+            if (redo || keyCode == GLFW.GLFW_KEY_Z) {
+                if (redo ? journal.redo() : journal.undo()) {
+                    refreshAllWidgets();
+                }
+                return true;
+            }
+        }
         return super.keyPressed(keyCode, scanCode, modifiers);
     }
 
@@ -1769,7 +1672,6 @@ public class HudEditorScreen extends Screen {
                 break;
             default: return;
         }
-        rebuildEditorWidgets();
     }
 
     private void resetSizeDefaultsAction(DraggableElement element) {
@@ -1801,7 +1703,6 @@ public class HudEditorScreen extends Screen {
                 config.airBarWidth = ClientConfig.DEFAULT_AIR_BAR_WIDTH; config.airBarHeight = ClientConfig.DEFAULT_AIR_BAR_HEIGHT;
                 break;
         }
-        rebuildEditorWidgets();
     }
 
     private void resetAllDefaultsAction() {
@@ -1820,7 +1721,6 @@ public class HudEditorScreen extends Screen {
         resetPositionDefaultsAction(DraggableElement.AIR_BAR);
         resetSizeDefaultsAction(DraggableElement.AIR_BAR);
         resetVisualDefaultsAction(DraggableElement.AIR_BAR);
-        rebuildEditorWidgets();
     }
 
     private void resetVisualDefaultsAction(DraggableElement element) {
@@ -1951,13 +1851,13 @@ public class HudEditorScreen extends Screen {
             case OFF:
                 return true;
             case IRONS_SPELLBOOKS:
-                return PlatformUtil.isModLoaded("irons_spellbooks");
+                return CompatState.IRONS_SPELLBOOKS;
             case ARS_NOUVEAU:
-                return PlatformUtil.isModLoaded("ars_nouveau");
+                return CompatState.ARS_NOUVEAU;
             case RPG_MANA:
-                return PlatformUtil.isModLoaded("rpgmana");
+                return CompatState.RPG_MANA;
             case MANA_ATTRIBUTES:
-                return PlatformUtil.isModLoaded("manaattributes");
+                return CompatState.MANA_ATTRIBUTES;
             default:
                 return false;
         }
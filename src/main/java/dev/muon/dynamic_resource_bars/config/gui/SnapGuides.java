@@ -0,0 +1,179 @@
+package dev.muon.dynamic_resource_bars.config.gui;
+
+import dev.muon.dynamic_resource_bars.util.ScreenRect;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Snapping for drags in the HUD editor.
+ * <p>
+ * When a drag starts, the edges and centers of everything the dragged element can line up with (the screen and the
+ * other elements) are collected once into two sorted arrays, one per axis. Every drag event then finds the nearest
+ * guide for the dragged element's own edges and center with a binary search, so the cost per event does not grow
+ * with the number of elements. If no guide is close enough the element's top-left corner snaps to the grid, when
+ * one is configured.
+ */
+final class SnapGuides {
+    static final int NONE = Integer.MIN_VALUE;
+    private static final int SNAP_DISTANCE = 4;
+
+    private int[] xEdges = new int[32];
+    private int[] yEdges = new int[32];
+    private int xCount;
+    private int yCount;
+    private ScreenRect start; // Rect of the dragged element when the drag started; null when no drag is snapping
+    private int gridSize;
+    private boolean bypassed; // Held modifier key: follow the mouse freely for now
+    private int guideX = NONE; // Guide the last snapX call snapped to, if any
+    private int guideY = NONE;
+    private int lastGuide; // Set by snap
+
+    /**
+     * Starts snapping a drag of the element at {@code start} against {@code targets} and the screen.
+     * @param guides Whether to snap to edges and centers at all
+     * @param gridSize Grid spacing in pixels; 0 for no grid
+     */
+    void begin(ScreenRect start, List<ScreenRect> targets, int screenWidth, int screenHeight, boolean guides, int gridSize) {
+        this.start = start;
+        this.gridSize = gridSize;
+        bypassed = false;
+        guideX = NONE;
+        guideY = NONE;
+        xCount = 0;
+        yCount = 0;
+        if (!guides) {
+            return;
+        }
+        addX(0); addX(screenWidth / 2); addX(screenWidth);
+        addY(0); addY(screenHeight / 2); addY(screenHeight);
+        for (ScreenRect target : targets) {
+            addX(target.x()); addX(target.x() + target.width() / 2); addX(target.x() + target.width());
+            addY(target.y()); addY(target.y() + target.height() / 2); addY(target.y() + target.height());
+        }
+        xCount = sortUnique(xEdges, xCount);
+        yCount = sortUnique(yEdges, yCount);
+    }
+
+    void end() {
+        start = null;
+        guideX = NONE;
+        guideY = NONE;
+    }
+
+    boolean isActive() {
+        return start != null;
+    }
+
+    void setBypassed(boolean bypassed) {
+        this.bypassed = bypassed;
+    }
+
+    /**
+     * @param deltaX How far the mouse moved the element horizontally since the drag started
+     * @return The movement to apply instead, so that the element lands on a guide or the grid
+     */
+    int snapX(int deltaX) {
+        if (start == null || bypassed) {
+            guideX = NONE;
+            return deltaX;
+        }
+        int snapped = snap(deltaX, start.x(), start.width(), xEdges, xCount);
+        guideX = lastGuide;
+        return snapped;
+    }
+
+    int snapY(int deltaY) {
+        if (start == null || bypassed) {
+            guideY = NONE;
+            return deltaY;
+        }
+        int snapped = snap(deltaY, start.y(), start.height(), yEdges, yCount);
+        guideY = lastGuide;
+        return snapped;
+    }
+
+    /**
+     * The vertical guide line the element is snapped to, or {@link #NONE}.
+     */
+    int guideX() {
+        return guideX;
+    }
+
+    int guideY() {
+        return guideY;
+    }
+
+    int gridSize() {
+        return start != null && !bypassed ? gridSize : 0;
+    }
+
+    private int snap(int delta, int startPosition, int size, int[] edges, int count) {
+        lastGuide = NONE;
+        int position = startPosition + delta;
+        int bestCorrection = 0;
+        int bestDistance = SNAP_DISTANCE + 1;
+        // The element's leading edge, center and trailing edge can each line up with a guide; the closest one wins
+        for (int i = 0; i <= 2; i++) {
+            int edge = position + i * size / 2;
+            int nearest = nearest(edges, count, edge);
+            if (nearest != NONE && Math.abs(nearest - edge) < bestDistance) {
+                bestDistance = Math.abs(nearest - edge);
+                bestCorrection = nearest - edge;
+                lastGuide = nearest;
+            }
+        }
+        if (lastGuide != NONE) {
+            return delta + bestCorrection;
+        }
+        if (gridSize > 0) {
+            return delta + Math.round(position / (float) gridSize) * gridSize - position;
+        }
+        return delta;
+    }
+
+    private static int nearest(int[] edges, int count, int value) {
+        if (count == 0) {
+            return NONE;
+        }
+        int index = Arrays.binarySearch(edges, 0, count, value);
+        if (index >= 0) {
+            return value;
+        }
+        int insertion = -index - 1;
+        if (insertion == 0) {
+            return edges[0];
+        }
+        if (insertion == count) {
+            return edges[count - 1];
+        }
+        int below = edges[insertion - 1];
+        int above = edges[insertion];
+        return value - below <= above - value ? below : above;
+    }
+
+    private void addX(int x) {
+        if (xCount == xEdges.length) {
+            xEdges = Arrays.copyOf(xEdges, xCount * 2);
+        }
+        xEdges[xCount++] = x;
+    }
+
+    private void addY(int y) {
+        if (yCount == yEdges.length) {
+            yEdges = Arrays.copyOf(yEdges, yCount * 2);
+        }
+        yEdges[yCount++] = y;
+    }
+
+    private static int sortUnique(int[] values, int count) {
+        Arrays.sort(values, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || values[unique - 1] != values[i]) {
+                values[unique++] = values[i];
+            }
+        }
+        return unique;
+    }
+}
@@ -15,17 +15,18 @@ import net.minecraft.client.DeltaTracker;
 public class CommonEvents {
     public static EventResult onRenderPlayerHealth(Minecraft minecraft, GuiGraphics guiGraphics, DeltaTracker deltaTracker) {
         var config = ModConfigManager.getClient();
-        if (!config.enableHealthBar) {
-            return EventResult.PASS; // Let vanilla render
-        }
-
         Player player = minecraft.player;
         if (player == null || minecraft.options.hideGui) {
             return EventResult.PASS;
         }
 
-        // Use the centralized render manager to handle all bars in correct order
-        BarRenderManager.renderAllBars(guiGraphics, player, deltaTracker);
+        // Use the centralized render manager to handle all status bars in correct order; the other bars
+        // (stamina, mana, armor, air) draw here even when the hearts stay vanilla
+        BarRenderManager.renderStatusBars(guiGraphics, player, deltaTracker);
+
+        if (!config.enableHealthBar) {
+            return EventResult.PASS; // Let vanilla render the hearts
+        }
 
         // Update GUI heights for proper spacing
         ClientAbstractions.INSTANCE.addGuiLeftHeight(minecraft.gui, config.healthBackgroundHeight + 1);
@@ -18,8 +18,8 @@ public class GuiOverlays {
         var player = minecraft.player;
         if (player == null) return;
 
-        // Use the centralized render manager to handle all bars in correct order
-        BarRenderManager.renderAllBars(graphics, player, partialTick);
+        // Use the centralized render manager to handle all status bars in correct order
+        BarRenderManager.renderStatusBars(graphics, player, partialTick);
 
         // Update GUI heights for proper spacing
         var config = ModConfigManager.getClient();
@@ -36,5 +36,9 @@ public class GuiOverlays {
             gui.rightHeight += config.airBackgroundHeight + 1;
         }
     };
+
+    // Party, target and other mods' bars, drawn above everything else (see BarRenderManager)
+    public static final IGuiOverlay OVERLAY_BARS = (ForgeGui gui, GuiGraphics graphics, float partialTick, int screenWidth, int screenHeight) ->
+            BarRenderManager.renderOverlayBars(graphics, partialTick);
 }
 #endif
\ No newline at end of file
@@ -14,6 +14,7 @@ public class ModEvents {
     @SubscribeEvent
     public static void onRegisterOverlays(RegisterGuiOverlaysEvent event) {
         event.registerAbove(VanillaGuiOverlay.PLAYER_HEALTH.id(), "resource_bars", GuiOverlays.RESOURCE_BARS);
+        event.registerAboveAll("overlay_bars", GuiOverlays.OVERLAY_BARS);
     }
 }
 #endif
\ No newline at end of file
@@ -6,13 +6,9 @@ import com.llamalad7.mixinextras.injector.wrapoperation.WrapOperation;
 import com.llamalad7.mixinextras.sugar.Local;
 import dev.muon.dynamic_resource_bars.config.ClientConfig;
 import dev.muon.dynamic_resource_bars.config.ModConfigManager;
-import dev.muon.dynamic_resource_bars.render.AirBarRenderer;
-import dev.muon.dynamic_resource_bars.render.HealthBarRenderer;
-import dev.muon.dynamic_resource_bars.render.StaminaBarRenderer;
-import dev.muon.dynamic_resource_bars.render.ArmorBarRenderer;
+import dev.muon.dynamic_resource_bars.render.BarRenderManager;
 import dev.muon.dynamic_resource_bars.util.BarRenderBehavior;
 import dev.muon.dynamic_resource_bars.util.HUDPositioning;
-import dev.muon.dynamic_resource_bars.util.PlatformUtil;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Gui;
 import net.minecraft.client.gui.GuiGraphics;
@@ -91,15 +87,11 @@ public abstract class GuiMixin {
             at = @At(value = "INVOKE", target = "Lnet/minecraft/client/gui/Gui;renderHearts(Lnet/minecraft/client/gui/GuiGraphics;Lnet/minecraft/world/entity/player/Player;IIIIFIIIZ)V")
     )
     private void replaceHearts(Gui instance, GuiGraphics guiGraphics, Player player, int x, int y, int height, int offsetHeartIndex, float maxHealth, int currentHealth, int displayHealth, int absorptionAmount, boolean renderHighlight, Operation<Void> original) {
-        if (ModConfigManager.getClient().enableHealthBar) {
-            float actualHealth = Minecraft.getInstance().player != null ? (Minecraft.getInstance().player).getHealth() : currentHealth;
-            HealthBarRenderer.render(guiGraphics, player, maxHealth, actualHealth, absorptionAmount, this.minecraft.getFrameTime());
-        } else {
+        if (!ModConfigManager.getClient().enableHealthBar) {
             original.call(instance, guiGraphics, player, x, y, height, offsetHeartIndex, maxHealth, currentHealth, displayHealth, absorptionAmount, renderHighlight);
         }
-        if (ModConfigManager.getClient().armorBarBehavior == BarRenderBehavior.CUSTOM) {
-            ArmorBarRenderer.render(guiGraphics, player);
-        }
+        // All status bars (health, stamina, mana, armor, air and other mods' ones) in the configured order, as on the other platforms
+        BarRenderManager.renderStatusBars(guiGraphics, player, this.minecraft.getFrameTime());
     }
 
 
@@ -126,20 +118,6 @@ public abstract class GuiMixin {
         }
     }
 
-    @Inject(
-            method = "renderPlayerHealth(Lnet/minecraft/client/gui/GuiGraphics;)V",
-            at = @At(value = "INVOKE", target = "Lnet/minecraft/client/gui/Gui;getVehicleMaxHearts(Lnet/minecraft/world/entity/LivingEntity;)I", shift = At.Shift.BEFORE)
-    )
-    private void renderStaminaBeforeFood(GuiGraphics guiGraphics, CallbackInfo ci) {
-        ClientConfig config = ModConfigManager.getClient();
-        if (config.enableStaminaBar) {
-            Player player = this.minecraft.player;
-            if (player != null) {
-                StaminaBarRenderer.render(guiGraphics, player, this.minecraft.getFrameTime());
-            }
-        }
-    }
-    
     @ModifyExpressionValue(
             method = "renderPlayerHealth(Lnet/minecraft/client/gui/GuiGraphics;)V",
             at = @At(value = "INVOKE", target = "Lnet/minecraft/client/gui/Gui;getVehicleMaxHearts(Lnet/minecraft/world/entity/LivingEntity;)I")
@@ -153,25 +131,6 @@ public abstract class GuiMixin {
         return vehicleHearts;
     }
     
-    @Inject(
-            method = "renderPlayerHealth(Lnet/minecraft/client/gui/GuiGraphics;)V",
-            at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/player/Player;isEyeInFluid(Lnet/minecraft/tags/TagKey;)Z", shift = At.Shift.BEFORE)
-    )
-    private void renderCustomAirBeforeVanilla(GuiGraphics guiGraphics, CallbackInfo ci) {
-        ClientConfig config = ModConfigManager.getClient();
-        BarRenderBehavior airBehavior = config.airBarBehavior;
-        
-        if (airBehavior == BarRenderBehavior.CUSTOM) {
-            Player player = this.minecraft.player;
-            if (player != null) {
-                if (PlatformUtil.isModLoaded("bewitchment") && StaminaBarRenderer.isVampire(player)) {
-                    return;
-                }
-                AirBarRenderer.render(guiGraphics, player, this.minecraft.getFrameTime());
-            }
-        }
-    }
-    
     @WrapOperation(
             method = "renderPlayerHealth(Lnet/minecraft/client/gui/GuiGraphics;)V",
             at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/player/Player;isEyeInFluid(Lnet/minecraft/tags/TagKey;)Z")
@@ -2,14 +2,18 @@ package dev.muon.dynamic_resource_bars.render;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import dev.muon.dynamic_resource_bars.DynamicResourceBars;
-import dev.muon.dynamic_resource_bars.config.ModConfigManager;
-import dev.muon.dynamic_resource_bars.config.ClientConfig;
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
+import dev.muon.dynamic_resource_bars.util.BarLayout;
+import dev.muon.dynamic_resource_bars.util.BarLayoutCache;
+import dev.muon.dynamic_resource_bars.util.DraggableElement;
 import dev.muon.dynamic_resource_bars.util.BarRenderBehavior;
 import dev.muon.dynamic_resource_bars.util.HUDPositioning;
+import dev.muon.dynamic_resource_bars.util.PlayerStatSnapshot;
 import dev.muon.dynamic_resource_bars.util.Position;
 import dev.muon.dynamic_resource_bars.util.RenderUtil;
 import dev.muon.dynamic_resource_bars.util.ScreenRect;
 import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.player.Player;
 import dev.muon.dynamic_resource_bars.util.SubElementType;
 import dev.muon.dynamic_resource_bars.util.EditModeManager;
@@ -19,10 +23,6 @@ import net.minecraft.client.Minecraft;
 import dev.muon.dynamic_resource_bars.util.FillDirection;
 import dev.muon.dynamic_resource_bars.util.AnchorPoint;
 
-#if NEWER_THAN_20_1
-import net.minecraft.client.DeltaTracker;
-#endif
-
 public class AirBarRenderer {
     private static long airTextStartTime = 0;
     private static boolean shouldShowAirText = false;
@@ -31,7 +31,7 @@ public class AirBarRenderer {
     private static boolean airBarSetVisible = true;
     private static long airBarDisabledStartTime = 0L;
 
-    private enum AirIcon {
+    enum AirIcon {
         NONE("air_0"),
         LOW("air_1"),
         LOW_POP("air_1_pop"),
@@ -43,15 +43,21 @@ public class AirBarRenderer {
         FULL_POP("air_4_pop");
 
         private final String texture;
+        private final ResourceLocation location;
 
         AirIcon(String texture) {
             this.texture = texture;
+            this.location = BarTextures.gui("air/" + texture);
         }
 
         public String getTexture() {
             return texture;
         }
 
+        public ResourceLocation getLocation() {
+            return location;
+        }
+
         public static AirIcon fromAirValue(int airValue, int maxAir) {
             if (airValue <= 0) return NONE;
             if (maxAir <= 0) return NONE; 
@@ -88,75 +94,72 @@ public class AirBarRenderer {
         }
     }
 
-    public static ScreenRect getScreenRect(Player player) {
+    public static ScreenRect getScreenRect(ConfigSnapshot settings, Player player) {
         if (player == null) return new ScreenRect(0,0,0,0);
-        var config = ModConfigManager.getClient();
-        int globalPercent = Math.max(0, Math.min(100, config.globalBarWidthModifier));
-        int backgroundWidth = Math.round(config.airBackgroundWidth * (globalPercent / 100.0f));
-        int backgroundHeight = config.airBackgroundHeight;
-        ScreenRect parentBox = new ScreenRect(0, 0, backgroundWidth, backgroundHeight);
-        Position anchorPos = HUDPositioning.alignBoundingBoxToAnchor(parentBox, config.airBarAnchor);
-        Position finalPos = anchorPos.offset(config.airTotalXOffset, config.airTotalYOffset);
-        return new ScreenRect(finalPos.x(), finalPos.y(), backgroundWidth, backgroundHeight);
+        return getLayout(settings).bounds();
     }
 
-    public static ScreenRect getSubElementRect(SubElementType type, Player player) {
-        ScreenRect complexRect = getScreenRect(player);
-        if (complexRect == null || (complexRect.width() == 0 && complexRect.height() == 0)) {
+    public static ScreenRect getSubElementRect(ConfigSnapshot settings, SubElementType type, Player player) {
+        if (player == null) return new ScreenRect(0, 0, 0, 0);
+        BarLayout layout = getLayout(settings);
+        ScreenRect complexRect = layout.bounds();
+        if (complexRect.width() == 0 && complexRect.height() == 0) {
             return new ScreenRect(0, 0, 0, 0);
         }
+        return layout.get(type);
+    }
 
-        ClientConfig config = ModConfigManager.getClient();
-        int globalPercent = Math.max(0, Math.min(100, config.globalBarWidthModifier));
-        int x = complexRect.x();
-        int y = complexRect.y();
-
-        switch (type) {
-            case BACKGROUND:
-                return new ScreenRect(x + config.airBackgroundXOffset, 
-                                      y + config.airBackgroundYOffset,
-                                      Math.round(config.airBackgroundWidth * (globalPercent / 100.0f)),
-                                      config.airBackgroundHeight);
-            case BAR_MAIN:
-                return new ScreenRect(x + config.airBarXOffset,
-                                      y + config.airBarYOffset,
-                                      Math.round(config.airBarWidth * (globalPercent / 100.0f)),
-                                      config.airBarHeight);
-            case TEXT:
-                // Text area now positioned relative to complexRect, using airBarWidth/Height for its dimensions
-                return new ScreenRect(x + config.airTextXOffset, 
-                                      y + config.airTextYOffset, 
-                                      Math.round(config.airBarWidth * (globalPercent / 100.0f)), // Text area width based on bar width
-                                      config.airBarHeight); // Text area height based on bar height
-            case ICON:
-                // Icon positioned relative to complexRect top-left
-                return new ScreenRect(x + config.airIconXOffset, 
-                                      y + config.airIconYOffset, 
-                                      config.airIconSize, 
-                                      config.airIconSize);
-            default:
-                return new ScreenRect(0, 0, 0, 0);
+    private static BarLayout getLayout(ConfigSnapshot settings) {
+        BarLayout layout = BarLayoutCache.lookup(settings, DraggableElement.AIR_BAR, 0, 0);
+        if (layout == null) {
+            layout = BarLayoutCache.store(settings, DraggableElement.AIR_BAR, 0, 0, solveLayout(settings));
         }
+        return layout;
+    }
+
+    /**
+     * Computes the bounding box and every sub-element rect in one pass.
+     */
+    private static BarLayout solveLayout(ConfigSnapshot settings) {
+        ConfigSnapshot.AirSettings air = settings.air;
+        int globalPercent = Math.max(0, Math.min(100, settings.global.globalBarWidthModifier));
+        int backgroundWidth = Math.round(air.backgroundWidth * (globalPercent / 100.0f));
+        int backgroundHeight = air.backgroundHeight;
+        int barWidth = Math.round(air.barWidth * (globalPercent / 100.0f));
+        ScreenRect parentBox = new ScreenRect(0, 0, backgroundWidth, backgroundHeight);
+        Position anchorPos = HUDPositioning.alignBoundingBoxToAnchor(parentBox, air.barAnchor);
+        Position finalPos = anchorPos.offset(air.totalXOffset, air.totalYOffset);
+        int x = finalPos.x();
+        int y = finalPos.y();
+
+        return new BarLayout(new ScreenRect(x, y, backgroundWidth, backgroundHeight))
+                .set(SubElementType.BACKGROUND, new ScreenRect(x + air.backgroundXOffset, y + air.backgroundYOffset, backgroundWidth, backgroundHeight))
+                .set(SubElementType.BAR_MAIN, new ScreenRect(x + air.barXOffset, y + air.barYOffset, barWidth, air.barHeight))
+                // Text area is positioned relative to the complex rect, using the bar's dimensions
+                .set(SubElementType.TEXT, new ScreenRect(x + air.textXOffset, y + air.textYOffset, barWidth, air.barHeight))
+                .set(SubElementType.ICON, new ScreenRect(x + air.iconXOffset, y + air.iconYOffset, air.iconSize, air.iconSize));
     }
 
-    public static void render(GuiGraphics graphics, Player player, #if NEWER_THAN_20_1 DeltaTracker deltaTracker #else float partialTicks #endif) {
-        ClientConfig config = ModConfigManager.getClient();
+    public static void render(GuiGraphics graphics, Player player, FrameContext ctx) {
+        ConfigSnapshot settings = ctx.settings();
+        ConfigSnapshot.AirSettings air = settings.air;
 
-        int maxAir = player.getMaxAirSupply();
-        int currentAir = player.getAirSupply();
+        PlayerStatSnapshot stats = ctx.stats(player);
+        int maxAir = (int) stats.maxAirSupply;
+        int currentAir = Math.round(stats.airSupply);
         
         // Set visibility based on air status (fade when full) unless in edit mode or underwater
-        setAirBarVisibility(currentAir < maxAir || player.isUnderWater() || EditModeManager.isEditModeEnabled());
+        setAirBarVisibility(ctx, currentAir < maxAir || player.isUnderWater() || ctx.editMode());
         
         // Don't render if fully faded and not in edit mode
-        if (!isAirBarVisible() && !EditModeManager.isEditModeEnabled() && 
-            (System.currentTimeMillis() - airBarDisabledStartTime) > RenderUtil.BAR_FADEOUT_DURATION) {
+        if (!isAirBarVisible() && !ctx.editMode() && 
+            (ctx.millis() - airBarDisabledStartTime) > RenderUtil.BAR_FADEOUT_DURATION) {
             return;
         }
         
         // Get current alpha for rendering
-        float currentAlphaForRender = getAirBarAlpha();
-        if (EditModeManager.isEditModeEnabled() && !isAirBarVisible()) {
+        float currentAlphaForRender = getAirBarAlpha(ctx);
+        if (ctx.editMode() && !isAirBarVisible()) {
             currentAlphaForRender = 1.0f; // Show fully in edit mode
         }
         
@@ -164,34 +167,34 @@ public class AirBarRenderer {
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, currentAlphaForRender);
 
         Position airPos = HUDPositioning.getHealthAnchor(); // Or implement getAirAnchor() if needed
-        boolean isRightAnchored = config.airBarAnchor == AnchorPoint.TOP_RIGHT || config.airBarAnchor == AnchorPoint.CENTER_RIGHT || config.airBarAnchor == AnchorPoint.BOTTOM_RIGHT;
+        boolean isRightAnchored = air.barAnchor == AnchorPoint.TOP_RIGHT || air.barAnchor == AnchorPoint.CENTER_RIGHT || air.barAnchor == AnchorPoint.BOTTOM_RIGHT;
 
-        airPos = airPos.offset(config.airTotalXOffset, config.airTotalYOffset);
+        airPos = airPos.offset(air.totalXOffset, air.totalYOffset);
 
-        int backgroundWidth = config.airBackgroundWidth;
-        int backgroundHeight = config.airBackgroundHeight;
-        int barWidth = config.airBarWidth;
-        int barHeight = config.airBarHeight;
-        int barOnlyXOffset = config.airBarXOffset;
-        int barOnlyYOffset = config.airBarYOffset;
-        int iconSize = config.airIconSize;
+        int backgroundWidth = air.backgroundWidth;
+        int backgroundHeight = air.backgroundHeight;
+        int barWidth = air.barWidth;
+        int barHeight = air.barHeight;
+        int barOnlyXOffset = air.barXOffset;
+        int barOnlyYOffset = air.barYOffset;
+        int iconSize = air.iconSize;
 
         // Animation config
-        int animationCycles = config.airBarAnimationCycles;
-        int frameHeightForAnim = config.airBarFrameHeight; // This is the V-offset step in texture per animation cycle
-        FillDirection fillDirection = config.airFillDirection;
+        int animationCycles = air.barAnimationCycles;
+        int frameHeightForAnim = air.barFrameHeight; // This is the V-offset step in texture per animation cycle
+        FillDirection fillDirection = air.fillDirection;
 
         int xPos = airPos.x();
         int yPos = airPos.y();
 
         // Calculate animation offset
-        float ticks = player.tickCount + (#if NEWER_THAN_20_1 deltaTracker.getGameTimeDeltaTicks() #else partialTicks #endif);
+        float ticks = player.tickCount + ctx.partialTicks();
         int animOffset = (int) ((ticks / 3) % animationCycles) * frameHeightForAnim;
 
         graphics.blit(
-                DynamicResourceBars.loc("textures/gui/air_background.png"),
-                xPos + config.airBackgroundXOffset, 
-                yPos + config.airBackgroundYOffset, 
+                BarTextures.AIR_BACKGROUND,
+                xPos + air.backgroundXOffset, 
+                yPos + air.backgroundYOffset, 
                 0, 0, backgroundWidth, backgroundHeight, 256, 256
         );
 
@@ -209,7 +212,7 @@ public class AirBarRenderer {
                 int textureVOffset = animOffset + (barHeight - filledHeight);
 
                 graphics.blit(
-                        DynamicResourceBars.loc("textures/gui/air_bar.png"),
+                        BarTextures.AIR_BAR,
                         barRenderX, barRenderY,
                         0, textureVOffset,       // uOffset, vOffset
                         barWidth, filledHeight,   // imageWidth, imageHeight (drawn size)
@@ -233,7 +236,7 @@ public class AirBarRenderer {
                 }
 
                 graphics.blit(
-                        DynamicResourceBars.loc("textures/gui/air_bar.png"),
+                        BarTextures.AIR_BAR,
                         barRenderX, yPos + barOnlyYOffset,
                         uTexOffset, animOffset,     // uOffset, vOffset (animOffset is the start of the current animation frame)
                         filledWidth, barHeight,     // imageWidth, imageHeight (drawn size)
@@ -242,13 +245,13 @@ public class AirBarRenderer {
             }
         }
 
-        if (config.enableAirIcon || EditModeManager.isEditModeEnabled()) {
-            int displayAir = EditModeManager.isEditModeEnabled() && currentAir >= maxAir ? maxAir / 2 : currentAir;
+        if (air.enableIcon || ctx.editMode()) {
+            int displayAir = ctx.editMode() && currentAir >= maxAir ? maxAir / 2 : currentAir;
             AirIcon icon = AirIcon.fromAirValue(displayAir, maxAir);
-            ScreenRect iconRect = getSubElementRect(SubElementType.ICON, player);
+            ScreenRect iconRect = getSubElementRect(settings, SubElementType.ICON, player);
             
             graphics.blit(
-                    DynamicResourceBars.loc("textures/gui/air/" + icon.getTexture() + ".png"),
+                    icon.getLocation(),
                     iconRect.x(),
                     iconRect.y(),
                     0, 0,
@@ -258,14 +261,14 @@ public class AirBarRenderer {
         }
         
         // Add focus mode outline rendering
-        if (EditModeManager.isEditModeEnabled()) {
-            ScreenRect complexRect = getScreenRect(player);
+        if (ctx.editMode()) {
+            ScreenRect complexRect = getScreenRect(settings, player);
             if (EditModeManager.getFocusedElement() == dev.muon.dynamic_resource_bars.util.DraggableElement.AIR_BAR) {
                 int focusedBorderColor = 0xA0FFFF00;
-                ScreenRect bgRect = getSubElementRect(SubElementType.BACKGROUND, player);
+                ScreenRect bgRect = getSubElementRect(settings, SubElementType.BACKGROUND, player);
                 graphics.renderOutline(bgRect.x()-1, bgRect.y()-1, bgRect.width()+2, bgRect.height()+2, focusedBorderColor);
                 
-                ScreenRect barRect = getSubElementRect(SubElementType.BAR_MAIN, player);
+                ScreenRect barRect = getSubElementRect(settings, SubElementType.BAR_MAIN, player);
                 graphics.renderOutline(barRect.x()-1, barRect.y()-1, barRect.width()+2, barRect.height()+2, 0xA0ADD8E6);
                 
                 graphics.renderOutline(complexRect.x()-2, complexRect.y()-2, complexRect.width()+4, complexRect.height()+4, 0x80FFFFFF);
@@ -279,14 +282,14 @@ public class AirBarRenderer {
         RenderSystem.disableBlend();
     }
 
-    private static int getTextColor() {
-        ClientConfig config = ModConfigManager.getClient();
-        TextBehavior behavior = config.showAirText;
+    private static int getTextColor(FrameContext ctx) {
+        ConfigSnapshot.AirSettings air = ctx.settings().air;
+        TextBehavior behavior = air.showText;
         long timeSinceNotFull = airTextStartTime > 0 ?
-                System.currentTimeMillis() - airTextStartTime : 0;
+                ctx.millis() - airTextStartTime : 0;
 
-        int baseColor = config.airTextColor & 0xFFFFFF;
-        int alpha = config.airTextOpacity;
+        int baseColor = air.textColor & 0xFFFFFF;
+        int alpha = air.textOpacity;
 
         if (behavior == TextBehavior.WHEN_NOT_FULL && shouldShowAirText) {
              // Already handled by shouldRenderText logic, just render with full alpha
@@ -294,16 +297,16 @@ public class AirBarRenderer {
             alpha = (int)(alpha * (RenderUtil.calculateTextAlpha(timeSinceNotFull) / (float)RenderUtil.BASE_TEXT_ALPHA));
         }
         
-        alpha = (int) (alpha * getAirBarAlpha()); // Modulate with bar alpha
+        alpha = (int) (alpha * getAirBarAlpha(ctx)); // Modulate with bar alpha
         alpha = Math.max(10, Math.min(255, alpha));
 
         return (alpha << 24) | baseColor;
     }
 
-    private static boolean shouldRenderText() {
-        TextBehavior behavior = ModConfigManager.getClient().showAirText;
+    private static boolean shouldRenderText(FrameContext ctx) {
+        TextBehavior behavior = ctx.settings().air.showText;
 
-        if (EditModeManager.isEditModeEnabled()) {
+        if (ctx.editMode()) {
             if (behavior == TextBehavior.ALWAYS || behavior == TextBehavior.WHEN_NOT_FULL) {
                 return true;
             }
@@ -316,27 +319,26 @@ public class AirBarRenderer {
         }
 
         // WHEN_NOT_FULL logic
-        int currentAir = Minecraft.getInstance().player.getAirSupply();
-        int maxAir = Minecraft.getInstance().player.getMaxAirSupply();
-        boolean isNotFull = currentAir < maxAir;
+        PlayerStatSnapshot stats = ctx.stats(Minecraft.getInstance().player);
+        boolean isNotFull = stats.airSupply < stats.maxAirSupply;
 
         if (isNotFull) {
             shouldShowAirText = true;
-            airTextStartTime = System.currentTimeMillis(); // Keep resetting timer while not full
+            airTextStartTime = ctx.millis(); // Keep resetting timer while not full
             return true;
         } else {
             // Was not full, but now is. Fade out.
             if (shouldShowAirText) {
                 shouldShowAirText = false; // Stop persistent rendering
             }
-            long timeSinceFull = System.currentTimeMillis() - airTextStartTime;
+            long timeSinceFull = ctx.millis() - airTextStartTime;
             return timeSinceFull < RenderUtil.TEXT_DISPLAY_DURATION;
         }
     }
 
     public static void triggerTextDisplay() {
         // This method may no longer be necessary with the new logic, but keeping for now
-        airTextStartTime = System.currentTimeMillis();
+        airTextStartTime = FrameContext.now();
         shouldShowAirText = true;
     }
 
@@ -346,10 +348,10 @@ public class AirBarRenderer {
     }
 
     // New fade behavior methods
-    private static void setAirBarVisibility(boolean visible) {
+    private static void setAirBarVisibility(FrameContext ctx, boolean visible) {
         if (airBarSetVisible != visible) {
             if (!visible) {
-                airBarDisabledStartTime = System.currentTimeMillis();
+                airBarDisabledStartTime = ctx.millis();
             }
             airBarSetVisible = visible;
         }
@@ -359,11 +361,11 @@ public class AirBarRenderer {
         return airBarSetVisible;
     }
 
-    private static float getAirBarAlpha() {
+    private static float getAirBarAlpha(FrameContext ctx) {
         if (isAirBarVisible()) {
             return 1.0f;
         }
-        long timeSinceDisabled = System.currentTimeMillis() - airBarDisabledStartTime;
+        long timeSinceDisabled = ctx.millis() - airBarDisabledStartTime;
         if (timeSinceDisabled >= RenderUtil.BAR_FADEOUT_DURATION) {
             return 0.0f;
         }
@@ -1,10 +1,12 @@
 package dev.muon.dynamic_resource_bars.render;
 
-import com.google.common.collect.Multimap;
 import com.mojang.blaze3d.systems.RenderSystem;
 import dev.muon.dynamic_resource_bars.DynamicResourceBars;
-import dev.muon.dynamic_resource_bars.config.ModConfigManager;
-import dev.muon.dynamic_resource_bars.config.ClientConfig;
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
+import dev.muon.dynamic_resource_bars.util.BarLayout;
+import dev.muon.dynamic_resource_bars.util.ArmorStatsCache;
+import dev.muon.dynamic_resource_bars.util.BarLayoutCache;
+import dev.muon.dynamic_resource_bars.util.DraggableElement;
 import dev.muon.dynamic_resource_bars.util.BarRenderBehavior;
 import dev.muon.dynamic_resource_bars.util.HUDPositioning;
 import dev.muon.dynamic_resource_bars.util.Position;
@@ -12,19 +14,9 @@ import dev.muon.dynamic_resource_bars.util.RenderUtil;
 import dev.muon.dynamic_resource_bars.util.ScreenRect;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
-import net.minecraft.world.entity.EquipmentSlot;
-import net.minecraft.world.entity.ai.attributes.Attribute;
-import net.minecraft.world.entity.ai.attributes.AttributeModifier;
-import net.minecraft.world.entity.ai.attributes.Attributes;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.item.ArmorItem;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.enchantment.EnchantmentHelper;
-import net.minecraft.world.item.enchantment.Enchantments;
-
-#if NEWER_THAN_20_1
-import net.minecraft.client.DeltaTracker;
-#endif
 
 import dev.muon.dynamic_resource_bars.util.SubElementType;
 import dev.muon.dynamic_resource_bars.util.TickHandler;
@@ -41,7 +33,7 @@ public class ArmorBarRenderer {
     private static boolean armorBarSetVisible = true;
     private static long armorBarDisabledStartTime = 0L;
 
-    private enum ArmorIcon {
+    enum ArmorIcon {
         NONE("tier_0"),
         LIGHT("tier_1"),
         MEDIUM("tier_2"),
@@ -55,102 +47,103 @@ public class ArmorBarRenderer {
         DIVINE("tier_10");
 
         private final String texture;
+        private final ResourceLocation location;
 
         ArmorIcon(String texture) {
             this.texture = texture;
+            this.location = BarTextures.gui("armors/" + texture);
         }
 
         public String getTexture() {
             return texture;
         }
 
-        public static ArmorIcon fromArmorValue(int armorValue) {
+        public ResourceLocation getLocation() {
+            return location;
+        }
+
+        public static ArmorIcon fromArmorValue(int armorValue, int maxArmor) {
             if (armorValue <= 0) {
                 return NONE;
             }
 
-            int maxArmor = ModConfigManager.getClient().maxExpectedArmor;
             int tier = Math.max(1, Math.min(10, (int) ((float) armorValue / maxArmor * 10)));
             return values()[tier];
         }
     }
 
-    public static ScreenRect getScreenRect(Player player) {
+    public static ScreenRect getScreenRect(ConfigSnapshot settings, Player player) {
         if (player == null) return new ScreenRect(0,0,0,0);
-        var config = ModConfigManager.getClient();
-        int globalPercent = Math.max(0, Math.min(100, config.globalBarWidthModifier));
-        int backgroundWidth = Math.round(config.armorBackgroundWidth * (globalPercent / 100.0f));
-        int backgroundHeight = config.armorBackgroundHeight;
-        ScreenRect parentBox = new ScreenRect(0, 0, backgroundWidth, backgroundHeight);
-        Position anchorPos = HUDPositioning.alignBoundingBoxToAnchor(parentBox, config.armorBarAnchor);
-        Position finalPos = anchorPos.offset(config.armorTotalXOffset, config.armorTotalYOffset);
-        return new ScreenRect(finalPos.x(), finalPos.y(), backgroundWidth, backgroundHeight);
+        return getLayout(settings).bounds();
     }
 
-    public static ScreenRect getSubElementRect(SubElementType type, Player player) {
-        ScreenRect complexRect = getScreenRect(player);
-        if (complexRect == null || (complexRect.width() == 0 && complexRect.height() == 0)) {
+    public static ScreenRect getSubElementRect(ConfigSnapshot settings, SubElementType type, Player player) {
+        if (player == null) return new ScreenRect(0, 0, 0, 0);
+        BarLayout layout = getLayout(settings);
+        ScreenRect complexRect = layout.bounds();
+        if (complexRect.width() == 0 && complexRect.height() == 0) {
             return new ScreenRect(0, 0, 0, 0);
         }
+        return layout.get(type);
+    }
 
-        ClientConfig config = ModConfigManager.getClient();
-        int globalPercent = Math.max(0, Math.min(100, config.globalBarWidthModifier));
-        int x = complexRect.x();
-        int y = complexRect.y();
-
-        switch (type) {
-            case BACKGROUND:
-                return new ScreenRect(x + config.armorBackgroundXOffset, 
-                                      y + config.armorBackgroundYOffset,
-                                      Math.round(config.armorBackgroundWidth * (globalPercent / 100.0f)),
-                                      config.armorBackgroundHeight);
-            case BAR_MAIN:
-                return new ScreenRect(x + config.armorBarXOffset,
-                                      y + config.armorBarYOffset,
-                                      Math.round(config.armorBarWidth * (globalPercent / 100.0f)),
-                                      config.armorBarHeight);
-            case TEXT:
-                // Text area now positioned relative to complexRect, using armorBarWidth/Height for its dimensions
-                return new ScreenRect(x + config.armorTextXOffset, 
-                                      y + config.armorTextYOffset, 
-                                      Math.round(config.armorBarWidth * (globalPercent / 100.0f)), 
-                                      config.armorBarHeight);
-            case ICON:
-                // Icon positioned relative to complexRect top-left
-                return new ScreenRect(x + config.armorIconXOffset, 
-                                      y + config.armorIconYOffset, 
-                                      config.armorIconSize, 
-                                      config.armorIconSize);
-            default:
-                return new ScreenRect(0, 0, 0, 0);
+    private static BarLayout getLayout(ConfigSnapshot settings) {
+        BarLayout layout = BarLayoutCache.lookup(settings, DraggableElement.ARMOR_BAR, 0, 0);
+        if (layout == null) {
+            layout = BarLayoutCache.store(settings, DraggableElement.ARMOR_BAR, 0, 0, solveLayout(settings));
         }
+        return layout;
+    }
+
+    /**
+     * Computes the bounding box and every sub-element rect in one pass.
+     */
+    private static BarLayout solveLayout(ConfigSnapshot settings) {
+        ConfigSnapshot.ArmorSettings armor = settings.armor;
+        int globalPercent = Math.max(0, Math.min(100, settings.global.globalBarWidthModifier));
+        int backgroundWidth = Math.round(armor.backgroundWidth * (globalPercent / 100.0f));
+        int backgroundHeight = armor.backgroundHeight;
+        int barWidth = Math.round(armor.barWidth * (globalPercent / 100.0f));
+        ScreenRect parentBox = new ScreenRect(0, 0, backgroundWidth, backgroundHeight);
+        Position anchorPos = HUDPositioning.alignBoundingBoxToAnchor(parentBox, armor.barAnchor);
+        Position finalPos = anchorPos.offset(armor.totalXOffset, armor.totalYOffset);
+        int x = finalPos.x();
+        int y = finalPos.y();
+
+        return new BarLayout(new ScreenRect(x, y, backgroundWidth, backgroundHeight))
+                .set(SubElementType.BACKGROUND, new ScreenRect(x + armor.backgroundXOffset, y + armor.backgroundYOffset, backgroundWidth, backgroundHeight))
+                .set(SubElementType.BAR_MAIN, new ScreenRect(x + armor.barXOffset, y + armor.barYOffset, barWidth, armor.barHeight))
+                // Text area is positioned relative to the complex rect, using the bar's dimensions
+                .set(SubElementType.TEXT, new ScreenRect(x + armor.textXOffset, y + armor.textYOffset, barWidth, armor.barHeight))
+                .set(SubElementType.ICON, new ScreenRect(x + armor.iconXOffset, y + armor.iconYOffset, armor.iconSize, armor.iconSize));
     }
 
-    public static void render(GuiGraphics graphics, Player player) {
-        ClientConfig config = ModConfigManager.getClient();
-        if (config.armorBarBehavior != BarRenderBehavior.CUSTOM) {
+    public static void render(GuiGraphics graphics, Player player, FrameContext ctx) {
+        ConfigSnapshot settings = ctx.settings();
+        ConfigSnapshot.ArmorSettings armor = settings.armor;
+        if (armor.barBehavior != BarRenderBehavior.CUSTOM) {
             return;
         }
         
-        int armorValue = player.getArmorValue();
+        int armorValue = ctx.stats(player).armorValue;
         
         // Use a dummy value in edit mode for visibility
-        if (EditModeManager.isEditModeEnabled() && armorValue == 0) {
-            armorValue = config.maxExpectedArmor; 
+        if (ctx.editMode() && armorValue == 0) {
+            armorValue = armor.maxExpectedArmor; 
         }
         
         // Set visibility based on armor value (fade when empty) unless in edit mode
-        setArmorBarVisibility(armorValue > 0 || EditModeManager.isEditModeEnabled());
+        setArmorBarVisibility(ctx, armorValue > 0 || ctx.editMode());
         
         // Don't render if fully faded and not in edit mode
-        if (!isArmorBarVisible() && !EditModeManager.isEditModeEnabled() && 
-            (System.currentTimeMillis() - armorBarDisabledStartTime) > RenderUtil.BAR_FADEOUT_DURATION) {
+        if (!isArmorBarVisible() && !ctx.editMode() && 
+            (ctx.millis() - armorBarDisabledStartTime) > RenderUtil.BAR_FADEOUT_DURATION) {
             return;
         }
         
         // Get current alpha for rendering
-        float currentAlphaForRender = getArmorBarAlpha();
-        if (EditModeManager.isEditModeEnabled() && !isArmorBarVisible()) {
+        float currentAlphaForRender = getArmorBarAlpha(ctx);
+        if (ctx.editMode() && !isArmorBarVisible()) {
             currentAlphaForRender = 1.0f; // Show fully in edit mode
         }
         
@@ -159,38 +152,38 @@ public class ArmorBarRenderer {
         
         Position armorPos = HUDPositioning.getHealthAnchor(); // Or implement getArmorAnchor() if needed
 
-        int backgroundWidth = config.armorBackgroundWidth;
-        int backgroundHeight = config.armorBackgroundHeight;
-        int barWidth = config.armorBarWidth;
-        int barHeight = config.armorBarHeight;
-        int barOnlyXOffset = config.armorBarXOffset;
-        int barOnlyYOffset = config.armorBarYOffset;
-        int iconSize = config.armorIconSize;
-        boolean isRightAnchored = config.armorBarAnchor == AnchorPoint.TOP_RIGHT || config.armorBarAnchor == AnchorPoint.CENTER_RIGHT || config.armorBarAnchor == AnchorPoint.BOTTOM_RIGHT;
+        int backgroundWidth = armor.backgroundWidth;
+        int backgroundHeight = armor.backgroundHeight;
+        int barWidth = armor.barWidth;
+        int barHeight = armor.barHeight;
+        int barOnlyXOffset = armor.barXOffset;
+        int barOnlyYOffset = armor.barYOffset;
+        int iconSize = armor.iconSize;
+        boolean isRightAnchored = armor.barAnchor == AnchorPoint.TOP_RIGHT || armor.barAnchor == AnchorPoint.CENTER_RIGHT || armor.barAnchor == AnchorPoint.BOTTOM_RIGHT;
 
         int xPos = armorPos.x();
         int yPos = armorPos.y();
 
         graphics.blit(
-                DynamicResourceBars.loc("textures/gui/armor_background.png"), 
-                xPos + config.armorBackgroundXOffset, 
-                yPos + config.armorBackgroundYOffset, 
+                BarTextures.ARMOR_BACKGROUND, 
+                xPos + armor.backgroundXOffset, 
+                yPos + armor.backgroundYOffset, 
                 0, 0, backgroundWidth, backgroundHeight, 256, 256
         );
 
-        float armorPercent = Math.min(1.0f, (float) armorValue / config.maxExpectedArmor);
+        float armorPercent = Math.min(1.0f, (float) armorValue / armor.maxExpectedArmor);
 
         int filledWidth = Math.round((barWidth - (float) iconSize / 2) * armorPercent);
         if (filledWidth > 0) {
             int barX = xPos + barOnlyXOffset;
             // Determine the actual width of the bar texture portion, considering the icon.
-            float actualBarTexturePortionWidth = config.armorBarWidth;
-            if (config.enableArmorIcon) {
-                actualBarTexturePortionWidth -= (float)config.armorIconSize / 2.0f;
+            float actualBarTexturePortionWidth = armor.barWidth;
+            if (armor.enableIcon) {
+                actualBarTexturePortionWidth -= (float)armor.iconSize / 2.0f;
             }
 
             int uTexOffset = 0;
-            if (config.enableArmorIcon) {
+            if (armor.enableIcon) {
                 if (isRightAnchored) {
                     barX += barWidth - filledWidth - iconSize / 2;
                     uTexOffset = Math.round(actualBarTexturePortionWidth) - filledWidth;
@@ -201,14 +194,14 @@ public class ArmorBarRenderer {
             } else { // No icon
                 if (isRightAnchored) {
                     barX += barWidth - filledWidth;
-                    uTexOffset = config.armorBarWidth - filledWidth;
+                    uTexOffset = armor.barWidth - filledWidth;
                 }
                 // else: barX is xPos + barOnlyXOffset, uTexOffset is 0 for left-anchored
             }
             if (uTexOffset < 0) uTexOffset = 0; // Prevent negative texture offset
 
             graphics.blit(
-                    DynamicResourceBars.loc("textures/gui/armor_bar.png"),
+                    BarTextures.ARMOR_BAR,
                     barX,
                     yPos + barOnlyYOffset,
                     uTexOffset, 0, // Use calculated uTexOffset, vOffset is 0 for armor bar
@@ -218,14 +211,14 @@ public class ArmorBarRenderer {
             );
         }
 
-        renderProtectionOverlay(graphics, player, config, xPos, yPos, barWidth, barHeight, barOnlyXOffset, barOnlyYOffset, iconSize);
+        renderProtectionOverlay(graphics, player, armor, xPos, yPos, barWidth, barHeight, barOnlyXOffset, barOnlyYOffset, iconSize);
 
-        if (config.enableArmorIcon || EditModeManager.isEditModeEnabled()) {
-            ArmorIcon icon = ArmorIcon.fromArmorValue(armorValue);
-            ScreenRect iconRect = getSubElementRect(SubElementType.ICON, player);
+        if (armor.enableIcon || ctx.editMode()) {
+            ArmorIcon icon = ArmorIcon.fromArmorValue(armorValue, armor.maxExpectedArmor);
+            ScreenRect iconRect = getSubElementRect(settings, SubElementType.ICON, player);
             
             graphics.blit(
-                    DynamicResourceBars.loc("textures/gui/armors/" + icon.getTexture() + ".png"),
+                    icon.getLocation(),
                     iconRect.x(),
                     iconRect.y(),
                     0, 0,
@@ -235,14 +228,14 @@ public class ArmorBarRenderer {
         }
         
         // Add focus mode outline rendering
-        if (EditModeManager.isEditModeEnabled()) {
-            ScreenRect complexRect = getScreenRect(player);
+        if (ctx.editMode()) {
+            ScreenRect complexRect = getScreenRect(settings, player);
             if (EditModeManager.getFocusedElement() == dev.muon.dynamic_resource_bars.util.DraggableElement.ARMOR_BAR) {
                 int focusedBorderColor = 0xA0FFFF00;
-                ScreenRect bgRect = getSubElementRect(SubElementType.BACKGROUND, player);
+                ScreenRect bgRect = getSubElementRect(settings, SubElementType.BACKGROUND, player);
                 graphics.renderOutline(bgRect.x()-1, bgRect.y()-1, bgRect.width()+2, bgRect.height()+2, focusedBorderColor);
                 
-                ScreenRect barRect = getSubElementRect(SubElementType.BAR_MAIN, player);
+                ScreenRect barRect = getSubElementRect(settings, SubElementType.BAR_MAIN, player);
                 graphics.renderOutline(barRect.x()-1, barRect.y()-1, barRect.width()+2, barRect.height()+2, 0xA0C0C0C0);
                 
                 graphics.renderOutline(complexRect.x()-2, complexRect.y()-2, complexRect.width()+4, complexRect.height()+4, 0x80FFFFFF);
@@ -256,36 +249,29 @@ public class ArmorBarRenderer {
         RenderSystem.disableBlend();
     }
 
-    private static void renderProtectionOverlay(GuiGraphics graphics, Player player, ClientConfig config,
+    private static void renderProtectionOverlay(GuiGraphics graphics, Player player, ConfigSnapshot.ArmorSettings armor,
                                                 int xPos, int yPos, int barWidth, int barHeight,
                                                 int barOnlyXOffset, int barOnlyYOffset, int iconSize) {
-        int totalProtection = 0;
-        // TODO: 1.21+
-        #if UPTO_20_1
-        for (ItemStack armorPiece : player.getArmorSlots()) {
-            totalProtection += EnchantmentHelper.getItemEnchantmentLevel(Enchantments.ALL_DAMAGE_PROTECTION, armorPiece);
-        }
-        #endif
-
+        int totalProtection = ArmorStatsCache.getTotalProtection(player);
         if (totalProtection <= 0) return;
 
         RenderSystem.enableBlend();
         RenderSystem.defaultBlendFunc();
 
-        int maxProtection = config.maxExpectedProt;
+        int maxProtection = armor.maxExpectedProt;
         float protectionScale = Math.min(1.0f, (float)totalProtection / maxProtection);
         
         // Use the same flash alpha system as AppleSkin overlays
         float pulseAlpha = 0.5f + (TickHandler.getOverlayFlashAlpha() * 0.5f); // Range from 0.5 to 1.0
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, pulseAlpha);
         
-        int adjustedBarWidth = config.enableArmorIcon ?
+        int adjustedBarWidth = armor.enableIcon ?
                 barWidth - (iconSize / 2) : barWidth;
         int overlayWidth = (int)(adjustedBarWidth * protectionScale);
 
         graphics.blit(
-                DynamicResourceBars.loc("textures/gui/protection_overlay.png"),
-                xPos + (config.enableArmorIcon ? barOnlyXOffset + iconSize / 2 : barOnlyXOffset),
+                BarTextures.PROTECTION_OVERLAY,
+                xPos + (armor.enableIcon ? barOnlyXOffset + iconSize / 2 : barOnlyXOffset),
                 yPos + barOnlyYOffset,
                 0, 0,
                 overlayWidth, barHeight,
@@ -297,26 +283,26 @@ public class ArmorBarRenderer {
     }
 
 
-    private static int getTextColor() {
-        ClientConfig config = ModConfigManager.getClient();
+    private static int getTextColor(FrameContext ctx) {
+        ConfigSnapshot.ArmorSettings armor = ctx.settings().armor;
         long timeSinceTextTrigger = armorTextStartTime > 0 ?
-                System.currentTimeMillis() - armorTextStartTime : 0;
+                ctx.millis() - armorTextStartTime : 0;
 
-        int baseColor = config.armorTextColor & 0xFFFFFF;
-        int alpha = config.armorTextOpacity;
+        int baseColor = armor.textColor & 0xFFFFFF;
+        int alpha = armor.textOpacity;
         
         if (!shouldShowArmorText && armorTextStartTime > 0) {
             alpha = (int)(alpha * (RenderUtil.calculateTextAlpha(timeSinceTextTrigger) / (float)RenderUtil.BASE_TEXT_ALPHA));
         }
         
-        alpha = (int) (alpha * getArmorBarAlpha()); // Modulate with bar alpha
+        alpha = (int) (alpha * getArmorBarAlpha(ctx)); // Modulate with bar alpha
         alpha = Math.max(10, Math.min(255, alpha));
 
         return (alpha << 24) | baseColor;
     }
 
     public static void triggerTextDisplay() {
-        armorTextStartTime = System.currentTimeMillis();
+        armorTextStartTime = FrameContext.now();
         shouldShowArmorText = true;
     }
 
@@ -325,29 +311,14 @@ public class ArmorBarRenderer {
     }
 
     public static boolean isArmorRelevantItem(ItemStack stack) {
-        if (stack.isEmpty()) return false;
-
-        if (stack.getItem() instanceof ArmorItem) return true;
-
-        // TODO: 1.21+
-        #if UPTO_20_1
-        for (EquipmentSlot slot : EquipmentSlot.values()) {
-            Multimap<Attribute, AttributeModifier> modifiers = stack.getAttributeModifiers(slot);
-            if (modifiers.get(Attributes.ARMOR).stream()
-                    .mapToDouble(AttributeModifier::getAmount)
-                    .sum() > 0) {
-                return true;
-            }
-        }
-        #endif
-        return false;
+        return ArmorStatsCache.isArmorRelevantItem(stack);
     }
 
     // New fade behavior methods
-    private static void setArmorBarVisibility(boolean visible) {
+    private static void setArmorBarVisibility(FrameContext ctx, boolean visible) {
         if (armorBarSetVisible != visible) {
             if (!visible) {
-                armorBarDisabledStartTime = System.currentTimeMillis();
+                armorBarDisabledStartTime = ctx.millis();
             }
             armorBarSetVisible = visible;
         }
@@ -357,11 +328,11 @@ public class ArmorBarRenderer {
         return armorBarSetVisible;
     }
 
-    private static float getArmorBarAlpha() {
+    private static float getArmorBarAlpha(FrameContext ctx) {
         if (isArmorBarVisible()) {
             return 1.0f;
         }
-        long timeSinceDisabled = System.currentTimeMillis() - armorBarDisabledStartTime;
+        long timeSinceDisabled = ctx.millis() - armorBarDisabledStartTime;
         if (timeSinceDisabled >= RenderUtil.BAR_FADEOUT_DURATION) {
             return 0.0f;
         }
@@ -0,0 +1,132 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.world.entity.Entity;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Animation state of one entity's health, mana and stamina bars: the smoothed values, hit indicator, text and
+ * fade timers. The renderers look it up by entity, so any number of entities can be animated at once.
+ * <p>
+ * States are kept in a {@link Pool} keyed by entity id and dropped once they haven't been used for
+ * {@link #IDLE_EVICT_MILLIS}, so entities that stop being drawn (or despawn) don't pile up. A dropped state starts
+ * over like a new one. A pool is cleared when the level changes, since entity ids are per level.
+ * Render thread only.
+ */
+public final class BarAnimationState {
+    static final long IDLE_EVICT_MILLIS = 30_000L;
+    static final long SWEEP_INTERVAL_MILLIS = 5_000L;
+
+    // Player HUD and party bars
+    private static final Pool shared = new Pool();
+
+    private long lastUsed;
+
+    // Health
+    float currentHealthAnimated = -1.0f; // Animated health for the main bar
+    float currentAbsorptionAnimated = -1.0f; // Animated absorption for the main bar
+    float delayedHealthCurrent = -1.0f; // Animated health for the hit indicator bar (smoothly updates)
+    long lastHitTime = 0L; // Timestamp of when damage was *last detected* (initiates a hold)
+    float healthAtLastHit = -1.0f; // Stores the animated health value *right before* the main bar instantly drops due to damage
+    float lastHealth = -1; // Used for WHEN_NOT_FULL text behavior
+    long fullHealthStartTime = 0; // Used for WHEN_NOT_FULL text fade
+    boolean healthBarSetVisible = true; // Default to visible, used for bar fade
+    long healthBarDisabledStartTime = 0L; // Used for bar fade timing
+    float regenGradientFade = 0.0f;
+    long lastRegenEffectStateChange = 0L;
+    boolean lastHadRegen = false;
+
+    // Mana
+    float currentManaAnimated = -1.0f; // Animated mana for the main bar
+    float currentReservedManaAnimated = -1.0f; // Animated reserved mana
+    float lastMana = -1;
+    long fullManaStartTime = 0;
+    boolean manaBarSetVisible = true; // Default to visible, used for bar fade
+    long manaBarDisabledStartTime = 0L; // Used for bar fade timing
+
+    // Stamina, or the mount's health while riding
+    float currentStaminaAnimated = -1.0f; // Animated stamina for the main bar
+    float lastStamina = -1;
+    long fullStaminaStartTime = 0;
+    boolean staminaBarSetVisible = true; // Default to visible
+    long staminaBarDisabledStartTime = 0L;
+    float lastMountHealth = -1;
+    float lastMountMaxHealth = -1;
+    long fullMountHealthStartTime = 0;
+
+    /**
+     * A state that isn't tracked by a {@link Pool}, for renderers that keep their own.
+     */
+    BarAnimationState() {
+    }
+
+    /**
+     * The state for {@code entity} in the shared pool, created on first use.
+     * @param now Current time on the {@link FrameContext#now()} clock
+     */
+    public static BarAnimationState of(Entity entity, long now) {
+        return shared.of(entity, now);
+    }
+
+    /**
+     * States keyed by entity id. Renderers that animate the same entities as another renderer on a different clock
+     * or more than once per frame keep their own pool, so they don't advance each other's animations.
+     */
+    public static final class Pool {
+        private final Int2ObjectOpenHashMap<BarAnimationState> states = new Int2ObjectOpenHashMap<>();
+        private WeakReference<Object> statesLevel = new WeakReference<>(null);
+        private long lastSweep;
+
+        /**
+         * The state for {@code entity}, created on first use.
+         * @param now Current time on the {@link FrameContext#now()} clock
+         */
+        public BarAnimationState of(Entity entity, long now) {
+            return get(entity.level(), entity.getId(), now);
+        }
+
+        /**
+         * The state for entity {@code id} in {@code level}. The level is only compared by identity.
+         */
+        BarAnimationState get(Object level, int id, long now) {
+            if (statesLevel.get() != level) {
+                states.clear();
+                statesLevel = new WeakReference<>(level);
+            }
+            if (now - lastSweep >= SWEEP_INTERVAL_MILLIS) {
+                evictIdle(now);
+            }
+            BarAnimationState state = states.get(id);
+            if (state == null) {
+                state = new BarAnimationState();
+                states.put(id, state);
+            }
+            state.lastUsed = now;
+            return state;
+        }
+
+        /**
+         * Drops the states that haven't been used for {@link #IDLE_EVICT_MILLIS}.
+         */
+        public void evictIdle(long now) {
+            lastSweep = now;
+            ObjectIterator<Int2ObjectMap.Entry<BarAnimationState>> iterator = states.int2ObjectEntrySet().fastIterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().getValue().lastUsed > IDLE_EVICT_MILLIS) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        public int size() {
+            return states.size();
+        }
+
+        public void clear() {
+            states.clear();
+        }
+    }
+}
@@ -1,129 +1,166 @@
 package dev.muon.dynamic_resource_bars.render;
 
-import dev.muon.dynamic_resource_bars.config.ModConfigManager;
-import dev.muon.dynamic_resource_bars.render.AirBarRenderer;
-import dev.muon.dynamic_resource_bars.render.ArmorBarRenderer;
-import dev.muon.dynamic_resource_bars.render.HealthBarRenderer;
-import dev.muon.dynamic_resource_bars.render.StaminaBarRenderer;
-import dev.muon.dynamic_resource_bars.render.ManaBarRenderer;
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
 import dev.muon.dynamic_resource_bars.util.BarRenderBehavior;
 import dev.muon.dynamic_resource_bars.util.BarRenderOrder;
 import dev.muon.dynamic_resource_bars.util.ManaBarBehavior;
 import dev.muon.dynamic_resource_bars.compat.ManaProviderManager;
 import dev.muon.dynamic_resource_bars.util.ManaProvider;
+import dev.muon.dynamic_resource_bars.util.PlayerStatSnapshot;
+import dev.muon.dynamic_resource_bars.util.QuadBatch;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.world.entity.player.Player;
 
+import java.util.function.Predicate;
+
 #if NEWER_THAN_20_1
 import net.minecraft.client.DeltaTracker;
 #endif
 
 /**
  * Centralized render manager that handles the render order for all bar groups.
- * Ensures bars render in the correct order based on their BarRenderOrder.
+ * Draws the bars compiled by {@link BarRendererRegistry}, back to front, in two passes (see
+ * {@link BarRenderer#isStatusBar()}):
+ * <ul>
+ *     <li>{@link #renderStatusBars} from the vanilla player health element: health, stamina, mana, armor, air.
+ *     Called on every platform whether or not the health bar replaces the vanilla hearts.</li>
+ *     <li>{@link #renderOverlayBars} from a HUD hook of its own after the rest of the HUD: party, target and
+ *     bars other mods register.</li>
+ * </ul>
  */
 public class BarRenderManager {
 
     /**
-     * Renders all enabled bars in the correct order.
-     * This method should be called from the main overlay system.
+     * Renders the enabled status bars in order. Called where the vanilla hearts are drawn
+     * ({@code CommonEvents}, {@code GuiOverlays}, {@code GuiMixin}).
      */
-    public static void renderAllBars(GuiGraphics graphics, Player player, 
+    public static void renderStatusBars(GuiGraphics graphics, Player player,
             #if NEWER_THAN_20_1 DeltaTracker deltaTracker #else float partialTicks #endif) {
         
         if (player == null || Minecraft.getInstance().options.hideGui) {
             return;
         }
 
-        var config = ModConfigManager.getClient();
-
-        // Render bars in order from lowest to highest render order
-        for (BarRenderOrder order : BarRenderOrder.values()) {
-            switch (order) {
-                case MANA:
-                    renderManaBar(graphics, player, #if NEWER_THAN_20_1 deltaTracker #else partialTicks #endif);
-                    break;
-                case STAMINA:
-                    renderStaminaBar(graphics, player, #if NEWER_THAN_20_1 deltaTracker #else partialTicks #endif);
-                    break;
-                case HEALTH:
-                    renderHealthBar(graphics, player, #if NEWER_THAN_20_1 deltaTracker #else partialTicks #endif);
-                    break;
-                case ARMOR:
-                    renderArmorBar(graphics, player);
-                    break;
-                case AIR:
-                    renderAirBar(graphics, player, #if NEWER_THAN_20_1 deltaTracker #else partialTicks #endif);
-                    break;
-                default:
-                    // BACKGROUND and FOREGROUND are placeholder orders for future use
-                    break;
-            }
+        // Captured once so every bar in the pass shares the same clock, config and screen size
+        FrameContext ctx = FrameContext.capture(#if NEWER_THAN_20_1 deltaTracker #else partialTicks #endif);
+
+        for (BarRenderer bar : BarRendererRegistry.renderList(ctx.settings(), true)) {
+            bar.render(graphics, player, ctx);
         }
     }
 
     /**
-     * Renders the mana bar if enabled and a mana provider is available.
+     * Renders the enabled overlay bars in order. Called once per frame after the rest of the HUD, which makes it the
+     * end of the HUD frame for the {@link QuadBatch} counters too.
      */
-    private static void renderManaBar(GuiGraphics graphics, Player player, 
+    public static void renderOverlayBars(GuiGraphics graphics,
             #if NEWER_THAN_20_1 DeltaTracker deltaTracker #else float partialTicks #endif) {
-        
-        var config = ModConfigManager.getClient();
-        if (config.manaBarBehavior == ManaBarBehavior.OFF) {
-            return;
-        }
-
-        ManaProvider manaProvider = ManaProviderManager.getProviderForBehavior(config.manaBarBehavior);
-        if (manaProvider != null && manaProvider.getMaxMana() > 0) {
-            ManaBarRenderer.render(graphics, #if NEWER_THAN_20_1 deltaTracker #else partialTicks #endif, manaProvider, player);
+        Minecraft minecraft = Minecraft.getInstance();
+        Player player = minecraft.player;
+        if (player != null && !minecraft.options.hideGui) {
+            FrameContext ctx = FrameContext.capture(#if NEWER_THAN_20_1 deltaTracker #else partialTicks #endif);
+            for (BarRenderer bar : BarRendererRegistry.renderList(ctx.settings(), false)) {
+                bar.render(graphics, player, ctx);
+            }
         }
+        QuadBatch.endFrame();
     }
 
     /**
-     * Renders the stamina bar if enabled.
+     * Registers the bars of this mod; called once by {@link BarRendererRegistry}.
      */
-    private static void renderStaminaBar(GuiGraphics graphics, Player player, 
-            #if NEWER_THAN_20_1 DeltaTracker deltaTracker #else float partialTicks #endif) {
-        
-        var config = ModConfigManager.getClient();
-        if (config.enableStaminaBar) {
-            StaminaBarRenderer.render(graphics, player, #if NEWER_THAN_20_1 deltaTracker #else partialTicks #endif);
-        }
+    static void registerBuiltInBars() {
+        BarRendererRegistry.register(new BuiltInBar("mana", BarRenderOrder.MANA, true,
+                settings -> settings.mana.barBehavior != ManaBarBehavior.OFF, BarRenderManager::renderManaBar));
+        BarRendererRegistry.register(new BuiltInBar("stamina", BarRenderOrder.STAMINA, true,
+                settings -> settings.stamina.enableBar, BarRenderManager::renderStaminaBar));
+        BarRendererRegistry.register(new BuiltInBar("health", BarRenderOrder.HEALTH, true,
+                settings -> settings.health.enableBar, BarRenderManager::renderHealthBar));
+        BarRendererRegistry.register(new BuiltInBar("armor", BarRenderOrder.ARMOR, true,
+                settings -> settings.armor.barBehavior == BarRenderBehavior.CUSTOM, BarRenderManager::renderArmorBar));
+        BarRendererRegistry.register(new BuiltInBar("air", BarRenderOrder.AIR, true,
+                settings -> settings.air.barBehavior == BarRenderBehavior.CUSTOM, BarRenderManager::renderAirBar));
+        BarRendererRegistry.register(new BuiltInBar("party", BarRenderOrder.PARTY, false,
+                settings -> settings.party.enableBars, PartyBarRenderer::render));
+        BarRendererRegistry.register(new BuiltInBar("target", BarRenderOrder.TARGET, false,
+                settings -> settings.target.enableBar, TargetBarRenderer::render));
     }
 
     /**
-     * Renders the health bar if enabled.
+     * Renders the mana bar if a mana provider is available.
      */
-    private static void renderHealthBar(GuiGraphics graphics, Player player, 
-            #if NEWER_THAN_20_1 DeltaTracker deltaTracker #else float partialTicks #endif) {
-        
-        var config = ModConfigManager.getClient();
-        if (config.enableHealthBar) {
-            HealthBarRenderer.render(graphics, player, player.getMaxHealth(), player.getHealth(), 
-                    (int) player.getAbsorptionAmount(), #if NEWER_THAN_20_1 deltaTracker #else partialTicks #endif);
+    private static void renderManaBar(GuiGraphics graphics, Player player, FrameContext ctx) {
+        ManaProvider manaProvider = ManaProviderManager.getProviderForBehavior(ctx.settings().mana.barBehavior);
+        if (manaProvider != null && ctx.stats(player).maxMana > 0) {
+            ManaBarRenderer.render(graphics, ctx, manaProvider, player);
         }
     }
 
-    /**
-     * Renders the armor bar if enabled and set to custom behavior.
-     */
-    private static void renderArmorBar(GuiGraphics graphics, Player player) {
-        var config = ModConfigManager.getClient();
-        if (config.armorBarBehavior == BarRenderBehavior.CUSTOM) {
-            ArmorBarRenderer.render(graphics, player);
+    private static void renderStaminaBar(GuiGraphics graphics, Player player, FrameContext ctx) {
+        StaminaBarRenderer.render(graphics, player, ctx);
+    }
+
+    private static void renderHealthBar(GuiGraphics graphics, Player player, FrameContext ctx) {
+        PlayerStatSnapshot stats = ctx.stats(player);
+        HealthBarRenderer.render(graphics, player, stats.maxHealth, stats.health,
+                (int) stats.absorption, ctx);
+    }
+
+    private static void renderArmorBar(GuiGraphics graphics, Player player, FrameContext ctx) {
+        ArmorBarRenderer.render(graphics, player, ctx);
+    }
+
+    private static void renderAirBar(GuiGraphics graphics, Player player, FrameContext ctx) {
+        if (StaminaBarRenderer.isVampire(player)) {
+            return; // Vampires don't breathe
         }
+        AirBarRenderer.render(graphics, player, ctx);
     }
 
-    /**
-     * Renders the air bar if enabled and set to custom behavior.
-     */
-    private static void renderAirBar(GuiGraphics graphics, Player player, 
-            #if NEWER_THAN_20_1 DeltaTracker deltaTracker #else float partialTicks #endif) {
-        
-        var config = ModConfigManager.getClient();
-        if (config.airBarBehavior == BarRenderBehavior.CUSTOM) {
-            AirBarRenderer.render(graphics, player, #if NEWER_THAN_20_1 deltaTracker #else partialTicks #endif);
+    @FunctionalInterface
+    private interface RenderFunction {
+        void render(GuiGraphics graphics, Player player, FrameContext ctx);
+    }
+
+    private static final class BuiltInBar implements BarRenderer {
+        private final String id;
+        private final BarRenderOrder order;
+        private final boolean statusBar;
+        private final Predicate<ConfigSnapshot> enabled;
+        private final RenderFunction renderFunction;
+
+        private BuiltInBar(String id, BarRenderOrder order, boolean statusBar, Predicate<ConfigSnapshot> enabled, RenderFunction renderFunction) {
+            this.id = id;
+            this.order = order;
+            this.statusBar = statusBar;
+            this.enabled = enabled;
+            this.renderFunction = renderFunction;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public int defaultOrder() {
+            return order.getOrder();
+        }
+
+        @Override
+        public boolean isEnabled(ConfigSnapshot settings) {
+            return enabled.test(settings);
+        }
+
+        @Override
+        public boolean isStatusBar() {
+            return statusBar;
+        }
+
+        @Override
+        public void render(GuiGraphics graphics, Player player, FrameContext ctx) {
+            renderFunction.render(graphics, player, ctx);
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
+import dev.muon.dynamic_resource_bars.util.BarRenderOrder;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * A bar drawn by {@link BarRenderManager}. The built-in bars are registered as these, and other mods can add
+ * their own through {@link BarRendererRegistry#register}.
+ * <p>
+ * Bars are drawn in two passes, see {@link #isStatusBar()}. The {@code barRenderOrder} config option and
+ * {@link #defaultOrder()} order the bars within each pass; overlay bars always draw in front of status bars.
+ */
+public interface BarRenderer {
+    /**
+     * Unique id, used for the {@code barRenderOrder} config option. Built-in bars use plain names
+     * ({@code health}, {@code mana}, ...); other mods should prefix theirs with their mod id, e.g. {@code mymod:shield}.
+     */
+    String id();
+
+    /**
+     * Where the bar goes in the z-order when the config does not list it; lower renders first (behind).
+     * See {@link BarRenderOrder} for the values the built-in bars use.
+     */
+    int defaultOrder();
+
+    /**
+     * Whether the bar is switched on in the config. Only called when the render list is compiled (after a config
+     * change), so checks that depend on the player or the current frame belong in {@link #render}.
+     */
+    boolean isEnabled(ConfigSnapshot settings);
+
+    /**
+     * Whether the bar is one of the player status bars that take the place of vanilla HUD elements (hearts, food,
+     * armor, air, ...). Those are drawn with the vanilla status bars, so only when the game shows them (not in
+     * creative or spectator). Every other bar, including the ones other mods register by default, is drawn in the
+     * overlay pass on top of the HUD, every frame the HUD is visible.
+     */
+    default boolean isStatusBar() {
+        return false;
+    }
+
+    void render(GuiGraphics graphics, Player player, FrameContext ctx);
+}
@@ -0,0 +1,131 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import dev.muon.dynamic_resource_bars.DynamicResourceBars;
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * All {@link BarRenderer}s, and the lists {@link BarRenderManager} draws each frame.
+ * <p>
+ * The render lists (one for status bars, one for overlay bars, see {@link BarRenderer#isStatusBar()}) are compiled
+ * into flat arrays holding the enabled bars back to front, and only compiled again when a bar is registered or the
+ * config changes, so a frame just walks an array. Bars listed in the
+ * {@code barRenderOrder} config option render in that order. Bars it does not list are slotted in by their
+ * {@link BarRenderer#defaultOrder()}: in front of the listed bars with a lower default order, behind the first one
+ * with a higher one.
+ */
+public final class BarRendererRegistry {
+    private static final List<BarRenderer> registered = new ArrayList<>();
+    private static volatile int version;
+
+    // Compiled on the render thread
+    private static int orderedVersion = -1;
+    private static List<String> orderedFor;
+    private static BarRenderer[] ordered = new BarRenderer[0]; // Every registered bar, back to front
+    private static BarRenderer[] scratch = new BarRenderer[0];
+    private static int compiledVersion = -1;
+    private static int compiledEpoch;
+    private static BarRenderer[] compiledStatus = new BarRenderer[0];
+    private static BarRenderer[] compiledOverlay = new BarRenderer[0];
+
+    static {
+        BarRenderManager.registerBuiltInBars();
+    }
+
+    private BarRendererRegistry() {
+    }
+
+    /**
+     * Adds a bar. Call during client setup.
+     * @throws IllegalArgumentException If a bar with the same id is already registered
+     */
+    public static synchronized void register(BarRenderer renderer) {
+        for (BarRenderer existing : registered) {
+            if (existing.id().equals(renderer.id())) {
+                throw new IllegalArgumentException("A bar renderer with id " + renderer.id() + " is already registered");
+            }
+        }
+        registered.add(renderer);
+        version++;
+        DynamicResourceBars.LOGGER.debug("Registered bar renderer {}", renderer.id());
+    }
+
+    public static synchronized List<BarRenderer> getRegistered() {
+        return List.copyOf(registered);
+    }
+
+    /**
+     * The enabled status bars (or overlay bars) for {@code settings}, back to front. Don't modify the returned array.
+     */
+    static BarRenderer[] renderList(ConfigSnapshot settings, boolean statusBars) {
+        int currentVersion = version;
+        // Live snapshots from the editor have no epoch, so those are filtered again every frame
+        if (currentVersion != compiledVersion || settings.epoch < 0 || settings.epoch != compiledEpoch) {
+            compile(settings, currentVersion);
+        }
+        return statusBars ? compiledStatus : compiledOverlay;
+    }
+
+    private static void compile(ConfigSnapshot settings, int currentVersion) {
+        List<String> order = settings.global.barRenderOrder;
+        if (currentVersion != orderedVersion || !order.equals(orderedFor)) {
+            ordered = order(order);
+            scratch = new BarRenderer[ordered.length];
+            orderedVersion = currentVersion;
+            orderedFor = order;
+        }
+        compiledStatus = filter(settings, true, compiledStatus);
+        compiledOverlay = filter(settings, false, compiledOverlay);
+        compiledVersion = currentVersion;
+        compiledEpoch = settings.epoch;
+    }
+
+    /**
+     * The enabled bars of one pass, reusing {@code previous} if nothing changed.
+     */
+    private static BarRenderer[] filter(ConfigSnapshot settings, boolean statusBars, BarRenderer[] previous) {
+        int count = 0;
+        for (BarRenderer renderer : ordered) {
+            if (renderer.isStatusBar() == statusBars && renderer.isEnabled(settings)) {
+                scratch[count++] = renderer;
+            }
+        }
+        if (count != previous.length || !Arrays.equals(scratch, 0, count, previous, 0, count)) {
+            return Arrays.copyOf(scratch, count);
+        }
+        return previous;
+    }
+
+    private static BarRenderer[] order(List<String> configOrder) {
+        List<BarRenderer> all;
+        synchronized (BarRendererRegistry.class) {
+            all = new ArrayList<>(registered);
+        }
+        List<BarRenderer> result = new ArrayList<>(all.size());
+        for (String id : configOrder) {
+            for (BarRenderer renderer : all) {
+                if (renderer.id().equals(id) && !result.contains(renderer)) {
+                    result.add(renderer);
+                }
+            }
+        }
+        List<BarRenderer> unlisted = new ArrayList<>(all);
+        unlisted.removeAll(result);
+        unlisted.sort(Comparator.comparingInt(BarRenderer::defaultOrder)); // Stable, so ties keep registration order
+        for (BarRenderer renderer : unlisted) {
+            int index = result.size();
+            for (int i = 0; i < result.size(); i++) {
+                if (configOrder.contains(result.get(i).id()) && result.get(i).defaultOrder() > renderer.defaultOrder()) {
+                    index = i;
+                    break;
+                }
+            }
+            result.add(index, renderer);
+        }
+        return result.toArray(new BarRenderer[0]);
+    }
+}
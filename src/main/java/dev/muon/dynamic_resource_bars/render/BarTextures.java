@@ -0,0 +1,55 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import dev.muon.dynamic_resource_bars.DynamicResourceBars;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Precomputed texture locations for every bar, overlay and icon.
+ * Renderers should reference these instead of building a ResourceLocation per blit,
+ * so the render path doesn't allocate strings or identifiers every frame.
+ * Identifiers don't depend on loaded resource packs, so the table is built once when the class loads.
+ */
+public final class BarTextures {
+
+    private BarTextures() {}
+
+    /**
+     * Resolves {@code textures/gui/<path>.png} in the mod namespace.
+     * Only meant for building constants; don't call this from the render loop.
+     */
+    public static ResourceLocation gui(String path) {
+        return DynamicResourceBars.loc("textures/gui/" + path + ".png");
+    }
+
+    // Health
+    public static final ResourceLocation HEALTH_BACKGROUND = gui("health_background");
+    public static final ResourceLocation HEALTH_FOREGROUND = gui("health_foreground");
+    public static final ResourceLocation HEALTH_TRAILING_ICON = gui("health_trailing_icon");
+    public static final ResourceLocation HEALTH_RESTORATION_OVERLAY = gui("health_restoration_overlay");
+    public static final ResourceLocation ABSORPTION_BAR = gui("absorption_bar");
+    public static final ResourceLocation HIT_BAR = gui("hit_bar");
+
+    // Stamina
+    public static final ResourceLocation STAMINA_BACKGROUND = gui("stamina_background");
+    public static final ResourceLocation STAMINA_FOREGROUND = gui("stamina_foreground");
+    public static final ResourceLocation STAMINA_BAR = gui("stamina_bar");
+    public static final ResourceLocation STAMINA_TRAILING_ICON = gui("stamina_trailing_icon");
+    public static final ResourceLocation NOURISHMENT_OVERLAY = gui("nourishment_overlay");
+
+    // Mana
+    public static final ResourceLocation MANA_BACKGROUND = gui("mana_background");
+    public static final ResourceLocation MANA_FOREGROUND = gui("mana_foreground");
+    public static final ResourceLocation MANA_BAR = gui("mana_bar");
+    public static final ResourceLocation MANA_TRAILING_ICON = gui("mana_trailing_icon");
+
+    // Armor
+    public static final ResourceLocation ARMOR_BACKGROUND = gui("armor_background");
+    public static final ResourceLocation ARMOR_BAR = gui("armor_bar");
+
+    // Air
+    public static final ResourceLocation AIR_BACKGROUND = gui("air_background");
+    public static final ResourceLocation AIR_BAR = gui("air_bar");
+
+    // Shared
+    public static final ResourceLocation PROTECTION_OVERLAY = gui("protection_overlay");
+}
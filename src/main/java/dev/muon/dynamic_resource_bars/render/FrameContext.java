@@ -0,0 +1,130 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
+import dev.muon.dynamic_resource_bars.util.EditModeManager;
+import dev.muon.dynamic_resource_bars.util.PlayerStatSnapshot;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.entity.player.Player;
+
+#if NEWER_THAN_20_1
+import net.minecraft.client.DeltaTracker;
+#endif
+
+/**
+ * Everything a bar renderer needs from the outside world for one frame, captured once
+ * at the start of HUD rendering so every bar sees the same clock, config and screen size.
+ * <p>
+ * Timestamps use {@link Util#getMillis()} (monotonic, nanoTime based). Code that records
+ * timestamps outside of a frame (e.g. from mixins) should use {@link #now()} so they stay comparable.
+ */
+public final class FrameContext {
+    private final long nanoTime;
+    private final long millis;
+    private final int screenWidth;
+    private final int screenHeight;
+    private final ConfigSnapshot settings;
+    private final boolean editMode;
+    private final float partialTicks;
+    private final float tickProgress;
+    private PlayerStatSnapshot stats;
+
+    private FrameContext(long nanoTime, int screenWidth, int screenHeight, ConfigSnapshot settings, boolean editMode, float partialTicks, float tickProgress) {
+        this.nanoTime = nanoTime;
+        this.millis = nanoTime / 1_000_000L;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        this.settings = settings;
+        this.editMode = editMode;
+        this.partialTicks = partialTicks;
+        this.tickProgress = tickProgress;
+    }
+
+    public static FrameContext capture(#if NEWER_THAN_20_1 DeltaTracker deltaTracker #else float partialTicks #endif) {
+        Minecraft mc = Minecraft.getInstance();
+        boolean editMode = EditModeManager.isEditModeEnabled();
+        return new FrameContext(
+                Util.getNanos(),
+                mc.getWindow().getGuiScaledWidth(),
+                mc.getWindow().getGuiScaledHeight(),
+                // The editor changes fields live and only commits on release/close, so follow the live values there
+                editMode ? ConfigSnapshot.live() : ConfigSnapshot.current(),
+                editMode,
+                #if NEWER_THAN_20_1 deltaTracker.getGameTimeDeltaTicks() #else partialTicks #endif,
+                #if NEWER_THAN_20_1 deltaTracker.getGameTimeDeltaPartialTick(false) #else partialTicks #endif
+        );
+    }
+
+    /**
+     * Captures a context outside of HUD rendering (e.g. while the level renders), from the game's own frame timer.
+     */
+    public static FrameContext capture() {
+        Minecraft mc = Minecraft.getInstance();
+        return capture(#if NEWER_THAN_20_1 mc.getTimer() #else mc.getFrameTime() #endif);
+    }
+
+    /**
+     * A context with just a clock and tick timing, for driving the bar animations without a running game.
+     * It has no config and no screen, so only code that reads neither may be given one.
+     */
+    static FrameContext forAnimation(long millis, boolean editMode, float partialTicks) {
+        return new FrameContext(millis * 1_000_000L, 0, 0, null, editMode, partialTicks, partialTicks);
+    }
+
+    /**
+     * Current time on the same clock as {@link #millis()}, for timestamps taken outside a frame.
+     */
+    public static long now() {
+        return Util.getMillis();
+    }
+
+    public long nanoTime() {
+        return nanoTime;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    public int screenWidth() {
+        return screenWidth;
+    }
+
+    public int screenHeight() {
+        return screenHeight;
+    }
+
+    /**
+     * The config for this frame, split per bar: the committed snapshot, or the live values while the HUD editor is open.
+     * Renderers read every option from here, so anything cached under an epoch was built from the values of that epoch.
+     */
+    public ConfigSnapshot settings() {
+        return settings;
+    }
+
+    public boolean editMode() {
+        return editMode;
+    }
+
+    public float partialTicks() {
+        return partialTicks;
+    }
+
+    /**
+     * How far the frame is between the last client tick and the next one, in [0, 1).
+     */
+    public float tickProgress() {
+        return tickProgress;
+    }
+
+    /**
+     * The player's stats for this frame, interpolated between the last two tick snapshots.
+     * Resolved on first use and shared by every bar drawn this frame.
+     */
+    public PlayerStatSnapshot stats(Player player) {
+        if (stats == null) {
+            stats = PlayerStatSnapshot.interpolate(player, tickProgress);
+        }
+        return stats;
+    }
+}
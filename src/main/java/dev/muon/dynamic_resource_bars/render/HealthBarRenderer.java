@@ -2,21 +2,17 @@ package dev.muon.dynamic_resource_bars.render;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import dev.muon.dynamic_resource_bars.DynamicResourceBars;
-import dev.muon.dynamic_resource_bars.config.ModConfigManager;
 import dev.muon.dynamic_resource_bars.config.ClientConfig;
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
 import dev.muon.dynamic_resource_bars.util.*;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
-import net.minecraft.world.effect.MobEffects;
+import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.item.ItemStack;
 import dev.muon.dynamic_resource_bars.compat.AppleSkinCompat;
+import dev.muon.dynamic_resource_bars.compat.CompatState;
 import net.minecraft.util.Mth; // Import for MathHelper.lerp
 
-#if NEWER_THAN_20_1
-import net.minecraft.client.DeltaTracker;
-#endif
-
 import vectorwing.farmersdelight.common.registry.ModEffects;
 import net.minecraft.resources.ResourceLocation;
 
@@ -55,21 +51,6 @@ public class HealthBarRenderer {
     private static final int CUSTOM_HIT_BAR_PADDING = 4; // For hit bar
 
     private static final float DAMPING_FACTOR = 0.85f; // Controls animation smoothness for *healing* and delayed bar follow
-    private static float currentHealthAnimated = -1.0f; // Animated health for the main bar
-    private static float currentAbsorptionAnimated = -1.0f; // Animated absorption for the main bar
-
-    private static float delayedHealthCurrent = -1.0f; // Animated health for the hit indicator bar (smoothly updates)
-    private static long lastHitTime = 0L; // Timestamp of when damage was *last detected* (initiates a hold)
-    private static float healthAtLastHit = -1.0f; // Stores the animated health value *right before* the main bar instantly drops due to damage
-
-    private static float lastHealth = -1; // Used for WHEN_NOT_FULL text behavior
-    private static long fullHealthStartTime = 0; // Used for WHEN_NOT_FULL text fade
-    private static boolean healthBarSetVisible = true; // Default to visible, used for bar fade
-    private static long healthBarDisabledStartTime = 0L; // Used for bar fade timing
-
-    private static float regenGradientFade = 0.0f;
-    private static long lastRegenEffectStateChange = 0L;
-    private static boolean lastHadRegen = false;
     private static final long REGEN_GRADIENT_FADE_DURATION_MS = 350L;
 
     // For the new atlas: main bar is top half, overlay is bottom half
@@ -108,19 +89,13 @@ public class HealthBarRenderer {
     /**
      * Helper to get the dynamic width for the main bar (health only, no absorption, no caps)
      */
-    private static int getMainBarWidth(Player player) {
-        ClientConfig config = ModConfigManager.getClient();
+    private static int getMainBarWidth(ConfigSnapshot settings, Player player) {
         int baseWidth = calculateSmartScaledWidth(player.getMaxHealth(), PIXELS_PER_HEALTH_POINT);
-        int percent = Math.max(0, Math.min(100, config.healthBarWidthModifier));
-        int globalPercent = Math.max(0, Math.min(100, config.globalBarWidthModifier));
+        int percent = Math.max(0, Math.min(100, settings.health.barWidthModifier));
+        int globalPercent = Math.max(0, Math.min(100, settings.global.globalBarWidthModifier));
         int scaledWidth = Math.round(baseWidth * (percent / 100.0f) * (globalPercent / 100.0f));
         return Math.max(MIN_BASE_BAR_WIDTH, scaledWidth);
     }
-    // Helper to get the absorption width (for background/foreground extension)
-    private static int getAbsorptionWidth(Player player, int absorptionAmount) {
-        int baseWidth = getMainBarWidth(player);
-        return (player.getMaxHealth() == 0) ? 0 : (int)(baseWidth * (absorptionAmount / (float)player.getMaxHealth()));
-    }
 
     /**
      * Calculates the dynamic width for the background element, which includes padding around the main bar
@@ -144,17 +119,19 @@ public class HealthBarRenderer {
     private static void drawFullWidthBar(GuiGraphics graphics, ResourceLocation texture, int x, int y, int destWidth, int destHeight, int sourceTextureWidth, int sourceTextureHeight, float fillRatio) {
         int filledWidth = (int)(destWidth * fillRatio);
         if (filledWidth <= 0) return;
+        QuadBatch batch = QuadBatch.begin(graphics, texture, sourceTextureWidth, sourceTextureHeight);
         int tiledX = x;
         int remaining = filledWidth;
         while (remaining > 0) {
             int tileWidth = Math.min(sourceTextureWidth, remaining);
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, tiledX, y + tileY, 0, 0, tileWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(tiledX, y + tileY, 0, 0, tileWidth, drawHeight);
             }
             tiledX += tileWidth;
             remaining -= tileWidth;
         }
+        batch.end();
     }
 
 
@@ -163,25 +140,26 @@ public class HealthBarRenderer {
      * Updates the animated health and absorption values according to the new behavior:
      * Main bar: instant snap down on damage, smooth animation up on healing.
      * Delayed bar: holds position after damage, then smoothly follows the main bar.
-     * @param player The player entity.
+     * Also used by {@link PartyBarRenderer} and {@link TargetBarRenderer} to animate other entities' bars.
+     * @param maxHealth The animated entity's max health, which caps the delayed bar.
      * @param partialTicks The fraction of the current tick that has passed, for frame-rate independent animation.
      * @param actualHealth The player's current health.
      * @param absorptionAmount The player's current absorption.
      */
-    private static void updateAnimatedValues(Player player, float partialTicks, float actualHealth, int absorptionAmount) {
+    static void updateAnimatedValues(FrameContext ctx, BarAnimationState state, float maxHealth, float partialTicks, float actualHealth, int absorptionAmount) {
         // --- Initialization and Reset on Major State Change ---
-        // These values need to be synced instantly on first run, or when player health becomes effectively zero (e.g., after death/respawn)
-        if (currentHealthAnimated < 0.0f || (actualHealth < 0.01f && currentHealthAnimated > 0.01f)) {
-            currentHealthAnimated = actualHealth;
-            currentAbsorptionAnimated = absorptionAmount;
-            delayedHealthCurrent = actualHealth + absorptionAmount;
-            healthAtLastHit = actualHealth + absorptionAmount; // Ensure consistent initial state
-            lastHitTime = 0L;
+        // These values need to be synced instantly on first run, or when entity health becomes effectively zero (e.g., after death/respawn)
+        if (state.currentHealthAnimated < 0.0f || (actualHealth < 0.01f && state.currentHealthAnimated > 0.01f)) {
+            state.currentHealthAnimated = actualHealth;
+            state.currentAbsorptionAnimated = absorptionAmount;
+            state.delayedHealthCurrent = actualHealth + absorptionAmount;
+            state.healthAtLastHit = actualHealth + absorptionAmount; // Ensure consistent initial state
+            state.lastHitTime = 0L;
         }
 
         // Capture the animated values from the *previous frame* (before current tick's updates)
-        float previousFrameAnimatedHealth = currentHealthAnimated;
-        float previousFrameAnimatedAbsorption = currentAbsorptionAnimated;
+        float previousFrameAnimatedHealth = state.currentHealthAnimated;
+        float previousFrameAnimatedAbsorption = state.currentAbsorptionAnimated;
 
         // Calculate interpolation factor for smooth animation (primarily for healing/delayed bar follow)
         float interpolationFactor = 1.0f - (float) Math.pow(DAMPING_FACTOR, partialTicks);
@@ -190,29 +168,29 @@ public class HealthBarRenderer {
         // --- Update Main Health Bar (`currentHealthAnimated`, `currentAbsorptionAnimated`) ---
         if (actualHealth < previousFrameAnimatedHealth - 0.01f) {
             // Health decreased significantly (took damage) -> instant snap down
-            currentHealthAnimated = actualHealth;
+            state.currentHealthAnimated = actualHealth;
         } else if (actualHealth > previousFrameAnimatedHealth + 0.01f) {
             // Health increased significantly (healing) -> smooth animation up
-            currentHealthAnimated = Mth.lerp(interpolationFactor, previousFrameAnimatedHealth, actualHealth);
+            state.currentHealthAnimated = Mth.lerp(interpolationFactor, previousFrameAnimatedHealth, actualHealth);
         } else {
             // Health is very close or same -> snap to actual value to prevent micro-fluctuations
-            currentHealthAnimated = actualHealth;
+            state.currentHealthAnimated = actualHealth;
         }
 
         if (absorptionAmount < previousFrameAnimatedAbsorption - 0.01f) {
             // Absorption decreased significantly -> instant snap down
-            currentAbsorptionAnimated = absorptionAmount;
+            state.currentAbsorptionAnimated = absorptionAmount;
         } else if (absorptionAmount > previousFrameAnimatedAbsorption + 0.01f) {
             // Absorption increased significantly -> smooth animation up
-            currentAbsorptionAnimated = Mth.lerp(interpolationFactor, previousFrameAnimatedAbsorption, absorptionAmount);
+            state.currentAbsorptionAnimated = Mth.lerp(interpolationFactor, previousFrameAnimatedAbsorption, absorptionAmount);
         } else {
             // Absorption is very close or same -> snap to actual value
-            currentAbsorptionAnimated = absorptionAmount;
+            state.currentAbsorptionAnimated = absorptionAmount;
         }
 
         // Calculate total health for simpler comparisons (main bar's combined value)
         float actualTotalHealth = actualHealth + absorptionAmount;
-        float currentAnimatedTotalHealth = currentHealthAnimated + currentAbsorptionAnimated;
+        float currentAnimatedTotalHealth = state.currentHealthAnimated + state.currentAbsorptionAnimated;
         float previousAnimatedTotalHealth = previousFrameAnimatedHealth + previousFrameAnimatedAbsorption;
 
         // --- Damage Detection & Hit Indicator State Management ---
@@ -221,8 +199,8 @@ public class HealthBarRenderer {
             // Damage taken: Update `healthAtLastHit` to be the peak before this damage.
             // This is crucial for seamless multi-hits: `healthAtLastHit` represents the highest point
             // from which the *current sequence of damage* is originating, or the highest point the delayed bar has been at.
-            healthAtLastHit = Math.max(delayedHealthCurrent, previousAnimatedTotalHealth);
-            lastHitTime = System.currentTimeMillis(); // Reset timer for this new damage event
+            state.healthAtLastHit = Math.max(state.delayedHealthCurrent, previousAnimatedTotalHealth);
+            state.lastHitTime = ctx.millis(); // Reset timer for this new damage event
         }
         // IMPORTANT: Healing/no change does NOT reset `healthAtLastHit` here.
         // It only gets reset when the `currentAnimatedTotalHealth` catches up to it.
@@ -230,24 +208,24 @@ public class HealthBarRenderer {
         // --- Animate Delayed Health Bar (`delayedHealthCurrent`) ---
         float targetForDelayedBarLerp; // The immediate target for the delayed bar's smooth animation
 
-        if (EditModeManager.isEditModeEnabled()) {
+        if (ctx.editMode()) {
             // In edit mode, the delayed bar always mirrors the main bar for visual setup
             targetForDelayedBarLerp = currentAnimatedTotalHealth;
             // Sync all related state variables to ensure consistent behavior in edit mode
-            healthAtLastHit = currentAnimatedTotalHealth;
-            lastHitTime = System.currentTimeMillis(); // Keep active for visualization
-        } else if (currentAnimatedTotalHealth >= healthAtLastHit - 0.01f) {
+            state.healthAtLastHit = currentAnimatedTotalHealth;
+            state.lastHitTime = ctx.millis(); // Keep active for visualization
+        } else if (currentAnimatedTotalHealth >= state.healthAtLastHit - 0.01f) {
             // If the main bar has caught up to or surpassed the damage peak (due to healing or animation completion),
             // then the hit indicator should sync up and become inactive.
             targetForDelayedBarLerp = currentAnimatedTotalHealth;
-            healthAtLastHit = currentAnimatedTotalHealth; // Collapse the "damage peak"
-            lastHitTime = 0L; // Deactivate hit indicator (no hold/animation needed)
+            state.healthAtLastHit = currentAnimatedTotalHealth; // Collapse the "damage peak"
+            state.lastHitTime = 0L; // Deactivate hit indicator (no hold/animation needed)
         } else { // An active damage event is in progress (hold or animate phase)
-            long timeSinceHitRegistered = System.currentTimeMillis() - lastHitTime;
+            long timeSinceHitRegistered = ctx.millis() - state.lastHitTime;
 
             if (timeSinceHitRegistered <= RenderUtil.DAMAGE_INDICATOR_HOLD_MS) {
                 // Hold phase: Target is the `healthAtLastHit` (the peak before this damage sequence)
-                targetForDelayedBarLerp = healthAtLastHit;
+                targetForDelayedBarLerp = state.healthAtLastHit;
             } else {
                 // Animation phase: Smoothly animate towards `currentAnimatedTotalHealth`.
                 // The animation progress is calculated from the start of this phase.
@@ -257,116 +235,129 @@ public class HealthBarRenderer {
                 // The delayed bar smoothly transitions from `healthAtLastHit` towards `currentAnimatedTotalHealth`.
                 // If `currentAnimatedTotalHealth` changes mid-animation (e.g., another hit),
                 // the `Mth.lerp` will dynamically re-target its trajectory.
-                targetForDelayedBarLerp = Mth.lerp(animationProgress, healthAtLastHit, currentAnimatedTotalHealth);
+                targetForDelayedBarLerp = Mth.lerp(animationProgress, state.healthAtLastHit, currentAnimatedTotalHealth);
 
                 // If the animation is virtually complete and has reached the main bar's current position, deactivate.
-                if (Math.abs(delayedHealthCurrent - currentAnimatedTotalHealth) < 0.01f) {
-                    lastHitTime = 0L; // Animation is essentially done and caught up
-                    healthAtLastHit = currentAnimatedTotalHealth; // Sync peak for future hits
+                if (Math.abs(state.delayedHealthCurrent - currentAnimatedTotalHealth) < 0.01f) {
+                    state.lastHitTime = 0L; // Animation is essentially done and caught up
+                    state.healthAtLastHit = currentAnimatedTotalHealth; // Sync peak for future hits
                 }
             }
         }
 
         // Perform the smooth interpolation for `delayedHealthCurrent` towards its calculated `targetForDelayedBarLerp`.
-        delayedHealthCurrent = Mth.lerp(interpolationFactor, delayedHealthCurrent, targetForDelayedBarLerp);
+        state.delayedHealthCurrent = Mth.lerp(interpolationFactor, state.delayedHealthCurrent, targetForDelayedBarLerp);
 
         // Final Clamp for `delayedHealthCurrent`:
         // It should never go below the current main bar's animated total health (ensuring the damage gap is visible).
         // It should not exceed the max possible health + absorption (approx. 20 absorption default).
-        delayedHealthCurrent = Mth.clamp(delayedHealthCurrent, currentAnimatedTotalHealth, player.getMaxHealth() + MAX_ABSORPTION_HEALTH_POINTS);
+        state.delayedHealthCurrent = Mth.clamp(state.delayedHealthCurrent, currentAnimatedTotalHealth, maxHealth + MAX_ABSORPTION_HEALTH_POINTS);
     }
 
     /**
      * Calculates the overall bounding rectangle for the health bar and its sub-elements,
      * based on the configured anchor and total offsets.
      */
-    public static ScreenRect getScreenRect(Player player, int absorptionAmount) {
+    public static ScreenRect getScreenRect(ConfigSnapshot settings, Player player, int absorptionAmount) {
         if (player == null) return new ScreenRect(0, 0, 0, 0);
-        ClientConfig config = ModConfigManager.getClient();
-        int width = getMainBarWidth(player) + getAbsorptionWidth(player, absorptionAmount) + CUSTOM_HEALTH_BAR_MAIN_PADDING * 2;
-        int height = config.healthBackgroundHeight;
-        ScreenRect parentBox = new ScreenRect(0, 0, width, height);
-        Position anchorPos = HUDPositioning.alignBoundingBoxToAnchor(parentBox, config.healthBarAnchor);
-        Position finalPos = anchorPos.offset(config.healthTotalXOffset, config.healthTotalYOffset);
-        return new ScreenRect(finalPos.x(), finalPos.y(), width, height);
+        return getLayout(settings, player, absorptionAmount).bounds();
     }
 
     /**
      * Returns the bounding rectangle for a specific sub-element (e.g., background, main bar, text).
      * Dimensions are taken from dynamic calculations or client configuration (for height and offsets).
      */
-    public static ScreenRect getSubElementRect(SubElementType type, Player player, int absorptionAmount) {
-        ScreenRect complexRect = getScreenRect(player, absorptionAmount);
-        if (complexRect == null || (complexRect.width() == 0 && complexRect.height() == 0))
+    public static ScreenRect getSubElementRect(ConfigSnapshot settings, SubElementType type, Player player, int absorptionAmount) {
+        if (player == null) return new ScreenRect(0, 0, 0, 0);
+        BarLayout layout = getLayout(settings, player, absorptionAmount);
+        ScreenRect complexRect = layout.bounds();
+        if (complexRect.width() == 0 && complexRect.height() == 0)
             return new ScreenRect(0, 0, 0, 0);
-        ClientConfig config = ModConfigManager.getClient();
-        int x = complexRect.x();
-        int y = complexRect.y();
-        int baseWidth = getMainBarWidth(player);
-        int absorptionWidth = getAbsorptionWidth(player, absorptionAmount);
-        switch (type) {
-            case BACKGROUND:
-                return new ScreenRect(x + config.healthBackgroundXOffset, y + config.healthBackgroundYOffset, baseWidth + absorptionWidth + CUSTOM_HEALTH_BAR_MAIN_SHRINK * 2, config.healthBackgroundHeight);
-            case BAR_MAIN:
-                return new ScreenRect(x + config.healthBarXOffset + CUSTOM_HEALTH_BAR_BACKGROUND_PADDING, y + config.healthBarYOffset, baseWidth, config.healthBarHeight);
-            case FOREGROUND_DETAIL:
-                return new ScreenRect(x + config.healthOverlayXOffset, y + config.healthOverlayYOffset, baseWidth + absorptionWidth + CUSTOM_HEALTH_BAR_MAIN_SHRINK * 2, config.healthOverlayHeight);
-            case TEXT:
-                return new ScreenRect(x + config.healthTextXOffset + CUSTOM_HEALTH_BAR_BACKGROUND_PADDING, y + config.healthTextYOffset, baseWidth, config.healthBarHeight);
-            case ABSORPTION_TEXT:
-                return new ScreenRect(x + config.healthAbsorptionTextXOffset + CUSTOM_HEALTH_BAR_BACKGROUND_PADDING, y + config.healthAbsorptionTextYOffset, 50, config.healthBarHeight);
-            case TRAILING_ICON:
-                // Fixed position at the end of the bar progress, using bar height
-                float healthRatio = (player.getMaxHealth() == 0) ? 0 : (currentHealthAnimated / player.getMaxHealth());
-                healthRatio = Mth.clamp(healthRatio, 0.0f, 1.0f);
-                int iconX = x + config.healthBarXOffset + CUSTOM_HEALTH_BAR_BACKGROUND_PADDING + (int)(baseWidth * healthRatio);
-                int iconY = y + config.healthBarYOffset;
-                return new ScreenRect(iconX, iconY, BACKGROUND_SOURCE_TEXTURE_HEIGHT, BACKGROUND_SOURCE_TEXTURE_HEIGHT);
-            default:
-                return new ScreenRect(0, 0, 0, 0);
+        if (type == SubElementType.TRAILING_ICON) {
+            // Fixed position at the end of the bar progress, using bar height
+            ScreenRect barRect = layout.get(SubElementType.BAR_MAIN);
+            float currentHealthAnimated = BarAnimationState.of(player, FrameContext.now()).currentHealthAnimated;
+            float healthRatio = (player.getMaxHealth() == 0) ? 0 : (currentHealthAnimated / player.getMaxHealth());
+            healthRatio = Mth.clamp(healthRatio, 0.0f, 1.0f);
+            int iconX = barRect.x() + (int)(barRect.width() * healthRatio);
+            return new ScreenRect(iconX, barRect.y(), BACKGROUND_SOURCE_TEXTURE_HEIGHT, BACKGROUND_SOURCE_TEXTURE_HEIGHT);
         }
+        return layout.get(type);
     }
 
-    public static void render(GuiGraphics graphics, Player player, float maxHealth, float actualHealth, int absorptionAmount,
-            #if NEWER_THAN_20_1 DeltaTracker deltaTracker #else float partialTicks #endif) {
+    private static BarLayout getLayout(ConfigSnapshot settings, Player player, int absorptionAmount) {
+        BarLayout layout = BarLayoutCache.lookup(settings, DraggableElement.HEALTH_BAR, player.getMaxHealth(), absorptionAmount);
+        if (layout == null) {
+            layout = BarLayoutCache.store(settings, DraggableElement.HEALTH_BAR, player.getMaxHealth(), absorptionAmount, solveLayout(settings, player, absorptionAmount));
+        }
+        return layout;
+    }
+
+    /**
+     * Computes the bounding box and every cacheable sub-element rect in one pass.
+     */
+    private static BarLayout solveLayout(ConfigSnapshot settings, Player player, int absorptionAmount) {
+        ConfigSnapshot.HealthSettings health = settings.health;
+        int baseWidth = getMainBarWidth(settings, player);
+        // Absorption extends the background/foreground past the main bar
+        int absorptionWidth = (player.getMaxHealth() == 0) ? 0 : (int)(baseWidth * (absorptionAmount / (float)player.getMaxHealth()));
+        int width = baseWidth + absorptionWidth + CUSTOM_HEALTH_BAR_MAIN_PADDING * 2;
+        int height = health.backgroundHeight;
+        ScreenRect parentBox = new ScreenRect(0, 0, width, height);
+        Position anchorPos = HUDPositioning.alignBoundingBoxToAnchor(parentBox, health.barAnchor);
+        Position finalPos = anchorPos.offset(health.totalXOffset, health.totalYOffset);
+        int x = finalPos.x();
+        int y = finalPos.y();
+
+        return new BarLayout(new ScreenRect(x, y, width, height))
+                .set(SubElementType.BACKGROUND, new ScreenRect(x + health.backgroundXOffset, y + health.backgroundYOffset, baseWidth + absorptionWidth + CUSTOM_HEALTH_BAR_MAIN_SHRINK * 2, health.backgroundHeight))
+                .set(SubElementType.BAR_MAIN, new ScreenRect(x + health.barXOffset + CUSTOM_HEALTH_BAR_BACKGROUND_PADDING, y + health.barYOffset, baseWidth, health.barHeight))
+                .set(SubElementType.FOREGROUND_DETAIL, new ScreenRect(x + health.overlayXOffset, y + health.overlayYOffset, baseWidth + absorptionWidth + CUSTOM_HEALTH_BAR_MAIN_SHRINK * 2, health.overlayHeight))
+                .set(SubElementType.TEXT, new ScreenRect(x + health.textXOffset + CUSTOM_HEALTH_BAR_BACKGROUND_PADDING, y + health.textYOffset, baseWidth, health.barHeight))
+                .set(SubElementType.ABSORPTION_TEXT, new ScreenRect(x + health.absorptionTextXOffset + CUSTOM_HEALTH_BAR_BACKGROUND_PADDING, y + health.absorptionTextYOffset, 50, health.barHeight));
+    }
 
-        ClientConfig config = ModConfigManager.getClient();
-        float currentPartialTicks = #if NEWER_THAN_20_1 deltaTracker.getGameTimeDeltaTicks() #else partialTicks #endif;
+    public static void render(GuiGraphics graphics, Player player, float maxHealth, float actualHealth, int absorptionAmount, FrameContext ctx) {
+
+        ConfigSnapshot settings = ctx.settings();
+        ConfigSnapshot.HealthSettings health = settings.health;
+        float currentPartialTicks = ctx.partialTicks();
+        BarAnimationState state = BarAnimationState.of(player, ctx.millis());
 
         // Update animated values using partialTicks for smooth animation
-        updateAnimatedValues(player, currentPartialTicks, actualHealth, absorptionAmount);
+        updateAnimatedValues(ctx, state, player.getMaxHealth(), currentPartialTicks, actualHealth, absorptionAmount);
 
         // Override hideWhenFull if player has absorption or is in edit mode
-        boolean shouldFade = config.fadeHealthWhenFull && actualHealth >= maxHealth && absorptionAmount == 0;
-        setHealthBarVisibility(!shouldFade || EditModeManager.isEditModeEnabled());
+        boolean shouldFade = health.fadeWhenFull && actualHealth >= maxHealth && absorptionAmount == 0;
+        setHealthBarVisibility(ctx, state, !shouldFade || ctx.editMode());
 
         // Don't render if fully faded and not in edit mode
-        if (!isHealthBarVisible() && !EditModeManager.isEditModeEnabled() && (System.currentTimeMillis() - healthBarDisabledStartTime) > RenderUtil.BAR_FADEOUT_DURATION) {
+        if (!isHealthBarVisible(state) && !ctx.editMode() && (ctx.millis() - state.healthBarDisabledStartTime) > RenderUtil.BAR_FADEOUT_DURATION) {
             return;
         }
 
-        if (!Minecraft.getInstance().gameMode.canHurtPlayer() && !EditModeManager.isEditModeEnabled()) {
+        if (!Minecraft.getInstance().gameMode.canHurtPlayer() && !ctx.editMode()) {
             return;
         }
 
-        float currentAlphaForRender = getHealthBarAlpha();
-        if (EditModeManager.isEditModeEnabled() && !isHealthBarVisible()) {
+        float currentAlphaForRender = getHealthBarAlpha(ctx, state);
+        if (ctx.editMode() && !isHealthBarVisible(state)) {
             currentAlphaForRender = 1.0f; // Show fully if in edit mode, even if normally faded
         }
 
         RenderSystem.enableBlend();
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, currentAlphaForRender);
 
-        ScreenRect complexRect = getScreenRect(player, absorptionAmount);
+        ScreenRect complexRect = getScreenRect(settings, player, absorptionAmount);
 
-        int backgroundHeight = config.healthBackgroundHeight;
-        int animationCycles = config.healthBarAnimationCycles;
-        int frameHeight = config.healthBarFrameHeight;
+        int backgroundHeight = health.backgroundHeight;
+        int animationCycles = health.barAnimationCycles;
+        int frameHeight = health.barFrameHeight;
 
         // Render Background (using 9-slice)
-        if (config.enableHealthBackground) {
-            ScreenRect bgRect = getSubElementRect(SubElementType.BACKGROUND, player, absorptionAmount);
-            RenderUtil.drawHorizontalNineSlice(graphics, DynamicResourceBars.loc("textures/gui/health_background.png"),
+        if (health.enableBackground) {
+            ScreenRect bgRect = getSubElementRect(settings, SubElementType.BACKGROUND, player, absorptionAmount);
+            RenderUtil.drawHorizontalNineSlice(graphics, BarTextures.HEALTH_BACKGROUND,
                     bgRect.x(), bgRect.y(), bgRect.width(), bgRect.height(),
                     BACKGROUND_SOURCE_TEXTURE_WIDTH, BACKGROUND_SOURCE_TEXTURE_HEIGHT,
                     CUSTOM_HEALTH_BAR_BACKGROUND_PADDING, CUSTOM_HEALTH_BAR_BACKGROUND_PADDING,
@@ -378,66 +369,66 @@ public class HealthBarRenderer {
         float ticks = player.tickCount + currentPartialTicks;
         int animOffset = (int) ((ticks / 3) % animationCycles) * frameHeight;
 
-        ScreenRect mainBarRect = getSubElementRect(SubElementType.BAR_MAIN, player, absorptionAmount);
-        boolean isRightAnchored = config.healthBarAnchor == AnchorPoint.TOP_RIGHT || config.healthBarAnchor == AnchorPoint.CENTER_RIGHT || config.healthBarAnchor == AnchorPoint.BOTTOM_RIGHT;
+        ScreenRect mainBarRect = getSubElementRect(settings, SubElementType.BAR_MAIN, player, absorptionAmount);
+        boolean isRightAnchored = health.barAnchor == AnchorPoint.TOP_RIGHT || health.barAnchor == AnchorPoint.CENTER_RIGHT || health.barAnchor == AnchorPoint.BOTTOM_RIGHT;
 
         // --- Calculate a consistent total maximum for scaling all health-related bars ---
         // This includes player's max health PLUS the maximum possible absorption amount (default 20 absorption hearts)
         float maxPossibleTotalHealth = player.getMaxHealth() + MAX_ABSORPTION_HEALTH_POINTS;
-        float currentAnimatedTotalHealth = currentHealthAnimated + currentAbsorptionAnimated;
+        float currentAnimatedTotalHealth = state.currentHealthAnimated + state.currentAbsorptionAnimated;
 
         // --- Render Delayed Health Bar (Hit Indicator) ---
-        renderDelayedBar(graphics, player, maxPossibleTotalHealth, currentAnimatedTotalHealth, delayedHealthCurrent, mainBarRect.x(), mainBarRect.y(), mainBarRect.width(), mainBarRect.height(), animOffset, isRightAnchored);
+        renderDelayedBar(ctx, state, graphics, player, maxPossibleTotalHealth, currentAnimatedTotalHealth, state.delayedHealthCurrent, mainBarRect.x(), mainBarRect.y(), mainBarRect.width(), mainBarRect.height(), animOffset, isRightAnchored);
 
         // --- Render Main Health Bar ---
-        renderBaseBar(graphics, player, maxPossibleTotalHealth, currentHealthAnimated, mainBarRect.x(), mainBarRect.y(), mainBarRect.width(), mainBarRect.height(), 0, 0, animOffset, isRightAnchored);
+        renderBaseBar(ctx, graphics, player, maxPossibleTotalHealth, state.currentHealthAnimated, mainBarRect.x(), mainBarRect.y(), mainBarRect.width(), mainBarRect.height(), 0, 0, animOffset, isRightAnchored);
         
         // --- Render Gradient Overlay ---
-        renderGradientOverlay(graphics, player, mainBarRect, currentAlphaForRender);
+        renderGradientOverlay(graphics, player, state, mainBarRect, currentAlphaForRender);
 
         // --- Absorption Overlay (Golden Hearts) ---
         if (absorptionAmount > 0) {
-            renderAbsorptionOverlay(graphics, player, currentHealthAnimated, currentAbsorptionAnimated, mainBarRect, animOffset, isRightAnchored);
+            renderAbsorptionOverlay(ctx, graphics, player, state.currentHealthAnimated, state.currentAbsorptionAnimated, mainBarRect, animOffset, isRightAnchored);
         }
 
         // --- AppleSkin Health Restoration Overlay ---
-        if (PlatformUtil.isModLoaded("appleskin") && config.enableHealthRestorationOverlay) {
-            ItemStack heldFood = getHeldFood(player);
+        if (CompatState.APPLESKIN && health.enableRestorationOverlay) {
+            AppleSkinCompat.HeldFood heldFood = AppleSkinCompat.getHeldFood(player);
             if (!heldFood.isEmpty()) {
-                renderHealthRestoredOverlay(graphics, player, heldFood, currentHealthAnimated, maxPossibleTotalHealth, mainBarRect, animOffset, isRightAnchored);
+                renderHealthRestoredOverlay(ctx, graphics, player, heldFood, state.currentHealthAnimated, maxPossibleTotalHealth, mainBarRect, animOffset, isRightAnchored);
             }
         }
 
         // --- Custom Health Gradient Overlay ---
-        boolean hasRegen = player.hasEffect(net.minecraft.world.effect.MobEffects.REGENERATION);
-        long now = System.currentTimeMillis();
-        if (hasRegen != lastHadRegen) {
-            lastRegenEffectStateChange = now;
-            lastHadRegen = hasRegen;
+        boolean hasRegen = PlayerEffectState.has(player, PlayerEffectState.REGENERATION);
+        long now = ctx.millis();
+        if (hasRegen != state.lastHadRegen) {
+            state.lastRegenEffectStateChange = now;
+            state.lastHadRegen = hasRegen;
         }
         float fadeTarget = hasRegen ? 1.0f : 0.0f;
-        long fadeElapsed = now - lastRegenEffectStateChange;
+        long fadeElapsed = now - state.lastRegenEffectStateChange;
         if (fadeElapsed < REGEN_GRADIENT_FADE_DURATION_MS) {
             float fadeProgress = fadeElapsed / (float) REGEN_GRADIENT_FADE_DURATION_MS;
-            regenGradientFade = hasRegen ? fadeProgress : 1.0f - fadeProgress;
-            regenGradientFade = Mth.clamp(regenGradientFade, 0.0f, 1.0f);
+            state.regenGradientFade = hasRegen ? fadeProgress : 1.0f - fadeProgress;
+            state.regenGradientFade = Mth.clamp(state.regenGradientFade, 0.0f, 1.0f);
         } else {
-            regenGradientFade = fadeTarget;
+            state.regenGradientFade = fadeTarget;
         }
         // (health_gradient_overlay.png overlay removed)
 
         // --- Render Trailing Icon ---
-        if (config.enableHealthTrailingIcon) {
-            renderTrailingIcon(graphics, player, currentHealthAnimated, mainBarRect, currentAlphaForRender);
+        if (health.enableTrailingIcon) {
+            renderTrailingIcon(graphics, player, state.currentHealthAnimated, mainBarRect, currentAlphaForRender);
         }
 
         // Render other bar overlays (absorption, regen, comfort)
-        renderBarOverlays(graphics, player, (int) currentAbsorptionAnimated, mainBarRect.x(), mainBarRect.y(), mainBarRect.width(), mainBarRect.height(), 0, 0);
+        renderBarOverlays(graphics, player, (int) state.currentAbsorptionAnimated, mainBarRect.x(), mainBarRect.y(), mainBarRect.width(), mainBarRect.height(), 0, 0);
 
         // Render foreground overlay (using 9-slice)
-        if (config.enableHealthForeground) {
-            ScreenRect fgRect = getSubElementRect(SubElementType.FOREGROUND_DETAIL, player, absorptionAmount);
-            RenderUtil.drawHorizontalNineSlice(graphics, DynamicResourceBars.loc("textures/gui/health_foreground.png"),
+        if (health.enableForeground) {
+            ScreenRect fgRect = getSubElementRect(settings, SubElementType.FOREGROUND_DETAIL, player, absorptionAmount);
+            RenderUtil.drawHorizontalNineSlice(graphics, BarTextures.HEALTH_FOREGROUND,
                     fgRect.x(), fgRect.y(), fgRect.width(), fgRect.height(),
                     FOREGROUND_SOURCE_TEXTURE_WIDTH, FOREGROUND_SOURCE_TEXTURE_HEIGHT,
                     CUSTOM_HEALTH_BAR_FOREGROUND_PADDING, CUSTOM_HEALTH_BAR_FOREGROUND_PADDING,
@@ -450,13 +441,13 @@ public class HealthBarRenderer {
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f); // Reset shader color to full white after rendering all overlays/backgrounds
 
         // Update text rendering to use draggable position
-        if (shouldRenderHealthText(actualHealth, maxHealth, player)) { // Use actual health for text visibility logic
-            ScreenRect textRect = getSubElementRect(SubElementType.TEXT, player, absorptionAmount);
+        if (shouldRenderHealthText(ctx, state, actualHealth, maxHealth, player)) { // Use actual health for text visibility logic
+            ScreenRect textRect = getSubElementRect(settings, SubElementType.TEXT, player, absorptionAmount);
             int textX = textRect.x() + (textRect.width() / 2);
             int textY = textRect.y() + (textRect.height() - Minecraft.getInstance().font.lineHeight) / 2; // Center text vertically
 
-            int color = getHealthTextColor(actualHealth, maxHealth);
-            HorizontalAlignment alignment = config.healthTextAlign;
+            int color = getHealthTextColor(ctx, state, actualHealth, maxHealth);
+            HorizontalAlignment alignment = health.textAlign;
 
             int baseX = textRect.x();
             if (alignment == HorizontalAlignment.CENTER) {
@@ -469,46 +460,46 @@ public class HealthBarRenderer {
         }
 
         // Render Absorption Text
-        if (absorptionAmount > 0 || EditModeManager.isEditModeEnabled()) {
+        if (absorptionAmount > 0 || ctx.editMode()) {
             // Use currentAbsorptionAnimated for display if animating, otherwise target.
             // For editing mode, use a dummy value if actual absorption is 0
-            String absorptionText = "+" + (EditModeManager.isEditModeEnabled() && absorptionAmount == 0 ? "8" : (int)currentAbsorptionAnimated);
+            String absorptionText = "+" + (ctx.editMode() && absorptionAmount == 0 ? "8" : (int)state.currentAbsorptionAnimated);
 
-            ScreenRect absorptionRect = getSubElementRect(SubElementType.ABSORPTION_TEXT, player, absorptionAmount);
+            ScreenRect absorptionRect = getSubElementRect(settings, SubElementType.ABSORPTION_TEXT, player, absorptionAmount);
             int absorptionTextX = absorptionRect.x();
             int absorptionTextY = absorptionRect.y() + (absorptionRect.height() - Minecraft.getInstance().font.lineHeight) / 2; // Center vertically
 
-            int baseAbsorptionColor = config.healthTextColor & 0xFFFFFF; // Use global text color for absorption by default
-            int absorptionAlpha = (int) (config.healthTextOpacity * currentAlphaForRender);
+            int baseAbsorptionColor = health.textColor & 0xFFFFFF; // Use global text color for absorption by default
+            int absorptionAlpha = (int) (health.textOpacity * currentAlphaForRender);
             absorptionAlpha = Mth.clamp(absorptionAlpha, 10, 255); // Ensure visibility
             int absorptionFinalColor = (absorptionAlpha << 24) | baseAbsorptionColor;
         }
 
         // Add focus mode outline rendering
-        if (EditModeManager.isEditModeEnabled()) {
+        if (ctx.editMode()) {
             DraggableElement currentBarType = DraggableElement.HEALTH_BAR;
             if (EditModeManager.getFocusedElement() == currentBarType) {
                 int focusedBorderColor = 0xA0FFFF00; // Yellow for focused element
-                ScreenRect bgRect = getSubElementRect(SubElementType.BACKGROUND, player, absorptionAmount);
+                ScreenRect bgRect = getSubElementRect(settings, SubElementType.BACKGROUND, player, absorptionAmount);
                 graphics.renderOutline(bgRect.x() - 1, bgRect.y() - 1, bgRect.width() + 2, bgRect.height() + 2, focusedBorderColor);
 
-                ScreenRect barRect = getSubElementRect(SubElementType.BAR_MAIN, player, absorptionAmount);
+                ScreenRect barRect = getSubElementRect(settings, SubElementType.BAR_MAIN, player, absorptionAmount);
                 graphics.renderOutline(barRect.x() - 1, barRect.y() - 1, barRect.width() + 2, barRect.height() + 2, 0xA000FF00); // Green for main bar
 
-                if (config.enableHealthForeground) { // Check config for foreground enabled
-                    ScreenRect fgRect = getSubElementRect(SubElementType.FOREGROUND_DETAIL, player, absorptionAmount);
+                if (health.enableForeground) { // Check config for foreground enabled
+                    ScreenRect fgRect = getSubElementRect(settings, SubElementType.FOREGROUND_DETAIL, player, absorptionAmount);
                     graphics.renderOutline(fgRect.x() - 1, fgRect.y() - 1, fgRect.width() + 2, fgRect.height() + 2, 0xA0FF00FF); // Magenta for foreground
                 }
 
                 // Outline for absorption text
-                ScreenRect absorptionRect = getSubElementRect(SubElementType.ABSORPTION_TEXT, player, absorptionAmount);
+                ScreenRect absorptionRect = getSubElementRect(settings, SubElementType.ABSORPTION_TEXT, player, absorptionAmount);
                 if (absorptionRect != null && absorptionRect.width() > 0 && absorptionRect.height() > 0) {
                     graphics.renderOutline(absorptionRect.x() - 1, absorptionRect.y() - 1, absorptionRect.width() + 2, absorptionRect.height() + 2, 0x60FFFFFF); // Semi-transparent white
                 }
 
                 // Outline for trailing icon
-                if (config.enableHealthTrailingIcon) {
-                    ScreenRect trailingIconRect = getSubElementRect(SubElementType.TRAILING_ICON, player, absorptionAmount);
+                if (health.enableTrailingIcon) {
+                    ScreenRect trailingIconRect = getSubElementRect(settings, SubElementType.TRAILING_ICON, player, absorptionAmount);
                     if (trailingIconRect != null && trailingIconRect.width() > 0 && trailingIconRect.height() > 0) {
                         graphics.renderOutline(trailingIconRect.x() - 1, trailingIconRect.y() - 1, trailingIconRect.width() + 2, trailingIconRect.height() + 2, 0x60FFA500); // Semi-transparent orange
                     }
@@ -528,11 +519,11 @@ public class HealthBarRenderer {
      * Renders the base health bar (filled portion)
      * @param maxTotalHealth The maximum value to which the bar should visually scale (e.g., player max health + max absorption).
      */
-    private static void renderBaseBar(GuiGraphics graphics, Player player, float maxTotalHealth, float healthToDisplay, int barAbsX, int barAbsY, int barAbsWidth, int barAbsHeight, int barXOffsetWithinTexture, int barYOffsetWithinTexture, int animOffset, boolean isRightAnchored) {
-        BarType barType = BarType.fromPlayerState(player);
-        float fillRatio = (player.getMaxHealth() == 0) ? 0.0f : (healthToDisplay / player.getMaxHealth());
+    private static void renderBaseBar(FrameContext ctx, GuiGraphics graphics, LivingEntity entity, float maxTotalHealth, float healthToDisplay, int barAbsX, int barAbsY, int barAbsWidth, int barAbsHeight, int barXOffsetWithinTexture, int barYOffsetWithinTexture, int animOffset, boolean isRightAnchored) {
+        BarType barType = BarType.fromEntity(entity);
+        float fillRatio = (entity.getMaxHealth() == 0) ? 0.0f : (healthToDisplay / entity.getMaxHealth());
         fillRatio = Mth.clamp(fillRatio, 0.0f, 1.0f);
-        FillDirection fillDirection = ModConfigManager.getClient().healthFillDirection;
+        FillDirection fillDirection = ctx.settings().health.fillDirection;
         if (fillDirection == FillDirection.VERTICAL) {
             int filledHeight = (int) (barAbsHeight * fillRatio);
             if (healthToDisplay > 0 && filledHeight == 0) filledHeight = 1;
@@ -540,7 +531,7 @@ public class HealthBarRenderer {
                 int barRenderY = barAbsY + (barAbsHeight - filledHeight);
                 int textureVOffset = ATLAS_MAIN_BAR_HEIGHT - filledHeight;
                 graphics.blit(
-                        DynamicResourceBars.loc("textures/gui/" + barType.getTexture() + ".png"),
+                        barType.getLocation(),
                         barAbsX, barRenderY,
                         0, textureVOffset,
                         barAbsWidth, filledHeight,
@@ -550,7 +541,7 @@ public class HealthBarRenderer {
         } else {
             drawAsymmetricBarNineSliceWithV(
                 graphics,
-                DynamicResourceBars.loc("textures/gui/" + barType.getTexture() + ".png"),
+                barType.getLocation(),
                 barAbsX, barAbsY,
                 barAbsWidth, barAbsHeight,
                 BAR_SOURCE_TEXTURE_WIDTH, ATLAS_MAIN_BAR_HEIGHT,
@@ -586,7 +577,7 @@ public class HealthBarRenderer {
         
         // Render the trailing icon texture with fixed bar height
         graphics.blit(
-            DynamicResourceBars.loc("textures/gui/health_trailing_icon.png"),
+            BarTextures.HEALTH_TRAILING_ICON,
             iconX, iconY,
             0, 0,
             BACKGROUND_SOURCE_TEXTURE_HEIGHT, BACKGROUND_SOURCE_TEXTURE_HEIGHT,
@@ -602,7 +593,7 @@ public class HealthBarRenderer {
      * It uses a distinct color tint and is is drawn underneath the main bar.
      * Its opacity is constant when visible, and it disappears when the gap is closed.
      * @param graphics GuiGraphics instance.
-     * @param player The player entity.
+     * @param entity The entity the bar belongs to.
      * @param maxTotalHealth The maximum value to which the bar should visually scale (e.g., player max health + max absorption).
      * @param currentAnimatedTotalHealth The main bar's current animated total health (for comparison).
      * @param healthToDisplayForDelayedBar The health value to display for the delayed bar.
@@ -613,25 +604,24 @@ public class HealthBarRenderer {
      * @param animOffset Animation texture offset.
      * @param isRightAnchored True if the bar is right-anchored.
      */
-    private static void renderDelayedBar(GuiGraphics graphics, Player player, float maxTotalHealth, float currentAnimatedTotalHealth, float healthToDisplayForDelayedBar, int barAbsX, int barAbsY, int barAbsWidth, int barAbsHeight, int animOffset, boolean isRightAnchored) {
-        BarType barType = BarType.fromPlayerState(player);
-        ClientConfig config = ModConfigManager.getClient();
-        float fillRatio = (player.getMaxHealth() == 0) ? 0.0f : (healthToDisplayForDelayedBar / player.getMaxHealth());
+    private static void renderDelayedBar(FrameContext ctx, BarAnimationState state, GuiGraphics graphics, LivingEntity entity, float maxTotalHealth, float currentAnimatedTotalHealth, float healthToDisplayForDelayedBar, int barAbsX, int barAbsY, int barAbsWidth, int barAbsHeight, int animOffset, boolean isRightAnchored) {
+        BarType barType = BarType.fromEntity(entity);
+        float fillRatio = (entity.getMaxHealth() == 0) ? 0.0f : (healthToDisplayForDelayedBar / entity.getMaxHealth());
         fillRatio = Mth.clamp(fillRatio, 0.0f, 1.0f);
         RenderSystem.enableBlend();
         RenderSystem.defaultBlendFunc();
         float finalRenderAlpha = 1.0f;
-        if (EditModeManager.isEditModeEnabled()) {
+        if (ctx.editMode()) {
             finalRenderAlpha = 1.0f;
         } else {
             if (healthToDisplayForDelayedBar <= currentAnimatedTotalHealth + 0.01f) {
                 finalRenderAlpha = 0.0f;
             }
         }
-        finalRenderAlpha *= getHealthBarAlpha();
+        finalRenderAlpha *= getHealthBarAlpha(ctx, state);
         finalRenderAlpha = Mth.clamp(finalRenderAlpha, 0.0f, 1.0f);
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, finalRenderAlpha);
-        FillDirection fillDirection = config.healthFillDirection;
+        FillDirection fillDirection = ctx.settings().health.fillDirection;
         if (fillDirection == FillDirection.VERTICAL) {
             int filledHeight = (int) (barAbsHeight * fillRatio);
             if (healthToDisplayForDelayedBar > 0 && filledHeight == 0) filledHeight = 1;
@@ -639,7 +629,7 @@ public class HealthBarRenderer {
                 int barRenderY = barAbsY + (barAbsHeight - filledHeight);
                 int textureVOffset = animOffset + (barAbsHeight - filledHeight);
                 graphics.blit(
-                        DynamicResourceBars.loc("textures/gui/" + BarType.HIT.getTexture() + ".png"),
+                        BarType.HIT.getLocation(),
                         barAbsX, barRenderY,
                         0, textureVOffset,
                         barAbsWidth, filledHeight,
@@ -649,7 +639,7 @@ public class HealthBarRenderer {
         } else {
             drawBarNineSlice(
                 graphics,
-                DynamicResourceBars.loc("textures/gui/" + BarType.HIT.getTexture() + ".png"),
+                BarType.HIT.getLocation(),
                 barAbsX, barAbsY,
                 barAbsWidth, barAbsHeight,
                 HITBAR_SOURCE_TEXTURE_WIDTH, HITBAR_SOURCE_TEXTURE_HEIGHT,
@@ -684,27 +674,23 @@ public class HealthBarRenderer {
      * @param player The player entity.
      * @return True if frozen, false otherwise.
      */
-    private static boolean isFrozen(Player player) {
-        return player.isFullyFrozen();
-    }
-
     /**
      * Calculates the color for the health text, including alpha for fading.
      */
-    private static int getHealthTextColor(float currentHealth, float maxHealth) {
-        TextBehavior behavior = ModConfigManager.getClient().showHealthText;
-        ClientConfig config = ModConfigManager.getClient();
+    private static int getHealthTextColor(FrameContext ctx, BarAnimationState state, float currentHealth, float maxHealth) {
+        ConfigSnapshot.HealthSettings health = ctx.settings().health;
+        TextBehavior behavior = health.showText;
 
-        int baseColor = config.healthTextColor & 0xFFFFFF; // Use configured text color
-        int alpha = config.healthTextOpacity;
+        int baseColor = health.textColor & 0xFFFFFF; // Use configured text color
+        int alpha = health.textOpacity;
 
         // Apply fading logic based on text behavior
         if (behavior == TextBehavior.WHEN_NOT_FULL && currentHealth >= maxHealth) {
-            long timeSinceFull = System.currentTimeMillis() - fullHealthStartTime;
+            long timeSinceFull = ctx.millis() - state.fullHealthStartTime;
             alpha = (int) (alpha * (RenderUtil.calculateTextAlpha(timeSinceFull) / (float) RenderUtil.BASE_TEXT_ALPHA));
         }
 
-        alpha = (int) (alpha * getHealthBarAlpha()); // Modulate text alpha with bar's overall alpha
+        alpha = (int) (alpha * getHealthBarAlpha(ctx, state)); // Modulate text alpha with bar's overall alpha
         alpha = Mth.clamp(alpha, 10, 255); // Clamp alpha to ensure visibility
 
         return (alpha << 24) | baseColor;
@@ -713,10 +699,10 @@ public class HealthBarRenderer {
     /**
      * Determines if the health text should be rendered based on configuration and player state.
      */
-    private static boolean shouldRenderHealthText(float currentHealth, float maxHealth, Player player) {
-        TextBehavior behavior = ModConfigManager.getClient().showHealthText;
+    private static boolean shouldRenderHealthText(FrameContext ctx, BarAnimationState state, float currentHealth, float maxHealth, Player player) {
+        TextBehavior behavior = ctx.settings().health.showText;
 
-        if (EditModeManager.isEditModeEnabled()) {
+        if (ctx.editMode()) {
             return behavior == TextBehavior.ALWAYS || behavior == TextBehavior.WHEN_NOT_FULL;
         }
 
@@ -730,14 +716,14 @@ public class HealthBarRenderer {
         // WHEN_NOT_FULL logic: Show when not full, or fade out after becoming full
         boolean isFull = currentHealth >= maxHealth;
         if (isFull) {
-            if (lastHealth < maxHealth || lastHealth == -1) { // Just became full or first check
-                fullHealthStartTime = System.currentTimeMillis(); // Reset timer
+            if (state.lastHealth < maxHealth || state.lastHealth == -1) { // Just became full or first check
+                state.fullHealthStartTime = ctx.millis(); // Reset timer
             }
-            lastHealth = currentHealth;
+            state.lastHealth = currentHealth;
             // Show for a short duration after becoming full
-            return (System.currentTimeMillis() - fullHealthStartTime) < RenderUtil.TEXT_DISPLAY_DURATION;
+            return (ctx.millis() - state.fullHealthStartTime) < RenderUtil.TEXT_DISPLAY_DURATION;
         } else {
-            lastHealth = currentHealth;
+            state.lastHealth = currentHealth;
             return true; // Not full, so show
         }
     }
@@ -746,30 +732,30 @@ public class HealthBarRenderer {
      * Controls the visibility state of the health bar for fading purposes.
      * @param visible True if the bar should currently be considered "visible" (e.g., health not full).
      */
-    private static void setHealthBarVisibility(boolean visible) {
-        if (healthBarSetVisible != visible) {
+    private static void setHealthBarVisibility(FrameContext ctx, BarAnimationState state, boolean visible) {
+        if (state.healthBarSetVisible != visible) {
             if (!visible) {
-                healthBarDisabledStartTime = System.currentTimeMillis(); // Start fade timer
+                state.healthBarDisabledStartTime = ctx.millis(); // Start fade timer
             }
-            healthBarSetVisible = visible;
+            state.healthBarSetVisible = visible;
         }
     }
 
     /**
      * Checks if the health bar is currently considered visible (not fully faded out).
      */
-    private static boolean isHealthBarVisible() {
-        return healthBarSetVisible;
+    private static boolean isHealthBarVisible(BarAnimationState state) {
+        return state.healthBarSetVisible;
     }
 
     /**
      * Calculates the current alpha value for the health bar, for fading in/out effects.
      */
-    private static float getHealthBarAlpha() {
-        if (isHealthBarVisible()) {
+    private static float getHealthBarAlpha(FrameContext ctx, BarAnimationState state) {
+        if (isHealthBarVisible(state)) {
             return 1.0f; // Fully opaque if visible
         }
-        long timeSinceDisabled = System.currentTimeMillis() - healthBarDisabledStartTime;
+        long timeSinceDisabled = ctx.millis() - state.healthBarDisabledStartTime;
         if (timeSinceDisabled >= RenderUtil.BAR_FADEOUT_DURATION) {
             return 0.0f; // Fully transparent if fade duration passed
         }
@@ -777,26 +763,11 @@ public class HealthBarRenderer {
         return Mth.clamp(1.0f - (timeSinceDisabled / (float) RenderUtil.BAR_FADEOUT_DURATION), 0.0f, 1.0f);
     }
 
-    /**
-     * Gets the ItemStack that the player is holding (main or off-hand) if it's a food item AppleSkin can interpret.
-     */
-    private static ItemStack getHeldFood(Player player) {
-        ItemStack mainHand = player.getItemInHand(net.minecraft.world.InteractionHand.MAIN_HAND);
-        if (AppleSkinCompat.canConsume(mainHand, player)) {
-            return mainHand;
-        }
-
-        ItemStack offHand = player.getItemInHand(net.minecraft.world.InteractionHand.OFF_HAND);
-        if (AppleSkinCompat.canConsume(offHand, player)) {
-            return offHand;
-        }
-        return ItemStack.EMPTY;
-    }
-
     /**
      * Renders a gradient overlay on the health bar for visual enhancement.
      */
-    private static void renderGradientOverlay(GuiGraphics graphics, Player player, ScreenRect barRect, float alpha) {
+    private static void renderGradientOverlay(GuiGraphics graphics, Player player, BarAnimationState state, ScreenRect
+ barRect, float alpha) {
         int gradientWidth = 64; // Gradient extends 64 pixels from each side
         int barWidth = barRect.width();
         int barHeight = barRect.height();
@@ -804,7 +775,7 @@ public class HealthBarRenderer {
         if (barWidth <= 0 || barHeight <= 0) return;
         
         // Calculate the current health fill ratio
-        float healthRatio = (player.getMaxHealth() == 0) ? 0 : (currentHealthAnimated / player.getMaxHealth());
+        float healthRatio = (player.getMaxHealth() == 0) ? 0 : (state.currentHealthAnimated / player.getMaxHealth());
         healthRatio = Mth.clamp(healthRatio, 0.0f, 1.0f);
         int filledWidth = (int)(barWidth * healthRatio);
         
@@ -815,7 +786,7 @@ public class HealthBarRenderer {
         
         // Overlay: use the bottom half of the main bar texture as a right-side overlay
         if (filledWidth > 0) {
-            ResourceLocation barTexture = DynamicResourceBars.loc("textures/gui/" + BarType.fromPlayerState(player).getTexture() + ".png");
+            ResourceLocation barTexture = BarType.fromPlayerState(player).getLocation();
             int overlayWidth = Math.min(CUSTOM_HEALTH_BAR_MAIN_PADDING, filledWidth); // Use the rightmost N pixels
             int overlayX = barRect.x() + filledWidth - overlayWidth;
             graphics.blit(
@@ -833,11 +804,11 @@ public class HealthBarRenderer {
     /**
      * Renders the absorption overlay using proper nine-slice rendering with a dedicated absorption texture.
      */
-    private static void renderAbsorptionOverlay(GuiGraphics graphics, Player player, float currentHealth, float currentAbsorption, ScreenRect barRect, int animOffset, boolean isRightAnchored) {
+    private static void renderAbsorptionOverlay(FrameContext ctx, GuiGraphics graphics, LivingEntity entity, float currentHealth, float currentAbsorption, ScreenRect barRect, int animOffset, boolean isRightAnchored) {
         if (currentAbsorption <= 0) return;
 
-        float healthRatio = (player.getMaxHealth() == 0) ? 0 : (currentHealth / player.getMaxHealth());
-        float absorptionRatio = (player.getMaxHealth() == 0) ? 0 : (currentAbsorption / player.getMaxHealth());
+        float healthRatio = (entity.getMaxHealth() == 0) ? 0 : (currentHealth / entity.getMaxHealth());
+        float absorptionRatio = (entity.getMaxHealth() == 0) ? 0 : (currentAbsorption / entity.getMaxHealth());
         
         // Calculate the absorption bar dimensions
         int absorptionBarWidth = (int) (barRect.width() * absorptionRatio);
@@ -852,7 +823,7 @@ public class HealthBarRenderer {
         RenderSystem.defaultBlendFunc();
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f); // No tint needed since we're using a dedicated texture
 
-        FillDirection fillDirection = ModConfigManager.getClient().healthFillDirection;
+        FillDirection fillDirection = ctx.settings().health.fillDirection;
 
         if (fillDirection == FillDirection.VERTICAL) {
             // For vertical bars, absorption appears as a separate section
@@ -860,7 +831,7 @@ public class HealthBarRenderer {
             if (absorptionHeight > 0) {
                 int yPos = barRect.y() + (barRect.height() - absorptionHeight);
                 graphics.blit(
-                    DynamicResourceBars.loc("textures/gui/absorption_bar.png"),
+                    BarTextures.ABSORPTION_BAR,
                     barRect.x(), yPos,
                     0, animOffset,
                     barRect.width(), absorptionHeight,
@@ -871,7 +842,7 @@ public class HealthBarRenderer {
             // For horizontal bars, use nine-slice rendering for absorption
             drawAsymmetricBarNineSlice(
                 graphics,
-                DynamicResourceBars.loc("textures/gui/absorption_bar.png"),
+                BarTextures.ABSORPTION_BAR,
                 absorptionStartX, barRect.y(),
                 absorptionBarWidth, barRect.height(),
                 BAR_SOURCE_TEXTURE_WIDTH, BAR_SOURCE_TEXTURE_HEIGHT,
@@ -891,12 +862,12 @@ public class HealthBarRenderer {
      * Positioned above all other overlays for maximum visibility.
      * Rendered 2 pixels narrower than the main health bar for better visual distinction.
      */
-    private static void renderHealthRestoredOverlay(GuiGraphics graphics, Player player, ItemStack heldFood, float currentHealth, float maxTotalHealth, ScreenRect barRect, int animOffset, boolean isRightAnchored) {
-        if (!PlatformUtil.isModLoaded("appleskin")) {
+    private static void renderHealthRestoredOverlay(FrameContext ctx, GuiGraphics graphics, Player player, AppleSkinCompat.HeldFood heldFood, float currentHealth, float maxTotalHealth, ScreenRect barRect, int animOffset, boolean isRightAnchored) {
+        if (!CompatState.APPLESKIN) {
             return;
         }
 
-        float healthRestoration = AppleSkinCompat.getEstimatedHealthRestoration(heldFood, player);
+        float healthRestoration = heldFood.healthRestoration;
         if (healthRestoration <= 0 || currentHealth >= player.getMaxHealth()) {
             return;
         }
@@ -927,7 +898,7 @@ public class HealthBarRenderer {
         // No color tint, just alpha
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, flashAlpha);
 
-        FillDirection fillDirection = ModConfigManager.getClient().healthFillDirection;
+        FillDirection fillDirection = ctx.settings().health.fillDirection;
 
         if (fillDirection == FillDirection.VERTICAL) {
             int currentHeight = (int) (overlayHeight * healthRatio);
@@ -937,7 +908,7 @@ public class HealthBarRenderer {
             if (overlayHeightVertical > 0) {
                 int yPos = overlayY + (overlayHeight - restoredHeight);
                 graphics.blit(
-                    DynamicResourceBars.loc("textures/gui/health_restoration_overlay.png"),
+                    BarTextures.HEALTH_RESTORATION_OVERLAY,
                     barRect.x(), yPos,
                     0, animOffset,
                     barRect.width(), overlayHeightVertical,
@@ -969,22 +940,16 @@ public class HealthBarRenderer {
         // Apply blinking animation to base alpha
         float animatedBaseAlpha = baseAlpha * blinkAlpha;
         
-        // Apply alpha fade across the entire overlay width
-        for (int i = 0; i < overlayWidth; i++) {
-            float fadeProgress = (float) i / overlayWidth;
-            float currentAlpha = animatedBaseAlpha * (1.0f - fadeProgress * fadeProgress); // Quadratic fade for smoother transition
-            RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, currentAlpha);
-            drawAsymmetricBarNineSlice(
-                graphics,
-                DynamicResourceBars.loc("textures/gui/health_restoration_overlay.png"),
-                overlayStartX + i, overlayY,
-                1, overlayHeight, // Render 1 pixel at a time for smooth fade
-                BAR_SOURCE_TEXTURE_WIDTH, BAR_SOURCE_TEXTURE_HEIGHT,
-                0, // No left cap for single pixel
-                0, // No right cap for single pixel
-                1.0f // Full fill
-            );
-        }
+        // Quadratic alpha fade across the entire overlay width, emitted as a single gradient draw
+        RenderUtil.drawHorizontalAlphaFade(
+            graphics,
+            BarTextures.HEALTH_RESTORATION_OVERLAY,
+            overlayStartX, overlayY,
+            overlayWidth, overlayHeight,
+            0, 0,
+            BAR_SOURCE_TEXTURE_WIDTH, BAR_SOURCE_TEXTURE_HEIGHT,
+            animatedBaseAlpha
+        );
     }
 
     /**
@@ -995,7 +960,7 @@ public class HealthBarRenderer {
     /**
      * Enum to define different health bar textures based on player's status effects.
      */
-    private enum BarType {
+    enum BarType {
         NORMAL("health_bar"),
         POISON("health_bar_poisoned"),
         WITHER("health_bar_withered"),
@@ -1004,24 +969,83 @@ public class HealthBarRenderer {
         HIT("hit_bar"); // New hit bar type
 
         private final String texture;
+        private final ResourceLocation location;
 
         BarType(String texture) {
             this.texture = texture;
+            this.location = BarTextures.gui(texture);
         }
 
         public String getTexture() {
             return texture;
         }
 
+        public ResourceLocation getLocation() {
+            return location;
+        }
+
+        public static BarType fromEntity(LivingEntity entity) {
+            return entity instanceof Player player ? fromPlayerState(player) : NORMAL;
+        }
+
         public static BarType fromPlayerState(Player player) {
-            if (player.hasEffect(MobEffects.POISON)) return POISON;
-            if (player.hasEffect(MobEffects.WITHER)) return WITHER;
-            if (isFrozen(player)) return FROZEN;
+            long effects = PlayerEffectState.get(player);
+            if ((effects & PlayerEffectState.POISON) != 0) return POISON;
+            if ((effects & PlayerEffectState.WITHER) != 0) return WITHER;
+            if ((effects & PlayerEffectState.FROZEN) != 0) return FROZEN;
             // Remove isScorched (Thermoo) logic
             return NORMAL;
         }
     }
 
+    /**
+     * Width of the main bar for an entity with {@code maxHealth}, on the same smart-scaled curve as the player's bar.
+     */
+    static int getSmartScaledBarWidth(float maxHealth) {
+        return calculateSmartScaledWidth(maxHealth, PIXELS_PER_HEALTH_POINT);
+    }
+
+    /**
+     * How much wider the background is than the main bar in {@link #renderEntityBar}.
+     */
+    static int getEntityBarExtraWidth() {
+        return CUSTOM_HEALTH_BAR_MAIN_SHRINK * 2;
+    }
+
+    /**
+     * Draws a health bar for an entity other than the player at (x, y), using the default health bar layout since
+     * those bars have no editable layout: background, hit indicator, main bar and absorption.
+     * @param barWidth Width of the main bar; the background is {@link #getEntityBarExtraWidth()} wider
+     */
+    static void renderEntityBar(GuiGraphics graphics, FrameContext ctx, LivingEntity entity, BarAnimationState state, int x, int y, int barWidth) {
+        RenderSystem.enableBlend();
+        RenderUtil.drawHorizontalNineSlice(graphics, BarTextures.HEALTH_BACKGROUND,
+                x, y, barWidth + getEntityBarExtraWidth(), ClientConfig.DEFAULT_HEALTH_BACKGROUND_HEIGHT,
+                BACKGROUND_SOURCE_TEXTURE_WIDTH, BACKGROUND_SOURCE_TEXTURE_HEIGHT,
+                CUSTOM_HEALTH_BAR_BACKGROUND_PADDING, CUSTOM_HEALTH_BAR_BACKGROUND_PADDING,
+                1.0f
+        );
+        ScreenRect barRect = new ScreenRect(x + ClientConfig.DEFAULT_HEALTH_BAR_X_OFFSET + CUSTOM_HEALTH_BAR_BACKGROUND_PADDING,
+                y + ClientConfig.DEFAULT_HEALTH_BAR_Y_OFFSET, barWidth, ClientConfig.DEFAULT_HEALTH_BAR_HEIGHT);
+
+        float maxPossibleTotalHealth = entity.getMaxHealth() + MAX_ABSORPTION_HEALTH_POINTS;
+        float currentAnimatedTotalHealth = state.currentHealthAnimated + state.currentAbsorptionAnimated;
+        renderDelayedBar(ctx, state, graphics, entity, maxPossibleTotalHealth, currentAnimatedTotalHealth, state.delayedHealthCurrent, barRect.x(), barRect.y(), barRect.width(), barRect.height(), 0, false);
+        renderBaseBar(ctx, graphics, entity, maxPossibleTotalHealth, state.currentHealthAnimated, barRect.x(), barRect.y(), barRect.width(), barRect.height(), 0, 0, 0, false);
+        if (state.currentAbsorptionAnimated > 0) {
+            renderAbsorptionOverlay(ctx, graphics, entity, state.currentHealthAnimated, state.currentAbsorptionAnimated, barRect, 0, false);
+        }
+        RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
+        RenderSystem.disableBlend();
+    }
+
+    /**
+     * The main bar texture for {@code entity}'s current status effects.
+     */
+    static ResourceLocation getBarTexture(LivingEntity entity) {
+        return BarType.fromEntity(entity).getLocation();
+    }
+
     // Helper to get cap width for background and foreground
     private static int getBackgroundPadding() {
         return HORIZONTAL_SLICE_PADDING;
@@ -1034,12 +1058,13 @@ public class HealthBarRenderer {
     private static void drawBarNineSlice(GuiGraphics graphics, ResourceLocation texture, int x, int y, int destWidth, int destHeight, int sourceTextureWidth, int sourceTextureHeight, int padding, float fillRatio) {
         int filledWidth = (int)(destWidth * fillRatio);
         if (filledWidth <= 0) return;
+        QuadBatch batch = QuadBatch.begin(graphics, texture, sourceTextureWidth, sourceTextureHeight);
         // Draw left padding (tile vertically)
         if (filledWidth > 0 && padding > 0) {
             int leftWidth = Math.min(padding, filledWidth);
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, x, y + tileY, 0, 0, leftWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(x, y + tileY, 0, 0, leftWidth, drawHeight);
             }
         }
         // Draw tiled middle (horizontally and vertically)
@@ -1051,7 +1076,7 @@ public class HealthBarRenderer {
             int tileWidth = Math.min(sourceMiddleWidth, remaining);
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, tiledX, y + tileY, padding, 0, tileWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(tiledX, y + tileY, padding, 0, tileWidth, drawHeight);
             }
             tiledX += tileWidth;
             remaining -= tileWidth;
@@ -1063,23 +1088,25 @@ public class HealthBarRenderer {
             if (rightWidth > 0) {
                 for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                     int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                    graphics.blit(texture, rightStart, y + tileY, sourceTextureWidth - padding, 0, rightWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                    batch.blit(rightStart, y + tileY, sourceTextureWidth - padding, 0, rightWidth, drawHeight);
                 }
             }
         }
+        batch.end();
     }
 
     // Helper to draw an asymmetric nine-slice bar (different left and right cap widths)
     private static void drawAsymmetricBarNineSlice(GuiGraphics graphics, ResourceLocation texture, int x, int y, int destWidth, int destHeight, int sourceTextureWidth, int sourceTextureHeight, int leftPadding, int rightPadding, float fillRatio) {
         int filledWidth = (int)(destWidth * fillRatio);
         if (filledWidth <= 0) return;
+        QuadBatch batch = QuadBatch.begin(graphics, texture, sourceTextureWidth, sourceTextureHeight);
         
         // Draw left padding (tile vertically)
         if (filledWidth > 0 && leftPadding > 0) {
             int leftWidth = Math.min(leftPadding, filledWidth);
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, x, y + tileY, 0, 0, leftWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(x, y + tileY, 0, 0, leftWidth, drawHeight);
             }
         }
         
@@ -1092,7 +1119,7 @@ public class HealthBarRenderer {
             int tileWidth = Math.min(sourceMiddleWidth, remaining);
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, tiledX, y + tileY, leftPadding, 0, tileWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(tiledX, y + tileY, leftPadding, 0, tileWidth, drawHeight);
             }
             tiledX += tileWidth;
             remaining -= tileWidth;
@@ -1105,16 +1132,18 @@ public class HealthBarRenderer {
             if (rightWidth > 0) {
                 for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                     int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                    graphics.blit(texture, rightStart, y + tileY, sourceTextureWidth - rightPadding, 0, rightWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                    batch.blit(rightStart, y + tileY, sourceTextureWidth - rightPadding, 0, rightWidth, drawHeight);
                 }
             }
         }
+        batch.end();
     }
 
     // Like drawAsymmetricBarNineSlice, but with a v offset for vertical cropping in the atlas
     private static void drawAsymmetricBarNineSliceWithV(GuiGraphics graphics, ResourceLocation texture, int x, int y, int destWidth, int destHeight, int sourceTextureWidth, int sourceTextureHeight, int leftPadding, int rightPadding, float fillRatio, int vOffset) {
         int filledWidth = (int)(destWidth * fillRatio);
         if (filledWidth <= 0) return;
+        QuadBatch batch = QuadBatch.begin(graphics, texture, sourceTextureWidth, ATLAS_TOTAL_HEIGHT);
 
         // If the bar is smaller than the sum of paddings, only draw what fits
         if (filledWidth <= rightPadding) {
@@ -1123,8 +1152,9 @@ public class HealthBarRenderer {
             int rightWidth = filledWidth;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, rightStart, y + tileY, sourceTextureWidth - rightPadding, vOffset, rightWidth, drawHeight, sourceTextureWidth, ATLAS_TOTAL_HEIGHT);
+                batch.blit(rightStart, y + tileY, sourceTextureWidth - rightPadding, vOffset, rightWidth, drawHeight);
             }
+            batch.end();
             return;
         }
         if (filledWidth <= leftPadding) {
@@ -1132,8 +1162,9 @@ public class HealthBarRenderer {
             int leftWidth = filledWidth;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, x, y + tileY, 0, vOffset, leftWidth, drawHeight, sourceTextureWidth, ATLAS_TOTAL_HEIGHT);
+                batch.blit(x, y + tileY, 0, vOffset, leftWidth, drawHeight);
             }
+            batch.end();
             return;
         }
 
@@ -1142,7 +1173,7 @@ public class HealthBarRenderer {
             int leftWidth = leftPadding;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, x, y + tileY, 0, vOffset, leftWidth, drawHeight, sourceTextureWidth, ATLAS_TOTAL_HEIGHT);
+                batch.blit(x, y + tileY, 0, vOffset, leftWidth, drawHeight);
             }
         }
         // Draw tiled middle (horizontally and vertically)
@@ -1154,7 +1185,7 @@ public class HealthBarRenderer {
             int tileWidth = Math.min(sourceMiddleWidth, remaining);
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, tiledX, y + tileY, leftPadding, vOffset, tileWidth, drawHeight, sourceTextureWidth, ATLAS_TOTAL_HEIGHT);
+                batch.blit(tiledX, y + tileY, leftPadding, vOffset, tileWidth, drawHeight);
             }
             tiledX += tileWidth;
             remaining -= tileWidth;
@@ -1165,8 +1196,9 @@ public class HealthBarRenderer {
             int rightWidth = rightPadding;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, rightStart, y + tileY, sourceTextureWidth - rightPadding, vOffset, rightWidth, drawHeight, sourceTextureWidth, ATLAS_TOTAL_HEIGHT);
+                batch.blit(rightStart, y + tileY, sourceTextureWidth - rightPadding, vOffset, rightWidth, drawHeight);
             }
         }
+        batch.end();
     }
 }
@@ -2,18 +2,13 @@ package dev.muon.dynamic_resource_bars.render;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import dev.muon.dynamic_resource_bars.DynamicResourceBars;
-import dev.muon.dynamic_resource_bars.config.ModConfigManager;
-import dev.muon.dynamic_resource_bars.config.ClientConfig;
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
 import dev.muon.dynamic_resource_bars.util.*;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.util.Mth;
 
-#if NEWER_THAN_20_1
-    import net.minecraft.client.DeltaTracker;
-#endif
-
 import net.minecraft.resources.ResourceLocation;
 
 public class ManaBarRenderer {
@@ -53,14 +48,6 @@ public class ManaBarRenderer {
     private static final int ATLAS_TOTAL_HEIGHT = BAR_SOURCE_TEXTURE_HEIGHT;
 
     private static final float DAMPING_FACTOR = 0.85f; // Controls animation smoothness for mana regeneration
-    private static float currentManaAnimated = -1.0f; // Animated mana for the main bar
-    private static float currentReservedManaAnimated = -1.0f; // Animated reserved mana
-
-    private static float lastMana = -1;
-    private static long fullManaStartTime = 0;
-    private static boolean manaBarSetVisible = true; // Default to visible, used for bar fade
-    private static long manaBarDisabledStartTime = 0L; // Used for bar fade timing
-
     private static final int RESERVED_MANA_COLOR = 0x232323;
 
     /**
@@ -94,18 +81,17 @@ public class ManaBarRenderer {
     /**
      * Helper to get the dynamic width for the main bar (mana only, no reserved, no caps)
      */
-    private static int getMainBarWidth(Player player, float maxMana) {
-        ClientConfig config = ModConfigManager.getClient();
+    private static int getMainBarWidth(ConfigSnapshot settings, Player player, float maxMana) {
         int baseWidth = calculateSmartScaledWidth(maxMana, PIXELS_PER_MANA_POINT);
-        int percent = Math.max(0, Math.min(100, config.manaBarWidthModifier));
-        int globalPercent = Math.max(0, Math.min(100, config.globalBarWidthModifier));
+        int percent = Math.max(0, Math.min(100, settings.mana.barWidthModifier));
+        int globalPercent = Math.max(0, Math.min(100, settings.global.globalBarWidthModifier));
         int scaledWidth = Math.round(baseWidth * (percent / 100.0f) * (globalPercent / 100.0f));
         return Math.max(MIN_BASE_BAR_WIDTH, scaledWidth);
     }
 
     // Helper to get the reserved mana width (for background/foreground extension)
-    private static int getReservedManaWidth(Player player, float reservedManaAmount, float maxMana) {
-        int baseWidth = getMainBarWidth(player, maxMana);
+    private static int getReservedManaWidth(ConfigSnapshot settings, Player player, float reservedManaAmount, float maxMana) {
+        int baseWidth = getMainBarWidth(settings, player, maxMana);
         return (maxMana == 0) ? 0 : (int)(baseWidth * (reservedManaAmount / maxMana));
     }
 
@@ -128,16 +114,16 @@ public class ManaBarRenderer {
     /**
      * Updates the animated mana values for smooth animation
      */
-    private static void updateAnimatedValues(Player player, float partialTicks, float actualMana, float reservedManaAmount) {
+    private static void updateAnimatedValues(FrameContext ctx, BarAnimationState state, Player player, float partialTicks, float actualMana, float reservedManaAmount) {
         // --- Initialization and Reset on Major State Change ---
-        if (currentManaAnimated < 0.0f || (actualMana < 0.01f && currentManaAnimated > 0.01f)) {
-            currentManaAnimated = actualMana;
-            currentReservedManaAnimated = reservedManaAmount;
+        if (state.currentManaAnimated < 0.0f || (actualMana < 0.01f && state.currentManaAnimated > 0.01f)) {
+            state.currentManaAnimated = actualMana;
+            state.currentReservedManaAnimated = reservedManaAmount;
         }
 
         // Capture the animated values from the *previous frame* (before current tick's updates)
-        float previousFrameAnimatedMana = currentManaAnimated;
-        float previousFrameAnimatedReserved = currentReservedManaAnimated;
+        float previousFrameAnimatedMana = state.currentManaAnimated;
+        float previousFrameAnimatedReserved = state.currentReservedManaAnimated;
 
         // Calculate interpolation factor for smooth animation
         float interpolationFactor = 1.0f - (float) Math.pow(DAMPING_FACTOR, partialTicks);
@@ -146,24 +132,24 @@ public class ManaBarRenderer {
         // --- Update Main Mana Bar (`currentManaAnimated`) ---
         if (actualMana < previousFrameAnimatedMana - 0.01f) {
             // Mana decreased significantly (spent) -> instant snap down
-            currentManaAnimated = actualMana;
+            state.currentManaAnimated = actualMana;
         } else if (actualMana > previousFrameAnimatedMana + 0.01f) {
             // Mana increased significantly (regeneration) -> smooth animation up
-            currentManaAnimated = Mth.lerp(interpolationFactor, previousFrameAnimatedMana, actualMana);
+            state.currentManaAnimated = Mth.lerp(interpolationFactor, previousFrameAnimatedMana, actualMana);
         } else {
             // Mana is very close or same -> snap to actual value to prevent micro-fluctuations
-            currentManaAnimated = actualMana;
+            state.currentManaAnimated = actualMana;
         }
 
         if (reservedManaAmount < previousFrameAnimatedReserved - 0.01f) {
             // Reserved mana decreased significantly -> instant snap down
-            currentReservedManaAnimated = reservedManaAmount;
+            state.currentReservedManaAnimated = reservedManaAmount;
         } else if (reservedManaAmount > previousFrameAnimatedReserved + 0.01f) {
             // Reserved mana increased significantly -> smooth animation up
-            currentReservedManaAnimated = Mth.lerp(interpolationFactor, previousFrameAnimatedReserved, reservedManaAmount);
+            state.currentReservedManaAnimated = Mth.lerp(interpolationFactor, previousFrameAnimatedReserved, reservedManaAmount);
         } else {
             // Reserved mana is very close or same -> snap to actual value
-            currentReservedManaAnimated = reservedManaAmount;
+            state.currentReservedManaAnimated = reservedManaAmount;
         }
     }
 
@@ -171,98 +157,108 @@ public class ManaBarRenderer {
      * Calculates the overall bounding rectangle for the mana bar and its sub-elements,
      * based on the configured anchor and total offsets.
      */
-    public static ScreenRect getScreenRect(Player player, float maxMana) {
+    public static ScreenRect getScreenRect(ConfigSnapshot settings, Player player, float maxMana) {
+        if (player == null) return new ScreenRect(0, 0, 0, 0);
+        return getLayout(settings, player, maxMana).bounds();
+    }
+
+    public static ScreenRect getSubElementRect(ConfigSnapshot settings, SubElementType type, Player player, float maxMana) {
         if (player == null) return new ScreenRect(0, 0, 0, 0);
-        ClientConfig config = ModConfigManager.getClient();
-        int mainBarWidth = getMainBarWidth(player, maxMana);
+        BarLayout layout = getLayout(settings, player, maxMana);
+        ScreenRect complexRect = layout.bounds();
+        if (complexRect.width() == 0 && complexRect.height() == 0)
+            return new ScreenRect(0, 0, 0, 0);
+        if (type == SubElementType.TRAILING_ICON) {
+            // Fixed position at the end of the bar progress, using bar height
+            ScreenRect barRect = layout.get(SubElementType.BAR_MAIN);
+            float currentManaAnimated = BarAnimationState.of(player, FrameContext.now()).currentManaAnimated;
+            float manaRatio = (maxMana == 0) ? 0 : (currentManaAnimated / maxMana);
+            manaRatio = Mth.clamp(manaRatio, 0.0f, 1.0f);
+            int iconX = barRect.x() + (int)(barRect.width() * manaRatio);
+            return new ScreenRect(iconX, barRect.y(), BACKGROUND_SOURCE_TEXTURE_HEIGHT, BACKGROUND_SOURCE_TEXTURE_HEIGHT);
+        }
+        return layout.get(type);
+    }
+
+    private static BarLayout getLayout(ConfigSnapshot settings, Player player, float maxMana) {
+        BarLayout layout = BarLayoutCache.lookup(settings, DraggableElement.MANA_BAR, maxMana, 0);
+        if (layout == null) {
+            layout = BarLayoutCache.store(settings, DraggableElement.MANA_BAR, maxMana, 0, solveLayout(settings, player, maxMana));
+        }
+        return layout;
+    }
+
+    /**
+     * Computes the bounding box and every cacheable sub-element rect in one pass.
+     */
+    private static BarLayout solveLayout(ConfigSnapshot settings, Player player, float maxMana) {
+        ConfigSnapshot.ManaSettings mana = settings.mana;
+        int mainBarWidth = getMainBarWidth(settings, player, maxMana);
         int totalPadding = CUSTOM_MANA_BAR_MAIN_PADDING * 2;
-        
+
         // Ensure minimum width that can accommodate the nine-slice padding
         int minRequiredWidth = CUSTOM_MANA_BAR_BACKGROUND_PADDING * 2; // Left + right padding
         int width = Math.max(minRequiredWidth, mainBarWidth + totalPadding);
-        int height = config.manaBackgroundHeight;
+        int height = mana.backgroundHeight;
         ScreenRect parentBox = new ScreenRect(0, 0, width, height);
-        Position anchorPos = HUDPositioning.alignBoundingBoxToAnchor(parentBox, config.manaBarAnchor);
-        Position finalPos = anchorPos.offset(config.manaTotalXOffset, config.manaTotalYOffset);
-        return new ScreenRect(finalPos.x(), finalPos.y(), width, height);
-    }
-
-    /**
-     * Returns the bounding rectangle for a specific sub-element (e.g., background, main bar, text).
-     * Dimensions are taken from dynamic calculations or client configuration (for height and offsets).
-     */
-    public static ScreenRect getSubElementRect(SubElementType type, Player player, float maxMana) {
-        ScreenRect complexRect = getScreenRect(player, maxMana);
-        if (complexRect == null || (complexRect.width() == 0 && complexRect.height() == 0))
-            return new ScreenRect(0, 0, 0, 0);
-        ClientConfig config = ModConfigManager.getClient();
-        int x = complexRect.x();
-        int y = complexRect.y();
-        int baseWidth = getMainBarWidth(player, maxMana);
-        switch (type) {
-            case BACKGROUND:
-                return new ScreenRect(x + config.manaBackgroundXOffset, y + config.manaBackgroundYOffset, baseWidth + CUSTOM_MANA_BAR_MAIN_SHRINK * 2, config.manaBackgroundHeight);
-            case BAR_MAIN:
-                return new ScreenRect(x + config.manaBarXOffset + CUSTOM_MANA_BAR_BACKGROUND_PADDING, y + config.manaBarYOffset, baseWidth, config.manaBarHeight);
-            case FOREGROUND_DETAIL:
-                return new ScreenRect(x + config.manaOverlayXOffset, y + config.manaOverlayYOffset, baseWidth + CUSTOM_MANA_BAR_MAIN_SHRINK * 2, config.manaOverlayHeight);
-            case TEXT:
-                return new ScreenRect(x + config.manaTextXOffset + CUSTOM_MANA_BAR_BACKGROUND_PADDING, y + config.manaTextYOffset, baseWidth, config.manaBarHeight);
-            case TRAILING_ICON:
-                // Fixed position at the end of the bar progress, using bar height
-                float manaRatio = (maxMana == 0) ? 0 : (currentManaAnimated / maxMana);
-                manaRatio = Mth.clamp(manaRatio, 0.0f, 1.0f);
-                int iconX = x + config.manaBarXOffset + CUSTOM_MANA_BAR_BACKGROUND_PADDING + (int)(baseWidth * manaRatio);
-                int iconY = y + config.manaBarYOffset;
-                return new ScreenRect(iconX, iconY, BACKGROUND_SOURCE_TEXTURE_HEIGHT, BACKGROUND_SOURCE_TEXTURE_HEIGHT);
-            default:
-                return new ScreenRect(0, 0, 0, 0);
-        }
+        Position anchorPos = HUDPositioning.alignBoundingBoxToAnchor(parentBox, mana.barAnchor);
+        Position finalPos = anchorPos.offset(mana.totalXOffset, mana.totalYOffset);
+        int x = finalPos.x();
+        int y = finalPos.y();
+
+        return new BarLayout(new ScreenRect(x, y, width, height))
+                .set(SubElementType.BACKGROUND, new ScreenRect(x + mana.backgroundXOffset, y + mana.backgroundYOffset, mainBarWidth + CUSTOM_MANA_BAR_MAIN_SHRINK * 2, mana.backgroundHeight))
+                .set(SubElementType.BAR_MAIN, new ScreenRect(x + mana.barXOffset + CUSTOM_MANA_BAR_BACKGROUND_PADDING, y + mana.barYOffset, mainBarWidth, mana.barHeight))
+                .set(SubElementType.FOREGROUND_DETAIL, new ScreenRect(x + mana.overlayXOffset, y + mana.overlayYOffset, mainBarWidth + CUSTOM_MANA_BAR_MAIN_SHRINK * 2, mana.overlayHeight))
+                .set(SubElementType.TEXT, new ScreenRect(x + mana.textXOffset + CUSTOM_MANA_BAR_BACKGROUND_PADDING, y + mana.textYOffset, mainBarWidth, mana.barHeight));
     }
 
-    public static void render(GuiGraphics graphics, #if NEWER_THAN_20_1 DeltaTracker deltaTracker #else float partialTicks #endif, ManaProvider manaProvider, Player player) {
-        if (!Minecraft.getInstance().gameMode.canHurtPlayer() && !EditModeManager.isEditModeEnabled()) {
+    public static void render(GuiGraphics graphics, FrameContext ctx, ManaProvider manaProvider, Player player) {
+        if (!Minecraft.getInstance().gameMode.canHurtPlayer() && !ctx.editMode()) {
             return;
         }
 
-        ClientConfig config = ModConfigManager.getClient();
-        float currentPartialTicks = #if NEWER_THAN_20_1 deltaTracker.getGameTimeDeltaTicks() #else partialTicks #endif;
+        ConfigSnapshot settings = ctx.settings();
+        ConfigSnapshot.ManaSettings mana = settings.mana;
+        float currentPartialTicks = ctx.partialTicks();
 
-        // Get mana values from provider
-        float actualMana = (float) manaProvider.getCurrentMana();
-        float maxMana = manaProvider.getMaxMana();
-        float reservedMana = manaProvider.getReservedMana();
+        // Mana values sampled from the provider on the last tick
+        PlayerStatSnapshot stats = ctx.stats(player);
+        float actualMana = stats.mana;
+        float maxMana = stats.maxMana;
+        float reservedMana = stats.reservedMana;
+        BarAnimationState state = BarAnimationState.of(player, ctx.millis());
 
         // Update animated values using partialTicks for smooth animation
-        updateAnimatedValues(player, currentPartialTicks, actualMana, reservedMana);
+        updateAnimatedValues(ctx, state, player, currentPartialTicks, actualMana, reservedMana);
 
         // Override hideWhenFull if player has reserved mana or is in edit mode
-        boolean shouldFade = config.fadeManaWhenFull && actualMana >= maxMana && reservedMana == 0;
-        setManaBarVisibility(!shouldFade || EditModeManager.isEditModeEnabled());
+        boolean shouldFade = mana.fadeWhenFull && actualMana >= maxMana && reservedMana == 0;
+        setManaBarVisibility(ctx, state, !shouldFade || ctx.editMode());
 
         // Don't render if fully faded and not in edit mode
-        if (!isManaBarVisible() && !EditModeManager.isEditModeEnabled() && (System.currentTimeMillis() - manaBarDisabledStartTime) > RenderUtil.BAR_FADEOUT_DURATION) {
+        if (!isManaBarVisible(state) && !ctx.editMode() && (ctx.millis() - state.manaBarDisabledStartTime) > RenderUtil.BAR_FADEOUT_DURATION) {
             return;
         }
 
-        float currentAlphaForRender = getManaBarAlpha();
-        if (EditModeManager.isEditModeEnabled() && !isManaBarVisible()) {
+        float currentAlphaForRender = getManaBarAlpha(ctx, state);
+        if (ctx.editMode() && !isManaBarVisible(state)) {
             currentAlphaForRender = 1.0f; // Show fully if in edit mode, even if normally faded
         }
 
         RenderSystem.enableBlend();
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, currentAlphaForRender);
 
-        ScreenRect complexRect = getScreenRect(player, maxMana);
+        ScreenRect complexRect = getScreenRect(settings, player, maxMana);
 
-        int backgroundHeight = config.manaBackgroundHeight;
-        int animationCycles = config.manaBarAnimationCycles;
-        int frameHeight = config.manaBarFrameHeight;
+        int backgroundHeight = mana.backgroundHeight;
+        int animationCycles = mana.barAnimationCycles;
+        int frameHeight = mana.barFrameHeight;
 
         // Render Background (using 9-slice)
-        if (config.enableManaBackground) {
-            ScreenRect bgRect = getSubElementRect(SubElementType.BACKGROUND, player, maxMana);
-            RenderUtil.drawHorizontalNineSlice(graphics, DynamicResourceBars.loc("textures/gui/mana_background.png"),
+        if (mana.enableBackground) {
+            ScreenRect bgRect = getSubElementRect(settings, SubElementType.BACKGROUND, player, maxMana);
+            RenderUtil.drawHorizontalNineSlice(graphics, BarTextures.MANA_BACKGROUND,
                     bgRect.x(), bgRect.y(), bgRect.width(), bgRect.height(),
                     BACKGROUND_SOURCE_TEXTURE_WIDTH, BACKGROUND_SOURCE_TEXTURE_HEIGHT,
                     CUSTOM_MANA_BAR_BACKGROUND_PADDING, CUSTOM_MANA_BAR_BACKGROUND_PADDING,
@@ -274,33 +270,33 @@ public class ManaBarRenderer {
         float ticks = player.tickCount + currentPartialTicks;
         int animOffset = (int) ((ticks / 3) % animationCycles) * frameHeight;
 
-        ScreenRect mainBarRect = getSubElementRect(SubElementType.BAR_MAIN, player, maxMana);
-        boolean isRightAnchored = config.manaBarAnchor == AnchorPoint.TOP_RIGHT || config.manaBarAnchor == AnchorPoint.CENTER_RIGHT || config.manaBarAnchor == AnchorPoint.BOTTOM_RIGHT;
+        ScreenRect mainBarRect = getSubElementRect(settings, SubElementType.BAR_MAIN, player, maxMana);
+        boolean isRightAnchored = mana.barAnchor == AnchorPoint.TOP_RIGHT || mana.barAnchor == AnchorPoint.CENTER_RIGHT || mana.barAnchor == AnchorPoint.BOTTOM_RIGHT;
 
         // --- Calculate a consistent total maximum for scaling all mana-related bars ---
         float maxPossibleTotalMana = maxMana + MAX_RESERVED_MANA_POINTS;
-        float currentAnimatedTotalMana = currentManaAnimated + currentReservedManaAnimated;
+        float currentAnimatedTotalMana = state.currentManaAnimated + state.currentReservedManaAnimated;
 
         // --- Render Main Mana Bar ---
-        renderBaseBar(graphics, player, maxPossibleTotalMana, currentManaAnimated, mainBarRect.x(), mainBarRect.y(), mainBarRect.width(), mainBarRect.height(), 0, 0, animOffset, isRightAnchored, maxMana);
+        renderBaseBar(ctx, graphics, player, maxPossibleTotalMana, state.currentManaAnimated, mainBarRect.x(), mainBarRect.y(), mainBarRect.width(), mainBarRect.height(), 0, 0, animOffset, isRightAnchored, maxMana);
         
         // --- Render Gradient Overlay ---
-        renderGradientOverlay(graphics, player, mainBarRect, currentAlphaForRender, maxMana);
+        renderGradientOverlay(graphics, player, state, mainBarRect, currentAlphaForRender, maxMana);
         
         // --- Render Trailing Icon ---
-        if (config.enableManaTrailingIcon) {
-            renderTrailingIcon(graphics, player, currentManaAnimated, mainBarRect, currentAlphaForRender, maxMana);
+        if (mana.enableTrailingIcon) {
+            renderTrailingIcon(graphics, player, state.currentManaAnimated, mainBarRect, currentAlphaForRender, maxMana);
         }
         
         // --- Render Reserved Mana Overlay ---
-        if (currentReservedManaAnimated > 0) {
-            renderReservedManaOverlay(graphics, player, currentManaAnimated, currentReservedManaAnimated, mainBarRect, animOffset, isRightAnchored, maxMana);
+        if (state.currentReservedManaAnimated > 0) {
+            renderReservedManaOverlay(ctx, graphics, player, state.currentManaAnimated, state.currentReservedManaAnimated, mainBarRect, animOffset, isRightAnchored, maxMana);
         }
 
         // Render foreground overlay (using 9-slice)
-        if (config.enableManaForeground) {
-            ScreenRect fgRect = getSubElementRect(SubElementType.FOREGROUND_DETAIL, player, maxMana);
-            RenderUtil.drawHorizontalNineSlice(graphics, DynamicResourceBars.loc("textures/gui/mana_foreground.png"),
+        if (mana.enableForeground) {
+            ScreenRect fgRect = getSubElementRect(settings, SubElementType.FOREGROUND_DETAIL, player, maxMana);
+            RenderUtil.drawHorizontalNineSlice(graphics, BarTextures.MANA_FOREGROUND,
                     fgRect.x(), fgRect.y(), fgRect.width(), fgRect.height(),
                     FOREGROUND_SOURCE_TEXTURE_WIDTH, FOREGROUND_SOURCE_TEXTURE_HEIGHT,
                     CUSTOM_MANA_BAR_FOREGROUND_PADDING, CUSTOM_MANA_BAR_FOREGROUND_PADDING,
@@ -311,13 +307,13 @@ public class ManaBarRenderer {
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f); // Reset shader color to full white after rendering all overlays/backgrounds
 
         // Update text rendering to use draggable position
-        if (shouldRenderManaText(actualMana, maxMana, player)) { // Use actual mana for text visibility logic
-            ScreenRect textRect = getSubElementRect(SubElementType.TEXT, player, maxMana);
+        if (shouldRenderManaText(ctx, state, actualMana, maxMana, player)) { // Use actual mana for text visibility logic
+            ScreenRect textRect = getSubElementRect(settings, SubElementType.TEXT, player, maxMana);
             int textX = textRect.x() + (textRect.width() / 2);
             int textY = textRect.y() + (textRect.height() - Minecraft.getInstance().font.lineHeight) / 2; // Center text vertically
             
-            int color = getManaTextColor(actualMana, maxMana);
-            HorizontalAlignment alignment = config.manaTextAlign;
+            int color = getManaTextColor(ctx, state, actualMana, maxMana);
+            HorizontalAlignment alignment = mana.textAlign;
 
             int baseX = textRect.x();
             if (alignment == HorizontalAlignment.CENTER) {
@@ -330,18 +326,18 @@ public class ManaBarRenderer {
         }
 
         // Add focus mode outline rendering
-        if (EditModeManager.isEditModeEnabled()) {
+        if (ctx.editMode()) {
             DraggableElement currentBarType = DraggableElement.MANA_BAR;
             if (EditModeManager.getFocusedElement() == currentBarType) {
                 int focusedBorderColor = 0xA0FFFF00; // Yellow for focused element
-                ScreenRect bgRect = getSubElementRect(SubElementType.BACKGROUND, player, maxMana);
+                ScreenRect bgRect = getSubElementRect(settings, SubElementType.BACKGROUND, player, maxMana);
                 graphics.renderOutline(bgRect.x() - 1, bgRect.y() - 1, bgRect.width() + 2, bgRect.height() + 2, focusedBorderColor);
 
-                ScreenRect barRect = getSubElementRect(SubElementType.BAR_MAIN, player, maxMana);
+                ScreenRect barRect = getSubElementRect(settings, SubElementType.BAR_MAIN, player, maxMana);
                 graphics.renderOutline(barRect.x() - 1, barRect.y() - 1, barRect.width() + 2, barRect.height() + 2, 0xA000FF00); // Green for main bar
 
-                if (config.enableManaForeground) { // Check config for foreground enabled
-                    ScreenRect fgRect = getSubElementRect(SubElementType.FOREGROUND_DETAIL, player, maxMana);
+                if (mana.enableForeground) { // Check config for foreground enabled
+                    ScreenRect fgRect = getSubElementRect(settings, SubElementType.FOREGROUND_DETAIL, player, maxMana);
                     graphics.renderOutline(fgRect.x() - 1, fgRect.y() - 1, fgRect.width() + 2, fgRect.height() + 2, 0xA0FF00FF); // Magenta for foreground
                 }
 
@@ -359,10 +355,10 @@ public class ManaBarRenderer {
      * Renders the base mana bar (filled portion)
      * @param maxTotalMana The maximum value to which the bar should visually scale (e.g., player max mana + max reserved).
      */
-    private static void renderBaseBar(GuiGraphics graphics, Player player, float maxTotalMana, float manaToDisplay, int barAbsX, int barAbsY, int barAbsWidth, int barAbsHeight, int barXOffsetWithinTexture, int barYOffsetWithinTexture, int animOffset, boolean isRightAnchored, float maxMana) {
+    private static void renderBaseBar(FrameContext ctx, GuiGraphics graphics, Player player, float maxTotalMana, float manaToDisplay, int barAbsX, int barAbsY, int barAbsWidth, int barAbsHeight, int barXOffsetWithinTexture, int barYOffsetWithinTexture, int animOffset, boolean isRightAnchored, float maxMana) {
         float fillRatio = (maxMana == 0) ? 0.0f : (manaToDisplay / maxMana);
         fillRatio = Mth.clamp(fillRatio, 0.0f, 1.0f);
-        FillDirection fillDirection = ModConfigManager.getClient().manaFillDirection;
+        FillDirection fillDirection = ctx.settings().mana.fillDirection;
         if (fillDirection == FillDirection.VERTICAL) {
             int filledHeight = (int) (barAbsHeight * fillRatio);
             if (manaToDisplay > 0 && filledHeight == 0) filledHeight = 1;
@@ -370,7 +366,7 @@ public class ManaBarRenderer {
                 int barRenderY = barAbsY + (barAbsHeight - filledHeight);
                 int textureVOffset = BAR_SOURCE_TEXTURE_HEIGHT - filledHeight;
                 graphics.blit(
-                        DynamicResourceBars.loc("textures/gui/mana_bar.png"),
+                        BarTextures.MANA_BAR,
                         barAbsX, barRenderY,
                         0, textureVOffset,
                         barAbsWidth, filledHeight,
@@ -380,7 +376,7 @@ public class ManaBarRenderer {
         } else {
             drawAsymmetricBarNineSliceWithV(
                 graphics,
-                DynamicResourceBars.loc("textures/gui/mana_bar.png"),
+                BarTextures.MANA_BAR,
                 barAbsX, barAbsY,
                 barAbsWidth, barAbsHeight,
                 BAR_SOURCE_TEXTURE_WIDTH, BAR_SOURCE_TEXTURE_HEIGHT,
@@ -395,7 +391,7 @@ public class ManaBarRenderer {
     /**
      * Renders the reserved mana overlay using proper nine-slice rendering with a dedicated reserved mana texture.
      */
-    private static void renderReservedManaOverlay(GuiGraphics graphics, Player player, float currentMana, float currentReservedMana, ScreenRect barRect, int animOffset, boolean isRightAnchored, float maxMana) {
+    private static void renderReservedManaOverlay(FrameContext ctx, GuiGraphics graphics, Player player, float currentMana, float currentReservedMana, ScreenRect barRect, int animOffset, boolean isRightAnchored, float maxMana) {
         if (currentReservedMana <= 0) return;
 
         float manaRatio = (maxMana == 0) ? 0 : (currentMana / maxMana);
@@ -417,7 +413,7 @@ public class ManaBarRenderer {
                 (RESERVED_MANA_COLOR & 0xFF) / 255f,
                 1.0f);
 
-        FillDirection fillDirection = ModConfigManager.getClient().manaFillDirection;
+        FillDirection fillDirection = ctx.settings().mana.fillDirection;
 
         if (fillDirection == FillDirection.VERTICAL) {
             // For vertical bars, reserved mana appears as a separate section
@@ -425,7 +421,7 @@ public class ManaBarRenderer {
             if (reservedHeight > 0) {
                 int yPos = barRect.y() + (barRect.height() - reservedHeight);
         graphics.blit(
-                    DynamicResourceBars.loc("textures/gui/mana_bar.png"),
+                    BarTextures.MANA_BAR,
                     barRect.x(), yPos,
                     0, animOffset,
                     barRect.width(), reservedHeight,
@@ -436,7 +432,7 @@ public class ManaBarRenderer {
             // For horizontal bars, use nine-slice rendering for reserved mana
             drawAsymmetricBarNineSlice(
                 graphics,
-                DynamicResourceBars.loc("textures/gui/mana_bar.png"),
+                BarTextures.MANA_BAR,
                 reservedStartX, barRect.y(),
                 reservedBarWidth, barRect.height(),
                 BAR_SOURCE_TEXTURE_WIDTH, BAR_SOURCE_TEXTURE_HEIGHT,
@@ -454,14 +450,15 @@ public class ManaBarRenderer {
      * Renders a gradient overlay on the mana bar for visual enhancement.
      * Uses the bottom half of the main mana bar texture as an overlay.
      */
-    private static void renderGradientOverlay(GuiGraphics graphics, Player player, ScreenRect barRect, float alpha, float maxMana) {
+    private static void renderGradientOverlay(GuiGraphics graphics, Player player, BarAnimationState state, ScreenRect
+ barRect, float alpha, float maxMana) {
         int barWidth = barRect.width();
         int barHeight = barRect.height();
         
         if (barWidth <= 0 || barHeight <= 0) return;
         
         // Calculate the current mana fill ratio
-        float manaRatio = (maxMana == 0) ? 0 : (currentManaAnimated / maxMana);
+        float manaRatio = (maxMana == 0) ? 0 : (state.currentManaAnimated / maxMana);
         manaRatio = Mth.clamp(manaRatio, 0.0f, 1.0f);
         int filledWidth = (int)(barWidth * manaRatio);
         
@@ -470,7 +467,7 @@ public class ManaBarRenderer {
         
         // Overlay: use the bottom half of the main bar texture as a right-side overlay
         if (filledWidth > 0) {
-            ResourceLocation barTexture = DynamicResourceBars.loc("textures/gui/mana_bar.png");
+            ResourceLocation barTexture = BarTextures.MANA_BAR;
             int overlayWidth = Math.min(CUSTOM_MANA_BAR_MAIN_PADDING, filledWidth); // Use the rightmost N pixels
             int overlayX = barRect.x() + filledWidth - overlayWidth;
             graphics.blit(
@@ -510,7 +507,7 @@ public class ManaBarRenderer {
         
         // Render the trailing icon texture with fixed bar height
         graphics.blit(
-            DynamicResourceBars.loc("textures/gui/mana_trailing_icon.png"),
+            BarTextures.MANA_TRAILING_ICON,
             iconX, iconY,
             0, 0,
             BACKGROUND_SOURCE_TEXTURE_HEIGHT, BACKGROUND_SOURCE_TEXTURE_HEIGHT,
@@ -524,20 +521,20 @@ public class ManaBarRenderer {
     /**
      * Calculates the color for the mana text, including alpha for fading.
      */
-    private static int getManaTextColor(float currentMana, float maxMana) {
-        TextBehavior behavior = ModConfigManager.getClient().showManaText;
-        ClientConfig config = ModConfigManager.getClient();
+    private static int getManaTextColor(FrameContext ctx, BarAnimationState state, float currentMana, float maxMana) {
+        ConfigSnapshot.ManaSettings mana = ctx.settings().mana;
+        TextBehavior behavior = mana.showText;
 
-        int baseColor = config.manaTextColor & 0xFFFFFF; // Use configured text color
-        int alpha = config.manaTextOpacity;
+        int baseColor = mana.textColor & 0xFFFFFF; // Use configured text color
+        int alpha = mana.textOpacity;
 
         // Apply fading logic based on text behavior
         if (behavior == TextBehavior.WHEN_NOT_FULL && currentMana >= maxMana) {
-            long timeSinceFull = System.currentTimeMillis() - fullManaStartTime;
+            long timeSinceFull = ctx.millis() - state.fullManaStartTime;
             alpha = (int) (alpha * (RenderUtil.calculateTextAlpha(timeSinceFull) / (float) RenderUtil.BASE_TEXT_ALPHA));
         }
 
-        alpha = (int) (alpha * getManaBarAlpha()); // Modulate text alpha with bar's overall alpha
+        alpha = (int) (alpha * getManaBarAlpha(ctx, state)); // Modulate text alpha with bar's overall alpha
         alpha = Mth.clamp(alpha, 10, 255); // Clamp alpha to ensure visibility
 
         return (alpha << 24) | baseColor;
@@ -546,10 +543,10 @@ public class ManaBarRenderer {
     /**
      * Determines if the mana text should be rendered based on configuration and player state.
      */
-    private static boolean shouldRenderManaText(float currentMana, float maxMana, Player player) {
-        TextBehavior behavior = ModConfigManager.getClient().showManaText;
+    private static boolean shouldRenderManaText(FrameContext ctx, BarAnimationState state, float currentMana, float maxMana, Player player) {
+        TextBehavior behavior = ctx.settings().mana.showText;
 
-        if (EditModeManager.isEditModeEnabled()) {
+        if (ctx.editMode()) {
             return behavior == TextBehavior.ALWAYS || behavior == TextBehavior.WHEN_NOT_FULL;
         }
 
@@ -563,14 +560,14 @@ public class ManaBarRenderer {
         // WHEN_NOT_FULL logic: Show when not full, or fade out after becoming full
         boolean isFull = currentMana >= maxMana;
         if (isFull) {
-            if (lastMana < maxMana || lastMana == -1) { // Just became full or first check
-                fullManaStartTime = System.currentTimeMillis(); // Reset timer
+            if (state.lastMana < maxMana || state.lastMana == -1) { // Just became full or first check
+                state.fullManaStartTime = ctx.millis(); // Reset timer
             }
-            lastMana = currentMana;
+            state.lastMana = currentMana;
             // Show for a short duration after becoming full
-            return (System.currentTimeMillis() - fullManaStartTime) < RenderUtil.TEXT_DISPLAY_DURATION;
+            return (ctx.millis() - state.fullManaStartTime) < RenderUtil.TEXT_DISPLAY_DURATION;
         } else {
-            lastMana = currentMana;
+            state.lastMana = currentMana;
             return true; // Not full, so show
         }
     }
@@ -579,30 +576,30 @@ public class ManaBarRenderer {
      * Controls the visibility state of the mana bar for fading purposes.
      * @param visible True if the bar should currently be considered "visible" (e.g., mana not full).
      */
-    private static void setManaBarVisibility(boolean visible) {
-        if (manaBarSetVisible != visible) {
+    private static void setManaBarVisibility(FrameContext ctx, BarAnimationState state, boolean visible) {
+        if (state.manaBarSetVisible != visible) {
             if (!visible) {
-                manaBarDisabledStartTime = System.currentTimeMillis(); // Start fade timer
+                state.manaBarDisabledStartTime = ctx.millis(); // Start fade timer
             }
-            manaBarSetVisible = visible;
+            state.manaBarSetVisible = visible;
         }
     }
 
     /**
      * Checks if the mana bar is currently considered visible (not fully faded out).
      */
-    private static boolean isManaBarVisible() {
-        return manaBarSetVisible;
+    private static boolean isManaBarVisible(BarAnimationState state) {
+        return state.manaBarSetVisible;
     }
 
     /**
      * Calculates the current alpha value for the mana bar, for fading in/out effects.
      */
-    private static float getManaBarAlpha() {
-        if (isManaBarVisible()) {
+    private static float getManaBarAlpha(FrameContext ctx, BarAnimationState state) {
+        if (isManaBarVisible(state)) {
             return 1.0f; // Fully opaque if visible
         }
-        long timeSinceDisabled = System.currentTimeMillis() - manaBarDisabledStartTime;
+        long timeSinceDisabled = ctx.millis() - state.manaBarDisabledStartTime;
         if (timeSinceDisabled >= RenderUtil.BAR_FADEOUT_DURATION) {
             return 0.0f; // Fully transparent if fade duration passed
         }
@@ -614,13 +611,14 @@ public class ManaBarRenderer {
     private static void drawAsymmetricBarNineSlice(GuiGraphics graphics, ResourceLocation texture, int x, int y, int destWidth, int destHeight, int sourceTextureWidth, int sourceTextureHeight, int leftPadding, int rightPadding, float fillRatio) {
         int filledWidth = (int)(destWidth * fillRatio);
         if (filledWidth <= 0) return;
+        QuadBatch batch = QuadBatch.begin(graphics, texture, sourceTextureWidth, sourceTextureHeight);
         
         // Draw left padding (tile vertically)
         if (filledWidth > 0 && leftPadding > 0) {
             int leftWidth = Math.min(leftPadding, filledWidth);
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, x, y + tileY, 0, 0, leftWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(x, y + tileY, 0, 0, leftWidth, drawHeight);
             }
         }
         
@@ -633,7 +631,7 @@ public class ManaBarRenderer {
             int tileWidth = Math.min(sourceMiddleWidth, remaining);
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, tiledX, y + tileY, leftPadding, 0, tileWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(tiledX, y + tileY, leftPadding, 0, tileWidth, drawHeight);
             }
             tiledX += tileWidth;
             remaining -= tileWidth;
@@ -646,16 +644,18 @@ public class ManaBarRenderer {
             if (rightWidth > 0) {
                 for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                     int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                    graphics.blit(texture, rightStart, y + tileY, sourceTextureWidth - rightPadding, 0, rightWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                    batch.blit(rightStart, y + tileY, sourceTextureWidth - rightPadding, 0, rightWidth, drawHeight);
                 }
             }
         }
+        batch.end();
     }
 
     // Like drawAsymmetricBarNineSlice, but with a v offset for vertical cropping in the atlas
     private static void drawAsymmetricBarNineSliceWithV(GuiGraphics graphics, ResourceLocation texture, int x, int y, int destWidth, int destHeight, int sourceTextureWidth, int sourceTextureHeight, int leftPadding, int rightPadding, float fillRatio, int vOffset) {
         int filledWidth = (int)(destWidth * fillRatio);
         if (filledWidth <= 0) return;
+        QuadBatch batch = QuadBatch.begin(graphics, texture, sourceTextureWidth, sourceTextureHeight);
 
         // If the bar is smaller than the sum of paddings, only draw what fits
         if (filledWidth <= rightPadding) {
@@ -664,8 +664,9 @@ public class ManaBarRenderer {
             int rightWidth = filledWidth;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, rightStart, y + tileY, sourceTextureWidth - rightPadding, vOffset, rightWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(rightStart, y + tileY, sourceTextureWidth - rightPadding, vOffset, rightWidth, drawHeight);
             }
+            batch.end();
             return;
         }
         if (filledWidth <= leftPadding) {
@@ -673,8 +674,9 @@ public class ManaBarRenderer {
             int leftWidth = filledWidth;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, x, y + tileY, 0, vOffset, leftWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(x, y + tileY, 0, vOffset, leftWidth, drawHeight);
             }
+            batch.end();
             return;
         }
 
@@ -683,7 +685,7 @@ public class ManaBarRenderer {
             int leftWidth = leftPadding;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, x, y + tileY, 0, vOffset, leftWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(x, y + tileY, 0, vOffset, leftWidth, drawHeight);
             }
         }
         // Draw tiled middle (horizontally and vertically)
@@ -695,7 +697,7 @@ public class ManaBarRenderer {
             int tileWidth = Math.min(sourceMiddleWidth, remaining);
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, tiledX, y + tileY, leftPadding, vOffset, tileWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(tiledX, y + tileY, leftPadding, vOffset, tileWidth, drawHeight);
             }
             tiledX += tileWidth;
             remaining -= tileWidth;
@@ -706,8 +708,9 @@ public class ManaBarRenderer {
             int rightWidth = rightPadding;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, rightStart, y + tileY, sourceTextureWidth - rightPadding, vOffset, rightWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(rightStart, y + tileY, sourceTextureWidth - rightPadding, vOffset, rightWidth, drawHeight);
             }
         }
+        batch.end();
     }
 }
\ No newline at end of file
@@ -0,0 +1,326 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import net.minecraft.client.Camera;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.culling.Frustum;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.decoration.ArmorStand;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.Vec3;
+import org.joml.Matrix4f;
+
+import java.util.Arrays;
+
+/**
+ * Health bars floating above nearby living entities, drawn in the world with the health bar textures.
+ * <p>
+ * Built for crowded scenes like mob farms:
+ * <ul>
+ *     <li>Entities outside the view frustum or beyond {@code maxDistance} are skipped before anything else is done.</li>
+ *     <li>At most {@code maxBars} bars are drawn per frame, keeping the nearest ones.</li>
+ *     <li>Bars within {@code detailDistance} are drawn in full (sliced background, hit indicator, absorption); further
+ *     ones as two flat quads.</li>
+ *     <li>Every bar is measured first, then drawn one layer at a time, so each texture goes out in a single buffer
+ *     however many entities there are.</li>
+ * </ul>
+ * The per-entity arrays are kept between frames and only grow. Animation states come from a pool of their own, as the
+ * party and target bars may be animating the same entities.
+ */
+public class NameplateBarRenderer {
+    private static final float PIXEL_SCALE = 0.025f; // World units per bar pixel, same as vanilla name tags
+    private static final float HEIGHT_ABOVE_HEAD = 0.5f;
+    private static final float NAME_TAG_CLEARANCE = 0.3f; // Extra lift so the bar sits above a visible name tag
+    private static final float LAYER_DEPTH = 0.01f; // Pixels each layer is pulled towards the camera, against z-fighting
+    private static final int BAR_WIDTH = 40;
+    private static final int SOURCE_TEXTURE_WIDTH = 182;
+    private static final int BAR_HEIGHT = 5; // Height of the background and hit bar textures, and of the main bar atlas half
+    private static final int BAR_ATLAS_HEIGHT = 10; // Main bar atlas: bar on top, overlay below
+    private static final int ABSORPTION_TEXTURE_HEIGHT = 10;
+    private static final int CAP_WIDTH = 4; // End caps kept intact when the textures are sliced down to the bar width
+
+    private static final BarAnimationState.Pool states = new BarAnimationState.Pool();
+
+    private static LivingEntity[] entities = new LivingEntity[64];
+    private static double[] distancesSq = new double[64];
+    private static int[] order = new int[64];
+    private static Matrix4f[] poses = newPoses(64);
+    private static boolean[] detailed = new boolean[64];
+    private static ResourceLocation[] barTextures = new ResourceLocation[64];
+    private static int[] mainWidths = new int[64];
+    private static int[] delayedWidths = new int[64];
+    private static int[] absorptionWidths = new int[64];
+
+    /**
+     * Draws the bars. Call after entities have rendered, with the level's pose stack (camera rotation applied,
+     * camera at the origin).
+     * @param frustum The level's culling frustum, or null to skip frustum culling
+     */
+    public static void render(PoseStack poseStack, Camera camera, Frustum frustum) {
+        ConfigSnapshot.NameplateSettings settings = ConfigSnapshot.current().nameplate;
+        Minecraft minecraft = Minecraft.getInstance();
+        if (!settings.enableBars || minecraft.player == null || minecraft.level == null || minecraft.options.hideGui) {
+            return;
+        }
+
+        FrameContext ctx = FrameContext.capture();
+        float partialTick = ctx.tickProgress();
+        int count = collectEntities(minecraft.level, minecraft.player, camera, frustum, settings, partialTick);
+        if (count == 0) {
+            return;
+        }
+        double detailDistanceSq = (double) settings.detailDistance * settings.detailDistance;
+        int shown = selectBars(distancesSq, order, count, settings.maxBars, detailDistanceSq, detailed);
+
+        Vec3 cameraPos = camera.getPosition();
+        long now = ctx.millis();
+        for (int n = 0; n < shown; n++) {
+            int i = order[n];
+            LivingEntity entity = entities[i];
+            BarAnimationState state = states.of(entity, now);
+            float maxHealth = entity.getMaxHealth();
+            HealthBarRenderer.updateAnimatedValues(ctx, state, maxHealth, ctx.partialTicks(), entity.getHealth(), (int) entity.getAbsorptionAmount());
+            int mainWidth = widthFor(state.currentHealthAnimated, maxHealth);
+            mainWidths[i] = mainWidth;
+            if (detailed[i]) {
+                // The hit indicator only shows while it is ahead of the main bar
+                float total = state.currentHealthAnimated + state.currentAbsorptionAnimated;
+                delayedWidths[i] = state.delayedHealthCurrent > total + 0.01f ? widthFor(state.delayedHealthCurrent, maxHealth) : 0;
+                absorptionWidths[i] = Math.min(widthFor(state.currentAbsorptionAnimated, maxHealth), BAR_WIDTH - mainWidth);
+            }
+            barTextures[i] = HealthBarRenderer.getBarTexture(entity);
+
+            double y = Mth.lerp(partialTick, entity.yo, entity.getY()) + entity.getBbHeight() + HEIGHT_ABOVE_HEAD
+                    + (entity.shouldShowName() ? NAME_TAG_CLEARANCE : 0.0f);
+            poseStack.pushPose();
+            poseStack.translate(Mth.lerp(partialTick, entity.xo, entity.getX()) - cameraPos.x, y - cameraPos.y,
+                    Mth.lerp(partialTick, entity.zo, entity.getZ()) - cameraPos.z);
+            poseStack.mulPose(camera.rotation());
+            #if NEWER_THAN_20_1
+            poseStack.scale(PIXEL_SCALE, -PIXEL_SCALE, PIXEL_SCALE);
+            #else
+            poseStack.scale(-PIXEL_SCALE, -PIXEL_SCALE, PIXEL_SCALE);
+            #endif
+            poses[i].set(poseStack.last().pose());
+            poseStack.popPose();
+        }
+
+        MultiBufferSource.BufferSource bufferSource = minecraft.renderBuffers().bufferSource();
+        float x = -BAR_WIDTH / 2.0f;
+
+        RenderType type = RenderType.text(BarTextures.HEALTH_BACKGROUND);
+        VertexConsumer consumer = bufferSource.getBuffer(type);
+        for (int n = 0; n < shown; n++) {
+            int i = order[n];
+            if (detailed[i]) {
+                quadsSliced(consumer, poses[i], x, 0.0f, BAR_WIDTH, BAR_HEIGHT, BAR_HEIGHT, 0, true);
+            } else {
+                quad(consumer, poses[i], x, 0.0f, BAR_WIDTH, BAR_HEIGHT, 0, 0, 0, SOURCE_TEXTURE_WIDTH, BAR_HEIGHT, SOURCE_TEXTURE_WIDTH, BAR_HEIGHT);
+            }
+        }
+        bufferSource.endBatch(type);
+
+        type = RenderType.text(BarTextures.HIT_BAR);
+        consumer = bufferSource.getBuffer(type);
+        for (int n = 0; n < shown; n++) {
+            int i = order[n];
+            if (detailed[i]) {
+                quadsSliced(consumer, poses[i], x, 0.0f, delayedWidths[i], BAR_HEIGHT, BAR_HEIGHT, 1, false);
+            }
+        }
+        bufferSource.endBatch(type);
+
+        // Entities share a handful of status textures; draw each one's bars together, clearing entries as they're drawn
+        for (int n = 0; n < shown; n++) {
+            ResourceLocation texture = barTextures[order[n]];
+            if (texture == null) {
+                continue;
+            }
+            type = RenderType.text(texture);
+            consumer = bufferSource.getBuffer(type);
+            for (int m = n; m < shown; m++) {
+                int i = order[m];
+                if (barTextures[i] != texture) {
+                    continue;
+                }
+                if (detailed[i]) {
+                    quadsSliced(consumer, poses[i], x, 0.0f, mainWidths[i], BAR_HEIGHT, BAR_ATLAS_HEIGHT, 2, false);
+                } else {
+                    quad(consumer, poses[i], x, 0.0f, mainWidths[i], BAR_HEIGHT, 2, 0, 0, mainWidths[i] * SOURCE_TEXTURE_WIDTH / (float) BAR_WIDTH, BAR_HEIGHT, SOURCE_TEXTURE_WIDTH, BAR_ATLAS_HEIGHT);
+                }
+                barTextures[i] = null;
+            }
+            bufferSource.endBatch(type);
+        }
+
+        type = RenderType.text(BarTextures.ABSORPTION_BAR);
+        consumer = bufferSource.getBuffer(type);
+        for (int n = 0; n < shown; n++) {
+            int i = order[n];
+            if (detailed[i] && absorptionWidths[i] > 0) {
+                quad(consumer, poses[i], x + mainWidths[i], 0.0f, absorptionWidths[i], BAR_HEIGHT, 3, 0, 0, absorptionWidths[i], BAR_HEIGHT, SOURCE_TEXTURE_WIDTH, ABSORPTION_TEXTURE_HEIGHT);
+            }
+        }
+        bufferSource.endBatch(type);
+
+        Arrays.fill(entities, 0, count, null); // Don't hold on to entities that despawn
+    }
+
+    /**
+     * Fills {@link #entities} with every entity that passes the cheap checks (distance, frustum, visibility) and
+     * resets {@link #order} to match.
+     * @return How many were found
+     */
+    private static int collectEntities(ClientLevel level, Player player, Camera camera, Frustum frustum,
+                                       ConfigSnapshot.NameplateSettings settings, float partialTick) {
+        Vec3 cameraPos = camera.getPosition();
+        double maxDistanceSq = (double) settings.maxDistance * settings.maxDistance;
+        int count = 0;
+        for (Entity entity : level.entitiesForRendering()) {
+            if (!(entity instanceof LivingEntity living) || entity instanceof ArmorStand) {
+                continue;
+            }
+            if (entity == camera.getEntity() && !camera.isDetached()) {
+                continue;
+            }
+            double dx = Mth.lerp(partialTick, entity.xo, entity.getX()) - cameraPos.x;
+            double dy = Mth.lerp(partialTick, entity.yo, entity.getY()) - cameraPos.y;
+            double dz = Mth.lerp(partialTick, entity.zo, entity.getZ()) - cameraPos.z;
+            double distanceSq = dx * dx + dy * dy + dz * dz;
+            if (distanceSq > maxDistanceSq) {
+                continue;
+            }
+            if (!living.isAlive() || living.isInvisibleTo(player)
+                    || (settings.onlyWhenDamaged && living.getHealth() >= living.getMaxHealth() && living.getAbsorptionAmount() <= 0)) {
+                continue;
+            }
+            if (frustum != null && !frustum.isVisible(entity.getBoundingBoxForCulling())) {
+                continue;
+            }
+            if (count == entities.length) {
+                grow(count * 2);
+            }
+            entities[count] = living;
+            distancesSq[count] = distanceSq;
+            order[count] = count;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Picks which of the {@code count} collected entities get a bar, using nothing but their distances: when there are
+     * more than {@code maxBars}, {@code order} is sorted nearest first and cut off there. Each picked entry is then
+     * flagged in {@code detailed} if it is within {@code detailDistanceSq}.
+     * @param order Indices into {@code distancesSq} and {@code detailed}, as left by {@link #collectEntities}
+     * @return How many entries at the start of {@code order} are to be drawn
+     */
+    static int selectBars(double[] distancesSq, int[] order, int count, int maxBars, double detailDistanceSq, boolean[] detailed) {
+        int shown = count;
+        if (count > maxBars) {
+            IntArrays.quickSort(order, 0, count, (a, b) -> Double.compare(distancesSq[a], distancesSq[b]));
+            shown = Math.max(maxBars, 0);
+        }
+        for (int n = 0; n < shown; n++) {
+            int i = order[n];
+            detailed[i] = distancesSq[i] <= detailDistanceSq;
+        }
+        return shown;
+    }
+
+    private static void grow(int capacity) {
+        int previous = entities.length;
+        entities = Arrays.copyOf(entities, capacity);
+        distancesSq = Arrays.copyOf(distancesSq, capacity);
+        order = Arrays.copyOf(order, capacity);
+        poses = Arrays.copyOf(poses, capacity);
+        for (int i = previous; i < capacity; i++) {
+            poses[i] = new Matrix4f();
+        }
+        detailed = Arrays.copyOf(detailed, capacity);
+        barTextures = Arrays.copyOf(barTextures, capacity);
+        mainWidths = Arrays.copyOf(mainWidths, capacity);
+        delayedWidths = Arrays.copyOf(delayedWidths, capacity);
+        absorptionWidths = Arrays.copyOf(absorptionWidths, capacity);
+    }
+
+    private static Matrix4f[] newPoses(int capacity) {
+        Matrix4f[] result = new Matrix4f[capacity];
+        for (int i = 0; i < capacity; i++) {
+            result[i] = new Matrix4f();
+        }
+        return result;
+    }
+
+    private static int widthFor(float value, float maxHealth) {
+        if (maxHealth <= 0 || value <= 0) {
+            return 0;
+        }
+        return (int) (BAR_WIDTH * Mth.clamp(value / maxHealth, 0.0f, 1.0f));
+    }
+
+    /**
+     * Adds the leftmost {@code width} pixels of a texture sliced down to {@link #BAR_WIDTH}: the left cap, the middle
+     * stretched, and the right cap when the bar reaches the end (or always, for {@code closed} elements like backgrounds).
+     * The top {@code height} rows of the texture are used, so {@code textureHeight} is what tells a plain texture from
+     * a main bar atlas.
+     */
+    private static void quadsSliced(VertexConsumer consumer, Matrix4f pose, float x, float y, int width, int height, int textureHeight,
+                                    int layer, boolean closed) {
+        if (width <= 0) {
+            return;
+        }
+        boolean rightCap = closed || width >= BAR_WIDTH;
+        int leftWidth = Math.min(CAP_WIDTH, width);
+        quad(consumer, pose, x, y, leftWidth, height, layer, 0, 0, leftWidth, height, SOURCE_TEXTURE_WIDTH, textureHeight);
+        int middleEnd = rightCap ? Math.max(leftWidth, width - CAP_WIDTH) : width;
+        if (middleEnd > leftWidth) {
+            // The middle of the full bar maps onto the middle of the texture; a partial bar takes its share of it
+            float sourceMiddle = (SOURCE_TEXTURE_WIDTH - CAP_WIDTH * 2) * (middleEnd - leftWidth) / (float) (BAR_WIDTH - CAP_WIDTH * 2);
+            quad(consumer, pose, x + leftWidth, y, middleEnd - leftWidth, height, layer, CAP_WIDTH, 0, sourceMiddle, height, SOURCE_TEXTURE_WIDTH, textureHeight);
+        }
+        if (rightCap && width > CAP_WIDTH) {
+            int capWidth = Math.min(CAP_WIDTH, width - leftWidth);
+            quad(consumer, pose, x + width - capWidth, y, capWidth, height, layer, SOURCE_TEXTURE_WIDTH - capWidth, 0, capWidth, height, SOURCE_TEXTURE_WIDTH, textureHeight);
+        }
+    }
+
+    /**
+     * Adds one textured quad in bar pixels, {@code layer} steps in front of the bar's plane.
+     */
+    private static void quad(VertexConsumer consumer, Matrix4f pose, float x, float y, float width, float height, int layer,
+                             float u, float v, float uWidth, float vHeight, int textureWidth, int textureHeight) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        float z = -layer * LAYER_DEPTH;
+        float x2 = x + width;
+        float y2 = y + height;
+        float u1 = u / textureWidth;
+        float u2 = (u + uWidth) / textureWidth;
+        float v1 = v / textureHeight;
+        float v2 = (v + vHeight) / textureHeight;
+        vertex(consumer, pose, x, y, z, u1, v1);
+        vertex(consumer, pose, x, y2, z, u1, v2);
+        vertex(consumer, pose, x2, y2, z, u2, v2);
+        vertex(consumer, pose, x2, y, z, u2, v1);
+    }
+
+    private static void vertex(VertexConsumer consumer, Matrix4f pose, float x, float y, float z, float u, float v) {
+        #if NEWER_THAN_20_1
+        consumer.addVertex(pose, x, y, z).setColor(255, 255, 255, 255).setUv(u, v).setLight(LightTexture.FULL_BRIGHT);
+        #else
+        consumer.vertex(pose, x, y, z).color(255, 255, 255, 255).uv(u, v).uv2(LightTexture.FULL_BRIGHT).endVertex();
+        #endif
+    }
+}
@@ -0,0 +1,264 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
+import dev.muon.dynamic_resource_bars.util.HUDPositioning;
+import dev.muon.dynamic_resource_bars.util.Position;
+import dev.muon.dynamic_resource_bars.util.QuadBatch;
+import dev.muon.dynamic_resource_bars.util.ScreenRect;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.player.Player;
+
+import java.util.Arrays;
+
+/**
+ * A column of compact health bars for the player's teammates (players on the same scoreboard team), drawn with the
+ * health bar textures and animated like the player's own bar through their {@link BarAnimationState}.
+ * <p>
+ * Every teammate's bar is measured first, then the column is drawn one layer at a time (backgrounds, hit indicators,
+ * main bars, absorption), so each texture is submitted as a single {@link QuadBatch} no matter how many teammates
+ * there are. Measuring and drawing are done by {@link Column}, which needs no level.
+ * <p>
+ * Drawn in the overlay pass (see {@link BarRenderManager#renderOverlayBars}), so the column shows regardless of
+ * the game mode and of whether the player's own health bar replaces the vanilla hearts.
+ */
+public class PartyBarRenderer {
+    private static final int SOURCE_TEXTURE_WIDTH = 182;
+    private static final int BAR_HEIGHT = 5; // Height of the background and hit bar textures, and of the main bar atlas half
+    private static final int BAR_ATLAS_HEIGHT = 10; // Main bar atlas: bar on top, overlay below
+    private static final int ABSORPTION_TEXTURE_HEIGHT = 10;
+    private static final int CAP_WIDTH = 4; // End caps kept intact when the textures are sliced down to the compact width
+    private static final int ROW_SPACING = 3;
+    private static final int NAME_GAP = 1;
+
+    private static final Column column = new Column();
+    private static Player[] members = new Player[16];
+
+    public static void render(GuiGraphics graphics, Player player, FrameContext ctx) {
+        ConfigSnapshot.PartySettings settings = ctx.settings().party;
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level == null) {
+            return;
+        }
+        int count = collectMembers(player, level.players(), settings.maxMembers);
+        if (count == 0) {
+            return;
+        }
+
+        Font font = Minecraft.getInstance().font;
+        int barWidth = settings.barWidth;
+        int nameHeight = settings.showNames ? font.lineHeight + NAME_GAP : 0;
+        int rowHeight = nameHeight + BAR_HEIGHT + ROW_SPACING;
+        ScreenRect columnRect = new ScreenRect(0, 0, barWidth, count * rowHeight - ROW_SPACING);
+        Position position = HUDPositioning.alignBoundingBoxToAnchor(columnRect, settings.barAnchor)
+                .offset(settings.totalXOffset, settings.totalYOffset);
+        int x = position.x();
+        int y = position.y();
+
+        column.ensureCapacity(count);
+        long now = ctx.millis();
+        for (int i = 0; i < count; i++) {
+            Player member = members[i];
+            column.measure(ctx, i, BarAnimationState.of(member, now), member.getHealth(), member.getMaxHealth(),
+                    (int) member.getAbsorptionAmount(), HealthBarRenderer.getBarTexture(member), barWidth);
+        }
+
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
+
+        BatchQuadTarget target = BatchQuadTarget.INSTANCE;
+        target.graphics = graphics;
+        column.draw(target, count, x, y, barWidth, rowHeight, nameHeight);
+        target.graphics = null;
+
+        if (settings.showNames) {
+            ConfigSnapshot.GlobalSettings global = ctx.settings().global;
+            int color = (Mth.clamp(global.globalTextOpacity, 10, 255) << 24) | (global.globalTextColor & 0xFFFFFF);
+            for (int i = 0; i < count; i++) {
+                graphics.drawString(font, members[i].getName(), x, y + i * rowHeight, color, true);
+            }
+        }
+
+        RenderSystem.disableBlend();
+        Arrays.fill(members, 0, count, null); // Don't hold on to players that leave
+    }
+
+    /**
+     * Fills {@link #members} with the teammates to show, in the order of {@code players}.
+     * @param players Everyone in the level
+     * @return How many were found, at most {@code maxMembers}
+     */
+    static int collectMembers(Player player, Iterable<? extends Player> players, int maxMembers) {
+        if (player.getTeam() == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Player other : players) {
+            if (count >= maxMembers) {
+                break;
+            }
+            if (other == player || other.isSpectator() || !player.isAlliedTo(other)) {
+                continue;
+            }
+            if (count == members.length) {
+                members = Arrays.copyOf(members, count * 2);
+            }
+            members[count++] = other;
+        }
+        return count;
+    }
+
+    /**
+     * Where the column's quads go: a {@link QuadBatch} per texture in game, or anything that counts them.
+     * Follows the {@code QuadBatch} calls one to one.
+     */
+    interface QuadTarget {
+        void begin(ResourceLocation texture, int textureWidth, int textureHeight);
+
+        void blit(int x, int y, float u, float v, int width, int height);
+
+        void end();
+    }
+
+    private static final class BatchQuadTarget implements QuadTarget {
+        static final BatchQuadTarget INSTANCE = new BatchQuadTarget();
+
+        GuiGraphics graphics;
+        private QuadBatch batch;
+
+        @Override
+        public void begin(ResourceLocation texture, int textureWidth, int textureHeight) {
+            batch = QuadBatch.begin(graphics, texture, textureWidth, textureHeight);
+        }
+
+        @Override
+        public void blit(int x, int y, float u, float v, int width, int height) {
+            batch.blit(x, y, u, v, width, height);
+        }
+
+        @Override
+        public void end() {
+            batch.end();
+            batch = null;
+        }
+    }
+
+    /**
+     * The measured bars of the column, one entry per member. Works on plain values, so it runs without a level;
+     * the arrays are kept between frames and only grow.
+     */
+    static final class Column {
+        private ResourceLocation[] barTextures = new ResourceLocation[16];
+        private int[] mainWidths = new int[16];
+        private int[] delayedWidths = new int[16];
+        private int[] absorptionWidths = new int[16];
+
+        void ensureCapacity(int count) {
+            if (count <= barTextures.length) {
+                return;
+            }
+            int capacity = Math.max(count, barTextures.length * 2);
+            barTextures = Arrays.copyOf(barTextures, capacity);
+            mainWidths = Arrays.copyOf(mainWidths, capacity);
+            delayedWidths = Arrays.copyOf(delayedWidths, capacity);
+            absorptionWidths = Arrays.copyOf(absorptionWidths, capacity);
+        }
+
+        /**
+         * Advances member {@code index}'s animation by a frame and measures its bar.
+         * @param barTexture The main bar texture for the member's status
+         */
+        void measure(FrameContext ctx, int index, BarAnimationState state, float health, float maxHealth, int absorption,
+                     ResourceLocation barTexture, int barWidth) {
+            HealthBarRenderer.updateAnimatedValues(ctx, state, maxHealth, ctx.partialTicks(), health, absorption);
+            int mainWidth = widthFor(state.currentHealthAnimated, maxHealth, barWidth);
+            mainWidths[index] = mainWidth;
+            // The hit indicator only shows while it is ahead of the main bar
+            float total = state.currentHealthAnimated + state.currentAbsorptionAnimated;
+            delayedWidths[index] = state.delayedHealthCurrent > total + 0.01f ? widthFor(state.delayedHealthCurrent, maxHealth, barWidth) : 0;
+            absorptionWidths[index] = Math.min(widthFor(state.currentAbsorptionAnimated, maxHealth, barWidth), barWidth - mainWidth);
+            barTextures[index] = barTexture;
+        }
+
+        /**
+         * Draws the first {@code count} measured bars one layer at a time (backgrounds, hit indicators, main bars,
+         * absorption), with one batch per texture.
+         */
+        void draw(QuadTarget target, int count, int x, int y, int barWidth, int rowHeight, int nameHeight) {
+            target.begin(BarTextures.HEALTH_BACKGROUND, SOURCE_TEXTURE_WIDTH, BAR_HEIGHT);
+            for (int i = 0; i < count; i++) {
+                blitSliced(target, x, barY(y, i, rowHeight, nameHeight), barWidth, barWidth, BAR_HEIGHT, true);
+            }
+            target.end();
+
+            target.begin(BarTextures.HIT_BAR, SOURCE_TEXTURE_WIDTH, BAR_HEIGHT);
+            for (int i = 0; i < count; i++) {
+                blitSliced(target, x, barY(y, i, rowHeight, nameHeight), delayedWidths[i], barWidth, BAR_HEIGHT, false);
+            }
+            target.end();
+
+            // Teammates share a handful of status textures; draw each one's bars together, clearing entries as they're drawn
+            for (int i = 0; i < count; i++) {
+                ResourceLocation texture = barTextures[i];
+                if (texture == null) {
+                    continue;
+                }
+                target.begin(texture, SOURCE_TEXTURE_WIDTH, BAR_ATLAS_HEIGHT);
+                for (int j = i; j < count; j++) {
+                    if (barTextures[j] == texture) {
+                        blitSliced(target, x, barY(y, j, rowHeight, nameHeight), mainWidths[j], barWidth, BAR_HEIGHT, false);
+                        barTextures[j] = null;
+                    }
+                }
+                target.end();
+            }
+
+            target.begin(BarTextures.ABSORPTION_BAR, SOURCE_TEXTURE_WIDTH, ABSORPTION_TEXTURE_HEIGHT);
+            for (int i = 0; i < count; i++) {
+                if (absorptionWidths[i] > 0) {
+                    target.blit(x + mainWidths[i], barY(y, i, rowHeight, nameHeight), 0, 0, absorptionWidths[i], BAR_HEIGHT);
+                }
+            }
+            target.end();
+        }
+    }
+
+    private static int barY(int columnY, int index, int rowHeight, int nameHeight) {
+        return columnY + index * rowHeight + nameHeight;
+    }
+
+    private static int widthFor(float value, float maxHealth, int barWidth) {
+        if (maxHealth <= 0 || value <= 0) {
+            return 0;
+        }
+        return (int) (barWidth * Mth.clamp(value / maxHealth, 0.0f, 1.0f));
+    }
+
+    /**
+     * Adds the leftmost {@code width} pixels of a texture sliced down to {@code fullWidth}: the left cap, the middle
+     * tiled, and the right cap when the bar reaches the end (or always, for {@code closed} elements like backgrounds).
+     */
+    private static void blitSliced(QuadTarget target, int x, int y, int width, int fullWidth, int height, boolean closed) {
+        if (width <= 0) {
+            return;
+        }
+        boolean rightCap = closed || width >= fullWidth;
+        int leftWidth = Math.min(CAP_WIDTH, width);
+        target.blit(x, y, 0, 0, leftWidth, height);
+        int middleEnd = rightCap ? Math.max(leftWidth, width - CAP_WIDTH) : width;
+        int sourceMiddleWidth = SOURCE_TEXTURE_WIDTH - CAP_WIDTH * 2;
+        for (int tileX = leftWidth; tileX < middleEnd; tileX += sourceMiddleWidth) {
+            target.blit(x + tileX, y, CAP_WIDTH, 0, Math.min(sourceMiddleWidth, middleEnd - tileX), height);
+        }
+        if (rightCap && width > CAP_WIDTH) {
+            int capWidth = Math.min(CAP_WIDTH, width - leftWidth);
+            target.blit(x + width - capWidth, y, SOURCE_TEXTURE_WIDTH - capWidth, 0, capWidth, height);
+        }
+    }
+}
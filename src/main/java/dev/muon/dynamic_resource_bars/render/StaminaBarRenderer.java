@@ -3,15 +3,14 @@ package dev.muon.dynamic_resource_bars.render;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import dev.muon.dynamic_resource_bars.DynamicResourceBars;
-import dev.muon.dynamic_resource_bars.config.ModConfigManager;
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
 import dev.muon.dynamic_resource_bars.util.*;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
-import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.item.ItemStack;
 import dev.muon.dynamic_resource_bars.compat.AppleSkinCompat;
+import dev.muon.dynamic_resource_bars.compat.CompatState;
 import net.minecraft.util.Mth;
 import net.minecraft.resources.ResourceLocation;
 #if UPTO_20_1 && FABRIC
@@ -20,13 +19,7 @@ import moriyashiine.bewitchment.common.registry.BWComponents;
 import moriyashiine.bewitchment.api.component.BloodComponent;
 #endif
 
-#if NEWER_THAN_20_1
-    import net.minecraft.client.DeltaTracker;
-#endif
-
 
-import vectorwing.farmersdelight.common.registry.ModEffects;
-import dev.muon.dynamic_resource_bars.config.ClientConfig;
 import net.minecraft.util.Mth;
 import net.minecraft.resources.ResourceLocation;
 
@@ -66,19 +59,8 @@ public class StaminaBarRenderer {
     private static final int ATLAS_TOTAL_HEIGHT = BAR_SOURCE_TEXTURE_HEIGHT;
 
     private static final float DAMPING_FACTOR = 0.85f; // Controls animation smoothness for stamina regeneration
-    private static float currentStaminaAnimated = -1.0f; // Animated stamina for the main bar
-    
-    private static float lastStamina = -1;
-    private static long fullStaminaStartTime = 0;
-    private static boolean staminaBarSetVisible = true; // Default to visible
-    private static long staminaBarDisabledStartTime = 0L;
-    
-    // Mount health tracking
-    private static float lastMountHealth = -1;
-    private static float lastMountMaxHealth = -1;
-    private static long fullMountHealthStartTime = 0;
 
-    private enum BarType {
+    enum BarType {
         NORMAL("stamina_bar"),
         NOURISHED("stamina_bar_nourished"),
         HUNGER("stamina_bar_hunger"),
@@ -86,15 +68,21 @@ public class StaminaBarRenderer {
         MOUNTED("stamina_bar_mounted");
 
         private final String texture;
+        private final ResourceLocation location;
 
         BarType(String texture) {
             this.texture = texture;
+            this.location = BarTextures.gui(texture);
         }
 
         public String getTexture() {
             return texture;
         }
 
+        public ResourceLocation getLocation() {
+            return location;
+        }
+
         public static BarType fromPlayerState(Player player, float value) {
             if (player.getVehicle() instanceof LivingEntity mount) {
                 float healthPercentage = value / mount.getMaxHealth();
@@ -103,10 +91,11 @@ public class StaminaBarRenderer {
                 }
                 return MOUNTED;
             }
-            if (PlatformUtil.isModLoaded("farmersdelight") && hasNourishmentEffect(player)) {
+            long effects = PlayerEffectState.get(player);
+            if ((effects & PlayerEffectState.NOURISHMENT) != 0) {
                 return NOURISHED;
             }
-            if (player.hasEffect(MobEffects.HUNGER)) return HUNGER;
+            if ((effects & PlayerEffectState.HUNGER) != 0) return HUNGER;
             if (value <= CRITICAL_THRESHOLD) return CRITICAL;
             return NORMAL;
         }
@@ -135,19 +124,18 @@ public class StaminaBarRenderer {
     /**
      * Returns the full width for the stamina bar and overlays
      */
-    private static int getFullBarWidth(Player player, float maxStamina) {
-        int mainBarWidth = getMainBarWidth(player, maxStamina);
+    private static int getFullBarWidth(ConfigSnapshot settings, Player player, float maxStamina) {
+        int mainBarWidth = getMainBarWidth(settings, player, maxStamina);
         return mainBarWidth + BACKGROUND_FOREGROUND_TOTAL_PADDING;
     }
 
     /**
      * Helper to get the dynamic width for the main bar
      */
-    private static int getMainBarWidth(Player player, float maxStamina) {
-        ClientConfig config = ModConfigManager.getClient();
+    private static int getMainBarWidth(ConfigSnapshot settings, Player player, float maxStamina) {
         int baseWidth = calculateSmartScaledWidth(maxStamina, PIXELS_PER_STAMINA_POINT);
-        int percent = Math.max(0, Math.min(100, config.staminaBarWidthModifier));
-        int globalPercent = Math.max(0, Math.min(100, config.globalBarWidthModifier));
+        int percent = Math.max(0, Math.min(100, settings.stamina.barWidthModifier));
+        int globalPercent = Math.max(0, Math.min(100, settings.global.globalBarWidthModifier));
         int scaledWidth = Math.round(baseWidth * (percent / 100.0f) * (globalPercent / 100.0f));
         return Math.max(MIN_BASE_BAR_WIDTH, scaledWidth);
     }
@@ -157,101 +145,112 @@ public class StaminaBarRenderer {
     /**
      * Updates animated values for smooth transitions
      */
-    private static void updateAnimatedValues(Player player, float partialTicks, float actualStamina) {
+    private static void updateAnimatedValues(FrameContext ctx, BarAnimationState state, Player player, float partialTicks, float actualStamina) {
         // Initialize animated values if not set
-        if (currentStaminaAnimated < 0) {
-            currentStaminaAnimated = actualStamina;
+        if (state.currentStaminaAnimated < 0) {
+            state.currentStaminaAnimated = actualStamina;
         }
 
         // Smooth animation for stamina changes
         float targetStamina = actualStamina;
-        float staminaDiff = targetStamina - currentStaminaAnimated;
+        float staminaDiff = targetStamina - state.currentStaminaAnimated;
         
         if (Math.abs(staminaDiff) > 0.01f) {
-            currentStaminaAnimated += staminaDiff * (1.0f - DAMPING_FACTOR);
+            state.currentStaminaAnimated += staminaDiff * (1.0f - DAMPING_FACTOR);
         } else {
-            currentStaminaAnimated = targetStamina;
+            state.currentStaminaAnimated = targetStamina;
         }
     }
 
-    public static ScreenRect getScreenRect(Player player) {
+    public static ScreenRect getScreenRect(ConfigSnapshot settings, Player player) {
         if (player == null) return new ScreenRect(0, 0, 0, 0);
-        
+        return getLayout(settings, player, getBarValues(player).max).bounds();
+    }
+
+    public static ScreenRect getSubElementRect(ConfigSnapshot settings, SubElementType type, Player player) {
+        if (player == null) return new ScreenRect(0, 0, 0, 0);
+
         // Determine the bar values based on player state
         BarValues values = getBarValues(player);
         float maxStamina = values.max;
-        
-        ClientConfig config = ModConfigManager.getClient();
-        int mainBarWidth = getMainBarWidth(player, maxStamina);
+
+        BarLayout layout = getLayout(settings, player, maxStamina);
+        ScreenRect complexRect = layout.bounds();
+        if (complexRect.width() == 0 && complexRect.height() == 0)
+            return new ScreenRect(0, 0, 0, 0);
+        if (type == SubElementType.TRAILING_ICON) {
+            // Fixed position at the end of the bar progress, using bar height
+            ScreenRect barRect = layout.get(SubElementType.BAR_MAIN);
+            float currentStaminaAnimated = BarAnimationState.of(player, FrameContext.now()).currentStaminaAnimated;
+            float staminaRatio = (maxStamina == 0) ? 0 : (currentStaminaAnimated / maxStamina);
+            staminaRatio = Mth.clamp(staminaRatio, 0.0f, 1.0f);
+            int iconX = barRect.x() + (int)(barRect.width() * staminaRatio);
+            return new ScreenRect(iconX, barRect.y(), BACKGROUND_SOURCE_TEXTURE_HEIGHT, BACKGROUND_SOURCE_TEXTURE_HEIGHT);
+        }
+        return layout.get(type);
+    }
+
+    private static BarLayout getLayout(ConfigSnapshot settings, Player player, float maxStamina) {
+        BarLayout layout = BarLayoutCache.lookup(settings, DraggableElement.STAMINA_BAR, maxStamina, 0);
+        if (layout == null) {
+            layout = BarLayoutCache.store(settings, DraggableElement.STAMINA_BAR, maxStamina, 0, solveLayout(settings, player, maxStamina));
+        }
+        return layout;
+    }
+
+    /**
+     * Computes the bounding box and every cacheable sub-element rect in one pass.
+     */
+    private static BarLayout solveLayout(ConfigSnapshot settings, Player player, float maxStamina) {
+        ConfigSnapshot.StaminaSettings stamina = settings.stamina;
+        int mainBarWidth = getMainBarWidth(settings, player, maxStamina);
         int totalPadding = CUSTOM_STAMINA_BAR_MAIN_PADDING * 2;
-        
+
         // Ensure minimum width that can accommodate the nine-slice padding
         int minRequiredWidth = CUSTOM_STAMINA_BAR_BACKGROUND_PADDING * 2; // Left + right padding
         int width = Math.max(minRequiredWidth, mainBarWidth + totalPadding);
-        int height = config.staminaBackgroundHeight;
-        
+        int height = stamina.backgroundHeight;
+
         ScreenRect parentBox = new ScreenRect(0, 0, width, height);
-        Position anchorPos = HUDPositioning.alignBoundingBoxToAnchor(parentBox, config.staminaBarAnchor);
-        Position finalPos = anchorPos.offset(config.staminaTotalXOffset, config.staminaTotalYOffset);
-        return new ScreenRect(finalPos.x(), finalPos.y(), width, height);
+        Position anchorPos = HUDPositioning.alignBoundingBoxToAnchor(parentBox, stamina.barAnchor);
+        Position finalPos = anchorPos.offset(stamina.totalXOffset, stamina.totalYOffset);
+        int x = finalPos.x();
+        int y = finalPos.y();
+
+        return new BarLayout(new ScreenRect(x, y, width, height))
+                .set(SubElementType.BACKGROUND, new ScreenRect(x + stamina.backgroundXOffset, y + stamina.backgroundYOffset, mainBarWidth + CUSTOM_STAMINA_BAR_MAIN_SHRINK * 2, stamina.backgroundHeight))
+                .set(SubElementType.BAR_MAIN, new ScreenRect(x + stamina.barXOffset + CUSTOM_STAMINA_BAR_BACKGROUND_PADDING, y + stamina.barYOffset, mainBarWidth, stamina.barHeight))
+                .set(SubElementType.FOREGROUND_DETAIL, new ScreenRect(x + stamina.overlayXOffset, y + stamina.overlayYOffset, mainBarWidth + CUSTOM_STAMINA_BAR_MAIN_SHRINK * 2, stamina.overlayHeight))
+                .set(SubElementType.TEXT, new ScreenRect(x + stamina.textXOffset + CUSTOM_STAMINA_BAR_BACKGROUND_PADDING, y + stamina.textYOffset, mainBarWidth, stamina.barHeight));
     }
 
-    public static ScreenRect getSubElementRect(SubElementType type, Player player) {
-        ScreenRect complexRect = getScreenRect(player);
-        if (complexRect == null || (complexRect.width() == 0 && complexRect.height() == 0))
-            return new ScreenRect(0, 0, 0, 0);
-
+    public static void render(GuiGraphics graphics, Player player, FrameContext ctx) {
+        ConfigSnapshot settings = ctx.settings();
+        ConfigSnapshot.StaminaSettings stamina = settings.stamina;
         // Determine the bar values based on player state
         BarValues values = getBarValues(player);
-        float maxStamina = values.max;
-        
-        ClientConfig config = ModConfigManager.getClient();
-        int x = complexRect.x();
-        int y = complexRect.y();
-        int baseWidth = getMainBarWidth(player, maxStamina);
-        
-        switch (type) {
-            case BACKGROUND:
-                return new ScreenRect(x + config.staminaBackgroundXOffset, y + config.staminaBackgroundYOffset, baseWidth + CUSTOM_STAMINA_BAR_MAIN_SHRINK * 2, config.staminaBackgroundHeight);
-            case BAR_MAIN:
-                return new ScreenRect(x + config.staminaBarXOffset + CUSTOM_STAMINA_BAR_BACKGROUND_PADDING, y + config.staminaBarYOffset, baseWidth, config.staminaBarHeight);
-            case FOREGROUND_DETAIL:
-                return new ScreenRect(x + config.staminaOverlayXOffset, y + config.staminaOverlayYOffset, baseWidth + CUSTOM_STAMINA_BAR_MAIN_SHRINK * 2, config.staminaOverlayHeight);
-            case TEXT:
-                return new ScreenRect(x + config.staminaTextXOffset + CUSTOM_STAMINA_BAR_BACKGROUND_PADDING, y + config.staminaTextYOffset, baseWidth, config.staminaBarHeight);
-            case TRAILING_ICON:
-                // Fixed position at the end of the bar progress, using bar height
-                float staminaRatio = (maxStamina == 0) ? 0 : (currentStaminaAnimated / maxStamina);
-                staminaRatio = Mth.clamp(staminaRatio, 0.0f, 1.0f);
-                int iconX = x + config.staminaBarXOffset + CUSTOM_STAMINA_BAR_BACKGROUND_PADDING + (int)(baseWidth * staminaRatio);
-                int iconY = y + config.staminaBarYOffset;
-                return new ScreenRect(iconX, iconY, BACKGROUND_SOURCE_TEXTURE_HEIGHT, BACKGROUND_SOURCE_TEXTURE_HEIGHT);
-            default:
-                return new ScreenRect(0, 0, 0, 0);
+        if (values.type == BarValueType.FOOD) {
+            values.current = ctx.stats(player).foodLevel;
         }
-    }
-
-    public static void render(GuiGraphics graphics, Player player, #if NEWER_THAN_20_1 DeltaTracker deltaTracker #else float partialTicks #endif ) {
-        // Determine the bar values based on player state
-        BarValues values = getBarValues(player);
         
         // Update animated values for smooth transitions
-        updateAnimatedValues(player, #if NEWER_THAN_20_1 deltaTracker.getGameTimeDeltaTicks() #else partialTicks #endif, values.current);
+        BarAnimationState state = BarAnimationState.of(player, ctx.millis());
+        updateAnimatedValues(ctx, state, player, ctx.partialTicks(), values.current);
         
         // Determine fade behavior
-        boolean shouldFade = shouldBarFade(player, values);
-        setStaminaBarVisibility(!shouldFade || EditModeManager.isEditModeEnabled());
+        boolean shouldFade = shouldBarFade(ctx, player, values);
+        setStaminaBarVisibility(ctx, state, !shouldFade || ctx.editMode());
 
-        if (!isStaminaBarVisible() && !EditModeManager.isEditModeEnabled() && (System.currentTimeMillis() - staminaBarDisabledStartTime) > RenderUtil.BAR_FADEOUT_DURATION) {
+        if (!isStaminaBarVisible(state) && !ctx.editMode() && (ctx.millis() - state.staminaBarDisabledStartTime) > RenderUtil.BAR_FADEOUT_DURATION) {
             return;
         }
 
-        if (!Minecraft.getInstance().gameMode.canHurtPlayer() && !EditModeManager.isEditModeEnabled()) {
+        if (!Minecraft.getInstance().gameMode.canHurtPlayer() && !ctx.editMode()) {
             return;
         }
 
-        float currentAlphaForRender = getStaminaBarAlpha();
-        if (EditModeManager.isEditModeEnabled() && !isStaminaBarVisible()) {
+        float currentAlphaForRender = getStaminaBarAlpha(ctx, state);
+        if (ctx.editMode() && !isStaminaBarVisible(state)) {
             currentAlphaForRender = 1.0f; // Show fully if in edit mode
         }
 
@@ -259,13 +258,13 @@ public class StaminaBarRenderer {
         RenderSystem.defaultBlendFunc();
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, currentAlphaForRender);
 
-        ScreenRect complexRect = getScreenRect(player);
+        ScreenRect complexRect = getScreenRect(settings, player);
 
-        boolean isRightAnchored = ModConfigManager.getClient().staminaBarAnchor == AnchorPoint.TOP_RIGHT || ModConfigManager.getClient().staminaBarAnchor == AnchorPoint.CENTER_RIGHT || ModConfigManager.getClient().staminaBarAnchor == AnchorPoint.BOTTOM_RIGHT;
+        boolean isRightAnchored = stamina.barAnchor == AnchorPoint.TOP_RIGHT || stamina.barAnchor == AnchorPoint.CENTER_RIGHT || stamina.barAnchor == AnchorPoint.BOTTOM_RIGHT;
 
-        if (ModConfigManager.getClient().enableStaminaBackground) {
-            ScreenRect bgRect = getSubElementRect(SubElementType.BACKGROUND, player);
-            RenderUtil.drawHorizontalNineSlice(graphics, DynamicResourceBars.loc("textures/gui/stamina_background.png"),
+        if (stamina.enableBackground) {
+            ScreenRect bgRect = getSubElementRect(settings, SubElementType.BACKGROUND, player);
+            RenderUtil.drawHorizontalNineSlice(graphics, BarTextures.STAMINA_BACKGROUND,
                     bgRect.x(), bgRect.y(), bgRect.width(), bgRect.height(),
                     BACKGROUND_SOURCE_TEXTURE_WIDTH, BACKGROUND_SOURCE_TEXTURE_HEIGHT,
                     CUSTOM_STAMINA_BAR_BACKGROUND_PADDING, CUSTOM_STAMINA_BAR_BACKGROUND_PADDING,
@@ -273,35 +272,35 @@ public class StaminaBarRenderer {
             );
         }
 
-        ScreenRect barRect = getSubElementRect(SubElementType.BAR_MAIN, player);
-        renderBaseBar(graphics, player, values.current, values.max,
+        ScreenRect barRect = getSubElementRect(settings, SubElementType.BAR_MAIN, player);
+        renderBaseBar(ctx, state, graphics, player, values.current, values.max,
                 barRect,
                 isRightAnchored);
 
         // --- Render Gradient Overlay ---
-        renderGradientOverlay(graphics, player, barRect, currentAlphaForRender, values.max);
+        renderGradientOverlay(graphics, player, state, barRect, currentAlphaForRender, values.max);
 
         // --- Render Trailing Icon ---
-        if (ModConfigManager.getClient().enableStaminaTrailingIcon) {
-            renderTrailingIcon(graphics, player, currentStaminaAnimated, barRect, currentAlphaForRender, values.max);
+        if (stamina.enableTrailingIcon) {
+            renderTrailingIcon(graphics, player, state.currentStaminaAnimated, barRect, currentAlphaForRender, values.max);
         }
 
         // Overlays should not show for vampires or when mounted
         if (values.type == BarValueType.FOOD && !values.isMounted) {
-            if (PlatformUtil.isModLoaded("appleskin")) {
-                ItemStack heldFood = getHeldFood(player);
-                renderHungerRestoredOverlay(graphics, player, heldFood, barRect, #if NEWER_THAN_20_1 deltaTracker.getGameTimeDeltaTicks() #else partialTicks #endif , isRightAnchored);
-                renderSaturationOverlay(graphics, player, barRect, isRightAnchored);
+            if (CompatState.APPLESKIN) {
+                AppleSkinCompat.HeldFood heldFood = AppleSkinCompat.getHeldFood(player);
+                renderHungerRestoredOverlay(ctx, graphics, player, heldFood, barRect, ctx.partialTicks(), isRightAnchored);
+                renderSaturationOverlay(ctx, graphics, player, barRect, isRightAnchored);
             }
 
-            if (PlatformUtil.isModLoaded("farmersdelight") && hasNourishmentEffect(player)) {
+            if (PlayerEffectState.has(player, PlayerEffectState.NOURISHMENT)) {
                 RenderSystem.enableBlend();
                 RenderSystem.defaultBlendFunc();
                 float pulseAlpha = TickHandler.getOverlayFlashAlpha();
                 RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, pulseAlpha);
 
                 graphics.blit(
-                        DynamicResourceBars.loc("textures/gui/nourishment_overlay.png"),
+                        BarTextures.NOURISHMENT_OVERLAY,
                         barRect.x(), barRect.y(),
                         0, 0, barRect.width(), barRect.height(),
                         256, 256
@@ -311,9 +310,9 @@ public class StaminaBarRenderer {
             }
         }
 
-        if (ModConfigManager.getClient().enableStaminaForeground) {
-            ScreenRect fgRect = getSubElementRect(SubElementType.FOREGROUND_DETAIL, player);
-            RenderUtil.drawHorizontalNineSlice(graphics, DynamicResourceBars.loc("textures/gui/stamina_foreground.png"),
+        if (stamina.enableForeground) {
+            ScreenRect fgRect = getSubElementRect(settings, SubElementType.FOREGROUND_DETAIL, player);
+            RenderUtil.drawHorizontalNineSlice(graphics, BarTextures.STAMINA_FOREGROUND,
                     fgRect.x(), fgRect.y(), fgRect.width(), fgRect.height(),
                     FOREGROUND_SOURCE_TEXTURE_WIDTH, FOREGROUND_SOURCE_TEXTURE_HEIGHT,
                     CUSTOM_STAMINA_BAR_FOREGROUND_PADDING, CUSTOM_STAMINA_BAR_FOREGROUND_PADDING,
@@ -323,13 +322,13 @@ public class StaminaBarRenderer {
 
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
 
-        if (shouldRenderStaminaText(values.current, values.max, player, values.isMounted)) {
-            ScreenRect textRect = getSubElementRect(SubElementType.TEXT, player);
+        if (shouldRenderStaminaText(ctx, state, values.current, values.max, player, values.isMounted)) {
+            ScreenRect textRect = getSubElementRect(settings, SubElementType.TEXT, player);
             int textX = textRect.x() + (textRect.width() / 2);
             int textY = textRect.y() + (textRect.height() / 2);
             
-            int color = getStaminaTextColor(values.current, values.max, values.isMounted);
-            HorizontalAlignment alignment = ModConfigManager.getClient().staminaTextAlign;
+            int color = getStaminaTextColor(ctx, state, values.current, values.max, values.isMounted);
+            HorizontalAlignment alignment = stamina.textAlign;
 
             int baseX = textRect.x();
             if (alignment == HorizontalAlignment.CENTER) {
@@ -341,20 +340,20 @@ public class StaminaBarRenderer {
             // Remove: RenderUtil.renderText(values.current, values.max, graphics, baseX, textY, color, alignment);
         }
 
-        if (EditModeManager.isEditModeEnabled()) {
+        if (ctx.editMode()) {
             DraggableElement currentBarType = DraggableElement.STAMINA_BAR;
             if (EditModeManager.getFocusedElement() == currentBarType) {
                 int focusedBorderColor = 0xA0FFFF00;
-                ScreenRect bgRect = getSubElementRect(SubElementType.BACKGROUND, player);
-                if (ModConfigManager.getClient().enableStaminaBackground) {
+                ScreenRect bgRect = getSubElementRect(settings, SubElementType.BACKGROUND, player);
+                if (stamina.enableBackground) {
                     graphics.renderOutline(bgRect.x() - 1, bgRect.y() - 1, bgRect.width() + 2, bgRect.height() + 2, focusedBorderColor);
                 }
 
-                ScreenRect barRectOutline = getSubElementRect(SubElementType.BAR_MAIN, player);
+                ScreenRect barRectOutline = getSubElementRect(settings, SubElementType.BAR_MAIN, player);
                 graphics.renderOutline(barRectOutline.x() - 1, barRectOutline.y() - 1, barRectOutline.width() + 2, barRectOutline.height() + 2, 0xA0FFA500);
 
-                if (ModConfigManager.getClient().enableStaminaForeground) {
-                    ScreenRect fgRect = getSubElementRect(SubElementType.FOREGROUND_DETAIL, player);
+                if (stamina.enableForeground) {
+                    ScreenRect fgRect = getSubElementRect(settings, SubElementType.FOREGROUND_DETAIL, player);
                     graphics.renderOutline(fgRect.x() - 1, fgRect.y() - 1, fgRect.width() + 2, fgRect.height() + 2, 0xA0FF00FF);
                 }
                 graphics.renderOutline(complexRect.x() - 2, complexRect.y() - 2, complexRect.width() + 4, complexRect.height() + 4, 0x80FFFFFF);
@@ -371,14 +370,14 @@ public class StaminaBarRenderer {
      * Renders a gradient overlay on the stamina bar for visual enhancement.
      * Uses the bottom half of the main stamina bar texture as an overlay.
      */
-    private static void renderGradientOverlay(GuiGraphics graphics, Player player, ScreenRect barRect, float alpha, float maxStamina) {
+    private static void renderGradientOverlay(GuiGraphics graphics, Player player, BarAnimationState state, ScreenRect barRect, float alpha, float maxStamina) {
         int barWidth = barRect.width();
         int barHeight = barRect.height();
         
         if (barWidth <= 0 || barHeight <= 0) return;
         
         // Calculate the current stamina fill ratio
-        float staminaRatio = (maxStamina == 0) ? 0 : (currentStaminaAnimated / maxStamina);
+        float staminaRatio = (maxStamina == 0) ? 0 : (state.currentStaminaAnimated / maxStamina);
         staminaRatio = Mth.clamp(staminaRatio, 0.0f, 1.0f);
         int filledWidth = (int)(barWidth * staminaRatio);
         
@@ -386,7 +385,7 @@ public class StaminaBarRenderer {
         RenderSystem.defaultBlendFunc();
         
         if (filledWidth > 0) {
-            ResourceLocation barTexture = DynamicResourceBars.loc("textures/gui/stamina_bar.png");
+            ResourceLocation barTexture = BarTextures.STAMINA_BAR;
             int overlayWidth = Math.min(CUSTOM_STAMINA_BAR_MAIN_PADDING, filledWidth);
             int overlayX = barRect.x() + filledWidth - overlayWidth;
             graphics.blit(
@@ -426,7 +425,7 @@ public class StaminaBarRenderer {
         
         // Render the trailing icon texture with fixed bar height
         graphics.blit(
-            DynamicResourceBars.loc("textures/gui/stamina_trailing_icon.png"),
+            BarTextures.STAMINA_TRAILING_ICON,
             iconX, iconY,
             0, 0,
             BACKGROUND_SOURCE_TEXTURE_HEIGHT, BACKGROUND_SOURCE_TEXTURE_HEIGHT,
@@ -467,7 +466,7 @@ public class StaminaBarRenderer {
         
         // Check if vampire
         #if UPTO_20_1 && FABRIC
-        if (PlatformUtil.isModLoaded("bewitchment") && BewitchmentAPI.isVampire(player, true)) {
+        if (CompatState.BEWITCHMENT && BewitchmentAPI.isVampire(player, true)) {
             float bloodCurrent = BWComponents.BLOOD_COMPONENT.get(player).getBlood();
             float bloodMax = BloodComponent.MAX_BLOOD;
             return new BarValues(bloodCurrent, bloodMax, BarValueType.BLOOD, false);
@@ -479,37 +478,37 @@ public class StaminaBarRenderer {
     }
     
     // Clean method to determine fade behavior
-    private static boolean shouldBarFade(Player player, BarValues values) {
+    private static boolean shouldBarFade(FrameContext ctx, Player player, BarValues values) {
         switch (values.type) {
             case MOUNT_HEALTH:
-                return ModConfigManager.getClient().fadeHealthWhenFull && values.current >= values.max;
+                return ctx.settings().health.fadeWhenFull && values.current >= values.max;
             case FOOD:
-                return ModConfigManager.getClient().fadeStaminaWhenFull && values.current >= values.max;
+                return ctx.settings().stamina.fadeWhenFull && values.current >= values.max;
             default:
                 return false;
         }
     }
 
-    private static void renderBaseBar(GuiGraphics graphics, Player player, float currentStamina, float maxStamina,
+    private static void renderBaseBar(FrameContext ctx, BarAnimationState state, GuiGraphics graphics, Player player, float currentStamina, float maxStamina,
                                       ScreenRect barAreaRect,
                                       boolean isRightAnchored) {
         BarType barType = BarType.fromPlayerState(player, currentStamina);
         int totalBarWidth = barAreaRect.width();
         int barHeight = barAreaRect.height();
-        float currentStaminaRatio = (maxStamina == 0) ? 0.0f : (currentStaminaAnimated / maxStamina);
+        float currentStaminaRatio = (maxStamina == 0) ? 0.0f : (state.currentStaminaAnimated / maxStamina);
 
-        FillDirection fillDirection = ModConfigManager.getClient().staminaFillDirection;
+        FillDirection fillDirection = ctx.settings().stamina.fillDirection;
 
         if (fillDirection == FillDirection.VERTICAL) {
             int partialBarHeight = (int) (barHeight * currentStaminaRatio);
-            if (partialBarHeight <= 0 && currentStaminaAnimated > 0) partialBarHeight = 1;
+            if (partialBarHeight <= 0 && state.currentStaminaAnimated > 0) partialBarHeight = 1;
             if (partialBarHeight > barHeight) partialBarHeight = barHeight;
 
             int barX = barAreaRect.x();
             int barY = barAreaRect.y() + (barHeight - partialBarHeight); // Fill from bottom up
             if (partialBarHeight > 0) {
                 graphics.blit(
-                        DynamicResourceBars.loc("textures/gui/" + barType.getTexture() + ".png"),
+                        barType.getLocation(),
                         barX, barY,
                         0, 0, // Use 0 for U, 0 for V (static texture)
                         totalBarWidth, partialBarHeight, // Use full width, partial height
@@ -519,7 +518,7 @@ public class StaminaBarRenderer {
         } else { // HORIZONTAL
             drawAsymmetricBarNineSlice(
                 graphics,
-                DynamicResourceBars.loc("textures/gui/" + barType.getTexture() + ".png"),
+                barType.getLocation(),
                 barAreaRect.x(), barAreaRect.y(),
                 totalBarWidth, barHeight,
                 BAR_SOURCE_TEXTURE_WIDTH, BAR_SOURCE_TEXTURE_HEIGHT,
@@ -530,12 +529,12 @@ public class StaminaBarRenderer {
         }
     }
 
-    private static boolean shouldRenderStaminaText(float currentValue, float maxValue, Player player, boolean isMounted) {
+    private static boolean shouldRenderStaminaText(FrameContext ctx, BarAnimationState state, float currentValue, float maxValue, Player player, boolean isMounted) {
         TextBehavior textBehavior = isMounted ? 
-            ModConfigManager.getClient().showHealthText : 
-            ModConfigManager.getClient().showStaminaText;
+            ctx.settings().health.showText : 
+            ctx.settings().stamina.showText;
 
-        if (EditModeManager.isEditModeEnabled()) {
+        if (ctx.editMode()) {
             if (textBehavior == TextBehavior.ALWAYS || textBehavior == TextBehavior.WHEN_NOT_FULL) {
                 return true;
             }
@@ -553,104 +552,105 @@ public class StaminaBarRenderer {
             boolean isFull = currentValue >= maxValue;
             if (isFull) {
                 // Check if just became full or values changed
-                if (lastMountHealth < maxValue || lastMountMaxHealth != maxValue || lastMountHealth == -1) {
-                    fullMountHealthStartTime = System.currentTimeMillis();
+                if (state.lastMountHealth < maxValue || state.lastMountMaxHealth != maxValue || state.lastMountHealth == -1) {
+                    state.fullMountHealthStartTime = ctx.millis();
                 }
-                lastMountHealth = currentValue;
-                lastMountMaxHealth = maxValue;
+                state.lastMountHealth = currentValue;
+                state.lastMountMaxHealth = maxValue;
                 // Show for a short duration after becoming full
-                return (System.currentTimeMillis() - fullMountHealthStartTime) < RenderUtil.TEXT_DISPLAY_DURATION;
+                return (ctx.millis() - state.fullMountHealthStartTime) < RenderUtil.TEXT_DISPLAY_DURATION;
             } else {
-                lastMountHealth = currentValue;
-                lastMountMaxHealth = maxValue;
+                state.lastMountHealth = currentValue;
+                state.lastMountMaxHealth = maxValue;
                 return true; // Not full, so show
             }
         } else {
             // Handle stamina normally
             boolean isFull = currentValue >= maxValue;
             if (isFull) {
-                if (lastStamina < maxValue || lastStamina == -1) { // Just became full or first check
-                    fullStaminaStartTime = System.currentTimeMillis();
+                if (state.lastStamina < maxValue || state.lastStamina == -1) { // Just became full or first check
+                    state.fullStaminaStartTime = ctx.millis();
                 }
-                lastStamina = currentValue;
+                state.lastStamina = currentValue;
                 // Show for a short duration after becoming full
-                return (System.currentTimeMillis() - fullStaminaStartTime) < RenderUtil.TEXT_DISPLAY_DURATION;
+                return (ctx.millis() - state.fullStaminaStartTime) < RenderUtil.TEXT_DISPLAY_DURATION;
             } else {
-                lastStamina = currentValue;
+                state.lastStamina = currentValue;
                 return true; // Not full, so show
             }
         }
     }
 
-    private static int getStaminaTextColor(float currentValue, float maxValue, boolean isMounted) {
+    private static int getStaminaTextColor(FrameContext ctx, BarAnimationState state, float currentValue, float maxValue, boolean isMounted) {
+        ConfigSnapshot settings = ctx.settings();
         TextBehavior textBehavior = isMounted ? 
-            ModConfigManager.getClient().showHealthText : 
-            ModConfigManager.getClient().showStaminaText;
-        ClientConfig config = ModConfigManager.getClient();
+            settings.health.showText : 
+            settings.stamina.showText;
         int baseColor;
         int alpha;
 
         if (isMounted) {
-            baseColor = config.healthTextColor & 0xFFFFFF;
-            alpha = config.healthTextOpacity;
+            baseColor = settings.health.textColor & 0xFFFFFF;
+            alpha = settings.health.textOpacity;
         } else {
-            baseColor = config.staminaTextColor & 0xFFFFFF;
-            alpha = config.staminaTextOpacity;
+            baseColor = settings.stamina.textColor & 0xFFFFFF;
+            alpha = settings.stamina.textOpacity;
         }
 
         if (textBehavior == TextBehavior.WHEN_NOT_FULL && currentValue >= maxValue) {
             long timeSinceFull;
             if (isMounted) {
-                timeSinceFull = System.currentTimeMillis() - fullMountHealthStartTime;
+                timeSinceFull = ctx.millis() - state.fullMountHealthStartTime;
             } else {
-                timeSinceFull = System.currentTimeMillis() - fullStaminaStartTime;
+                timeSinceFull = ctx.millis() - state.fullStaminaStartTime;
             }
             alpha = (int)(alpha * (RenderUtil.calculateTextAlpha(timeSinceFull) / (float)RenderUtil.BASE_TEXT_ALPHA));
         }
 
-        alpha = (int) (alpha * getStaminaBarAlpha()); // Modulate with bar alpha
+        alpha = (int) (alpha * getStaminaBarAlpha(ctx, state)); // Modulate with bar alpha
         alpha = Math.max(10, Math.min(255, alpha)); // Ensure minimum visibility
         return (alpha << 24) | baseColor;
     }
 
     // New helper methods for bar visibility and alpha
-    private static void setStaminaBarVisibility(boolean visible) {
-        if (staminaBarSetVisible != visible) {
+    private static void setStaminaBarVisibility(FrameContext ctx, BarAnimationState state, boolean visible) {
+        if (state.staminaBarSetVisible != visible) {
             if (!visible) {
-                staminaBarDisabledStartTime = System.currentTimeMillis();
+                state.staminaBarDisabledStartTime = ctx.millis();
             }
-            staminaBarSetVisible = visible;
+            state.staminaBarSetVisible = visible;
         }
     }
 
-    private static boolean isStaminaBarVisible() {
-        return staminaBarSetVisible;
+    private static boolean isStaminaBarVisible(BarAnimationState state) {
+        return state.staminaBarSetVisible;
     }
 
-    private static float getStaminaBarAlpha() {
-        if (isStaminaBarVisible()) {
+    private static float getStaminaBarAlpha(FrameContext ctx, BarAnimationState state) {
+
+        if (isStaminaBarVisible(state)) {
             return 1.0f;
         }
-        long timeSinceDisabled = System.currentTimeMillis() - staminaBarDisabledStartTime;
+        long timeSinceDisabled = ctx.millis() - state.staminaBarDisabledStartTime;
         if (timeSinceDisabled >= RenderUtil.BAR_FADEOUT_DURATION) {
             return 0.0f;
         }
         return Math.max(0.0f, 1.0f - (timeSinceDisabled / (float) RenderUtil.BAR_FADEOUT_DURATION));
     }
 
-    private static void renderSaturationOverlay(GuiGraphics graphics, Player player, ScreenRect barRect, boolean isRightAnchored) {
-        if (!PlatformUtil.isModLoaded("appleskin")) {
+    private static void renderSaturationOverlay(FrameContext ctx, GuiGraphics graphics, Player player, ScreenRect barRect, boolean isRightAnchored) {
+        if (!CompatState.APPLESKIN) {
             return;
         }
 
-        float saturation = player.getFoodData().getSaturationLevel();
+        float saturation = ctx.stats(player).saturation;
         if (saturation <= 0) return;
 
         RenderSystem.enableBlend();
         RenderSystem.defaultBlendFunc();
 
         float saturationPercent = Math.min(1.0f, saturation / 20f);
-        FillDirection fillDirection = ModConfigManager.getClient().staminaFillDirection;
+        FillDirection fillDirection = ctx.settings().stamina.fillDirection;
 
         // Use pulsing opacity instead of frame animation
         float pulseAlpha = 0.5f + (TickHandler.getOverlayFlashAlpha() * 0.5f); // Range from 0.5 to 1.0
@@ -660,7 +660,7 @@ public class StaminaBarRenderer {
             int overlayHeight = (int) (barRect.height() * saturationPercent);
             if (overlayHeight > 0) {
                 graphics.blit(
-                        DynamicResourceBars.loc("textures/gui/protection_overlay.png"), // Placeholder texture
+                        BarTextures.PROTECTION_OVERLAY, // Placeholder texture
                         barRect.x(),
                         barRect.y() + (barRect.height() - overlayHeight),
                         0, 0,
@@ -683,7 +683,7 @@ public class StaminaBarRenderer {
                 if (uTexOffset < 0) uTexOffset = 0;
 
                 graphics.blit(
-                        DynamicResourceBars.loc("textures/gui/protection_overlay.png"), // Placeholder texture
+                        BarTextures.PROTECTION_OVERLAY, // Placeholder texture
                         xPos, barRect.y(),
                         uTexOffset, 0, // Use calculated uTexOffset, vOffset usually 0 for horizontal overlays unless animated differently
                         overlayWidth, barRect.height(),
@@ -696,18 +696,18 @@ public class StaminaBarRenderer {
         RenderSystem.disableBlend();
     }
 
-    private static void renderHungerRestoredOverlay(GuiGraphics graphics, Player player, ItemStack heldFood,
+    private static void renderHungerRestoredOverlay(FrameContext ctx, GuiGraphics graphics, Player player, AppleSkinCompat.HeldFood heldFood,
                                                     ScreenRect barRect, float partialTicks, boolean isRightAnchored) {
-        if (!PlatformUtil.isModLoaded("appleskin")) {
+        if (!CompatState.APPLESKIN) {
             return;
         }
 
-        AppleSkinCompat.FoodData foodData = AppleSkinCompat.getFoodValues(heldFood, player);
+        AppleSkinCompat.FoodData foodData = heldFood.food;
         if (foodData.isEmpty()) {
             return;
         }
 
-        float currentHunger = player.getFoodData().getFoodLevel();
+        float currentHunger = ctx.stats(player).foodLevel;
         float restoredHunger = Math.min(20f, currentHunger + foodData.hunger);
 
         if (restoredHunger <= currentHunger) {
@@ -718,7 +718,7 @@ public class StaminaBarRenderer {
         RenderSystem.defaultBlendFunc();
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, TickHandler.getOverlayFlashAlpha());
 
-        FillDirection fillDirection = ModConfigManager.getClient().staminaFillDirection;
+        FillDirection fillDirection = ctx.settings().stamina.fillDirection;
         // Use the bar type that would apply at the restored hunger level
         BarType barType = BarType.fromPlayerState(player, restoredHunger);
 
@@ -731,7 +731,7 @@ public class StaminaBarRenderer {
                 int yPos = barRect.y() + (barRect.height() - restoredHeight);
 
                 graphics.blit(
-                        DynamicResourceBars.loc("textures/gui/" + barType.getTexture() + ".png"),
+                        barType.getLocation(),
                         barRect.x(), yPos,
                         0, 0, // Static texture, no animation
                         barRect.width(), overlayHeight,
@@ -757,7 +757,7 @@ public class StaminaBarRenderer {
                 if (uTexOffset < 0) uTexOffset = 0;
 
                 graphics.blit(
-                        DynamicResourceBars.loc("textures/gui/" + barType.getTexture() + ".png"),
+                        barType.getLocation(),
                         xDrawPos, barRect.y(),
                         uTexOffset, 0, // Use the calculated uTexOffset, static texture
                         overlayWidth, barRect.height(),
@@ -770,38 +770,9 @@ public class StaminaBarRenderer {
         RenderSystem.disableBlend();
     }
 
-    private static ItemStack getHeldFood(Player player) {
-        ItemStack mainHand = player.getItemInHand(net.minecraft.world.InteractionHand.MAIN_HAND);
-        if (AppleSkinCompat.canConsume(mainHand, player)) {
-            return mainHand;
-        }
-
-        ItemStack offHand = player.getItemInHand(net.minecraft.world.InteractionHand.OFF_HAND);
-        if (AppleSkinCompat.canConsume(offHand, player)) {
-            return offHand;
-        }
-
-        return ItemStack.EMPTY;
-    }
-
-    private static boolean hasNourishmentEffect(Player player) {
-            #if UPTO_20_1
-                // 1.20.1 Forge: RegistryObject<MobEffect>
-                // 1.20.1 Fabric: Supplier<MobEffect>
-            var nourishmentEffect = ModEffects.NOURISHMENT.get();
-            return player.hasEffect(nourishmentEffect);
-            #elif NEWER_THAN_20_1
-                // 1.21.1 Fabric/NeoForge - Holder<MobEffect>
-            var nourishmentEffect = ModEffects.NOURISHMENT;
-            return player.hasEffect(nourishmentEffect);
-            #else
-        return false;
-            #endif
-    }
-
     public static boolean isVampire(Player player) {
         #if UPTO_20_1 && FABRIC
-            if (PlatformUtil.isModLoaded("bewitchment")) {
+            if (CompatState.BEWITCHMENT) {
                 return BewitchmentAPI.isVampire(player, true);
             }
         #endif
@@ -815,14 +786,16 @@ public class StaminaBarRenderer {
     private static void drawAsymmetricBarNineSlice(GuiGraphics graphics, ResourceLocation texture, int x, int y, int destWidth, int destHeight, int sourceTextureWidth, int sourceTextureHeight, int leftPadding, int rightPadding, float fillRatio) {
         int filledWidth = (int)(destWidth * fillRatio);
         if (filledWidth <= 0) return;
+        QuadBatch batch = QuadBatch.begin(graphics, texture, sourceTextureWidth, sourceTextureHeight);
         
         // Handle case where bar is smaller than left padding
         if (filledWidth <= leftPadding) {
             int leftWidth = filledWidth;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, x, y + tileY, 0, 0, leftWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(x, y + tileY, 0, 0, leftWidth, drawHeight);
             }
+            batch.end();
             return;
         }
         
@@ -831,7 +804,7 @@ public class StaminaBarRenderer {
             int leftWidth = leftPadding;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, x, y + tileY, 0, 0, leftWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(x, y + tileY, 0, 0, leftWidth, drawHeight);
             }
         }
         
@@ -847,7 +820,7 @@ public class StaminaBarRenderer {
                 int tileWidth = Math.min(sourceMiddleWidth, remaining);
                 for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                     int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                    graphics.blit(texture, tiledX, y + tileY, leftPadding, 0, tileWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                    batch.blit(tiledX, y + tileY, leftPadding, 0, tileWidth, drawHeight);
                 }
                 tiledX += tileWidth;
                 remaining -= tileWidth;
@@ -861,10 +834,11 @@ public class StaminaBarRenderer {
             if (rightWidth > 0) {
                 for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                     int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                    graphics.blit(texture, rightStart, y + tileY, sourceTextureWidth - rightPadding, 0, rightWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                    batch.blit(rightStart, y + tileY, sourceTextureWidth - rightPadding, 0, rightWidth, drawHeight);
                 }
             }
         }
+        batch.end();
     }
 
     /**
@@ -873,6 +847,7 @@ public class StaminaBarRenderer {
     private static void drawAsymmetricBarNineSliceWithV(GuiGraphics graphics, ResourceLocation texture, int x, int y, int destWidth, int destHeight, int sourceTextureWidth, int sourceTextureHeight, int leftPadding, int rightPadding, float fillRatio, int vOffset) {
         int filledWidth = (int)(destWidth * fillRatio);
         if (filledWidth <= 0) return;
+        QuadBatch batch = QuadBatch.begin(graphics, texture, sourceTextureWidth, sourceTextureHeight);
 
         // If the bar is smaller than the sum of paddings, only draw what fits
         if (filledWidth <= rightPadding) {
@@ -881,8 +856,9 @@ public class StaminaBarRenderer {
             int rightWidth = filledWidth;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, rightStart, y + tileY, sourceTextureWidth - rightPadding, vOffset, rightWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(rightStart, y + tileY, sourceTextureWidth - rightPadding, vOffset, rightWidth, drawHeight);
             }
+            batch.end();
             return;
         }
         if (filledWidth <= leftPadding) {
@@ -890,8 +866,9 @@ public class StaminaBarRenderer {
             int leftWidth = filledWidth;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, x, y + tileY, 0, vOffset, leftWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(x, y + tileY, 0, vOffset, leftWidth, drawHeight);
             }
+            batch.end();
             return;
         }
 
@@ -900,7 +877,7 @@ public class StaminaBarRenderer {
             int leftWidth = leftPadding;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, x, y + tileY, 0, vOffset, leftWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(x, y + tileY, 0, vOffset, leftWidth, drawHeight);
             }
         }
         // Draw tiled middle (horizontally and vertically)
@@ -912,7 +889,7 @@ public class StaminaBarRenderer {
             int tileWidth = Math.min(sourceMiddleWidth, remaining);
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, tiledX, y + tileY, leftPadding, vOffset, tileWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(tiledX, y + tileY, leftPadding, vOffset, tileWidth, drawHeight);
             }
             tiledX += tileWidth;
             remaining -= tileWidth;
@@ -923,8 +900,9 @@ public class StaminaBarRenderer {
             int rightWidth = rightPadding;
             for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                 int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                graphics.blit(texture, rightStart, y + tileY, sourceTextureWidth - rightPadding, vOffset, rightWidth, drawHeight, sourceTextureWidth, sourceTextureHeight);
+                batch.blit(rightStart, y + tileY, sourceTextureWidth - rightPadding, vOffset, rightWidth, drawHeight);
             }
         }
+        batch.end();
     }
 }
\ No newline at end of file
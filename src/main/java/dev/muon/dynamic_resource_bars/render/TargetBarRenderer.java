@@ -0,0 +1,84 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import dev.muon.dynamic_resource_bars.config.ClientConfig;
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
+import dev.muon.dynamic_resource_bars.util.HUDPositioning;
+import dev.muon.dynamic_resource_bars.util.Position;
+import dev.muon.dynamic_resource_bars.util.ScreenRect;
+import dev.muon.dynamic_resource_bars.util.TargetTracker;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Health bar of the entity the player is looking at or fighting (see {@link TargetTracker}), drawn like the player's
+ * health bar: smart-scaled width, delayed hit indicator and absorption.
+ * <p>
+ * The animation states of the last {@link #STATE_CACHE_SIZE} targets are kept in an LRU, so looking back and forth
+ * between mobs picks up each one's bar where it was instead of starting the animation over.
+ * <p>
+ * Drawn in the overlay pass (see {@link BarRenderManager#renderOverlayBars}), so it shows in every game mode and
+ * whether or not the player's own health bar replaces the vanilla hearts.
+ */
+public class TargetBarRenderer {
+    static final int STATE_CACHE_SIZE = 8;
+    private static final int SCREEN_MARGIN = 8;
+    private static final int NAME_GAP = 2;
+
+    // Most recently shown target last
+    private static final Int2ObjectLinkedOpenHashMap<BarAnimationState> states = new Int2ObjectLinkedOpenHashMap<>();
+    private static WeakReference<Level> statesLevel = new WeakReference<>(null);
+
+    public static void render(GuiGraphics graphics, Player player, FrameContext ctx) {
+        LivingEntity target = TargetTracker.getTarget();
+        if (target == null) {
+            return;
+        }
+        ConfigSnapshot.TargetSettings settings = ctx.settings().target;
+        BarAnimationState state = stateFor(target);
+        HealthBarRenderer.updateAnimatedValues(ctx, state, target.getMaxHealth(), ctx.partialTicks(), target.getHealth(), (int) target.getAbsorptionAmount());
+
+        int extraWidth = HealthBarRenderer.getEntityBarExtraWidth();
+        int barWidth = Math.round(HealthBarRenderer.getSmartScaledBarWidth(target.getMaxHealth()) * (settings.barWidthModifier / 100.0f));
+        barWidth = Mth.clamp(barWidth, 1, Math.max(1, ctx.screenWidth() - extraWidth - SCREEN_MARGIN * 2));
+        int width = barWidth + extraWidth;
+
+        Font font = Minecraft.getInstance().font;
+        int nameHeight = settings.showName ? font.lineHeight + NAME_GAP : 0;
+        ScreenRect box = new ScreenRect(0, 0, width, nameHeight + ClientConfig.DEFAULT_HEALTH_BACKGROUND_HEIGHT);
+        Position position = HUDPositioning.alignBoundingBoxToAnchor(box, settings.barAnchor)
+                .offset(settings.totalXOffset, settings.totalYOffset);
+
+        HealthBarRenderer.renderEntityBar(graphics, ctx, target, state, position.x(), position.y() + nameHeight, barWidth);
+
+        if (settings.showName) {
+            ConfigSnapshot.GlobalSettings global = ctx.settings().global;
+            int color = (Mth.clamp(global.globalTextOpacity, 10, 255) << 24) | (global.globalTextColor & 0xFFFFFF);
+            graphics.drawCenteredString(font, target.getDisplayName(), position.x() + width / 2, position.y(), color);
+        }
+    }
+
+    private static BarAnimationState stateFor(LivingEntity target) {
+        Level level = target.level();
+        if (statesLevel.get() != level) {
+            states.clear(); // Entity ids are per level
+            statesLevel = new WeakReference<>(level);
+        }
+        BarAnimationState state = states.getAndMoveToLast(target.getId());
+        if (state == null) {
+            if (states.size() >= STATE_CACHE_SIZE) {
+                states.removeFirst();
+            }
+            state = new BarAnimationState();
+            states.putAndMoveToLast(target.getId(), state);
+        }
+        return state;
+    }
+}
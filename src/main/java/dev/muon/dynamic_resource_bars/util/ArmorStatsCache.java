@@ -0,0 +1,120 @@
+package dev.muon.dynamic_resource_bars.util;
+
+import com.google.common.collect.Multimap;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanOpenHashMap;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ArmorItem;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.enchantment.EnchantmentHelper;
+import net.minecraft.world.item.enchantment.Enchantments;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * Armor derived values that only change when equipment does.
+ * <p>
+ * Total protection is recomputed only when one of the worn armor stacks is swapped for another
+ * (stack identity) or changes count/damage. Worn stacks are only remembered through weak references, so a stack
+ * (and its tag data) that leaves the inventory isn't kept alive by the cache.
+ * <p>
+ * Armor relevance is memoized per {@link Item}, since the armor attributes come from the item, so the tooltip and
+ * hotbar hooks can ask about any number of stacks without recomputing. Items are registry singletons, so the map
+ * is bounded by the item registry. Render thread only.
+ */
+public final class ArmorStatsCache {
+    private static final EquipmentSlot[] ARMOR_SLOTS = {EquipmentSlot.FEET, EquipmentSlot.LEGS, EquipmentSlot.CHEST, EquipmentSlot.HEAD};
+    // EquipmentSlot.values() clones the array on every call
+    private static final EquipmentSlot[] ALL_SLOTS = EquipmentSlot.values();
+
+    @SuppressWarnings("unchecked")
+    private static final WeakReference<ItemStack>[] wornStacks = new WeakReference[ARMOR_SLOTS.length];
+    private static int wornHash;
+    private static int totalProtection;
+    // Worn stacks of the player being looked up, cleared again after each call
+    private static final ItemStack[] scratch = new ItemStack[ARMOR_SLOTS.length];
+
+    private static final Reference2BooleanOpenHashMap<Item> relevance = new Reference2BooleanOpenHashMap<>();
+
+    private ArmorStatsCache() {
+    }
+
+    /**
+     * Sum of Protection enchantment levels across the worn armor.
+     */
+    public static int getTotalProtection(Player player) {
+        for (int i = 0; i < ARMOR_SLOTS.length; i++) {
+            scratch[i] = player.getItemBySlot(ARMOR_SLOTS[i]);
+        }
+        int protection = getTotalProtection(scratch);
+        Arrays.fill(scratch, null);
+        return protection;
+    }
+
+    /**
+     * Sum of Protection enchantment levels across {@code worn}, ordered feet, legs, chest, head.
+     */
+    static int getTotalProtection(ItemStack[] worn) {
+        boolean changed = false;
+        int hash = 1;
+        for (int i = 0; i < ARMOR_SLOTS.length; i++) {
+            ItemStack stack = worn[i];
+            if (wornStacks[i] == null || stack != wornStacks[i].get()) {
+                wornStacks[i] = new WeakReference<>(stack);
+                changed = true;
+            }
+            hash = 31 * hash + stack.getCount() * 65599 + stack.getDamageValue();
+        }
+        if (changed || hash != wornHash) {
+            wornHash = hash;
+            totalProtection = computeTotalProtection(worn);
+        }
+        return totalProtection;
+    }
+
+    public static boolean isArmorRelevantItem(ItemStack stack) {
+        if (stack.isEmpty()) return false;
+        Item item = stack.getItem();
+        if (relevance.containsKey(item)) {
+            return relevance.getBoolean(item);
+        }
+        boolean relevant = computeArmorRelevance(stack);
+        relevance.put(item, relevant);
+        return relevant;
+    }
+
+    private static int computeTotalProtection(ItemStack[] worn) {
+        int total = 0;
+        // TODO: 1.21+
+        #if UPTO_20_1
+        for (ItemStack stack : worn) {
+            total += EnchantmentHelper.getItemEnchantmentLevel(Enchantments.ALL_DAMAGE_PROTECTION, stack);
+        }
+        #endif
+        return total;
+    }
+
+    private static boolean computeArmorRelevance(ItemStack stack) {
+        if (stack.getItem() instanceof ArmorItem) return true;
+
+        // TODO: 1.21+
+        #if UPTO_20_1
+        for (EquipmentSlot slot : ALL_SLOTS) {
+            Multimap<Attribute, AttributeModifier> modifiers = stack.getAttributeModifiers(slot);
+            double armor = 0;
+            for (AttributeModifier modifier : modifiers.get(Attributes.ARMOR)) {
+                armor += modifier.getAmount();
+            }
+            if (armor > 0) {
+                return true;
+            }
+        }
+        #endif
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package dev.muon.dynamic_resource_bars.util;
+
+/**
+ * Solved layout for one bar: the overall bounding box plus the rect of every sub-element.
+ * Built once per layout change by a renderer and then shared read-only until the next change.
+ * Sub-elements that depend on per-frame values (e.g. the trailing icon) are not stored here.
+ */
+public final class BarLayout {
+    public static final ScreenRect EMPTY_RECT = new ScreenRect(0, 0, 0, 0);
+    public static final BarLayout EMPTY = new BarLayout(EMPTY_RECT);
+
+    private final ScreenRect bounds;
+    private final ScreenRect[] subElements = new ScreenRect[SubElementType.values().length];
+
+    public BarLayout(ScreenRect bounds) {
+        this.bounds = bounds;
+    }
+
+    public BarLayout set(SubElementType type, ScreenRect rect) {
+        subElements[type.ordinal()] = rect;
+        return this;
+    }
+
+    public ScreenRect bounds() {
+        return bounds;
+    }
+
+    /**
+     * @return The rect for the given sub-element, or an empty rect if this bar doesn't have it.
+     */
+    public ScreenRect get(SubElementType type) {
+        ScreenRect rect = subElements[type.ordinal()];
+        return rect != null ? rect : EMPTY_RECT;
+    }
+}
@@ -0,0 +1,103 @@
+package dev.muon.dynamic_resource_bars.util;
+
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
+import dev.muon.dynamic_resource_bars.config.LayoutProfiles;
+import net.minecraft.client.Minecraft;
+
+import java.util.Arrays;
+
+/**
+ * Memoizes one {@link BarLayout} per bar. An entry stays valid while the bar's config layout epoch, the GUI-scaled
+ * window size and the bar's own inputs (max value and an extra int such as absorption) are unchanged,
+ * so steady-state frames skip layout math entirely. Layouts must be solved from the same {@link ConfigSnapshot} they
+ * are looked up and stored with, so an entry never outlives the values it was built from.
+ *
+ * <p>Each {@link LayoutProfiles layout profile} gets its own bank of entries, so once a profile has been shown its
+ * layouts stay warm: switching back and forth between profiles does not evict anything.
+ *
+ * <p>While the HUD editor is open the config is edited in place without saving, so lookups always miss there.
+ */
+public final class BarLayoutCache {
+
+    private static final int SLOTS = DraggableElement.values().length;
+
+    private static Bank[] banks = { new Bank() };
+
+    private static long hits = 0;
+    private static long misses = 0;
+
+    private BarLayoutCache() {}
+
+    /**
+     * @return The cached layout for {@code bar} under {@code settings}, or null if it needs to be solved again.
+     */
+    public static BarLayout lookup(ConfigSnapshot settings, DraggableElement bar, float maxValue, int extra) {
+        int slot = bar.ordinal();
+        Bank bank = activeBank();
+        BarLayout layout = bank.layouts[slot];
+        if (layout != null
+                && !EditModeManager.isEditModeEnabled()
+                && bank.epochs[slot] == settings.layoutEpoch(bar)
+                && bank.maxValues[slot] == maxValue
+                && bank.extras[slot] == extra
+                && bank.screenWidths[slot] == Minecraft.getInstance().getWindow().getGuiScaledWidth()
+                && bank.screenHeights[slot] == Minecraft.getInstance().getWindow().getGuiScaledHeight()) {
+            hits++;
+            return layout;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Stores a layout freshly solved from {@code settings} and returns it.
+     */
+    public static BarLayout store(ConfigSnapshot settings, DraggableElement bar, float maxValue, int extra, BarLayout layout) {
+        int slot = bar.ordinal();
+        Bank bank = activeBank();
+        bank.epochs[slot] = settings.layoutEpoch(bar);
+        bank.screenWidths[slot] = Minecraft.getInstance().getWindow().getGuiScaledWidth();
+        bank.screenHeights[slot] = Minecraft.getInstance().getWindow().getGuiScaledHeight();
+        bank.maxValues[slot] = maxValue;
+        bank.extras[slot] = extra;
+        bank.layouts[slot] = layout;
+        return layout;
+    }
+
+    public static void invalidateAll() {
+        for (Bank bank : banks) {
+            for (int i = 0; i < SLOTS; i++) {
+                bank.layouts[i] = null;
+            }
+        }
+    }
+
+    public static long getHits() {
+        return hits;
+    }
+
+    public static long getMisses() {
+        return misses;
+    }
+
+    private static Bank activeBank() {
+        int index = LayoutProfiles.activeIndex();
+        if (index >= banks.length) {
+            Bank[] grown = Arrays.copyOf(banks, LayoutProfiles.count());
+            for (int i = banks.length; i < grown.length; i++) {
+                grown[i] = new Bank();
+            }
+            banks = grown;
+        }
+        return banks[index];
+    }
+
+    private static final class Bank {
+        private final int[] epochs = new int[SLOTS];
+        private final int[] screenWidths = new int[SLOTS];
+        private final int[] screenHeights = new int[SLOTS];
+        private final float[] maxValues = new float[SLOTS];
+        private final int[] extras = new int[SLOTS];
+        private final BarLayout[] layouts = new BarLayout[SLOTS];
+    }
+}
@@ -1,13 +1,14 @@
 package dev.muon.dynamic_resource_bars.util;
 
 /**
- * Defines the render order for bar groups.
+ * Default render order values for bar groups (see {@code BarRenderer#defaultOrder()}).
  * Bars with lower ordinal values render first (behind other bars).
  * Bars with higher ordinal values render last (on top of other bars).
+ * The {@code barRenderOrder} config option overrides the order of the bars it lists.
  */
 public enum BarRenderOrder {
     /**
-     * Renders first (behind all other bars)
+     * Renders first (behind all other bars); for bars from other mods that belong behind the built-in ones
      */
     BACKGROUND(0),
     
@@ -37,9 +38,19 @@ public enum BarRenderOrder {
     AIR(5),
     
     /**
-     * Renders last (on top of all other bars)
+     * Renders after air bars
      */
-    FOREGROUND(6);
+    PARTY(6),
+    
+    /**
+     * Renders after party bars
+     */
+    TARGET(7),
+    
+    /**
+     * Renders last (on top of all other bars); for bars from other mods that belong in front of the built-in ones
+     */
+    FOREGROUND(8);
     
     private final int order;
     
@@ -0,0 +1,41 @@
+package dev.muon.dynamic_resource_bars.util;
+
+import com.mojang.blaze3d.platform.InputConstants;
+import dev.muon.dynamic_resource_bars.DynamicResourceBars;
+import dev.muon.dynamic_resource_bars.config.LayoutProfiles;
+import net.minecraft.client.KeyMapping;
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.chat.Component;
+
+/**
+ * Key mappings of the mod. Registered per platform from {@link DynamicResourceBars}, handled from {@link TickHandler}.
+ */
+public class ModKeyMappings {
+    public static final String CATEGORY = "key.categories." + DynamicResourceBars.ID;
+
+    // Unbound by default
+    public static final KeyMapping CYCLE_LAYOUT_PROFILE = new KeyMapping(
+            "key." + DynamicResourceBars.ID + ".cycle_layout_profile", InputConstants.UNKNOWN.getValue(), CATEGORY);
+
+    public static void onClientTick() {
+        while (CYCLE_LAYOUT_PROFILE.consumeClick()) {
+            cycleLayoutProfile();
+        }
+    }
+
+    private static void cycleLayoutProfile() {
+        Minecraft minecraft = Minecraft.getInstance();
+        if (minecraft.player == null) {
+            return;
+        }
+        Component message;
+        if (LayoutProfiles.count() <= 1) {
+            message = Component.translatable("message." + DynamicResourceBars.ID + ".layout_profile.none", DynamicResourceBars.ID + "-profiles");
+        } else if (LayoutProfiles.cycle()) {
+            message = Component.translatable("message." + DynamicResourceBars.ID + ".layout_profile.switched", LayoutProfiles.activeName());
+        } else {
+            return;
+        }
+        minecraft.player.displayClientMessage(message, true);
+    }
+}
@@ -0,0 +1,92 @@
+package dev.muon.dynamic_resource_bars.util;
+
+import dev.muon.dynamic_resource_bars.compat.CompatState;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.effect.MobEffects;
+import net.minecraft.world.entity.player.Player;
+import vectorwing.farmersdelight.common.registry.ModEffects;
+
+#if NEWER_THAN_20_1
+import net.minecraft.core.Holder;
+#endif
+
+/**
+ * Bitset of the status effects (and effect-like states) that change how the bars look.
+ * <p>
+ * Refreshed once per client tick from {@link TickHandler#onClientTick()}, so bar type selection
+ * is a mask test on a single {@code long} instead of a {@code hasEffect} map lookup per bar per frame.
+ */
+public final class PlayerEffectState {
+    public static final long POISON = 1L;
+    public static final long WITHER = 1L << 1;
+    public static final long REGENERATION = 1L << 2;
+    public static final long HUNGER = 1L << 3;
+    public static final long NOURISHMENT = 1L << 4;
+    public static final long FROZEN = 1L << 5;
+
+    private static long effects;
+    private static int trackedPlayerId = -1;
+
+    // Resolved once; looking the effect up through the registry wrapper every frame is wasted work
+    private static boolean nourishmentResolved;
+    #if NEWER_THAN_20_1
+    private static Holder<MobEffect> nourishmentEffect;
+    #else
+    private static MobEffect nourishmentEffect;
+    #endif
+
+    private PlayerEffectState() {
+    }
+
+    public static void onClientTick() {
+        Player player = Minecraft.getInstance().player;
+        if (player == null) {
+            trackedPlayerId = -1;
+            effects = 0L;
+            return;
+        }
+        effects = sample(player);
+        trackedPlayerId = player.getId();
+    }
+
+    /**
+     * The effect bits for {@code player}. Other players than the one sampled on the last tick
+     * (e.g. a spectated player) are sampled on demand.
+     */
+    public static long get(Player player) {
+        if (player.getId() == trackedPlayerId) {
+            return effects;
+        }
+        return sample(player);
+    }
+
+    public static boolean has(Player player, long mask) {
+        return (get(player) & mask) != 0;
+    }
+
+    private static long sample(Player player) {
+        long bits = 0L;
+        if (player.hasEffect(MobEffects.POISON)) bits |= POISON;
+        if (player.hasEffect(MobEffects.WITHER)) bits |= WITHER;
+        if (player.hasEffect(MobEffects.REGENERATION)) bits |= REGENERATION;
+        if (player.hasEffect(MobEffects.HUNGER)) bits |= HUNGER;
+        if (player.isFullyFrozen()) bits |= FROZEN;
+        if (CompatState.FARMERS_DELIGHT && hasNourishment(player)) bits |= NOURISHMENT;
+        return bits;
+    }
+
+    private static boolean hasNourishment(Player player) {
+        if (!nourishmentResolved) {
+            #if UPTO_20_1
+            // 1.20.1 Forge: RegistryObject<MobEffect>, 1.20.1 Fabric: Supplier<MobEffect>
+            nourishmentEffect = ModEffects.NOURISHMENT.get();
+            #else
+            // 1.21.1 Fabric/NeoForge: Holder<MobEffect>
+            nourishmentEffect = ModEffects.NOURISHMENT;
+            #endif
+            nourishmentResolved = true;
+        }
+        return nourishmentEffect != null && player.hasEffect(nourishmentEffect);
+    }
+}
@@ -0,0 +1,118 @@
+package dev.muon.dynamic_resource_bars.util;
+
+import dev.muon.dynamic_resource_bars.compat.ManaProviderManager;
+import dev.muon.dynamic_resource_bars.config.ModConfigManager;
+import net.minecraft.client.Minecraft;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * The player stats the bars display, sampled once per client tick.
+ * <p>
+ * Two snapshots are kept: the one from the previous tick and the one from the latest tick.
+ * Renderers call {@link #interpolate} once per frame to get a view blended between the two by
+ * the frame's partial tick, instead of querying the player (and the mana provider) on every frame.
+ * Values that only change in whole steps (max values, absorption, armor) are taken from the latest tick.
+ */
+public final class PlayerStatSnapshot {
+    public float health;
+    public float maxHealth;
+    public float absorption;
+    public float foodLevel;
+    public float saturation;
+    public float airSupply;
+    public float maxAirSupply;
+    public int armorValue;
+    public float mana;
+    public float maxMana;
+    public float reservedMana;
+
+    private static PlayerStatSnapshot previous = new PlayerStatSnapshot();
+    private static PlayerStatSnapshot current = new PlayerStatSnapshot();
+    // Returned by interpolate; render thread only
+    private static final PlayerStatSnapshot view = new PlayerStatSnapshot();
+    private static int sampledPlayerId = -1;
+    private static ManaProvider sampledManaProvider;
+
+    /**
+     * Swaps the buffers and samples the local player into the fresh one. Called from {@link TickHandler#onClientTick()}.
+     */
+    public static void onClientTick() {
+        Player player = Minecraft.getInstance().player;
+        if (player == null) {
+            sampledPlayerId = -1;
+            sampledManaProvider = null;
+            return;
+        }
+
+        ManaProvider manaProvider = ManaProviderManager.getProviderForBehavior(ModConfigManager.getClient().manaBarBehavior);
+        PlayerStatSnapshot swap = previous;
+        previous = current;
+        current = swap;
+        current.sample(player, manaProvider);
+
+        // First sample for this player (login, respawn, provider switch): nothing sensible to blend from
+        if (player.getId() != sampledPlayerId || manaProvider != sampledManaProvider) {
+            previous.copyFrom(current);
+            sampledPlayerId = player.getId();
+            sampledManaProvider = manaProvider;
+        }
+    }
+
+    /**
+     * Returns the stats for {@code player} blended by {@code partialTick}. If the tick snapshot was not
+     * taken for this player (e.g. spectating, or before the first tick) the player is sampled directly.
+     * <p>
+     * The result is a single shared instance that the next call overwrites, so nothing is allocated per frame.
+     * Render thread only; don't hold on to it past the current frame.
+     */
+    public static PlayerStatSnapshot interpolate(Player player, float partialTick) {
+        ManaProvider manaProvider = ManaProviderManager.getProviderForBehavior(ModConfigManager.getClient().manaBarBehavior);
+        if (player.getId() != sampledPlayerId || manaProvider != sampledManaProvider) {
+            view.sample(player, manaProvider);
+            return view;
+        }
+
+        float t = Mth.clamp(partialTick, 0.0f, 1.0f);
+        view.health = Mth.lerp(t, previous.health, current.health);
+        view.maxHealth = current.maxHealth;
+        view.absorption = current.absorption;
+        view.foodLevel = Mth.lerp(t, previous.foodLevel, current.foodLevel);
+        view.saturation = Mth.lerp(t, previous.saturation, current.saturation);
+        view.airSupply = Mth.lerp(t, previous.airSupply, current.airSupply);
+        view.maxAirSupply = current.maxAirSupply;
+        view.armorValue = current.armorValue;
+        view.mana = Mth.lerp(t, previous.mana, current.mana);
+        view.maxMana = current.maxMana;
+        view.reservedMana = current.reservedMana;
+        return view;
+    }
+
+    private void sample(Player player, ManaProvider manaProvider) {
+        health = player.getHealth();
+        maxHealth = player.getMaxHealth();
+        absorption = player.getAbsorptionAmount();
+        foodLevel = player.getFoodData().getFoodLevel();
+        saturation = player.getFoodData().getSaturationLevel();
+        airSupply = player.getAirSupply();
+        maxAirSupply = player.getMaxAirSupply();
+        armorValue = player.getArmorValue();
+        mana = (float) manaProvider.getCurrentMana();
+        maxMana = manaProvider.getMaxMana();
+        reservedMana = manaProvider.getReservedMana();
+    }
+
+    private void copyFrom(PlayerStatSnapshot other) {
+        health = other.health;
+        maxHealth = other.maxHealth;
+        absorption = other.absorption;
+        foodLevel = other.foodLevel;
+        saturation = other.saturation;
+        airSupply = other.airSupply;
+        maxAirSupply = other.maxAirSupply;
+        armorValue = other.armorValue;
+        mana = other.mana;
+        maxMana = other.maxMana;
+        reservedMana = other.reservedMana;
+    }
+}
@@ -0,0 +1,150 @@
+package dev.muon.dynamic_resource_bars.util;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.resources.ResourceLocation;
+import org.joml.Matrix4f;
+
+/**
+ * Collects textured quads for a single texture and submits them in one draw call.
+ * Behaves like a series of {@code GuiGraphics.blit(texture, x, y, u, v, w, h, texW, texH)} calls
+ * (same shader, same shader color handling), but without flushing a buffer per tile.
+ *
+ * <p>Usage:
+ * <pre>
+ * QuadBatch batch = QuadBatch.begin(graphics, texture, textureWidth, textureHeight);
+ * batch.blit(x, y, u, v, width, height);
+ * batch.end();
+ * </pre>
+ * There is one shared instance, so batches must not be nested; beginning a new batch flushes any open one.
+ * Only use this from the render thread.
+ */
+public final class QuadBatch {
+
+    private static final QuadBatch INSTANCE = new QuadBatch();
+
+    // Per-frame debug stats: quads = what used to be individual blits, batches = actual draw calls
+    private static int quadsThisFrame = 0;
+    private static int batchesThisFrame = 0;
+    private static int quadsLastFrame = 0;
+    private static int batchesLastFrame = 0;
+
+    private ResourceLocation texture;
+    private float textureWidth;
+    private float textureHeight;
+    private Matrix4f matrix;
+    private BufferBuilder buffer;
+    private boolean active;
+    private int quadCount;
+
+    private QuadBatch() {}
+
+    public static QuadBatch begin(GuiGraphics graphics, ResourceLocation texture, int textureWidth, int textureHeight) {
+        QuadBatch batch = INSTANCE;
+        if (batch.active) {
+            // A previous batch never got ended (e.g. an exception mid-draw); flush it rather than leaving the buffer open
+            batch.end();
+        }
+        batch.texture = texture;
+        batch.textureWidth = textureWidth;
+        batch.textureHeight = textureHeight;
+        batch.matrix = graphics.pose().last().pose();
+        batch.buffer = null;
+        batch.quadCount = 0;
+        batch.active = true;
+        return batch;
+    }
+
+    /**
+     * Adds a quad, mirroring the arguments of {@code GuiGraphics.blit} minus the texture and its size.
+     */
+    public void blit(int x, int y, float u, float v, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        if (buffer == null) {
+            #if NEWER_THAN_20_1
+            buffer = Tesselator.getInstance().begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+            #else
+            buffer = Tesselator.getInstance().getBuilder();
+            buffer.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+            #endif
+        }
+
+        float x2 = x + width;
+        float y2 = y + height;
+        float u1 = u / textureWidth;
+        float u2 = (u + width) / textureWidth;
+        float v1 = v / textureHeight;
+        float v2 = (v + height) / textureHeight;
+
+        vertex(x, y, u1, v1);
+        vertex(x, y2, u1, v2);
+        vertex(x2, y2, u2, v2);
+        vertex(x2, y, u2, v1);
+        quadCount++;
+    }
+
+    private void vertex(float x, float y, float u, float v) {
+        #if NEWER_THAN_20_1
+        buffer.addVertex(matrix, x, y, 0.0f).setUv(u, v);
+        #else
+        buffer.vertex(matrix, x, y, 0.0f).uv(u, v).endVertex();
+        #endif
+    }
+
+    /**
+     * Submits all collected quads in one draw call. Does nothing if no quads were added.
+     */
+    public void end() {
+        if (!active) return;
+        active = false;
+        if (buffer == null || quadCount == 0) {
+            buffer = null;
+            return;
+        }
+
+        RenderSystem.setShaderTexture(0, texture);
+        RenderSystem.setShader(GameRenderer::getPositionTexShader);
+        #if NEWER_THAN_20_1
+        BufferUploader.drawWithShader(buffer.buildOrThrow());
+        #else
+        BufferUploader.drawWithShader(buffer.end());
+        #endif
+
+        quadsThisFrame += quadCount;
+        batchesThisFrame++;
+        buffer = null;
+        matrix = null;
+    }
+
+    /**
+     * Rolls the per-frame counters over, including the gradient fade ones in {@link RenderUtil}.
+     * Called once per frame after the last bar pass of the HUD.
+     */
+    public static void endFrame() {
+        quadsLastFrame = quadsThisFrame;
+        batchesLastFrame = batchesThisFrame;
+        quadsThisFrame = 0;
+        batchesThisFrame = 0;
+        RenderUtil.beginGradientFrame();
+    }
+
+    /**
+     * @return Quads drawn last frame, i.e. how many blits (and buffer flushes) would have been issued without batching.
+     */
+    public static int getQuadsLastFrame() {
+        return quadsLastFrame;
+    }
+
+    /**
+     * @return Batches submitted last frame, i.e. actual draw calls.
+     */
+    public static int getBatchesLastFrame() {
+        return batchesLastFrame;
+    }
+}
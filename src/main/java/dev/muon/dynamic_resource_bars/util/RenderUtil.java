@@ -1,12 +1,19 @@
 package dev.muon.dynamic_resource_bars.util;
 
 import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
 import dev.muon.dynamic_resource_bars.config.ModConfigManager; // ADDED THIS IMPORT
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.GameRenderer;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth; // ADDED THIS IMPORT
+import org.joml.Matrix4f;
 
 public class RenderUtil {
     public static final int BASE_TEXT_ALPHA = 200;
@@ -16,6 +23,15 @@ public class RenderUtil {
     public static final long DAMAGE_INDICATOR_HOLD_MS = 500L;
     public static final long DAMAGE_INDICATOR_ANIM_DURATION_MS = 200L;
 
+    // Number of linear segments used to approximate a quadratic alpha falloff in a single draw
+    public static final int GRADIENT_FADE_SEGMENTS = 8;
+
+    // Per-frame debug stats for gradient draws (draw calls vs. quads submitted), rolled over by QuadBatch.endFrame()
+    private static int gradientDrawCallsThisFrame = 0;
+    private static int gradientQuadsThisFrame = 0;
+    private static int gradientDrawCallsLastFrame = 0;
+    private static int gradientQuadsLastFrame = 0;
+
     /**
      * Calculates the alpha value for text fading out.
      * @param timeSinceFull Time in milliseconds since the bar became full.
@@ -73,22 +89,23 @@ public class RenderUtil {
             destMiddleWidth = 0; // No stretchable middle, caps might overlap
         }
 
+        // All tiles share one texture, so submit them as a single batch
+        QuadBatch batch = QuadBatch.begin(graphics, texture, sourceTextureWidth, sourceTextureHeight);
+
         // --- Tile Left Cap Vertically ---
         for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
             int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-            graphics.blit(texture, x, y + tileY,
+            batch.blit(x, y + tileY,
                     0, 0, // Source U, V
-                    leftPadding, drawHeight, // Destination Width, Height (left padding)
-                    sourceTextureWidth, sourceTextureHeight);
+                    leftPadding, drawHeight); // Destination Width, Height (left padding)
         }
 
         // --- Tile Right Cap Vertically ---
         for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
             int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-            graphics.blit(texture, x + destWidth - rightPadding, y + tileY,
+            batch.blit(x + destWidth - rightPadding, y + tileY,
                     sourceTextureWidth - rightPadding, 0, // Source U, V (start of right padding in texture)
-                    rightPadding, drawHeight, // Destination Width, Height (right padding)
-                    sourceTextureWidth, sourceTextureHeight);
+                    rightPadding, drawHeight); // Destination Width, Height (right padding)
         }
 
         // --- Tile Middle Section Horizontally and Vertically ---
@@ -101,17 +118,156 @@ public class RenderUtil {
                 // For each horizontal tile, tile vertically as well
                 for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
                     int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
-                    graphics.blit(texture, tileX, y + tileY,
+                    batch.blit(tileX, y + tileY,
                             leftPadding, 0, // Source U, V (start of middle section in texture)
-                            tileWidth, drawHeight, // Destination Width, Height (tile)
-                            sourceTextureWidth, sourceTextureHeight);
+                            tileWidth, drawHeight); // Destination Width, Height (tile)
                 }
                 tiledX += tileWidth;
                 remainingX -= tileWidth;
             }
         }
 
+        batch.end();
+
         RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f); // Reset shader color to full white
         // Don't disable blend here, as other rendering might rely on it.
     }
+
+    /**
+     * Draws a horizontal strip whose alpha falls off quadratically from {@code startAlpha} at the left edge
+     * to zero at the right edge. The falloff is approximated with {@link #GRADIENT_FADE_SEGMENTS} quads using
+     * per-vertex alpha, all submitted in a single draw call, so the cost does not grow with {@code destWidth}.
+     * The texture is sampled the same way as a 1px-wide column blit: column {@code u} is stretched across
+     * the strip and tiled vertically every {@code sourceTextureHeight} pixels.
+     *
+     * @param graphics The GuiGraphics instance (used for the current pose).
+     * @param texture The ResourceLocation of the texture to sample.
+     * @param x The X coordinate of the strip.
+     * @param y The Y coordinate of the strip.
+     * @param destWidth Width of the strip in pixels.
+     * @param destHeight Height of the strip in pixels.
+     * @param u Source column to sample.
+     * @param v Source V offset for each vertical tile.
+     * @param sourceTextureWidth The actual width of the source texture file.
+     * @param sourceTextureHeight The actual height of the source texture file.
+     * @param startAlpha Alpha at the left edge (0.0f to 1.0f).
+     */
+    public static void drawHorizontalAlphaFade(GuiGraphics graphics, ResourceLocation texture, int x, int y, int destWidth, int destHeight, int u, int v, int sourceTextureWidth, int sourceTextureHeight, float startAlpha) {
+        BufferFadeTarget target = BufferFadeTarget.INSTANCE;
+        target.matrix = graphics.pose().last().pose();
+        drawHorizontalAlphaFade(target, texture, x, y, destWidth, destHeight, u, v, sourceTextureWidth, sourceTextureHeight, startAlpha);
+        target.matrix = null;
+    }
+
+    static void drawHorizontalAlphaFade(FadeTarget target, ResourceLocation texture, int x, int y, int destWidth, int destHeight, int u, int v, int sourceTextureWidth, int sourceTextureHeight, float startAlpha) {
+        if (destWidth <= 0 || destHeight <= 0 || startAlpha <= 0.0f) return;
+
+        int segments = Math.min(GRADIENT_FADE_SEGMENTS, destWidth);
+        float u0 = (float) u / sourceTextureWidth;
+        float u1 = (float) (u + 1) / sourceTextureWidth;
+
+        target.begin(texture);
+        int quads = 0;
+        for (int tileY = 0; tileY < destHeight; tileY += sourceTextureHeight) {
+            int drawHeight = Math.min(sourceTextureHeight, destHeight - tileY);
+            float y0 = y + tileY;
+            float y1 = y0 + drawHeight;
+            float v0 = (float) v / sourceTextureHeight;
+            float v1 = (float) (v + drawHeight) / sourceTextureHeight;
+
+            for (int i = 0; i < segments; i++) {
+                float p0 = (float) i / segments;
+                float p1 = (float) (i + 1) / segments;
+                float x0 = x + destWidth * p0;
+                float x1 = x + destWidth * p1;
+                float a0 = startAlpha * (1.0f - p0 * p0);
+                float a1 = startAlpha * (1.0f - p1 * p1);
+
+                target.vertex(x0, y1, u0, v1, a0);
+                target.vertex(x1, y1, u1, v1, a1);
+                target.vertex(x1, y0, u1, v0, a1);
+                target.vertex(x0, y0, u0, v0, a0);
+                quads++;
+            }
+        }
+        target.draw();
+
+        gradientDrawCallsThisFrame++;
+        gradientQuadsThisFrame += quads;
+    }
+
+    /**
+     * Receives the quads of one gradient fade, to be submitted as a single draw.
+     */
+    interface FadeTarget {
+        void begin(ResourceLocation texture);
+
+        void vertex(float x, float y, float u, float v, float alpha);
+
+        void draw();
+    }
+
+    // Draws into the Tesselator buffer with the position-texture-color shader
+    private static final class BufferFadeTarget implements FadeTarget {
+        static final BufferFadeTarget INSTANCE = new BufferFadeTarget();
+
+        Matrix4f matrix;
+        private BufferBuilder buffer;
+
+        @Override
+        public void begin(ResourceLocation texture) {
+            RenderSystem.setShaderTexture(0, texture);
+            RenderSystem.setShader(GameRenderer::getPositionTexColorShader);
+            RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
+            RenderSystem.enableBlend();
+            RenderSystem.defaultBlendFunc();
+            #if NEWER_THAN_20_1
+            buffer = Tesselator.getInstance().begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX_COLOR);
+            #else
+            buffer = Tesselator.getInstance().getBuilder();
+            buffer.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX_COLOR);
+            #endif
+        }
+
+        @Override
+        public void vertex(float x, float y, float u, float v, float alpha) {
+            #if NEWER_THAN_20_1
+            buffer.addVertex(matrix, x, y, 0.0f).setUv(u, v).setColor(1.0f, 1.0f, 1.0f, alpha);
+            #else
+            buffer.vertex(matrix, x, y, 0.0f).uv(u, v).color(1.0f, 1.0f, 1.0f, alpha).endVertex();
+            #endif
+        }
+
+        @Override
+        public void draw() {
+            #if NEWER_THAN_20_1
+            BufferUploader.drawWithShader(buffer.buildOrThrow());
+            #else
+            BufferUploader.drawWithShader(buffer.end());
+            #endif
+            buffer = null;
+        }
+    }
+
+    /**
+     * @return Gradient fades drawn last frame, each a single draw call.
+     */
+    public static int getGradientDrawCallsLastFrame() {
+        return gradientDrawCallsLastFrame;
+    }
+
+    /**
+     * @return Quads in last frame's gradient fades, i.e. how many alpha-stepped blits they replaced.
+     */
+    public static int getGradientQuadsLastFrame() {
+        return gradientQuadsLastFrame;
+    }
+
+    // Called from QuadBatch.endFrame()
+    static void beginGradientFrame() {
+        gradientDrawCallsLastFrame = gradientDrawCallsThisFrame;
+        gradientQuadsLastFrame = gradientQuadsThisFrame;
+        gradientDrawCallsThisFrame = 0;
+        gradientQuadsThisFrame = 0;
+    }
 }
@@ -0,0 +1,84 @@
+package dev.muon.dynamic_resource_bars.util;
+
+import dev.muon.dynamic_resource_bars.config.ConfigSnapshot;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * The entity the target bar shows: the living entity under the crosshair, kept for a moment after the crosshair
+ * leaves it. An entity the player attacked is kept longer, and looking at something else doesn't replace it.
+ * <p>
+ * Updated once per client tick from {@link TickHandler#onClientTick()} using the crosshair entity the game already
+ * picks every tick, so the render path never raycasts. Attacks are reported by the loader's attack event (see
+ * {@link #onAttack}), which the local player's attacks fire on the client. Nothing is tracked while the target bar
+ * is off.
+ */
+public final class TargetTracker {
+    private static final int LOOKED_AT_HOLD_TICKS = 40; // Keep a target that was only looked at for 2 seconds
+    private static final int ATTACKED_HOLD_TICKS = 100; // and one that was hit for 5 seconds
+
+    private static LivingEntity target;
+    private static boolean attacked;
+    private static int ticksSinceSeen;
+
+    private TargetTracker() {
+    }
+
+    public static void onClientTick() {
+        Minecraft minecraft = Minecraft.getInstance();
+        Player player = minecraft.player;
+        if (player == null || !ConfigSnapshot.current().target.enableBar) {
+            target = null;
+            return;
+        }
+        Entity picked = minecraft.crosshairPickEntity;
+        if (picked instanceof LivingEntity living && isTrackable(player, living)) {
+            if (living == target) {
+                ticksSinceSeen = 0;
+                return;
+            }
+            // Looking at something else doesn't take the bar away from the entity being fought
+            if (target == null || !attacked) {
+                target = living;
+                attacked = false;
+                ticksSinceSeen = 0;
+                return;
+            }
+        }
+        if (target != null) {
+            ticksSinceSeen++;
+            if (!isTrackable(player, target) || ticksSinceSeen > (attacked ? ATTACKED_HOLD_TICKS : LOOKED_AT_HOLD_TICKS)) {
+                target = null;
+            }
+        }
+    }
+
+    /**
+     * Called from the loader's attack event (Fabric {@code AttackEntityCallback}, Forge/NeoForge
+     * {@code AttackEntityEvent}). Those fire on both sides, so only the local player's attacks on the client count.
+     */
+    public static void onAttack(Player attacker, Entity entity) {
+        if (!attacker.level().isClientSide() || attacker != Minecraft.getInstance().player
+                || !ConfigSnapshot.current().target.enableBar) {
+            return;
+        }
+        if (entity instanceof LivingEntity living && isTrackable(attacker, living)) {
+            target = living;
+            attacked = true;
+            ticksSinceSeen = 0;
+        }
+    }
+
+    /**
+     * The entity to show, or null.
+     */
+    public static LivingEntity getTarget() {
+        return target;
+    }
+
+    private static boolean isTrackable(Player player, LivingEntity entity) {
+        return entity.isAlive() && !entity.isRemoved() && entity.level() == player.level() && !entity.isInvisibleTo(player);
+    }
+}
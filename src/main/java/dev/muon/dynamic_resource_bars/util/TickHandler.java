@@ -15,6 +15,10 @@ public class TickHandler {
      */
     public static void onClientTick() {
         updateFlashAlpha();
+        PlayerStatSnapshot.onClientTick();
+        PlayerEffectState.onClientTick();
+        TargetTracker.onClientTick();
+        ModKeyMappings.onClientTick();
     }
     
     /**
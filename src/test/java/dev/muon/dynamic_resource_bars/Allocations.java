@@ -0,0 +1,30 @@
+package dev.muon.dynamic_resource_bars;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Counts heap allocation on the current thread, for tests that check a hot path doesn't allocate.
+ */
+public final class Allocations {
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Allocations() {
+    }
+
+    /**
+     * Bytes allocated by {@code action}. It is run a few times first so class loading and lazy initialization
+     * aren't counted, then measured a few times keeping the lowest figure.
+     */
+    public static long measure(Runnable action) {
+        for (int i = 0; i < 5; i++) {
+            action.run();
+        }
+        long lowest = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            action.run();
+            lowest = Math.min(lowest, THREADS.getCurrentThreadAllocatedBytes() - before);
+        }
+        return lowest;
+    }
+}
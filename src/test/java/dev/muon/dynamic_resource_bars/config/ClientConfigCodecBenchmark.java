@@ -0,0 +1,114 @@
+package dev.muon.dynamic_resource_bars.config;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import dev.muon.dynamic_resource_bars.util.AnchorPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ClientConfigCodec} with the reflective GSON setup it replaced, on the fully populated test fixture.
+ * The GSON read includes the {@code ensureDefaults} pass the old loader ran after parsing, so both sides do the same
+ * work. Run with {@code gradlew jmh}, which also reports allocation per operation ({@code gc.alloc.rate.norm}); to
+ * run only this class, pass {@code --args='ClientConfigCodecBenchmark -prof gc'}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientConfigCodecBenchmark {
+    // Same settings as the GSON instance ClientConfig used before the codec
+    private final Gson gson = new GsonBuilder()
+            .setPrettyPrinting()
+            .serializeNulls()
+            .enableComplexMapKeySerialization()
+            .create();
+
+    private String json;
+    private ClientConfig config;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream stream = ClientConfigCodecBenchmark.class.getResourceAsStream("/config/fully-populated.json")) {
+            json = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        config = ClientConfigCodec.read(new StringReader(json)).config;
+    }
+
+    @Benchmark
+    public ClientConfig readCodec() throws IOException {
+        return ClientConfigCodec.read(new StringReader(json)).config;
+    }
+
+    @Benchmark
+    public ClientConfig readGson() {
+        ClientConfig loaded = gson.fromJson(new StringReader(json), ClientConfig.class);
+        ensureDefaults(loaded);
+        return loaded;
+    }
+
+    @Benchmark
+    public String writeCodec() throws IOException {
+        return ClientConfigCodec.write(config);
+    }
+
+    @Benchmark
+    public String writeGson() {
+        return gson.toJson(config);
+    }
+
+    // The validation pass the GSON loader ran on every load, as it was before the codec replaced it
+    private static boolean ensureDefaults(ClientConfig cfg) {
+        boolean modified = false;
+        if (cfg.globalBarWidthModifier < 0 || cfg.globalBarWidthModifier > 100) { cfg.globalBarWidthModifier = ClientConfig.DEFAULT_GLOBAL_BAR_WIDTH_MODIFIER; modified = true; }
+
+        if (cfg.healthBarAnchor == null) { cfg.healthBarAnchor = AnchorPoint.BOTTOM_LEFT; modified = true; }
+        if (cfg.showHealthText == null) { cfg.showHealthText = ClientConfig.DEFAULT_SHOW_HEALTH_TEXT; modified = true; }
+        if (cfg.healthTextAlign == null) { cfg.healthTextAlign = ClientConfig.DEFAULT_HEALTH_TEXT_ALIGN; modified = true; }
+        if (cfg.healthFillDirection == null) { cfg.healthFillDirection = ClientConfig.DEFAULT_HEALTH_FILL_DIRECTION; modified = true; }
+        if (cfg.healthOverlayHeight > 256) { cfg.healthOverlayHeight = 256; modified = true; }
+        if (cfg.healthOverlayHeight < 1) { cfg.healthOverlayHeight = ClientConfig.DEFAULT_HEALTH_OVERLAY_HEIGHT; modified = true; }
+        if (cfg.healthBackgroundHeight < 1) { cfg.healthBackgroundHeight = ClientConfig.DEFAULT_HEALTH_BACKGROUND_HEIGHT; modified = true; }
+        if (cfg.healthBarHeight < 1) { cfg.healthBarHeight = ClientConfig.DEFAULT_HEALTH_BAR_HEIGHT; modified = true; }
+
+        if (cfg.staminaBarAnchor == null) { cfg.staminaBarAnchor = ClientConfig.DEFAULT_STAMINA_BAR_ANCHOR; modified = true; }
+        if (cfg.showStaminaText == null) { cfg.showStaminaText = ClientConfig.DEFAULT_SHOW_STAMINA_TEXT; modified = true; }
+        if (cfg.staminaTextAlign == null) { cfg.staminaTextAlign = ClientConfig.DEFAULT_STAMINA_TEXT_ALIGN; modified = true; }
+        if (cfg.staminaFillDirection == null) { cfg.staminaFillDirection = ClientConfig.DEFAULT_STAMINA_FILL_DIRECTION; modified = true; }
+        if (cfg.staminaOverlayWidth > 256) { cfg.staminaOverlayWidth = 256; modified = true; }
+        if (cfg.staminaOverlayHeight > 256) { cfg.staminaOverlayHeight = 256; modified = true; }
+        if (cfg.staminaOverlayWidth < 1) { cfg.staminaOverlayWidth = ClientConfig.DEFAULT_STAMINA_OVERLAY_WIDTH; modified = true; }
+        if (cfg.staminaOverlayHeight < 1) { cfg.staminaOverlayHeight = ClientConfig.DEFAULT_STAMINA_OVERLAY_HEIGHT; modified = true; }
+
+        if (cfg.manaBarAnchor == null) { cfg.manaBarAnchor = ClientConfig.DEFAULT_MANA_BAR_ANCHOR; modified = true; }
+        if (cfg.showManaText == null) { cfg.showManaText = ClientConfig.DEFAULT_SHOW_MANA_TEXT; modified = true; }
+        if (cfg.manaTextAlign == null) { cfg.manaTextAlign = ClientConfig.DEFAULT_MANA_TEXT_ALIGN; modified = true; }
+        if (cfg.manaFillDirection == null) { cfg.manaFillDirection = ClientConfig.DEFAULT_MANA_FILL_DIRECTION; modified = true; }
+        if (cfg.manaBarBehavior == null) { cfg.manaBarBehavior = ClientConfig.DEFAULT_MANA_BAR_BEHAVIOR; modified = true; }
+        if (cfg.manaOverlayWidth > 256) { cfg.manaOverlayWidth = 256; modified = true; }
+        if (cfg.manaOverlayHeight > 256) { cfg.manaOverlayHeight = 256; modified = true; }
+        if (cfg.manaOverlayWidth < 1) { cfg.manaOverlayWidth = ClientConfig.DEFAULT_MANA_OVERLAY_WIDTH; modified = true; }
+        if (cfg.manaOverlayHeight < 1) { cfg.manaOverlayHeight = ClientConfig.DEFAULT_MANA_OVERLAY_HEIGHT; modified = true; }
+        if (cfg.manaBarWidthModifier < 0 || cfg.manaBarWidthModifier > 100) { cfg.manaBarWidthModifier = ClientConfig.DEFAULT_MANA_BAR_WIDTH_MODIFIER; modified = true; }
+        if (cfg.staminaBarWidthModifier < 0 || cfg.staminaBarWidthModifier > 100) { cfg.staminaBarWidthModifier = ClientConfig.DEFAULT_STAMINA_BAR_WIDTH_MODIFIER; modified = true; }
+
+        if (cfg.armorBarBehavior == null) { cfg.armorBarBehavior = ClientConfig.DEFAULT_ARMOR_BAR_BEHAVIOR; modified = true; }
+        if (cfg.armorBarAnchor == null) { cfg.armorBarAnchor = ClientConfig.DEFAULT_ARMOR_BAR_ANCHOR; modified = true; }
+        if (cfg.showArmorText == null) { cfg.showArmorText = ClientConfig.DEFAULT_SHOW_ARMOR_TEXT; modified = true; }
+        if (cfg.armorTextAlign == null) { cfg.armorTextAlign = ClientConfig.DEFAULT_ARMOR_TEXT_ALIGN; modified = true; }
+
+        if (cfg.airBarBehavior == null) { cfg.airBarBehavior = ClientConfig.DEFAULT_AIR_BAR_BEHAVIOR; modified = true; }
+        if (cfg.airBarAnchor == null) { cfg.airBarAnchor = ClientConfig.DEFAULT_AIR_BAR_ANCHOR; modified = true; }
+        if (cfg.showAirText == null) { cfg.showAirText = ClientConfig.DEFAULT_SHOW_AIR_TEXT; modified = true; }
+        if (cfg.airTextAlign == null) { cfg.airTextAlign = ClientConfig.DEFAULT_AIR_TEXT_ALIGN; modified = true; }
+        if (cfg.airFillDirection == null) { cfg.airFillDirection = ClientConfig.DEFAULT_AIR_FILL_DIRECTION; modified = true; }
+        return modified;
+    }
+}
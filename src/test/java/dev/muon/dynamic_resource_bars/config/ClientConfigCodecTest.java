@@ -0,0 +1,110 @@
+package dev.muon.dynamic_resource_bars.config;
+
+import dev.muon.dynamic_resource_bars.util.TextBehavior;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientConfigCodecTest {
+
+    static String fixture(String name) throws IOException {
+        try (InputStream stream = ClientConfigCodecTest.class.getResourceAsStream("/config/" + name)) {
+            assertNotNull(stream, "Missing fixture " + name);
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static ClientConfigCodec.Result readFixture(String name) throws IOException {
+        return ClientConfigCodec.read(new StringReader(fixture(name)));
+    }
+
+    @Test
+    void emptyFileReadsAsNull() throws IOException {
+        assertNull(ClientConfigCodec.read(new StringReader("")));
+    }
+
+    @Test
+    void unversionedFileDropsRemovedWidthKeys() throws IOException {
+        ClientConfigCodec.Result result = readFixture("unversioned.json");
+
+        assertTrue(result.modified, "An unversioned file should be rewritten in the current schema");
+        assertEquals(1.5, result.config.textScalingFactor);
+        assertEquals(50, result.config.globalBarWidthModifier);
+        assertFalse(result.config.enableHealthBar);
+        assertEquals(TextBehavior.ALWAYS, result.config.showHealthText);
+
+        String written = ClientConfigCodec.write(result.config);
+        assertFalse(written.contains("\"healthBackgroundWidth\""));
+        assertFalse(written.contains("\"healthBarWidth\""));
+        assertFalse(written.contains("\"healthOverlayWidth\""));
+        assertTrue(written.contains("\"" + ConfigMigrations.VERSION_KEY + "\": " + ConfigMigrations.CURRENT_VERSION));
+    }
+
+    @Test
+    void nullOrUnknownEnumKeepsDefault() throws IOException {
+        ClientConfigCodec.Result result = readFixture("null-enum.json");
+
+        assertTrue(result.modified);
+        assertEquals(ClientConfig.DEFAULT_SHOW_HEALTH_TEXT, result.config.showHealthText);
+        assertEquals(ClientConfig.DEFAULT_MANA_BAR_BEHAVIOR, result.config.manaBarBehavior);
+        // Fields after the bad values are still read
+        assertFalse(result.config.enableHealthBar);
+    }
+
+    @Test
+    void outOfRangeModifierKeepsDefault() throws IOException {
+        ClientConfigCodec.Result result = readFixture("out-of-range.json");
+
+        assertTrue(result.modified);
+        assertEquals(ClientConfig.DEFAULT_GLOBAL_BAR_WIDTH_MODIFIER, result.config.globalBarWidthModifier);
+        assertEquals(ClientConfig.DEFAULT_TARGET_BAR_WIDTH_MODIFIER, result.config.targetBarWidthModifier);
+        assertEquals(40, result.config.staminaBarWidthModifier);
+    }
+
+    @Test
+    void currentFileIsNotRewritten() throws IOException {
+        ClientConfigCodec.Result result = readFixture("version-first.json");
+
+        assertFalse(result.modified);
+        assertEquals(75, result.config.globalBarWidthModifier);
+    }
+
+    @Test
+    void versionAfterOtherKeysReadsLikeVersionFirst() throws IOException {
+        ClientConfigCodec.Result first = readFixture("version-first.json");
+        ClientConfigCodec.Result late = readFixture("version-not-first.json");
+
+        // Keys before the version are held back until it is known, then read at that version
+        assertEquals(ClientConfigCodec.write(first.config), ClientConfigCodec.write(late.config));
+        assertEquals(1.5, late.config.textScalingFactor);
+        assertFalse(late.config.enableHealthBar);
+        // Rewritten so the version key moves back to the front
+        assertTrue(late.modified);
+    }
+
+    @Test
+    void fullyPopulatedFileRoundTrips() throws IOException, IllegalAccessException {
+        String json = fixture("fully-populated.json").trim();
+        ClientConfigCodec.Result result = ClientConfigCodec.read(new StringReader(json));
+
+        assertFalse(result.modified);
+        assertEquals(json, ClientConfigCodec.write(result.config));
+
+        // Every option must be in the fixture with a non-default value, or a field missing from the codec goes unnoticed
+        ClientConfig defaults = new ClientConfig();
+        for (Field field : ClientConfig.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            assertTrue(json.contains("\"" + field.getName() + "\":"), "Fixture is missing " + field.getName());
+            assertNotEquals(field.get(defaults), field.get(result.config), "Fixture has the default value for " + field.getName());
+        }
+    }
+}
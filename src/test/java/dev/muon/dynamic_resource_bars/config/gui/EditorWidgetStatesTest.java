@@ -0,0 +1,89 @@
+package dev.muon.dynamic_resource_bars.config.gui;
+
+import net.minecraft.client.gui.components.Button;
+import net.minecraft.network.chat.Component;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EditorWidgetStatesTest {
+    private static final int TOGGLES = 1000;
+
+    private final EditorWidgetStates states = new EditorWidgetStates();
+    // Stands in for the config option the toggle flips
+    private boolean healthEnabled = true;
+    private int otherRefreshes;
+    private Button toggleHealth;
+    private Button openHealthSettings;
+    private Button other;
+
+    // Wired like the health buttons of HudEditorScreen's grid: the toggle refreshes itself and the settings button,
+    // while opening the settings recreates the widgets
+    private void build() {
+        states.clear();
+        toggleHealth = states.bind(Button.builder(Component.empty(), (b) -> { healthEnabled = !healthEnabled; states.refresh(b, openHealthSettings); })
+                .bounds(0, 0, 100, 20).build(), (b) -> b.setMessage(Component.literal(healthEnabled ? "on" : "off")));
+        openHealthSettings = states.bind(Button.builder(Component.literal("settings"), (b) -> build())
+                .bounds(0, 25, 100, 20).build(), (b) -> b.active = healthEnabled);
+        other = states.bind(Button.builder(Component.empty(), (b) -> {})
+                .bounds(0, 50, 100, 20).build(), (b) -> otherRefreshes++);
+    }
+
+    @Test
+    void togglingKeepsTheWidgets() {
+        build();
+        Button toggle = toggleHealth;
+        Button settings = openHealthSettings;
+        Button untouched = other;
+        int refreshesAfterBuild = otherRefreshes;
+
+        for (int i = 0; i < TOGGLES; i++) {
+            toggle.onPress();
+            assertEquals(healthEnabled ? "on" : "off", toggle.getMessage().getString());
+            assertEquals(healthEnabled, settings.active);
+        }
+
+        // Built once and never again; the same three widgets are still bound
+        assertEquals(1, states.rebuilds());
+        assertSame(toggle, toggleHealth);
+        assertSame(settings, openHealthSettings);
+        assertSame(untouched, other);
+        assertEquals(3, states.size());
+        assertTrue(states.isBound(toggle));
+        assertTrue(states.isBound(settings));
+        assertTrue(states.isBound(untouched));
+        // A toggle only updates the widgets it affects
+        assertEquals(refreshesAfterBuild, otherRefreshes);
+    }
+
+    @Test
+    void refreshAllFollowsOutsideChanges() {
+        build();
+        int refreshesAfterBuild = otherRefreshes;
+
+        // Like an undo: the value changes without going through the widget
+        healthEnabled = false;
+        states.refreshAll();
+
+        assertEquals("off", toggleHealth.getMessage().getString());
+        assertFalse(openHealthSettings.active);
+        assertEquals(refreshesAfterBuild + 1, otherRefreshes);
+        assertEquals(1, states.rebuilds());
+    }
+
+    @Test
+    void rebuildReplacesTheWidgets() {
+        build();
+        Button toggle = toggleHealth;
+
+        openHealthSettings.onPress();
+
+        assertEquals(2, states.rebuilds());
+        assertNotSame(toggle, toggleHealth);
+        assertFalse(states.isBound(toggle));
+        assertEquals(3, states.size());
+
+        // Stale widgets are ignored
+        states.refresh(toggle, null);
+    }
+}
@@ -0,0 +1,77 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarAnimationStateTest {
+    private static final int ENTITIES = 1000;
+    // Stands in for the client level; pools only compare it by identity
+    private final Object level = new Object();
+
+    @Test
+    void eachEntityGetsItsOwnState() {
+        BarAnimationState.Pool pool = new BarAnimationState.Pool();
+        for (int id = 0; id < ENTITIES; id++) {
+            pool.get(level, id, 0L).currentHealthAnimated = id;
+        }
+        assertEquals(ENTITIES, pool.size());
+
+        for (int id = 0; id < ENTITIES; id++) {
+            BarAnimationState state = pool.get(level, id, 1L);
+            assertEquals(id, state.currentHealthAnimated, 0.0f);
+            assertNotSame(state, pool.get(level, id + 1, 1L));
+        }
+    }
+
+    @Test
+    void idleStatesAreEvicted() {
+        BarAnimationState.Pool pool = new BarAnimationState.Pool();
+        BarAnimationState[] created = new BarAnimationState[ENTITIES];
+        for (int id = 0; id < ENTITIES; id++) {
+            created[id] = pool.get(level, id, 0L);
+        }
+
+        // Only the first few keep being drawn; half the idle timeout is too early for anything to be dropped
+        long touched = BarAnimationState.IDLE_EVICT_MILLIS / 2;
+        for (int id = 0; id < 10; id++) {
+            assertSame(created[id], pool.get(level, id, touched));
+        }
+        assertEquals(ENTITIES, pool.size());
+
+        // Past the timeout for the untouched ones, but not for the ones drawn at the halfway point
+        pool.evictIdle(BarAnimationState.IDLE_EVICT_MILLIS + 1);
+        assertEquals(10, pool.size());
+        long now = BarAnimationState.IDLE_EVICT_MILLIS + 1;
+        for (int id = 0; id < 10; id++) {
+            assertSame(created[id], pool.get(level, id, now));
+        }
+        // An evicted state starts over
+        for (int id = 10; id < ENTITIES; id++) {
+            assertNotSame(created[id], pool.get(level, id, now));
+        }
+
+        pool.evictIdle(now + BarAnimationState.IDLE_EVICT_MILLIS + 1);
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    void levelChangeDropsStates() {
+        BarAnimationState.Pool pool = new BarAnimationState.Pool();
+        BarAnimationState before = pool.get(level, 1, 0L);
+        pool.get(level, 2, 0L);
+
+        BarAnimationState after = pool.get(new Object(), 1, 0L);
+        assertNotSame(before, after);
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    void poolsAreIndependent() {
+        BarAnimationState.Pool a = new BarAnimationState.Pool();
+        BarAnimationState.Pool b = new BarAnimationState.Pool();
+        a.get(level, 7, 0L).currentHealthAnimated = 5.0f;
+
+        assertEquals(-1.0f, b.get(level, 7, 0L).currentHealthAnimated, 0.0f);
+    }
+}
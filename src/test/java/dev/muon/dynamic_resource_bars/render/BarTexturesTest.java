@@ -0,0 +1,83 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import dev.muon.dynamic_resource_bars.Allocations;
+import dev.muon.dynamic_resource_bars.DynamicResourceBars;
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarTexturesTest {
+    private static final int LOOKUPS = 10_000;
+
+    private static final HealthBarRenderer.BarType[] HEALTH = HealthBarRenderer.BarType.values();
+    private static final StaminaBarRenderer.BarType[] STAMINA = StaminaBarRenderer.BarType.values();
+    private static final ArmorBarRenderer.ArmorIcon[] ARMOR = ArmorBarRenderer.ArmorIcon.values();
+    private static final AirBarRenderer.AirIcon[] AIR = AirBarRenderer.AirIcon.values();
+
+    @Test
+    void locationsMatchTheTextureNames() {
+        for (HealthBarRenderer.BarType type : HEALTH) {
+            assertEquals(DynamicResourceBars.loc("textures/gui/" + type.getTexture() + ".png"), type.getLocation());
+        }
+        for (StaminaBarRenderer.BarType type : STAMINA) {
+            assertEquals(DynamicResourceBars.loc("textures/gui/" + type.getTexture() + ".png"), type.getLocation());
+        }
+        for (ArmorBarRenderer.ArmorIcon icon : ARMOR) {
+            assertEquals(DynamicResourceBars.loc("textures/gui/armors/" + icon.getTexture() + ".png"), icon.getLocation());
+        }
+        for (AirBarRenderer.AirIcon icon : AIR) {
+            assertEquals(DynamicResourceBars.loc("textures/gui/air/" + icon.getTexture() + ".png"), icon.getLocation());
+        }
+    }
+
+    @Test
+    void lookupsReturnTheSameInstance() {
+        ResourceLocation[] first = locations();
+        for (int i = 0; i < 100; i++) {
+            ResourceLocation[] again = locations();
+            for (int j = 0; j < first.length; j++) {
+                assertSame(first[j], again[j]);
+            }
+        }
+    }
+
+    @Test
+    void lookupsDoNotAllocate() {
+        long allocated = Allocations.measure(() -> {
+            for (int i = 0; i < LOOKUPS; i++) {
+                for (HealthBarRenderer.BarType type : HEALTH) {
+                    type.getLocation();
+                }
+                for (StaminaBarRenderer.BarType type : STAMINA) {
+                    type.getLocation();
+                }
+                for (ArmorBarRenderer.ArmorIcon icon : ARMOR) {
+                    icon.getLocation();
+                }
+                for (AirBarRenderer.AirIcon icon : AIR) {
+                    icon.getLocation();
+                }
+            }
+        });
+        assertEquals(0L, allocated);
+    }
+
+    private static ResourceLocation[] locations() {
+        ResourceLocation[] locations = new ResourceLocation[HEALTH.length + STAMINA.length + ARMOR.length + AIR.length];
+        int i = 0;
+        for (HealthBarRenderer.BarType type : HEALTH) {
+            locations[i++] = type.getLocation();
+        }
+        for (StaminaBarRenderer.BarType type : STAMINA) {
+            locations[i++] = type.getLocation();
+        }
+        for (ArmorBarRenderer.ArmorIcon icon : ARMOR) {
+            locations[i++] = icon.getLocation();
+        }
+        for (AirBarRenderer.AirIcon icon : AIR) {
+            locations[i++] = icon.getLocation();
+        }
+        return locations;
+    }
+}
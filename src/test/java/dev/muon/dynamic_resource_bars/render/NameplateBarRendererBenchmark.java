@@ -0,0 +1,48 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import dev.muon.dynamic_resource_bars.config.ClientConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame cost of picking nameplate bars in a crowded scene: 500 entities within range, capped to the default 32
+ * nearest or not capped at all, with the default detail distance. The level walk itself is left out; this starts from what
+ * {@code collectEntities} leaves behind. Run with {@code gradlew jmh --args='NameplateBarRendererBenchmark -prof gc'}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameplateBarRendererBenchmark {
+    private static final int ENTITIES = 500;
+    private static final double DETAIL_DISTANCE_SQ = (double) ClientConfig.DEFAULT_NAMEPLATE_DETAIL_DISTANCE * ClientConfig.DEFAULT_NAMEPLATE_DETAIL_DISTANCE;
+
+    @Param({"32", "500"})
+    public int maxBars;
+
+    private final double[] distancesSq = new double[ENTITIES];
+    private final int[] order = new int[ENTITIES];
+    private final boolean[] detailed = new boolean[ENTITIES];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < ENTITIES; i++) {
+            double distance = random.nextDouble() * 64.0;
+            distancesSq[i] = distance * distance;
+        }
+    }
+
+    @Benchmark
+    public int selectBars() {
+        // Collection resets the order every frame, so every frame sorts from scratch
+        for (int i = 0; i < ENTITIES; i++) {
+            order[i] = i;
+        }
+        return NameplateBarRenderer.selectBars(distancesSq, order, ENTITIES, maxBars, DETAIL_DISTANCE_SQ, detailed);
+    }
+}
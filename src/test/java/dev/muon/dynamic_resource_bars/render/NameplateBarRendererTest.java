@@ -0,0 +1,76 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameplateBarRendererTest {
+    private static final int ENTITIES = 500;
+    private static final double DETAIL_DISTANCE_SQ = 16.0 * 16.0;
+
+    private final double[] distancesSq = new double[ENTITIES];
+    private final int[] order = new int[ENTITIES];
+    private final boolean[] detailed = new boolean[ENTITIES];
+
+    // Same layout collectEntities leaves behind: distances in level order, order reset to match
+    private void collect(long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < ENTITIES; i++) {
+            double distance = random.nextDouble() * 64.0;
+            distancesSq[i] = distance * distance;
+            order[i] = i;
+        }
+        Arrays.fill(detailed, false);
+    }
+
+    @Test
+    void nearestBarsAreKept() {
+        int[] maxBars = {0, 1, 16, 50, 499};
+        for (int max : maxBars) {
+            collect(max);
+            int shown = NameplateBarRenderer.selectBars(distancesSq, order, ENTITIES, max, DETAIL_DISTANCE_SQ, detailed);
+            assertEquals(max, shown, "Bars shown with maxBars " + max);
+
+            double[] sorted = distancesSq.clone();
+            Arrays.sort(sorted);
+            double[] kept = new double[shown];
+            for (int n = 0; n < shown; n++) {
+                kept[n] = distancesSq[order[n]];
+            }
+            Arrays.sort(kept);
+            assertArrayEquals(Arrays.copyOf(sorted, shown), kept, "Distances kept with maxBars " + max);
+        }
+    }
+
+    @Test
+    void everyBarIsShownUnderTheCap() {
+        collect(1);
+        int shown = NameplateBarRenderer.selectBars(distancesSq, order, ENTITIES, ENTITIES, DETAIL_DISTANCE_SQ, detailed);
+        assertEquals(ENTITIES, shown);
+        // Left in collection order when nothing had to be cut
+        for (int n = 0; n < ENTITIES; n++) {
+            assertEquals(n, order[n]);
+        }
+    }
+
+    @Test
+    void onlyNearBarsAreDetailed() {
+        collect(2);
+        int shown = NameplateBarRenderer.selectBars(distancesSq, order, ENTITIES, 100, DETAIL_DISTANCE_SQ, detailed);
+        boolean[] picked = new boolean[ENTITIES];
+        for (int n = 0; n < shown; n++) {
+            int i = order[n];
+            picked[i] = true;
+            assertEquals(distancesSq[i] <= DETAIL_DISTANCE_SQ, detailed[i], "Entity " + i);
+        }
+        // Entities that were cut off aren't touched
+        for (int i = 0; i < ENTITIES; i++) {
+            if (!picked[i]) {
+                assertFalse(detailed[i], "Entity " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame cost of the party column at 1, 10 and 50 teammates: advancing every member's animation and measuring
+ * the bars, then building the batches into a target that only counts quads, so what's timed is the column's own work
+ * and not the GPU upload. Teammates take turns getting hit and alternate between two status textures.
+ * Collecting the teammates from the level is left out, as it needs real players.
+ * Run with {@code gradlew jmh --args='PartyBarRendererBenchmark -prof gc'}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartyBarRendererBenchmark {
+    private static final int BAR_WIDTH = 80;
+    private static final int ROW_HEIGHT = 17;
+    private static final int NAME_HEIGHT = 9;
+    private static final long FRAME_MILLIS = 16L;
+
+    @Param({"1", "10", "50"})
+    public int members;
+
+    private final PartyBarRenderer.Column column = new PartyBarRenderer.Column();
+    private final CountingTarget target = new CountingTarget();
+    private BarAnimationState[] states;
+    private ResourceLocation[] textures;
+    private long millis;
+
+    private static final class CountingTarget implements PartyBarRenderer.QuadTarget {
+        int quads;
+
+        @Override
+        public void begin(ResourceLocation texture, int textureWidth, int textureHeight) {
+        }
+
+        @Override
+        public void blit(int x, int y, float u, float v, int width, int height) {
+            quads++;
+        }
+
+        @Override
+        public void end() {
+        }
+    }
+
+    @Setup
+    public void setup() {
+        column.ensureCapacity(members);
+        states = new BarAnimationState[members];
+        textures = new ResourceLocation[members];
+        for (int i = 0; i < members; i++) {
+            states[i] = new BarAnimationState();
+            textures[i] = (i & 1) == 0 ? HealthBarRenderer.BarType.NORMAL.getLocation() : HealthBarRenderer.BarType.POISON.getLocation();
+        }
+    }
+
+    @Benchmark
+    public BarAnimationState[] animate() {
+        measure();
+        return states;
+    }
+
+    @Benchmark
+    public int animateAndBuildBatches() {
+        measure();
+        target.quads = 0;
+        column.draw(target, members, 0, 0, BAR_WIDTH, ROW_HEIGHT, NAME_HEIGHT);
+        return target.quads;
+    }
+
+    private void measure() {
+        millis += FRAME_MILLIS;
+        FrameContext ctx = FrameContext.forAnimation(millis, false, 1.0f);
+        for (int i = 0; i < members; i++) {
+            // Each member loses and regains health on its own two second cycle
+            float health = ((millis / 100L + i * 3L) % 20L) + 1.0f;
+            column.measure(ctx, i, states[i], health, 20.0f, i % 3 == 0 ? 4 : 0, textures[i], BAR_WIDTH);
+        }
+    }
+}
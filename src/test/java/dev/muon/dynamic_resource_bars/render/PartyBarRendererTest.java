@@ -0,0 +1,104 @@
+package dev.muon.dynamic_resource_bars.render;
+
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartyBarRendererTest {
+    private static final int BAR_WIDTH = 80;
+    private static final int ROW_HEIGHT = 17;
+    private static final int NAME_HEIGHT = 9;
+
+    // Counts what QuadBatch would submit: a batch only becomes a draw call if a quad was added to it
+    private static final class CountingTarget implements PartyBarRenderer.QuadTarget {
+        int batches;
+        int quads;
+        int quadsInBatch;
+        boolean open;
+
+        @Override
+        public void begin(ResourceLocation texture, int textureWidth, int textureHeight) {
+            assertFalse(open);
+            open = true;
+            quadsInBatch = 0;
+        }
+
+        @Override
+        public void blit(int x, int y, float u, float v, int width, int height) {
+            assertTrue(open);
+            if (width > 0 && height > 0) {
+                quadsInBatch++;
+            }
+        }
+
+        @Override
+        public void end() {
+            assertTrue(open);
+            open = false;
+            if (quadsInBatch > 0) {
+                batches++;
+                quads += quadsInBatch;
+            }
+        }
+    }
+
+    // Members that were just hit and have absorption left, so every layer of the column has something to draw
+    private static PartyBarRenderer.Column hurtColumn(int count, ResourceLocation... textures) {
+        PartyBarRenderer.Column column = new PartyBarRenderer.Column();
+        column.ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            BarAnimationState state = new BarAnimationState();
+            ResourceLocation texture = textures[i % textures.length];
+            column.measure(FrameContext.forAnimation(0L, false, 1.0f), i, state, 20.0f, 20.0f, 4, texture, BAR_WIDTH);
+            column.measure(FrameContext.forAnimation(50L, false, 1.0f), i, state, 10.0f, 20.0f, 4, texture, BAR_WIDTH);
+        }
+        return column;
+    }
+
+    @Test
+    void batchCountDoesNotGrowWithMembers() {
+        int[] counts = {1, 10, 50};
+        int quadsPerMember = -1;
+        for (int count : counts) {
+            CountingTarget target = new CountingTarget();
+            hurtColumn(count, HealthBarRenderer.BarType.NORMAL.getLocation()).draw(target, count, 0, 0, BAR_WIDTH, ROW_HEIGHT, NAME_HEIGHT);
+
+            // Background, hit indicator, main bar and absorption
+            assertEquals(4, target.batches, "Batches with " + count + " members");
+            assertEquals(0, target.quads % count);
+            if (quadsPerMember < 0) {
+                quadsPerMember = target.quads;
+            }
+            assertEquals(quadsPerMember * count, target.quads, "Quads with " + count + " members");
+        }
+    }
+
+    @Test
+    void eachStatusTextureIsOneBatch() {
+        ResourceLocation[] textures = {
+                HealthBarRenderer.BarType.NORMAL.getLocation(),
+                HealthBarRenderer.BarType.POISON.getLocation(),
+                HealthBarRenderer.BarType.WITHER.getLocation()
+        };
+        CountingTarget target = new CountingTarget();
+        hurtColumn(50, textures).draw(target, 50, 0, 0, BAR_WIDTH, ROW_HEIGHT, NAME_HEIGHT);
+
+        assertEquals(3 + textures.length, target.batches);
+    }
+
+    @Test
+    void healthyMembersSkipEmptyLayers() {
+        PartyBarRenderer.Column column = new PartyBarRenderer.Column();
+        column.ensureCapacity(10);
+        for (int i = 0; i < 10; i++) {
+            column.measure(FrameContext.forAnimation(0L, false, 1.0f), i, new BarAnimationState(), 20.0f, 20.0f, 0,
+                    HealthBarRenderer.BarType.NORMAL.getLocation(), BAR_WIDTH);
+        }
+        CountingTarget target = new CountingTarget();
+        column.draw(target, 10, 0, 0, BAR_WIDTH, ROW_HEIGHT, NAME_HEIGHT);
+
+        // No hit indicator and no absorption, so only the background and the main bar go out
+        assertEquals(2, target.batches);
+    }
+}
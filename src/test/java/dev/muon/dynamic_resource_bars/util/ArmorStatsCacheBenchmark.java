@@ -0,0 +1,66 @@
+package dev.muon.dynamic_resource_bars.util;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.enchantment.Enchantments;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame cost of {@link ArmorStatsCache} with a full set of Protection IV diamond armor: the frame where nothing
+ * changed, the frame where a piece was swapped, and tooltip relevance checks alternating between different items.
+ * Run with {@code gradlew jmh --args='ArmorStatsCacheBenchmark -prof gc'} to see allocation per frame as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArmorStatsCacheBenchmark {
+    private ItemStack[] worn;
+    private ItemStack[] swapped;
+    private ItemStack[] hovered;
+    private int frame;
+
+    @Setup
+    public void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        worn = new ItemStack[]{armor(Items.DIAMOND_BOOTS), armor(Items.DIAMOND_LEGGINGS), armor(Items.DIAMOND_CHESTPLATE), armor(Items.DIAMOND_HELMET)};
+        swapped = worn.clone();
+        swapped[2] = armor(Items.NETHERITE_CHESTPLATE);
+        hovered = new ItemStack[]{armor(Items.DIAMOND_CHESTPLATE), new ItemStack(Items.DIAMOND_SWORD), new ItemStack(Items.BREAD), armor(Items.IRON_HELMET)};
+    }
+
+    @Benchmark
+    public int unchangedArmor() {
+        return ArmorStatsCache.getTotalProtection(worn);
+    }
+
+    @Benchmark
+    public int swappedArmor() {
+        // Every call sees a different chestplate than the last, so the total is recomputed each time
+        return ArmorStatsCache.getTotalProtection((frame++ & 1) == 0 ? worn : swapped);
+    }
+
+    @Benchmark
+    public boolean tooltipRelevance() {
+        return ArmorStatsCache.isArmorRelevantItem(hovered[frame++ & 3]);
+    }
+
+    private static ItemStack armor(net.minecraft.world.item.Item item) {
+        ItemStack stack = new ItemStack(item);
+        try {
+            // The 1.20.1 enchantment; 1.21.1 enchantments are data-driven, and protection isn't read there yet
+            Field protection = Enchantments.class.getField("ALL_DAMAGE_PROTECTION");
+            ItemStack.class.getMethod("enchant", protection.getType(), int.class).invoke(stack, protection.get(null), 4);
+        } catch (ReflectiveOperationException ignored) {
+        }
+        return stack;
+    }
+}
@@ -0,0 +1,83 @@
+package dev.muon.dynamic_resource_bars.util;
+
+import dev.muon.dynamic_resource_bars.render.BarTextures;
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderUtilTest {
+
+    // Counts what would be submitted to the GPU
+    private static final class CountingTarget implements RenderUtil.FadeTarget {
+        int draws;
+        int vertices;
+        boolean open;
+
+        @Override
+        public void begin(ResourceLocation texture) {
+            assertFalse(open);
+            open = true;
+        }
+
+        @Override
+        public void vertex(float x, float y, float u, float v, float alpha) {
+            assertTrue(open);
+            vertices++;
+        }
+
+        @Override
+        public void draw() {
+            assertTrue(open);
+            open = false;
+            draws++;
+        }
+    }
+
+    @Test
+    void alphaFadeDrawCountDoesNotGrowWithWidth() {
+        int[] widths = {8, 40, 182, 500, 2000};
+        int quadsAtFirstWidth = -1;
+        for (int width : widths) {
+            CountingTarget target = new CountingTarget();
+            RenderUtil.beginGradientFrame();
+            // Health restoration overlay: a 1px column of a 182x5 texture, two rows tall
+            RenderUtil.drawHorizontalAlphaFade(target, BarTextures.HEALTH_RESTORATION_OVERLAY, 0, 0, width, 10, 0, 0, 182, 5, 1.0f);
+            RenderUtil.beginGradientFrame();
+
+            assertEquals(1, target.draws, "Draws at width " + width);
+            assertEquals(1, RenderUtil.getGradientDrawCallsLastFrame(), "Counted draws at width " + width);
+            assertEquals(target.vertices / 4, RenderUtil.getGradientQuadsLastFrame());
+            if (quadsAtFirstWidth < 0) {
+                quadsAtFirstWidth = RenderUtil.getGradientQuadsLastFrame();
+            }
+            assertEquals(quadsAtFirstWidth, RenderUtil.getGradientQuadsLastFrame(), "Quads at width " + width);
+        }
+        assertEquals(RenderUtil.GRADIENT_FADE_SEGMENTS * 2, quadsAtFirstWidth);
+    }
+
+    @Test
+    void fadesAddUpWithinAFrame() {
+        CountingTarget target = new CountingTarget();
+        RenderUtil.beginGradientFrame();
+        for (int i = 0; i < 3; i++) {
+            RenderUtil.drawHorizontalAlphaFade(target, BarTextures.HEALTH_RESTORATION_OVERLAY, 0, 0, 100, 5, 0, 0, 182, 5, 0.5f);
+        }
+        RenderUtil.beginGradientFrame();
+
+        assertEquals(3, RenderUtil.getGradientDrawCallsLastFrame());
+        assertEquals(3 * RenderUtil.GRADIENT_FADE_SEGMENTS, RenderUtil.getGradientQuadsLastFrame());
+    }
+
+    @Test
+    void invisibleFadeDrawsNothing() {
+        CountingTarget target = new CountingTarget();
+        RenderUtil.beginGradientFrame();
+        RenderUtil.drawHorizontalAlphaFade(target, BarTextures.HEALTH_RESTORATION_OVERLAY, 0, 0, 0, 5, 0, 0, 182, 5, 1.0f);
+        RenderUtil.drawHorizontalAlphaFade(target, BarTextures.HEALTH_RESTORATION_OVERLAY, 0, 0, 100, 5, 0, 0, 182, 5, 0.0f);
+        RenderUtil.beginGradientFrame();
+
+        assertEquals(0, target.draws);
+        assertEquals(0, RenderUtil.getGradientDrawCallsLastFrame());
+    }
+}